@@ -0,0 +1,51 @@
+package io.github.hierarchicalcsv.benchmark;
+
+import com.opencsv.bean.CsvToBeanFilter;
+import io.github.hierarchicalcsv.benchmark.model.Level0Line;
+import io.github.hierarchicalcsv.benchmark.model.Level1Line;
+import io.github.hierarchicalcsv.benchmark.model.Level2Line;
+import io.github.hierarchicalcsv.benchmark.model.Level3Line;
+import io.github.hierarchicalcsv.benchmark.model.NoteLine;
+import io.github.hierarchicalcsv.benchmark.model.TagLine;
+import io.github.hierarchicalcsv.core.model.CsvBeanType;
+
+import java.util.List;
+
+/**
+ * The bean types of the files of {@link SyntheticCsvGenerator}
+ */
+public final class BenchmarkBeans {
+
+    public static final int MAX_DEPTH = 4;
+
+    static final String[] LEVEL_CODES = {"L0", "L1", "L2", "L3"};
+
+    static final String NOTE_CODE = "N0";
+
+    static final String TAG_CODE = "T0";
+
+    static final String UNKNOWN_CODE = "ZZ";
+
+    static final String FILTERED_STATUS = "X";
+
+    /**
+     * Filters out the lines whose status, in the last column, is {@value #FILTERED_STATUS}
+     */
+    public static final CsvToBeanFilter FILTER = line -> !FILTERED_STATUS.equals(line[line.length - 1]);
+
+    private BenchmarkBeans() {
+    }
+
+    /**
+     * @return The bean types, filtering out the lines marked as filtered by the generator
+     */
+    public static List<CsvBeanType<?>> beanTypes() {
+        return List.of(
+                new CsvBeanType<>(Level0Line.class, FILTER),
+                new CsvBeanType<>(Level1Line.class, FILTER),
+                new CsvBeanType<>(Level2Line.class, FILTER),
+                new CsvBeanType<>(Level3Line.class, FILTER),
+                new CsvBeanType<>(NoteLine.class, FILTER),
+                new CsvBeanType<>(TagLine.class, FILTER));
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.hierarchicalcsv.benchmark;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.HCSVSchema;
+import io.github.hierarchicalcsv.core.HCSVSchemaBuilder;
+import io.github.hierarchicalcsv.core.bean.FingerprintCsvKeyIndex;
+import io.github.hierarchicalcsv.core.model.CsvErrorPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end reading of a synthetic file, from the characters to the linked trees.
+ * Each operation reads the whole file; run with {@code -prof gc} to get the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    @Param({"2", "4"})
+    private int depth;
+
+    @Param("4")
+    private int fanOut;
+
+    @Param("2")
+    private int leafTypes;
+
+    @Param({"8", "32"})
+    private int keyWidth;
+
+    @Param({"0", "10"})
+    private int unknownPercent;
+
+    @Param("0")
+    private int filteredPercent;
+
+    @Param("1000")
+    private int roots;
+
+    private String csv;
+
+    private Path file;
+
+    private HCSVSchema schema;
+
+    @Setup
+    public void setUp() throws IOException {
+        SyntheticCsvGenerator generator = new SyntheticCsvGenerator()
+                .withRoots(roots)
+                .withDepth(depth)
+                .withFanOut(fanOut)
+                .withLeafTypes(leafTypes)
+                .withKeyWidth(keyWidth)
+                .withUnknownPercent(unknownPercent)
+                .withFilteredPercent(filteredPercent);
+        csv = generator.generate();
+        file = Files.createTempFile("hcsv-benchmark", ".csv");
+        generator.generate(file);
+        schema = new HCSVSchemaBuilder().withBeanTypes(BenchmarkBeans.beanTypes()).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Object> readFile() throws IOException, CsvException {
+        try (HCSVReader hcsvReader = newBuilder().build()) {
+            return hcsvReader.readFile();
+        }
+    }
+
+    /**
+     * Includes the introspection of the beans, which a shared schema avoids
+     */
+    @Benchmark
+    public List<Object> readFileWithoutSchema() throws IOException, CsvException {
+        try (HCSVReader hcsvReader = new HCSVReaderBuilder(new StringReader(csv))
+                .withCSVParser(new CSVParserBuilder().withSeparator(SyntheticCsvGenerator.SEPARATOR).build())
+                .withBeanTypes(BenchmarkBeans.beanTypes())
+                .withIgnoreUnknownBeanType(true)
+                .build()) {
+            return hcsvReader.readFile();
+        }
+    }
+
+    @Benchmark
+    public List<Object> readFileOrderedHierarchy() throws IOException, CsvException {
+        try (HCSVReader hcsvReader = newBuilder().withOrderedHierarchy(true).build()) {
+            return hcsvReader.readFile();
+        }
+    }
+
+    @Benchmark
+    public List<Object> readFileFingerprintKeyIndex() throws IOException, CsvException {
+        try (HCSVReader hcsvReader = newBuilder().withKeyIndex(FingerprintCsvKeyIndex::new).build()) {
+            return hcsvReader.readFile();
+        }
+    }
+
+    @Benchmark
+    public void streamRoots(Blackhole blackhole) throws IOException {
+        try (HCSVReader hcsvReader = newBuilder().build()) {
+            Iterator<Object> roots = hcsvReader.iterator();
+            while (roots.hasNext()) {
+                blackhole.consume(roots.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Object> readMappedFile() throws IOException, CsvException {
+        try (HCSVReader hcsvReader = new HCSVReaderBuilder(file)
+                .withMemoryMapping(true)
+                .withCSVParser(new CSVParserBuilder().withSeparator(SyntheticCsvGenerator.SEPARATOR).build())
+                .withSchema(schema)
+                .withIgnoreUnknownBeanType(true)
+                .build()) {
+            return hcsvReader.readFile();
+        }
+    }
+
+    /**
+     * Reports the unknown lines as errors, counted by an error policy without stack traces
+     */
+    @Benchmark
+    public List<Object> readFileCollectingErrors() throws IOException, CsvException {
+        try (HCSVReader hcsvReader = newBuilder()
+                .withIgnoreUnknownBeanType(false)
+                .withErrorPolicy(new CsvErrorPolicy().withRetainedErrors(0))
+                .withErrorStackTraces(false)
+                .build()) {
+            return hcsvReader.readFile();
+        }
+    }
+
+    private HCSVReaderBuilder newBuilder() {
+        return new HCSVReaderBuilder(new StringReader(csv))
+                .withCSVParser(new CSVParserBuilder().withSeparator(SyntheticCsvGenerator.SEPARATOR).build())
+                .withSchema(schema)
+                .withIgnoreUnknownBeanType(true);
+    }
+}
@@ -0,0 +1,161 @@
+package io.github.hierarchicalcsv.benchmark;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.bean.exceptionhandler.ExceptionHandlerThrow;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.bean.CsvBeanPropertiesFactory;
+import io.github.hierarchicalcsv.core.bean.CsvLineToBeanProcessor;
+import io.github.hierarchicalcsv.core.bean.CsvTreeConstructor;
+import io.github.hierarchicalcsv.core.model.CsvBeanType;
+import io.github.hierarchicalcsv.core.model.CsvLineResult;
+import io.github.hierarchicalcsv.core.util.HCSVUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each stage of the read path on a synthetic file: tokenizing the lines with
+ * OpenCSV, binding the tokenized lines to beans, and linking the bound beans into trees.
+ * Each operation processes the whole file; run with {@code -prof gc} to get the allocation rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StageBenchmark {
+
+    @Param({"2", "4"})
+    private int depth;
+
+    @Param("4")
+    private int fanOut;
+
+    @Param("2")
+    private int leafTypes;
+
+    @Param({"8", "32"})
+    private int keyWidth;
+
+    @Param("0")
+    private int unknownPercent;
+
+    @Param("0")
+    private int filteredPercent;
+
+    @Param("1000")
+    private int roots;
+
+    private String csv;
+
+    private List<String[]> lines;
+
+    private CsvBeanPropertiesFactory beanPropertiesFactory;
+
+    private ResourceBundle resourceBundle;
+
+    @Setup
+    public void setUp() throws IOException, CsvException {
+        csv = new SyntheticCsvGenerator()
+                .withRoots(roots)
+                .withDepth(depth)
+                .withFanOut(fanOut)
+                .withLeafTypes(leafTypes)
+                .withKeyWidth(keyWidth)
+                .withUnknownPercent(unknownPercent)
+                .withFilteredPercent(filteredPercent)
+                .generate();
+        try (CSVReader csvReader = newCsvReader()) {
+            lines = new ArrayList<>(csvReader.readAll());
+        }
+        resourceBundle = ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME);
+        beanPropertiesFactory = new CsvBeanPropertiesFactory(
+                BenchmarkBeans.beanTypes().toArray(new CsvBeanType[0]), resourceBundle);
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole blackhole) throws IOException, CsvException {
+        try (CSVReader csvReader = newCsvReader()) {
+            String[] line;
+            while ((line = csvReader.readNext()) != null) {
+                blackhole.consume(line);
+            }
+        }
+    }
+
+    @Benchmark
+    public void bind(Blackhole blackhole) throws CsvException {
+        CsvLineToBeanProcessor lineToBeanProcessor = newLineToBeanProcessor();
+        CsvLineResult result = new CsvLineResult();
+        for (int i = 0; i < lines.size(); i++) {
+            String[] line = lines.get(i);
+            result.reset(i + 1L, line);
+            lineToBeanProcessor.processLine(i + 1L, line, result);
+            blackhole.consume(result.getBean());
+        }
+    }
+
+    @Benchmark
+    public List<Object> link(BoundLines boundLines) throws CsvException {
+        CsvTreeConstructor treeConstructor = new CsvTreeConstructor(
+                beanPropertiesFactory, new ExceptionHandlerThrow(), resourceBundle);
+        for (CsvLineResult result : boundLines.results) {
+            if (result.hasCsvBean()) {
+                treeConstructor.handle(result);
+            }
+        }
+        return treeConstructor.getBeans();
+    }
+
+    /**
+     * Beans bound again before each {@link #link} operation, as linking modifies them
+     */
+    @State(Scope.Thread)
+    public static class BoundLines {
+
+        private final List<CsvLineResult> results = new ArrayList<>();
+
+        @Setup(Level.Invocation)
+        public void bind(StageBenchmark benchmark) throws CsvException {
+            results.clear();
+            CsvLineToBeanProcessor lineToBeanProcessor = benchmark.newLineToBeanProcessor();
+            for (int i = 0; i < benchmark.lines.size(); i++) {
+                String[] line = benchmark.lines.get(i);
+                CsvLineResult result = new CsvLineResult();
+                result.reset(i + 1L, line);
+                lineToBeanProcessor.processLine(i + 1L, line, result);
+                results.add(result);
+            }
+        }
+    }
+
+    private CSVReader newCsvReader() {
+        return new CSVReaderBuilder(new StringReader(csv))
+                .withCSVParser(new CSVParserBuilder().withSeparator(SyntheticCsvGenerator.SEPARATOR).build())
+                .build();
+    }
+
+    private CsvLineToBeanProcessor newLineToBeanProcessor() {
+        return new CsvLineToBeanProcessor(beanPropertiesFactory, new ExceptionHandlerThrow(), true, resourceBundle);
+    }
+}
@@ -0,0 +1,209 @@
+package io.github.hierarchicalcsv.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * Generates hierarchical files of the beans of {@link BenchmarkBeans}, written depth-first:
+ * each root line ({@code L0}) is followed by its leaf lines ({@code N0}, {@code T0}), then by
+ * {@code fanOut} children on each level down to {@code depth}. A line holds its code, its key,
+ * the keys of its ancestors, then a name, a quantity, a price and a status.
+ * <p>
+ * Lines of an unknown type ({@code ZZ}) can be interleaved, and leaf lines can be marked as
+ * filtered out by {@link BenchmarkBeans#FILTER}. The same configuration and seed always
+ * generate the same file.
+ */
+public class SyntheticCsvGenerator {
+
+    public static final char SEPARATOR = ';';
+
+    private int roots;
+
+    private int depth;
+
+    private int fanOut;
+
+    private int leafTypes;
+
+    private int keyWidth;
+
+    private int unknownPercent;
+
+    private int filteredPercent;
+
+    private long seed;
+
+    private Random random;
+
+    private long nextKey;
+
+    /**
+     * Creates a generator of 1000 roots with 3 levels of 4 children and short keys
+     */
+    public SyntheticCsvGenerator() {
+        this.roots = 1000;
+        this.depth = 3;
+        this.fanOut = 4;
+        this.keyWidth = 8;
+        this.seed = 42;
+    }
+
+    public SyntheticCsvGenerator withRoots(int roots) {
+        this.roots = roots;
+        return this;
+    }
+
+    /**
+     * @param depth The number of levels, from 1 (roots only) to 4
+     * @return The generator
+     */
+    public SyntheticCsvGenerator withDepth(int depth) {
+        this.depth = Math.max(1, Math.min(depth, BenchmarkBeans.MAX_DEPTH));
+        return this;
+    }
+
+    /**
+     * @param fanOut The number of children of each bean that is not on the last level
+     * @return The generator
+     */
+    public SyntheticCsvGenerator withFanOut(int fanOut) {
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    /**
+     * @param leafTypes The number of leaf types under each root, from 0 to 2, one line of each
+     * @return The generator
+     */
+    public SyntheticCsvGenerator withLeafTypes(int leafTypes) {
+        this.leafTypes = Math.max(0, Math.min(leafTypes, 2));
+        return this;
+    }
+
+    /**
+     * @param keyWidth The number of characters of the keys
+     * @return The generator
+     */
+    public SyntheticCsvGenerator withKeyWidth(int keyWidth) {
+        this.keyWidth = keyWidth;
+        return this;
+    }
+
+    /**
+     * @param unknownPercent The percentage of lines of an unknown type, added between the lines
+     * @return The generator
+     */
+    public SyntheticCsvGenerator withUnknownPercent(int unknownPercent) {
+        this.unknownPercent = unknownPercent;
+        return this;
+    }
+
+    /**
+     * @param filteredPercent The percentage of leaf lines filtered out
+     * @return The generator
+     */
+    public SyntheticCsvGenerator withFilteredPercent(int filteredPercent) {
+        this.filteredPercent = filteredPercent;
+        return this;
+    }
+
+    public SyntheticCsvGenerator withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @return The generated file
+     */
+    public String generate() {
+        StringBuilder csv = new StringBuilder();
+        generate(csv);
+        return csv.toString();
+    }
+
+    /**
+     * @param path The file to write, in {@code UTF-8}
+     * @throws IOException If the file cannot be written
+     */
+    public void generate(Path path) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            generate(writer);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private void generate(Appendable out) {
+        random = new Random(seed);
+        nextKey = 0;
+        for (int root = 0; root < roots; root++) {
+            String rootKey = writeLine(out, BenchmarkBeans.LEVEL_CODES[0], "", depth == 1);
+            String rootPath = rootKey + SEPARATOR;
+            if (leafTypes > 0) {
+                writeLine(out, BenchmarkBeans.NOTE_CODE, rootPath, true);
+            }
+            if (leafTypes > 1) {
+                writeLine(out, BenchmarkBeans.TAG_CODE, rootPath, true);
+            }
+            writeChildren(out, rootPath, 1);
+        }
+    }
+
+    /**
+     * @param ancestorKeys The keys of the ancestors, each followed by the separator
+     */
+    private void writeChildren(Appendable out, String ancestorKeys, int level) {
+        if (level < depth) {
+            for (int child = 0; child < fanOut; child++) {
+                String key = writeLine(out, BenchmarkBeans.LEVEL_CODES[level], ancestorKeys, level == depth - 1);
+                writeChildren(out, ancestorKeys + key + SEPARATOR, level + 1);
+            }
+        }
+    }
+
+    /**
+     * Writes a line, possibly preceded by an unknown line
+     *
+     * @param ancestorKeys The keys of the ancestors, each followed by the separator
+     * @param leaf Whether the line can be filtered out, as no line refers to it
+     * @return The key of the line
+     */
+    private String writeLine(Appendable out, String code, String ancestorKeys, boolean leaf) {
+        try {
+            if (random.nextInt(100) < unknownPercent) {
+                out.append(BenchmarkBeans.UNKNOWN_CODE).append(SEPARATOR).append(newKey())
+                        .append(SEPARATOR).append(ancestorKeys).append("unknown\n");
+            }
+            String key = newKey();
+            String status = leaf && random.nextInt(100) < filteredPercent?
+                    BenchmarkBeans.FILTERED_STATUS: "OK";
+            out.append(code).append(SEPARATOR)
+                    .append(key).append(SEPARATOR)
+                    .append(ancestorKeys)
+                    .append("name-").append(key).append(SEPARATOR)
+                    .append(Integer.toString(random.nextInt(1000))).append(SEPARATOR)
+                    .append(Double.toString(random.nextInt(100_000) / 100.0)).append(SEPARATOR)
+                    .append(status).append('\n');
+            return key;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String newKey() {
+        String key = Long.toString(nextKey++, Character.MAX_RADIX);
+        if (key.length() >= keyWidth) {
+            return key;
+        }
+        StringBuilder padded = new StringBuilder(keyWidth);
+        for (int i = key.length(); i < keyWidth; i++) {
+            padded.append('0');
+        }
+        return padded.append(key).toString();
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.hierarchicalcsv.benchmark.model;
+
+import com.opencsv.bean.CsvBindByPosition;
+import io.github.hierarchicalcsv.core.annotation.CsvChildList;
+import io.github.hierarchicalcsv.core.annotation.CsvKey;
+import io.github.hierarchicalcsv.core.annotation.HCSVBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Root bean of the synthetic files
+ */
+@HCSVBean(codeValue = "L0")
+public class Level0Line {
+
+    @CsvBindByPosition(position = 0, required = true)
+    private String code;
+
+    @CsvKey
+    @CsvBindByPosition(position = 1)
+    private String id;
+
+    @CsvBindByPosition(position = 2)
+    private String name;
+
+    @CsvBindByPosition(position = 3)
+    private int quantity;
+
+    @CsvBindByPosition(position = 4)
+    private double price;
+
+    @CsvBindByPosition(position = 5)
+    private String status;
+
+    @CsvChildList
+    private List<Level1Line> children = new ArrayList<>();
+
+    @CsvChildList
+    private List<NoteLine> notes = new ArrayList<>();
+
+    @CsvChildList
+    private List<TagLine> tags = new ArrayList<>();
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<Level1Line> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<Level1Line> children) {
+        this.children = children;
+    }
+
+    public List<NoteLine> getNotes() {
+        return notes;
+    }
+
+    public void setNotes(List<NoteLine> notes) {
+        this.notes = notes;
+    }
+
+    public List<TagLine> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<TagLine> tags) {
+        this.tags = tags;
+    }
+}
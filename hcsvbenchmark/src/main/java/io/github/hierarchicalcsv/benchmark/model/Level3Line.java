@@ -0,0 +1,116 @@
+package io.github.hierarchicalcsv.benchmark.model;
+
+import com.opencsv.bean.CsvBindByPosition;
+import io.github.hierarchicalcsv.core.annotation.CsvKey;
+import io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart;
+import io.github.hierarchicalcsv.core.annotation.HCSVBean;
+
+/**
+ * Child of {@link Level2Line}, the deepest level
+ */
+@HCSVBean(codeValue = "L3")
+public class Level3Line {
+
+    @CsvBindByPosition(position = 0, required = true)
+    private String code;
+
+    @CsvKey
+    @CsvBindByPosition(position = 1)
+    private String id;
+
+    @CsvParentKeyPart(Level0Line.class)
+    @CsvBindByPosition(position = 2)
+    private String level0Id;
+
+    @CsvParentKeyPart(value = Level1Line.class, order = 1)
+    @CsvBindByPosition(position = 3)
+    private String level1Id;
+
+    @CsvParentKeyPart(value = Level2Line.class, order = 2)
+    @CsvBindByPosition(position = 4)
+    private String level2Id;
+
+    @CsvBindByPosition(position = 5)
+    private String name;
+
+    @CsvBindByPosition(position = 6)
+    private int quantity;
+
+    @CsvBindByPosition(position = 7)
+    private double price;
+
+    @CsvBindByPosition(position = 8)
+    private String status;
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLevel0Id() {
+        return level0Id;
+    }
+
+    public void setLevel0Id(String level0Id) {
+        this.level0Id = level0Id;
+    }
+
+    public String getLevel1Id() {
+        return level1Id;
+    }
+
+    public void setLevel1Id(String level1Id) {
+        this.level1Id = level1Id;
+    }
+
+    public String getLevel2Id() {
+        return level2Id;
+    }
+
+    public void setLevel2Id(String level2Id) {
+        this.level2Id = level2Id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.hierarchicalcsv.benchmark.model;
+
+import com.opencsv.bean.CsvBindByPosition;
+import io.github.hierarchicalcsv.core.annotation.CsvKey;
+import io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart;
+import io.github.hierarchicalcsv.core.annotation.HCSVBean;
+
+/**
+ * Leaf child of {@link Level0Line}
+ */
+@HCSVBean(codeValue = "T0")
+public class TagLine {
+
+    @CsvBindByPosition(position = 0, required = true)
+    private String code;
+
+    @CsvKey
+    @CsvBindByPosition(position = 1)
+    private String id;
+
+    @CsvParentKeyPart(Level0Line.class)
+    @CsvBindByPosition(position = 2)
+    private String level0Id;
+
+    @CsvBindByPosition(position = 3)
+    private String name;
+
+    @CsvBindByPosition(position = 4)
+    private int quantity;
+
+    @CsvBindByPosition(position = 5)
+    private double price;
+
+    @CsvBindByPosition(position = 6)
+    private String status;
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getLevel0Id() {
+        return level0Id;
+    }
+
+    public void setLevel0Id(String level0Id) {
+        this.level0Id = level0Id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    public void setPrice(double price) {
+        this.price = price;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,320 @@
+package io.github.hierarchicalcsv.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * {@link Reader} decoding an {@link InputStream} or a {@link ByteBuffer}, like an
+ * {@link java.io.InputStreamReader}, with a fast path for ASCII. With UTF-8 or a single-byte
+ * charset encoding ASCII as itself, runs of ASCII bytes are detected 8 bytes at a time and
+ * copied as characters, and the charset decoder is only called on the runs of high bytes.
+ * Other charsets are decoded with the charset decoder only.
+ * <p>
+ * Malformed and unmappable bytes are reported with a
+ * {@link java.nio.charset.CharacterCodingException}, as for a file input.
+ */
+final class ByteInputReader extends Reader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * Stream read, or {@literal null} for a buffer input
+     */
+    private final InputStream input;
+
+    /**
+     * Direct buffer copied in chunks, or {@literal null}
+     */
+    private final ByteBuffer source;
+
+    private final CharsetDecoder decoder;
+
+    private final boolean asciiFastPath;
+
+    /**
+     * Bytes read: the array of a heap buffer input, or a chunk buffer
+     */
+    private byte[] bytes;
+
+    private int position;
+
+    private int limit;
+
+    private boolean endOfInput;
+
+    /**
+     * Whether the decoder is flushed at the end of the input
+     */
+    private boolean finished;
+
+    private boolean closed;
+
+    /**
+     * Characters decoded when a single one is read, as a supplementary character does not fit
+     */
+    private final char[] pair = new char[2];
+
+    /**
+     * Second character decoded in {@code pair}, the low surrogate of a supplementary character,
+     * returned by the next read, or {@literal -1}
+     */
+    private int pendingChar = -1;
+
+    /**
+     * @param input The bytes to decode
+     * @param charset The charset of the bytes
+     */
+    ByteInputReader(InputStream input, Charset charset) {
+        this.input = input;
+        this.source = null;
+        this.decoder = newDecoder(charset);
+        this.asciiFastPath = isAsciiCompatible(charset);
+        this.bytes = new byte[BUFFER_SIZE];
+    }
+
+    /**
+     * @param buffer The bytes to decode, from its position to its limit. The buffer itself is
+     *      not modified, and its content must not change while it is read
+     * @param charset The charset of the bytes
+     */
+    ByteInputReader(ByteBuffer buffer, Charset charset) {
+        this.input = null;
+        this.decoder = newDecoder(charset);
+        this.asciiFastPath = isAsciiCompatible(charset);
+        if (buffer.hasArray()) {
+            // Read in place
+            this.source = null;
+            this.bytes = buffer.array();
+            this.position = buffer.arrayOffset() + buffer.position();
+            this.limit = buffer.arrayOffset() + buffer.limit();
+            this.endOfInput = true;
+        } else {
+            this.source = buffer.duplicate();
+            this.bytes = new byte[Math.min(BUFFER_SIZE, Math.max(buffer.remaining(), 16))];
+        }
+    }
+
+    private static CharsetDecoder newDecoder(Charset charset) {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    /**
+     * @param charset A charset
+     * @return Whether the charset decodes each byte below {@literal 0x80} as the same ASCII
+     *      character, and never uses such a byte inside the encoding of another character
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        if (!StandardCharsets.UTF_8.equals(charset)
+                && !(charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f)) {
+            return false;
+        }
+        byte[] ascii = new byte[0x80];
+        for (int i = 0; i < ascii.length; i++) {
+            ascii[i] = (byte) i;
+        }
+        String decoded = new String(ascii, charset);
+        if (decoded.length() != ascii.length) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length; i++) {
+            if (decoded.charAt(i) != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (pendingChar >= 0) {
+            chars[offset] = (char) pendingChar;
+            pendingChar = -1;
+            return 1;
+        }
+        while (!finished) {
+            if (asciiFastPath && position < limit && bytes[position] >= 0) {
+                return copyAscii(chars, offset, length);
+            }
+            if (position < limit) {
+                int decoded = decode(chars, offset, length);
+                if (decoded > 0) {
+                    return decoded;
+                }
+            }
+            if (endOfInput) {
+                int decoded = finish(chars, offset, length);
+                if (decoded > 0) {
+                    return decoded;
+                }
+            } else {
+                fill();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies the ASCII bytes from {@code position}, at least one
+     */
+    private int copyAscii(char[] chars, int offset, int length) {
+        int count = asciiLength(bytes, position, Math.min(limit, position + length));
+        for (int i = 0; i < count; i++) {
+            chars[offset + i] = (char) bytes[position + i];
+        }
+        position += count;
+        return count;
+    }
+
+    /**
+     * @return The number of ASCII bytes from {@code from}, tested 8 bytes at a time
+     */
+    private static int asciiLength(byte[] bytes, int from, int to) {
+        int i = from;
+        while (i + Long.BYTES <= to && ((long) LONGS.get(bytes, i) & HIGH_BITS) == 0) {
+            i += Long.BYTES;
+        }
+        while (i < to && bytes[i] >= 0) {
+            i++;
+        }
+        return i - from;
+    }
+
+    /**
+     * Decodes the bytes from {@code position}: the run of high bytes with the ASCII fast path,
+     * all the bytes read otherwise
+     *
+     * @return The number of characters decoded, {@literal 0} if more bytes are needed
+     * @throws CharacterCodingException If the bytes are malformed or unmappable
+     */
+    private int decode(char[] chars, int offset, int length) throws CharacterCodingException {
+        if (length == 1) {
+            return takeFirst(decode(pair, 0, pair.length), chars, offset);
+        }
+        int end = limit;
+        if (asciiFastPath) {
+            end = position;
+            while (end < limit && bytes[end] < 0) {
+                end++;
+            }
+        }
+        // A run followed by an ASCII byte is complete: a truncated sequence in it is malformed
+        boolean complete = asciiFastPath && (end < limit || endOfInput);
+        ByteBuffer in = ByteBuffer.wrap(bytes, position, end - position);
+        CharBuffer out = CharBuffer.wrap(chars, offset, length);
+        CoderResult result = decoder.decode(in, out, complete);
+        position = in.position();
+        if (result.isError() && out.position() == offset) {
+            result.throwException();
+        }
+        if (complete && result.isUnderflow()) {
+            decoder.reset();
+        }
+        return out.position() - offset;
+    }
+
+    /**
+     * Decodes the last bytes and flushes the decoder
+     *
+     * @return The number of characters decoded
+     * @throws CharacterCodingException If the last bytes are malformed or unmappable
+     */
+    private int finish(char[] chars, int offset, int length) throws CharacterCodingException {
+        if (length == 1) {
+            return takeFirst(finish(pair, 0, pair.length), chars, offset);
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes, position, limit - position);
+        CharBuffer out = CharBuffer.wrap(chars, offset, length);
+        CoderResult result = decoder.decode(in, out, true);
+        position = in.position();
+        if (result.isError() && out.position() == offset) {
+            result.throwException();
+        }
+        if (result.isUnderflow()) {
+            finished = decoder.flush(out).isUnderflow();
+        }
+        return out.position() - offset;
+    }
+
+    /**
+     * Returns the first of the characters decoded in {@code pair}, and keeps the second one
+     * for the next read
+     *
+     * @param decoded The number of characters decoded in {@code pair}
+     * @return The number of characters returned
+     */
+    private int takeFirst(int decoded, char[] chars, int offset) {
+        if (decoded == 0) {
+            return 0;
+        }
+        chars[offset] = pair[0];
+        if (decoded == 2) {
+            pendingChar = pair[1];
+        }
+        return 1;
+    }
+
+    /**
+     * Keeps the bytes not decoded yet, a truncated sequence, and reads the next bytes after them
+     */
+    private void fill() throws IOException {
+        int remaining = limit - position;
+        System.arraycopy(bytes, position, bytes, 0, remaining);
+        position = 0;
+        limit = remaining;
+        if (input != null) {
+            int read = input.read(bytes, limit, bytes.length - limit);
+            if (read < 0) {
+                endOfInput = true;
+            } else {
+                limit += read;
+            }
+        } else {
+            int read = Math.min(source.remaining(), bytes.length - limit);
+            source.get(bytes, limit, read);
+            limit += read;
+            endOfInput = !source.hasRemaining();
+        }
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return pendingChar >= 0 || position < limit || (input != null && input.available() > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (input != null) {
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.hierarchicalcsv.core;
+
+import io.github.hierarchicalcsv.core.event.ReadBatchEvent;
+
+/**
+ * Groups the lines of a sequential read in batches and records a {@link ReadBatchEvent}
+ * for each of them. Whether the event is enabled is only checked at the start of a batch,
+ * so a disabled event costs a counter per line.
+ */
+final class CsvBatchEventRecorder {
+
+    private final int batchSize;
+
+    /**
+     * Event of the current batch, {@literal null} if the event is disabled
+     */
+    private ReadBatchEvent event;
+
+    /**
+     * Number of lines of the current batch
+     */
+    private int lines;
+
+    CsvBatchEventRecorder(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * @param lineNumber The number of the line being read
+     * @return Whether the stages of the line are to be timed
+     */
+    boolean startLine(long lineNumber) {
+        if (lines == 0) {
+            ReadBatchEvent batchEvent = new ReadBatchEvent();
+            if (batchEvent.isEnabled()) {
+                batchEvent.begin();
+                batchEvent.setMode(ReadBatchEvent.SEQUENTIAL);
+                batchEvent.setFirstLineNumber(lineNumber);
+                event = batchEvent;
+            }
+        }
+        return event != null;
+    }
+
+    /**
+     * @return Whether the event of the current batch is recorded
+     */
+    boolean isRecording() {
+        return event != null;
+    }
+
+    /**
+     * Adds the time spent in each stage for the line. Only called when the line is timed
+     */
+    void addStages(long tokenizing, long binding, long linking) {
+        event.addTokenizing(tokenizing);
+        event.addBinding(binding);
+        event.addLinking(linking);
+    }
+
+    /**
+     * @param lineNumber The number of the line read
+     */
+    void endLine(long lineNumber) {
+        lines++;
+        if (event != null) {
+            event.setLastLineNumber(lineNumber);
+        }
+        if (lines == batchSize) {
+            commit();
+        }
+    }
+
+    /**
+     * Commits the event of the current batch, if any
+     */
+    void commit() {
+        if (event != null) {
+            event.setLines(lines);
+            event.commit();
+            event = null;
+        }
+        lines = 0;
+    }
+}
@@ -0,0 +1,453 @@
+package io.github.hierarchicalcsv.core;
+
+import com.opencsv.CSVParser;
+import com.opencsv.ICSVParser;
+import io.github.hierarchicalcsv.core.bean.CsvCodeIndex;
+import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits a CSV file into byte ranges that can be read independently. A range always
+ * starts on the first byte of a record whose bean type has no parent (a root line), so
+ * that a whole subtree is read by the same worker in the common case.
+ * <p>
+ * The file is scanned once, sequentially, on raw bytes: separators, quotes and escapes
+ * are tracked so that a newline inside a quoted field is never taken as a record end,
+ * and newlines are counted so that each range knows the line number it starts at. The
+ * code of a candidate record is decoded from its first fields only. This requires an
+ * ASCII compatible charset (UTF-8, ISO-8859-x, ...).
+ * <p>
+ * The same scan finds every root line of the file for {@link HCSVRootIndex}.
+ */
+final class CsvChunkSplitter {
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Maximum number of bytes decoded to find the code of a candidate record. If the
+     * code cannot be found within these bytes, the record is not used as a boundary
+     */
+    private static final int RECORD_HEAD_SIZE = 1 << 13;
+
+    private static final int NONE = -1;
+
+    private final FileChannel channel;
+
+    private final Charset charset;
+
+    private final CsvCodeIndex codeIndex;
+
+    private final int lastCodePosition;
+
+    private final int separator;
+
+    private final int quote;
+
+    private final int escape;
+
+    /**
+     * Whether the escape character is honored in unquoted fields too, as {@link CSVParser}
+     * does unless its quotes are strict
+     */
+    private final boolean escapeOutsideQuotes;
+
+    private final int skipLines;
+
+    /**
+     * Buffers reused to decode candidate records, grown for the records decoded entirely
+     */
+    private byte[] recordBytes;
+
+    private byte[] field;
+
+    /**
+     * State of the record being decoded: its offset, the number of bytes read so far and the
+     * maximum to read, and whether the end of the file was reached
+     */
+    private long recordPosition;
+
+    private int recordLength;
+
+    private int recordMaxBytes;
+
+    private boolean recordEndOfFile;
+
+    /**
+     * @param channel The file to split
+     * @param charset The charset of the file, must be ASCII compatible
+     * @param codeIndex The index used to find the bean type of a candidate record
+     * @param separator The separator character
+     * @param quote The quote character, or a negative value if quotes are ignored
+     * @param escape The escape character, or a negative value if there is none
+     * @param escapeOutsideQuotes Whether the escape character is honored in unquoted fields
+     * @param skipLines The number of lines skipped at the beginning of the file
+     */
+    CsvChunkSplitter(FileChannel channel, Charset charset, CsvCodeIndex codeIndex,
+                     char separator, int quote, int escape, boolean escapeOutsideQuotes, int skipLines) {
+        this.channel = channel;
+        this.charset = charset;
+        this.codeIndex = codeIndex;
+        int[] positions = codeIndex.getPositions();
+        this.lastCodePosition = positions.length == 0? 0: positions[positions.length - 1];
+        this.separator = separator;
+        this.quote = quote;
+        this.escape = escape == quote? NONE: escape;
+        this.escapeOutsideQuotes = escapeOutsideQuotes;
+        this.skipLines = skipLines;
+        this.recordBytes = new byte[RECORD_HEAD_SIZE];
+        this.field = new byte[RECORD_HEAD_SIZE];
+    }
+
+    /**
+     * @param channel The file to split
+     * @param charset The charset of the file
+     * @param codeIndex The index used to find the bean type of a candidate record
+     * @param parser The parser of the reader, or {@literal null} for the default one
+     * @param skipLines The number of lines skipped at the beginning of the file
+     * @return A splitter using the delimiters of the parser, or {@literal null} if they
+     *      are not encoded as single ASCII bytes in the charset
+     */
+    static CsvChunkSplitter forParser(FileChannel channel, Charset charset, CsvCodeIndex codeIndex,
+                                      ICSVParser parser, int skipLines) {
+        ICSVParser effectiveParser = parser != null? parser: new CSVParser();
+        int quote = effectiveParser.getQuotechar();
+        int escape = NONE;
+        boolean escapeOutsideQuotes = false;
+        if (effectiveParser instanceof CSVParser) {
+            CSVParser csvParser = (CSVParser) effectiveParser;
+            quote = csvParser.isIgnoreQuotations()? NONE: quote;
+            escape = csvParser.getEscape() == ICSVParser.NULL_CHARACTER? NONE: csvParser.getEscape();
+            escapeOutsideQuotes = !csvParser.isStrictQuotes();
+        }
+        if (!isAsciiCompatible(charset, effectiveParser.getSeparator(), quote, escape)) {
+            return null;
+        }
+        return new CsvChunkSplitter(channel, charset, codeIndex, effectiveParser.getSeparator(), quote, escape,
+                escapeOutsideQuotes, skipLines);
+    }
+
+    /**
+     * @return Whether the delimiters are encoded as the same single bytes in the charset
+     */
+    private static boolean isAsciiCompatible(Charset charset, char separator, int quote, int escape) {
+        for (int c : new int[]{'\n', '\r', separator, quote, escape}) {
+            if (c >= 0) {
+                byte[] bytes = String.valueOf((char) c).getBytes(charset);
+                if (c > 0x7F || bytes.length != 1 || bytes[0] != c) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits the file in ranges of about {@code chunkSize} bytes. A range is extended
+     * until the next root line, so ranges may be larger than {@code chunkSize} and there
+     * may be a single range.
+     *
+     * @param chunkSize The minimum size of a range
+     * @return The ranges in file order, covering the whole file
+     * @throws IOException In case of problem while reading the file
+     */
+    List<Chunk> split(long chunkSize) throws IOException {
+        ChunkCollector collector = new ChunkCollector(chunkSize);
+        scan(collector);
+        return collector.finish(channel.size());
+    }
+
+    /**
+     * Finds every root line of the file, in file order
+     *
+     * @param listener Receives each root line with all its fields decoded
+     * @throws IOException In case of problem while reading the file
+     */
+    void scanRoots(RootListener listener) throws IOException {
+        scan((position, lineNumber) -> {
+            CsvCodeProperties codeProperties = findCodeProperties(position);
+            if (codeProperties != null && !codeProperties.hasParent()) {
+                listener.root(position, lineNumber, codeProperties,
+                        decodeRecord(position, Integer.MAX_VALUE, Integer.MAX_VALUE));
+            }
+        });
+    }
+
+    /**
+     * Scans the file sequentially and reports the start of every record
+     */
+    private void scan(RecordListener listener) throws IOException {
+        long size = channel.size();
+        long lines = 0;
+        boolean inQuotes = false;
+        boolean escaped = false;
+        boolean recordStart = skipLines == 0;
+        long position = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < read; i++, position++) {
+                int b = bytes[i] & 0xFF;
+                if (recordStart) {
+                    recordStart = false;
+                    listener.recordStart(position, lines);
+                }
+                if (lines < skipLines) {
+                    if (b == '\n' && ++lines == skipLines) {
+                        recordStart = true;
+                    }
+                } else if (escaped && isEscapable(b)) {
+                    // Escaped delimiter, a newline ends the line of the parser and is never escaped
+                    escaped = false;
+                } else if (b == escape && (inQuotes || escapeOutsideQuotes)) {
+                    escaped = true;
+                } else if (b == quote) {
+                    inQuotes = !inQuotes;
+                } else {
+                    escaped = false;
+                    if (b == '\n') {
+                        lines++;
+                        recordStart = !inQuotes;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param b A byte following an escape character
+     * @return Whether {@link CSVParser} escapes it: a quote, an escape or a separator
+     */
+    private boolean isEscapable(int b) {
+        return b == quote || b == escape || b == separator;
+    }
+
+    private boolean isRootRecord(long position) throws IOException {
+        CsvCodeProperties codeProperties = findCodeProperties(position);
+        return codeProperties != null && !codeProperties.hasParent();
+    }
+
+    /**
+     * Decodes the first fields of the record starting at {@code position} and finds its bean type
+     *
+     * @param position The first byte of the record
+     * @return The bean type of the record, or {@literal null} if unknown
+     * @throws IOException In case of problem while reading the file
+     */
+    private CsvCodeProperties findCodeProperties(long position) throws IOException {
+        String[] head = decodeRecord(position, lastCodePosition + 1, RECORD_HEAD_SIZE);
+        return head.length == 0? null: codeIndex.find(head);
+    }
+
+    /**
+     * Decodes the fields of the record starting at {@code position}
+     *
+     * @param position The first byte of the record
+     * @param maxFields The maximum number of fields decoded
+     * @param maxBytes The maximum number of bytes read
+     * @return The fields decoded, complete ones only
+     * @throws IOException In case of problem while reading the file
+     */
+    private String[] decodeRecord(long position, int maxFields, int maxBytes) throws IOException {
+        recordPosition = position;
+        recordLength = 0;
+        recordMaxBytes = maxBytes;
+        recordEndOfFile = false;
+        List<String> fields = new ArrayList<>();
+        int fieldLength = 0;
+        boolean inQuotes = false;
+        int i = 0;
+        while (fields.size() < maxFields) {
+            int b = byteAt(i++);
+            if (b == NONE) {
+                if (recordEndOfFile && !inQuotes) {
+                    fields.add(decode(fieldLength, true));
+                }
+                break;
+            }
+            if (b == escape) {
+                // Like CSVParser, an escape that does not escape a delimiter is dropped
+                int next = byteAt(i);
+                if ((inQuotes || escapeOutsideQuotes) && next != NONE && isEscapable(next)) {
+                    fieldLength = append(fieldLength, next);
+                    i++;
+                }
+            } else if (b == quote) {
+                if (inQuotes && byteAt(i) == quote) {
+                    fieldLength = append(fieldLength, quote);
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+            } else if (!inQuotes && (b == separator || b == '\n')) {
+                fields.add(decode(fieldLength, b == '\n'));
+                fieldLength = 0;
+                if (b == '\n') {
+                    break;
+                }
+            } else {
+                fieldLength = append(fieldLength, b);
+            }
+        }
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * @param index The index of a byte in the record being decoded
+     * @return The byte, or {@link #NONE} beyond the end of the file or the maximum number of bytes
+     */
+    private int byteAt(int index) throws IOException {
+        while (index >= recordLength) {
+            if (recordEndOfFile || recordLength >= recordMaxBytes) {
+                return NONE;
+            }
+            if (recordLength == recordBytes.length) {
+                recordBytes = Arrays.copyOf(recordBytes, recordBytes.length * 2);
+            }
+            int read = channel.read(ByteBuffer.wrap(recordBytes, recordLength,
+                    Math.min(recordBytes.length, recordMaxBytes) - recordLength), recordPosition + recordLength);
+            if (read <= 0) {
+                recordEndOfFile = true;
+                return NONE;
+            }
+            recordLength += read;
+        }
+        return recordBytes[index] & 0xFF;
+    }
+
+    private int append(int fieldLength, int b) {
+        if (fieldLength == field.length) {
+            field = Arrays.copyOf(field, field.length * 2);
+        }
+        field[fieldLength] = (byte) b;
+        return fieldLength + 1;
+    }
+
+    private String decode(int length, boolean lastField) {
+        if (lastField && length > 0 && field[length - 1] == '\r') {
+            length--;
+        }
+        return new String(field, 0, length, charset);
+    }
+
+    /**
+     * Receives the start of each record during a scan
+     */
+    @FunctionalInterface
+    private interface RecordListener {
+
+        void recordStart(long position, long lineNumber) throws IOException;
+    }
+
+    /**
+     * Receives the root lines found by {@link #scanRoots(RootListener)}
+     */
+    @FunctionalInterface
+    interface RootListener {
+
+        /**
+         * @param position The offset of the first byte of the root line
+         * @param lineNumber The number of lines before the root line
+         * @param codeProperties The bean type of the root line
+         * @param fields The fields of the root line
+         * @throws IOException If the root line cannot be handled
+         */
+        void root(long position, long lineNumber, CsvCodeProperties codeProperties, String[] fields) throws IOException;
+    }
+
+    /**
+     * Cuts a range at the first root line found once the range reaches its minimum size
+     */
+    private final class ChunkCollector implements RecordListener {
+
+        private final long chunkSize;
+
+        private final List<Chunk> chunks = new ArrayList<>();
+
+        private long chunkStart;
+
+        private long chunkFirstLine;
+
+        private long nextTarget;
+
+        private ChunkCollector(long chunkSize) {
+            this.chunkSize = chunkSize;
+            this.nextTarget = chunkSize;
+        }
+
+        @Override
+        public void recordStart(long position, long lineNumber) throws IOException {
+            if (position >= nextTarget && isRootRecord(position)) {
+                chunks.add(new Chunk(chunkStart, position, chunkFirstLine, chunks.isEmpty()? skipLines: 0));
+                chunkStart = position;
+                chunkFirstLine = lineNumber;
+                nextTarget = position + chunkSize;
+            }
+        }
+
+        private List<Chunk> finish(long size) {
+            chunks.add(new Chunk(chunkStart, size, chunkFirstLine, chunks.isEmpty()? skipLines: 0));
+            return chunks;
+        }
+    }
+
+    /**
+     * A byte range of the file, starting on a record boundary
+     */
+    static final class Chunk {
+
+        private final long start;
+
+        private final long end;
+
+        private final long firstLine;
+
+        private final int skipLines;
+
+        Chunk(long start, long end, long firstLine, int skipLines) {
+            this.start = start;
+            this.end = end;
+            this.firstLine = firstLine;
+            this.skipLines = skipLines;
+        }
+
+        /**
+         * @return The offset of the first byte of the range
+         */
+        long getStart() {
+            return start;
+        }
+
+        /**
+         * @return The offset following the last byte of the range
+         */
+        long getEnd() {
+            return end;
+        }
+
+        /**
+         * @return The number of lines before the range, added to the line numbers read in it
+         */
+        long getFirstLine() {
+            return firstLine;
+        }
+
+        /**
+         * @return The number of lines to skip at the beginning of the range
+         */
+        int getSkipLines() {
+            return skipLines;
+        }
+    }
+}
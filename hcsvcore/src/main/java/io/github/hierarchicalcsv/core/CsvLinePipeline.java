@@ -0,0 +1,428 @@
+package io.github.hierarchicalcsv.core;
+
+import com.opencsv.bean.exceptionhandler.CsvExceptionHandler;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.bean.CsvBeanPropertiesFactory;
+import io.github.hierarchicalcsv.core.bean.CsvLineToBeanProcessor;
+import io.github.hierarchicalcsv.core.event.ReadBatchEvent;
+import io.github.hierarchicalcsv.core.exception.csv.UnknownBeanTypeException;
+import io.github.hierarchicalcsv.core.metrics.CsvReaderMetrics;
+import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.core.model.CsvLineResult;
+import io.github.hierarchicalcsv.core.model.EmptyBean;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits the processing of the lines in three stages:
+ * <ol>
+ *     <li>a tokenizer thread reads batches of lines and calls
+ *     {@link CsvLineProcessListener#beforeLineProcess(long, String[])},</li>
+ *     <li>a pool of threads binds the lines of each batch to beans,</li>
+ *     <li>the reader thread consumes the bound lines in line order with {@link #next()},
+ *     and links them.</li>
+ * </ol>
+ * Batches are recycled through a bounded pool, so the tokenizer waits when the binding
+ * or the linking stage falls behind, and the memory used is bounded by the pool size.
+ * <p>
+ * Exceptions caught by the default exception handler are recorded while binding and handed
+ * to it by {@link #next()} in line order, so that results and handled exceptions are the
+ * same as a sequential read.
+ */
+final class CsvLinePipeline implements AutoCloseable {
+
+    private static final AtomicInteger PIPELINE_COUNT = new AtomicInteger();
+
+    private final CsvLineSource lineSource;
+
+    private final CsvLineProcessListener lineProcessListener;
+
+    private final CsvBeanPropertiesFactory beanPropertiesFactory;
+
+    private final CsvExceptionHandler exceptionHandler;
+
+    private final boolean ignoreUnknownBeanType;
+
+    private final ResourceBundle resourceBundle;
+
+    private final boolean errorStackTraces;
+
+    /**
+     * Metrics of the reader, {@literal null} when disabled
+     */
+    private final CsvReaderMetrics metrics;
+
+    /**
+     * Batches ready to be filled by the tokenizer
+     */
+    private final BlockingQueue<Batch> freeBatches;
+
+    /**
+     * Batches submitted for binding, in line order
+     */
+    private final BlockingQueue<Batch> orderedBatches;
+
+    private final ExecutorService binders;
+
+    private final Thread tokenizer;
+
+    /**
+     * Batch being consumed by the reader thread, and index of its next line
+     */
+    private Batch current;
+
+    private int index;
+
+    /**
+     * @param lineSource The source of the lines, only used by the tokenizer thread from now on
+     * @param bindingThreads The number of threads binding beans
+     * @param batchSize The number of lines per batch
+     */
+    CsvLinePipeline(CsvLineSource lineSource, CsvLineProcessListener lineProcessListener,
+                    CsvBeanPropertiesFactory beanPropertiesFactory, CsvExceptionHandler exceptionHandler,
+                    boolean ignoreUnknownBeanType, ResourceBundle resourceBundle, boolean errorStackTraces,
+                    CsvReaderMetrics metrics, int bindingThreads, int batchSize) {
+        this.lineSource = lineSource;
+        this.lineProcessListener = lineProcessListener;
+        this.beanPropertiesFactory = beanPropertiesFactory;
+        this.exceptionHandler = exceptionHandler;
+        this.ignoreUnknownBeanType = ignoreUnknownBeanType;
+        this.resourceBundle = resourceBundle;
+        this.errorStackTraces = errorStackTraces;
+        this.metrics = metrics;
+        int batchCount = 2 * bindingThreads + 1;
+        this.freeBatches = new ArrayBlockingQueue<>(batchCount);
+        this.orderedBatches = new ArrayBlockingQueue<>(batchCount);
+        for (int i = 0; i < batchCount; i++) {
+            freeBatches.add(new Batch(batchSize));
+        }
+        int pipelineId = PIPELINE_COUNT.incrementAndGet();
+        AtomicInteger binderCount = new AtomicInteger();
+        this.binders = Executors.newFixedThreadPool(bindingThreads, runnable -> {
+            Thread thread = new Thread(runnable, "hcsv-binder-" + pipelineId + "-" + binderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tokenizer = new Thread(this::tokenize, "hcsv-tokenizer-" + pipelineId);
+        this.tokenizer.setDaemon(true);
+    }
+
+    CsvLinePipeline start() {
+        tokenizer.start();
+        return this;
+    }
+
+    /**
+     * Tokenizer stage: fills the batches and submits them for binding, until the end of
+     * the file or a reading error
+     */
+    private void tokenize() {
+        try {
+            boolean last = false;
+            while (!last) {
+                Batch batch = freeBatches.take();
+                last = batch.fill();
+                batch.binding = binders.submit(batch::bind);
+                orderedBatches.put(batch);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Whether there is one more line (or a pending reading error)
+     * @throws IOException In case of problem while binding the lines
+     */
+    boolean hasNext() throws IOException {
+        nextBatch();
+        return index < current.count || current.readFailure != null;
+    }
+
+    /**
+     * Returns the next bound line. The exceptions caught by the default exception handler
+     * are handed to it first, as {@link CsvLineToBeanProcessor} would: an unknown bean type
+     * stays in the result whatever the handler returns, a binding exception is replaced by the
+     * one returned, or by the one thrown, and removed if the handler returns {@literal null}
+     *
+     * @return The result of the line, reused once the batch is consumed
+     * @throws IOException In case of problem while reading the file
+     * @throws CsvException If a line cannot be read, or an exception handler rethrows an exception
+     */
+    CsvLineResult next() throws IOException, CsvException {
+        nextBatch();
+        if (index == current.count) {
+            Exception readFailure = current.readFailure;
+            current.readFailure = null;
+            if (readFailure instanceof IOException) {
+                throw (IOException) readFailure;
+            } else if (readFailure instanceof RuntimeException) {
+                throw (RuntimeException) readFailure;
+            }
+            throw (CsvException) readFailure;
+        }
+        int i = index++;
+        CsvLineResult result = current.results[i];
+        List<CsvException> thrownExceptions = result.getThrownExceptions();
+        for (CsvException recorded : current.recorded.get(i)) {
+            if (recorded instanceof UnknownBeanTypeException) {
+                exceptionHandler.handleException(recorded);
+                continue;
+            }
+            int position = thrownExceptions.indexOf(recorded);
+            CsvException handled;
+            try {
+                handled = exceptionHandler.handleException(recorded);
+            } catch (CsvException ex) {
+                thrownExceptions.set(position, ex);
+                throw ex;
+            }
+            if (handled == null) {
+                thrownExceptions.remove(position);
+            } else {
+                thrownExceptions.set(position, handled);
+            }
+        }
+        if (current.lineFailures[i] != null) {
+            throw current.lineFailures[i];
+        }
+        return result;
+    }
+
+    /**
+     * @return Whether the {@link ReadBatchEvent} of the batch being consumed is recorded
+     */
+    boolean isRecordingEvent() {
+        return current != null && current.event != null;
+    }
+
+    /**
+     * Adds the time spent linking a line of the batch being consumed. Only called when
+     * its event is recorded or the metrics are enabled
+     *
+     * @param nanos The time spent linking the line
+     */
+    void addLinking(long nanos) {
+        if (current.event != null) {
+            current.event.addLinking(nanos);
+        }
+    }
+
+    /**
+     * Commits the event of the batch being consumed, if any
+     */
+    void commitEvent() {
+        if (current != null && current.event != null) {
+            current.event.commit();
+            current.event = null;
+        }
+    }
+
+    /**
+     * Moves to the next batch once the current one is consumed, and waits for its binding
+     */
+    private void nextBatch() throws IOException {
+        if (current != null && (index < current.count || current.readFailure != null || current.last)) {
+            return;
+        }
+        try {
+            if (current != null) {
+                commitEvent();
+                freeBatches.put(current);
+            }
+            current = orderedBatches.take();
+            index = 0;
+            current.binding.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            } else if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new IOException(ex.getCause());
+        }
+        if (current.last) {
+            binders.shutdown();
+        }
+    }
+
+    @Override
+    public void close() {
+        commitEvent();
+        tokenizer.interrupt();
+        binders.shutdownNow();
+    }
+
+    /**
+     * A batch of lines, filled by the tokenizer and bound by a binding thread
+     */
+    private final class Batch {
+
+        private final long[] lineNumbers;
+
+        private final String[][] lines;
+
+        /**
+         * Completers of the columns the line source did not decode, {@literal null} for complete lines
+         */
+        private final Runnable[] lineCompleters;
+
+        private final CsvLineResult[] results;
+
+        /**
+         * Exceptions caught by the default exception handler for each line
+         */
+        private final List<List<CsvException>> recorded;
+
+        /**
+         * Exceptions rethrown by the exception handler of a bean type for each line
+         */
+        private final CsvException[] lineFailures;
+
+        private int count;
+
+        private boolean last;
+
+        /**
+         * Exception raised while reading the line following the last one of the batch
+         */
+        private Exception readFailure;
+
+        private Future<?> binding;
+
+        /**
+         * Event of the batch, {@literal null} if the event is disabled
+         */
+        private ReadBatchEvent event;
+
+        /**
+         * Line being bound, used by the recording handler
+         */
+        private int bindingIndex;
+
+        private Batch(int size) {
+            this.lineNumbers = new long[size];
+            this.lines = new String[size][];
+            this.lineCompleters = new Runnable[size];
+            this.results = new CsvLineResult[size];
+            this.recorded = new ArrayList<>(size);
+            this.lineFailures = new CsvException[size];
+            for (int i = 0; i < size; i++) {
+                results[i] = new CsvLineResult();
+                recorded.add(new ArrayList<>(1));
+            }
+        }
+
+        /**
+         * Reads the next lines
+         *
+         * @return Whether this is the last batch
+         */
+        private boolean fill() {
+            count = 0;
+            last = false;
+            readFailure = null;
+            ReadBatchEvent batchEvent = new ReadBatchEvent();
+            if (batchEvent.isEnabled()) {
+                batchEvent.begin();
+                batchEvent.setMode(ReadBatchEvent.PIPELINE);
+                event = batchEvent;
+            }
+            long start = event != null? System.nanoTime(): 0L;
+            try {
+                return read();
+            } finally {
+                if (event != null) {
+                    event.addTokenizing(System.nanoTime() - start);
+                    if (count > 0) {
+                        event.setFirstLineNumber(lineNumbers[0]);
+                        event.setLastLineNumber(lineNumbers[count - 1]);
+                    }
+                    event.setLines(count);
+                }
+            }
+        }
+
+        /**
+         * Reads the lines of the batch and calls the listener
+         *
+         * @return Whether this is the last batch
+         */
+        private boolean read() {
+            try {
+                while (count < lines.length) {
+                    if (lineSource.peek() == null) {
+                        last = true;
+                        return true;
+                    }
+                    long lineNumber = lineSource.getLinesRead();
+                    String[] line = lineSource.readNext();
+                    if (lineProcessListener != null) {
+                        lineProcessListener.beforeLineProcess(lineNumber, line);
+                    }
+                    lineNumbers[count] = lineNumber;
+                    lines[count] = line;
+                    lineCompleters[count] = lineSource.getLineCompleter();
+                    count++;
+                }
+                return false;
+            } catch (IOException | CsvException | RuntimeException ex) {
+                readFailure = ex;
+                last = true;
+                return true;
+            }
+        }
+
+        /**
+         * Binds the lines of the batch. An exception rethrown by the exception handler of a
+         * bean type is kept for its line, thrown when the line is consumed: the lines after it
+         * are still bound, and read if the caller goes on, as a sequential read would
+         */
+        private void bind() {
+            CsvLineToBeanProcessor lineToBeanProcessor = new CsvLineToBeanProcessor(beanPropertiesFactory,
+                    exception -> {
+                        recorded.get(bindingIndex).add(exception);
+                        return exception;
+                    }, ignoreUnknownBeanType, resourceBundle);
+            if (!errorStackTraces) {
+                lineToBeanProcessor.disableErrorStackTraces();
+            }
+            if (metrics != null) {
+                lineToBeanProcessor.enableMetrics(metrics);
+            }
+            long start = event != null? System.nanoTime(): 0L;
+            for (bindingIndex = 0; bindingIndex < count; bindingIndex++) {
+                CsvLineResult result = results[bindingIndex];
+                String[] line = lines[bindingIndex];
+                result.reset(lineNumbers[bindingIndex], line, lineCompleters[bindingIndex]);
+                recorded.get(bindingIndex).clear();
+                lineFailures[bindingIndex] = null;
+                try {
+                    if (line.length > 0) {
+                        lineToBeanProcessor.processLine(lineNumbers[bindingIndex], line, result);
+                    } else {
+                        result.setBean(EmptyBean.getInstance());
+                    }
+                } catch (CsvException ex) {
+                    lineFailures[bindingIndex] = ex;
+                }
+            }
+            if (event != null) {
+                event.addBinding(System.nanoTime() - start);
+            }
+        }
+    }
+}
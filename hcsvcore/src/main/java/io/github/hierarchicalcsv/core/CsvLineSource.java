@@ -0,0 +1,46 @@
+package io.github.hierarchicalcsv.core;
+
+import com.opencsv.exceptions.CsvValidationException;
+
+import io.github.hierarchicalcsv.core.model.CsvCheckpoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Source of tokenized CSV lines, with the same contract as the methods of
+ * {@link com.opencsv.CSVReader} used by the reader
+ */
+interface CsvLineSource extends Closeable {
+
+    /**
+     * @return The next line without consuming it, or {@literal null} at the end of the file
+     * @throws IOException In case of problem while reading the file
+     */
+    String[] peek() throws IOException;
+
+    /**
+     * @return The next line, or {@literal null} at the end of the file
+     * @throws IOException In case of problem while reading the file
+     * @throws CsvValidationException If the line is rejected by a validator
+     */
+    String[] readNext() throws IOException, CsvValidationException;
+
+    /**
+     * @return The number of physical lines read so far, including the peeked line
+     */
+    long getLinesRead();
+
+    /**
+     * @return The position of the next line, or {@literal null} if positions are not tracked
+     */
+    CsvCheckpoint getCheckpoint();
+
+    /**
+     * @return Decodes in place the columns left {@literal null} in the last line read, for a
+     *      source decoding only the columns bound, or {@literal null} if the line is complete
+     */
+    default Runnable getLineCompleter() {
+        return null;
+    }
+}
@@ -0,0 +1,215 @@
+package io.github.hierarchicalcsv.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates one member of a gzip file (RFC 1952) with positional reads, so that several members
+ * of the same channel can be inflated at once. The header is checked when the member is opened,
+ * and the CRC and the size of the trailer once the member is read.
+ */
+final class GzipMember {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int FHCRC = 2;
+
+    private static final int FEXTRA = 4;
+
+    private static final int FNAME = 8;
+
+    private static final int FCOMMENT = 16;
+
+    private final FileChannel channel;
+
+    private final Inflater inflater;
+
+    private final CRC32 crc;
+
+    private final byte[] buffer;
+
+    /**
+     * Offset in the file of the first byte of {@code buffer}
+     */
+    private long bufferOffset;
+
+    private int bufferPosition;
+
+    private int bufferLength;
+
+    private long size;
+
+    /**
+     * Offset following the trailer, {@literal -1} until the member is read
+     */
+    private long end;
+
+    /**
+     * @param channel The gzip file
+     * @param start The offset of the member
+     * @throws ZipException If there is no gzip header at this offset
+     * @throws IOException In case of problem while reading the file
+     */
+    GzipMember(FileChannel channel, long start) throws IOException {
+        this.channel = channel;
+        this.inflater = new Inflater(true);
+        this.crc = new CRC32();
+        this.buffer = new byte[BUFFER_SIZE];
+        this.bufferOffset = start;
+        this.end = -1;
+        try {
+            readHeader();
+        } catch (IOException ex) {
+            inflater.end();
+            throw ex;
+        }
+    }
+
+    /**
+     * @param bytes Bytes of the file
+     * @param offset The offset of a possible header in {@code bytes}
+     * @param length The number of bytes available from {@code offset}
+     * @return Whether the bytes can start a gzip member: magic number, deflate method and
+     *      known flags, extra flags and operating system
+     */
+    static boolean isHeaderCandidate(byte[] bytes, int offset, int length) {
+        if (length < 10 || bytes[offset] != (byte) 0x1F || bytes[offset + 1] != (byte) 0x8B || bytes[offset + 2] != 8) {
+            return false;
+        }
+        int extraFlags = bytes[offset + 8] & 0xFF;
+        int operatingSystem = bytes[offset + 9] & 0xFF;
+        return (bytes[offset + 3] & 0xE0) == 0 && (extraFlags == 0 || extraFlags == 2 || extraFlags == 4)
+                && (operatingSystem <= 13 || operatingSystem == 255);
+    }
+
+    private void readHeader() throws IOException {
+        if (readUnsignedByte() != 0x1F || readUnsignedByte() != 0x8B || readUnsignedByte() != 8) {
+            throw new ZipException("Not in GZIP format");
+        }
+        int flags = readUnsignedByte();
+        skip(6);
+        if ((flags & FEXTRA) != 0) {
+            skip(readUnsignedByte() | readUnsignedByte() << 8);
+        }
+        if ((flags & FNAME) != 0) {
+            skipZeroTerminated();
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipZeroTerminated();
+        }
+        if ((flags & FHCRC) != 0) {
+            skip(2);
+        }
+    }
+
+    /**
+     * @param bytes The array receiving the inflated bytes
+     * @param offset The offset of the first byte written
+     * @param length The maximum number of bytes written
+     * @return The number of bytes inflated, or {@literal -1} at the end of the member
+     * @throws IOException If the member is corrupted or truncated
+     */
+    int read(byte[] bytes, int offset, int length) throws IOException {
+        if (end >= 0) {
+            return -1;
+        }
+        if (length == 0) {
+            return 0;
+        }
+        while (true) {
+            int inflated;
+            try {
+                inflated = inflater.inflate(bytes, offset, length);
+            } catch (DataFormatException ex) {
+                throw new ZipException(ex.getMessage());
+            }
+            if (inflated > 0) {
+                crc.update(bytes, offset, inflated);
+                size += inflated;
+                return inflated;
+            }
+            if (inflater.finished() || inflater.needsDictionary()) {
+                bufferPosition = bufferLength - inflater.getRemaining();
+                readTrailer();
+                return -1;
+            }
+            if (inflater.needsInput()) {
+                if (bufferPosition == bufferLength && !fill()) {
+                    throw new EOFException("Unexpected end of ZLIB input stream");
+                }
+                inflater.setInput(buffer, bufferPosition, bufferLength - bufferPosition);
+                bufferPosition = bufferLength;
+            }
+        }
+    }
+
+    private void readTrailer() throws IOException {
+        long expectedCrc = readInt();
+        long expectedSize = readInt();
+        inflater.end();
+        if (expectedCrc != crc.getValue() || expectedSize != (size & 0xFFFFFFFFL)) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        end = bufferOffset + bufferPosition;
+    }
+
+    /**
+     * @return The offset following the member, known once it is read
+     */
+    long getEnd() {
+        return end;
+    }
+
+    /**
+     * Releases the inflater of a member not read until the end
+     */
+    void close() {
+        inflater.end();
+    }
+
+    private long readInt() throws IOException {
+        return readUnsignedByte() | readUnsignedByte() << 8 | readUnsignedByte() << 16 | (long) readUnsignedByte() << 24;
+    }
+
+    private void skip(int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            readUnsignedByte();
+        }
+    }
+
+    private void skipZeroTerminated() throws IOException {
+        while (readUnsignedByte() != 0) {
+            // Skips the field
+        }
+    }
+
+    private int readUnsignedByte() throws IOException {
+        if (bufferPosition == bufferLength && !fill()) {
+            throw new EOFException("Unexpected end of GZIP member");
+        }
+        return buffer[bufferPosition++] & 0xFF;
+    }
+
+    /**
+     * Reads the next bytes of the file into the buffer, once it is consumed
+     *
+     * @return Whether bytes were read
+     */
+    private boolean fill() throws IOException {
+        bufferOffset += bufferLength;
+        bufferPosition = 0;
+        bufferLength = 0;
+        int read = channel.read(ByteBuffer.wrap(buffer), bufferOffset);
+        if (read <= 0) {
+            return false;
+        }
+        bufferLength = read;
+        return true;
+    }
+}
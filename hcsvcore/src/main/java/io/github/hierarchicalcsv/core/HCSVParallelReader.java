@@ -0,0 +1,430 @@
+package io.github.hierarchicalcsv.core;
+
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.ICSVParser;
+import com.opencsv.RFC4180Parser;
+import com.opencsv.RFC4180ParserBuilder;
+import com.opencsv.bean.exceptionhandler.CsvExceptionHandler;
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.exceptions.CsvException;
+import com.opencsv.processor.RowProcessor;
+import com.opencsv.validators.LineValidator;
+import com.opencsv.validators.RowValidator;
+import io.github.hierarchicalcsv.core.bean.CsvBeanPropertiesFactory;
+import io.github.hierarchicalcsv.core.bean.CsvLineToBeanProcessor;
+import io.github.hierarchicalcsv.core.event.ReadBatchEvent;
+import io.github.hierarchicalcsv.core.metrics.CsvReaderMetrics;
+import io.github.hierarchicalcsv.core.bean.CsvTreeConstructor;
+import io.github.hierarchicalcsv.core.model.CsvKeyIndexFactory;
+import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.core.model.CsvLineResult;
+import io.github.hierarchicalcsv.core.model.EmptyBean;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads a CSV file with several threads. The file is split into byte ranges starting on
+ * root lines ({@link CsvChunkSplitter}), and each range is read, bound and linked on a
+ * worker of a {@link ForkJoinPool}, with its own OpenCSV reader, line processor and
+ * tree constructor. The bean properties and the line binders are shared.
+ * <p>
+ * The trees are then merged in file order on the calling thread. Exceptions caught by the
+ * default exception handler are recorded by the workers and handed to it during the merge,
+ * in line order. A bean whose parent is not in its range is recorded as an orphan and linked
+ * during the merge, once the previous ranges are merged. If such a bean shares its key with
+ * a bean read before it in the same range, this bean is taken out of the index of the range,
+ * so that the next lines referencing the key are linked during the merge too, to the bean
+ * a sequential read would link them to. The result is then the one of a sequential read.
+ */
+final class HCSVParallelReader {
+
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Path path;
+
+    private final Charset charset;
+
+    private final int parallelism;
+
+    private final long chunkSize;
+
+    private final int skipLines;
+
+    private final ICSVParser icsvParser;
+
+    private final boolean keepCR;
+
+    private final boolean verifyReader;
+
+    private final CSVReaderNullFieldIndicator nullFieldIndicator;
+
+    private final Locale errorLocale;
+
+    private final List<LineValidator> lineValidators;
+
+    private final List<RowValidator> rowValidators;
+
+    private final RowProcessor rowProcessor;
+
+    private final CsvLineProcessListener lineProcessListener;
+
+    private final boolean ignoreUnknownBeanType;
+
+    private final boolean orderedHierarchy;
+
+    private final CsvKeyIndexFactory keyIndexFactory;
+
+    private final boolean errorStackTraces;
+
+    private final CsvBeanPropertiesFactory beanPropertiesFactory;
+
+    private final CsvExceptionHandler exceptionHandler;
+
+    private final ResourceBundle resourceBundle;
+
+    /**
+     * Metrics of the reader, {@literal null} when disabled
+     */
+    private final CsvReaderMetrics metrics;
+
+    HCSVParallelReader(HCSVReaderBuilder builder, CsvBeanPropertiesFactory beanPropertiesFactory,
+                       CsvExceptionHandler exceptionHandler, ResourceBundle resourceBundle, CsvReaderMetrics metrics) {
+        this.path = builder.path;
+        this.charset = builder.charset;
+        this.parallelism = builder.parallelism;
+        this.chunkSize = builder.chunkSize;
+        this.skipLines = builder.skipLines;
+        this.icsvParser = builder.icsvParser;
+        this.keepCR = builder.keepCR;
+        this.verifyReader = builder.verifyReader;
+        this.nullFieldIndicator = builder.nullFieldIndicator;
+        this.errorLocale = builder.errorLocale;
+        this.lineValidators = List.copyOf(builder.lineValidators);
+        this.rowValidators = List.copyOf(builder.rowValidators);
+        this.rowProcessor = builder.rowProcessor;
+        this.lineProcessListener = builder.lineProcessListener;
+        this.ignoreUnknownBeanType = builder.ignoreUnknownBeanType;
+        this.orderedHierarchy = builder.orderedHierarchy;
+        this.keyIndexFactory = builder.keyIndexFactory;
+        this.errorStackTraces = builder.errorStackTraces;
+        this.beanPropertiesFactory = beanPropertiesFactory;
+        this.exceptionHandler = exceptionHandler;
+        this.resourceBundle = resourceBundle;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param builder The configured builder
+     * @return Whether the builder asks for a parallel read that can be honored: a file
+     *      input read from its beginning, a parallelism above 1 and a parser that can be
+     *      copied for each worker
+     */
+    static boolean isApplicable(HCSVReaderBuilder builder) {
+        return builder.parallelism > 1 && builder.resumeCheckpoint == null && supportsRanges(builder);
+    }
+
+    /**
+     * @param builder The configured builder
+     * @return Whether ranges of the input can be read: an uncompressed file input and a parser
+     *      that can be copied for each range
+     */
+    static boolean supportsRanges(HCSVReaderBuilder builder) {
+        return builder.path != null && builder.gzipThreads == 0
+                && (builder.icsvParser == null || builder.icsvParser instanceof CSVParser
+                    || builder.icsvParser instanceof RFC4180Parser);
+    }
+
+    /**
+     * Reads the whole file and merges the trees in {@code treeConstructor}
+     *
+     * @param treeConstructor The constructor receiving the merged trees, using the
+     *      default exception handler
+     * @throws IOException In case of problem while reading the file
+     * @throws CsvException If the exception handler rethrows an exception
+     */
+    void readFile(CsvTreeConstructor treeConstructor) throws IOException, CsvException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            readChunks(channel, split(channel), treeConstructor);
+        }
+    }
+
+    /**
+     * Reads some ranges of the file only, such as the subtrees found with a {@link HCSVRootIndex},
+     * and merges their trees in {@code treeConstructor}
+     *
+     * @param chunks The ranges to read, in file order
+     * @param treeConstructor The constructor receiving the merged trees, using the
+     *      default exception handler
+     * @throws IOException In case of problem while reading the file
+     * @throws CsvException If the exception handler rethrows an exception
+     */
+    void readRanges(List<CsvChunkSplitter.Chunk> chunks, CsvTreeConstructor treeConstructor) throws IOException, CsvException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (chunks.size() == 1) {
+                merge(treeConstructor, readChunk(channel, chunks.get(0)));
+            } else if (!chunks.isEmpty()) {
+                readChunks(channel, chunks, treeConstructor);
+            }
+        }
+    }
+
+    private void readChunks(FileChannel channel, List<CsvChunkSplitter.Chunk> chunks,
+                            CsvTreeConstructor treeConstructor) throws IOException, CsvException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<Future<ChunkResult>> futures = new ArrayList<>(chunks.size());
+            for (CsvChunkSplitter.Chunk chunk : chunks) {
+                futures.add(pool.submit(() -> readChunk(channel, chunk)));
+            }
+            for (Future<ChunkResult> future : futures) {
+                merge(treeConstructor, join(future));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<CsvChunkSplitter.Chunk> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        CsvChunkSplitter splitter = CsvChunkSplitter.forParser(channel, charset,
+                beanPropertiesFactory.getCodeIndex(), icsvParser, skipLines);
+        if (splitter == null) {
+            return List.of(new CsvChunkSplitter.Chunk(0, size, 0, skipLines));
+        }
+        long targetChunkSize = chunkSize > 0? chunkSize:
+                Math.max(MIN_CHUNK_SIZE, size / ((long) parallelism * CHUNKS_PER_THREAD));
+        return splitter.split(targetChunkSize);
+    }
+
+    /**
+     * Reads, binds and links the lines of a range. Runs on a worker
+     */
+    private ChunkResult readChunk(FileChannel channel, CsvChunkSplitter.Chunk chunk) throws IOException {
+        ChunkResult chunkResult = new ChunkResult();
+        ReadBatchEvent chunkEvent = new ReadBatchEvent();
+        if (chunkEvent.isEnabled()) {
+            chunkEvent.begin();
+            chunkEvent.setMode(ReadBatchEvent.PARALLEL);
+            chunkEvent.setFirstLineNumber(chunk.getFirstLine());
+            chunkResult.event = chunkEvent;
+        }
+        CsvExceptionHandler recordingHandler = exception -> {
+            chunkResult.events.add(exception);
+            return exception;
+        };
+        CsvLineToBeanProcessor lineToBeanProcessor = new CsvLineToBeanProcessor(
+                beanPropertiesFactory, recordingHandler, ignoreUnknownBeanType, resourceBundle);
+        CsvTreeConstructor treeConstructor = new CsvTreeConstructor(beanPropertiesFactory, recordingHandler, resourceBundle, keyIndexFactory);
+        if (metrics != null) {
+            lineToBeanProcessor.enableMetrics(metrics);
+        }
+        if (!errorStackTraces) {
+            lineToBeanProcessor.disableErrorStackTraces();
+            treeConstructor.disableErrorStackTraces();
+        }
+        if (orderedHierarchy) {
+            treeConstructor.enableOrderedHierarchy();
+        } else {
+            treeConstructor.enableOrphanRecording();
+        }
+        chunkResult.treeConstructor = treeConstructor;
+        CsvLineResult lineResult = new CsvLineResult();
+        List<CsvTreeConstructor.Orphan> orphans = treeConstructor.getOrphans();
+        int lines = 0;
+        try (CSVReader csvReader = newCsvReader(new InputStreamReader(
+                new FileRangeInputStream(channel, chunk.getStart(), chunk.getEnd()), charset), chunk.getSkipLines())) {
+            while (csvReader.peek() != null) {
+                long lineNumber = chunk.getFirstLine() + csvReader.getLinesRead();
+                String[] line = csvReader.readNext();
+                lines++;
+                if (lineProcessListener != null) {
+                    lineProcessListener.beforeLineProcess(lineNumber, line);
+                }
+                lineResult.reset(lineNumber, line);
+                int orphanCount = orphans.size();
+                if (line.length > 0) {
+                    lineToBeanProcessor.processLine(lineNumber, line, lineResult);
+                } else {
+                    lineResult.setBean(EmptyBean.getInstance());
+                }
+                if (lineResult.hasCsvBean()) {
+                    treeConstructor.handle(lineResult);
+                }
+                if (orphans.size() > orphanCount) {
+                    chunkResult.events.add(orphans.get(orphanCount));
+                }
+                if (lineProcessListener != null) {
+                    lineProcessListener.afterLineProcess(lineNumber, lineResult);
+                }
+            }
+        } catch (CsvException ex) {
+            // Rethrown by the exception handler of a bean type: the sequential read stops here
+            chunkResult.failure = ex;
+        }
+        if (chunkResult.event != null) {
+            chunkResult.event.end();
+            chunkResult.event.setLastLineNumber(lineResult.getLineNumber());
+            chunkResult.event.setLines(lines);
+        }
+        return chunkResult;
+    }
+
+    private CSVReader newCsvReader(Reader reader, int chunkSkipLines) {
+        CSVReaderBuilder csvReaderBuilder = new CSVReaderBuilder(reader)
+                .withSkipLines(chunkSkipLines)
+                .withCSVParser(copyParser())
+                .withKeepCarriageReturn(keepCR)
+                .withVerifyReader(verifyReader)
+                .withFieldAsNull(nullFieldIndicator)
+                .withErrorLocale(errorLocale)
+                .withRowProcessor(rowProcessor);
+        lineValidators.forEach(csvReaderBuilder::withLineValidator);
+        rowValidators.forEach(csvReaderBuilder::withRowValidator);
+        return csvReaderBuilder.build();
+    }
+
+    /**
+     * OpenCSV parsers keep the state of multi-line records, so each worker needs its own
+     *
+     * @return A parser configured as the one of the builder, or {@literal null} for the default one
+     */
+    private ICSVParser copyParser() {
+        if (icsvParser instanceof CSVParser) {
+            CSVParser csvParser = (CSVParser) icsvParser;
+            return new CSVParserBuilder()
+                    .withSeparator(csvParser.getSeparator())
+                    .withQuoteChar(csvParser.getQuotechar())
+                    .withEscapeChar(csvParser.getEscape())
+                    .withStrictQuotes(csvParser.isStrictQuotes())
+                    .withIgnoreLeadingWhiteSpace(csvParser.isIgnoreLeadingWhiteSpace())
+                    .withIgnoreQuotations(csvParser.isIgnoreQuotations())
+                    .withFieldAsNull(csvParser.nullFieldIndicator())
+                    .withErrorLocale(errorLocale)
+                    .build();
+        } else if (icsvParser instanceof RFC4180Parser) {
+            return new RFC4180ParserBuilder()
+                    .withSeparator(icsvParser.getSeparator())
+                    .withQuoteChar(icsvParser.getQuotechar())
+                    .withFieldAsNull(icsvParser.nullFieldIndicator())
+                    .build();
+        }
+        return null;
+    }
+
+    /**
+     * Hands the recorded exceptions to the exception handler and links the orphans in line
+     * order, then appends the tree of the range
+     */
+    private void merge(CsvTreeConstructor treeConstructor, ChunkResult chunkResult) throws CsvException {
+        long start = chunkResult.event != null? System.nanoTime(): 0L;
+        for (Object event : chunkResult.events) {
+            if (event instanceof CsvTreeConstructor.Orphan) {
+                treeConstructor.adoptOrphan((CsvTreeConstructor.Orphan) event);
+            } else {
+                exceptionHandler.handleException((CsvException) event);
+            }
+        }
+        if (chunkResult.failure != null) {
+            throw chunkResult.failure;
+        }
+        treeConstructor.merge(chunkResult.treeConstructor);
+        if (chunkResult.event != null) {
+            chunkResult.event.addLinking(System.nanoTime() - start);
+            chunkResult.event.commit();
+        }
+    }
+
+    private static ChunkResult join(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Outcome of a range: its tree, and the recorded exceptions and orphans in line order
+     */
+    private static final class ChunkResult {
+
+        private final List<Object> events = new ArrayList<>();
+
+        private CsvTreeConstructor treeConstructor;
+
+        private CsvException failure;
+
+        /**
+         * Event of the range, ended by the worker and committed once merged, {@literal null}
+         * if the event is disabled
+         */
+        private ReadBatchEvent event;
+    }
+
+    /**
+     * Reads a byte range of a file with positional reads, so that the channel can be
+     * shared by the workers
+     */
+    private static final class FileRangeInputStream extends InputStream {
+
+        private final FileChannel channel;
+
+        private final long end;
+
+        private long position;
+
+        private FileRangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0? -1: single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, end - position)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+}
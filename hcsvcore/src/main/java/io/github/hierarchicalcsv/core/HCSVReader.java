@@ -16,34 +16,67 @@ package io.github.hierarchicalcsv.core;
  limitations under the License.
  */
 
-import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
 import com.opencsv.bean.exceptionhandler.CsvExceptionHandler;
 import com.opencsv.bean.exceptionhandler.ExceptionHandlerThrow;
-import com.opencsv.bean.util.OrderedObject;
 import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.bean.CsvErrorCollector;
 import io.github.hierarchicalcsv.core.bean.CsvLineToBeanProcessor;
 import io.github.hierarchicalcsv.core.bean.CsvTreeConstructor;
+import io.github.hierarchicalcsv.core.event.ReaderInitializationEvent;
+import io.github.hierarchicalcsv.core.exception.CheckpointException;
+import io.github.hierarchicalcsv.core.exception.MetricsRegistrationException;
+import io.github.hierarchicalcsv.core.exception.RootIndexException;
 import io.github.hierarchicalcsv.core.exception.UnableToReadFileException;
+import io.github.hierarchicalcsv.core.metrics.CsvReaderMetrics;
 import io.github.hierarchicalcsv.core.model.CsvBeanType;
+import io.github.hierarchicalcsv.core.model.CsvCheckpoint;
+import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
+import io.github.hierarchicalcsv.core.model.CsvKeyIndexFactory;
 import io.github.hierarchicalcsv.core.bean.CsvBeanPropertiesFactory;
 import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.core.model.CsvLineResult;
+import io.github.hierarchicalcsv.core.model.CsvRootCompletionRule;
 import io.github.hierarchicalcsv.core.model.EmptyBean;
-import io.github.hierarchicalcsv.core.model.UnknownBean;
 import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
-import io.github.hierarchicalcsv.core.util.HCSVUtils;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
 import java.io.IOException;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.ResourceBundle;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
 
 /**
  * The Hierarchical CSV Reader
  */
-public class HCSVReader implements AutoCloseable {
+public class HCSVReader implements AutoCloseable, Iterable<Object> {
+
+    /**
+     * Domain of the MBeans publishing the metrics of the readers
+     */
+    public static final String METRICS_MBEAN_DOMAIN = "io.github.hierarchicalcsv:type=HCSVReader";
+
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
 
     /**
      * Whether the CSV reader has a next line
@@ -71,20 +104,25 @@ public class HCSVReader implements AutoCloseable {
     private CsvTreeConstructor csvTreeConstructor;
 
     /**
-     * OpenCSV builder
+     * Input reader, {@literal null} for a file input
      */
-    private CSVReaderBuilder csvReaderBuilder;
+    private Reader reader;
 
     /**
-     * OpenCSV reader
+     * Source of the tokenized lines: an OpenCSV reader, or a memory-mapped file
      */
-    private CSVReader csvReader;
+    private CsvLineSource lineSource;
 
     /**
      * Default exception handler (if not override for specific bean)
      */
     private CsvExceptionHandler exceptionHandler;
 
+    /**
+     * Exception handler applying the error policy, {@literal null} without policy
+     */
+    private CsvErrorCollector errorCollector;
+
     /**
      * Listener before and after parsing
      */
@@ -100,14 +138,90 @@ public class HCSVReader implements AutoCloseable {
      */
     private ResourceBundle resourceBundle;
 
+    /**
+     * Result holder reused for every line
+     */
+    private final CsvLineResult lineResult;
+
+    /**
+     * Rule closing root subtrees when streaming
+     */
+    private CsvRootCompletionRule rootCompletionRule;
+
+    /**
+     * Whether reading has started, using either {@link #readFile()} or {@link #iterator()}
+     */
+    private boolean readStarted;
+
+    /**
+     * Parallel reader used by {@link #readFile()}, {@literal null} for a sequential read
+     */
+    private HCSVParallelReader parallelReader;
+
+    /**
+     * Index of the root lines read by {@link #readSubtree(String)}, {@literal null} if not set
+     */
+    private HCSVRootIndex rootIndex;
+
+    /**
+     * Reader of the subtree ranges, {@literal null} without root index
+     */
+    private HCSVParallelReader subtreeReader;
+
+    private CsvKeyIndexFactory keyIndexFactory;
+
+    /**
+     * Whether the position of the lines is tracked for {@link #getCheckpoint()}
+     */
+    private boolean checkpoints;
+
+    /**
+     * Positions of the root lines whose bean has not been returned by the iterator yet, in
+     * line order, {@literal null} unless checkpoints are tracked while iterating
+     */
+    private Deque<CsvCheckpoint> rootCheckpoints;
+
+    /**
+     * Number of threads binding beans in pipeline mode, 0 without pipeline
+     */
+    private int pipelineThreads;
+
+    private int batchSize;
+
+    /**
+     * Whether line exceptions capture their stack trace
+     */
+    private boolean errorStackTraces;
+
+    /**
+     * Metrics of the reader, {@literal null} when disabled
+     */
+    private CsvReaderMetrics metrics;
+
+    /**
+     * Name of the MBean publishing {@code metrics}, {@literal null} if not published
+     */
+    private ObjectName metricsMBeanName;
+
+    /**
+     * Pipeline delivering the bound lines, started with the reading
+     */
+    private CsvLinePipeline linePipeline;
+
+    /**
+     * Records the {@link io.github.hierarchicalcsv.core.event.ReadBatchEvent} of the sequential read
+     */
+    private CsvBatchEventRecorder batchEvents;
+
     /**
      * Constructs an HCSVReader with empty parameters. Should be only used
      * from the Builder part
      *
-     * @param reader An OpenCSV Reader
+     * @param reader An OpenCSV Reader, or {@literal null} for a file input
      */
     protected HCSVReader(Reader reader) {
-        csvReaderBuilder = new CSVReaderBuilder(reader);
+        this.reader = reader;
+        lineResult = new CsvLineResult();
     }
 
     /**
@@ -118,30 +232,212 @@ public class HCSVReader implements AutoCloseable {
      * @throws IOException In case of problem while reading the file
      */
     protected HCSVReader initialize(HCSVReaderBuilder builder) throws IOException {
-        csvReaderBuilder.withSkipLines(builder.skipLines)
+        ReaderInitializationEvent initializationEvent = new ReaderInitializationEvent();
+        initializationEvent.begin();
+        HCSVSchema schema = builder.schema;
+        if(schema == null) {
+            long start = System.nanoTime();
+            schema = new HCSVSchema(builder.beanTypes, builder.errorLocale);
+            initializationEvent.setSchemaCompilation(System.nanoTime() - start);
+        }
+        resourceBundle = schema.getResourceBundle(builder.errorLocale);
+        if(builder.rootIndex != null) {
+            verifyRootIndex(builder);
+        }
+        checkpoints = builder.checkpoints;
+        if((checkpoints || builder.resumeCheckpoint != null) && (builder.path == null
+                || builder.gzipThreads > 0 || !PositionTrackingReader.supports(builder.charset))) {
+            throw new CheckpointException(resourceBundle.getString(HCSVErrorMessageUtils.CHECKPOINT_NOT_SUPPORTED), null);
+        }
+        if((checkpoints || builder.resumeCheckpoint != null) && builder.orphanPolicy != null && !builder.orderedHierarchy) {
+            // A checkpoint does not hold the pending children, that a resumed reader would lose
+            throw new CheckpointException(resourceBundle.getString(HCSVErrorMessageUtils.CHECKPOINT_WITH_OUT_OF_ORDER_CHILDREN), null);
+        }
+        exceptionHandler = builder.exceptionHandler;
+        if(builder.errorPolicy != null) {
+            errorCollector = new CsvErrorCollector(builder.errorPolicy, resourceBundle);
+            exceptionHandler = errorCollector;
+        } else if(exceptionHandler == null) {
+            exceptionHandler = new ExceptionHandlerThrow();
+        }
+        lineProcessListener = builder.lineProcessListener;
+        beanTypes = schema.getBeanTypeArray();
+        ignoreUnknownBeanType = builder.ignoreUnknownBeanType;
+        rootCompletionRule = builder.rootCompletionRule;
+        beanTypeFactory = schema.getBeanPropertiesFactory();
+        lineToBeanProcessor = new CsvLineToBeanProcessor(beanTypeFactory, exceptionHandler, ignoreUnknownBeanType, resourceBundle);
+        csvTreeConstructor = new CsvTreeConstructor(beanTypeFactory, exceptionHandler, resourceBundle, builder.keyIndexFactory);
+        if(builder.orderedHierarchy) {
+            csvTreeConstructor.enableOrderedHierarchy();
+        } else if(builder.orphanPolicy != null) {
+            csvTreeConstructor.enableOutOfOrderChildren(builder.orphanPolicy);
+        }
+        errorStackTraces = builder.errorStackTraces;
+        if(!errorStackTraces) {
+            lineToBeanProcessor.disableErrorStackTraces();
+            csvTreeConstructor.disableErrorStackTraces();
+        }
+        if(builder.metrics) {
+            metrics = new CsvReaderMetrics(beanTypeFactory);
+            metrics.setIndexedKeyCount(csvTreeConstructor::getIndexedKeyCount);
+            lineToBeanProcessor.enableMetrics(metrics);
+        }
+        pipelineThreads = builder.pipelineThreads;
+        batchSize = builder.batchSize;
+        batchEvents = new CsvBatchEventRecorder(batchSize);
+        if(HCSVParallelReader.isApplicable(builder)) {
+            parallelReader = new HCSVParallelReader(builder, beanTypeFactory, exceptionHandler, resourceBundle, metrics);
+        }
+        keyIndexFactory = builder.keyIndexFactory;
+        rootIndex = builder.rootIndex;
+        if(rootIndex != null) {
+            subtreeReader = parallelReader != null? parallelReader:
+                    new HCSVParallelReader(builder, beanTypeFactory, exceptionHandler, resourceBundle, metrics);
+        }
+        try {
+            if(builder.metricsMBeanName != null) {
+                registerMetrics(builder.metricsMBeanName);
+            }
+            lineSource = openLineSource(builder);
+            reader = null; // Owned by the line source
+            hasNext = lineSource.peek() != null;
+        } catch (IOException | RuntimeException ex) {
+            releaseAfterFailure(ex);
+            throw ex;
+        }
+        if(initializationEvent.shouldCommit()) {
+            initializationEvent.setBeanTypes(beanTypes.length);
+            initializationEvent.setSharedSchema(builder.schema != null);
+            initializationEvent.commit();
+        }
+        return this;
+    }
+
+    /**
+     * Releases what is already open when the initialization fails: the input, the MXBean
+     * registered and the reject file. Their own failures are suppressed by the failure
+     *
+     * @param failure The failure of the initialization
+     */
+    private void releaseAfterFailure(Exception failure) {
+        unregisterMetrics();
+        try {
+            if(lineSource != null) {
+                lineSource.close();
+            } else if(reader != null) {
+                reader.close();
+            }
+        } catch (IOException ex) {
+            failure.addSuppressed(ex);
+        }
+        if(errorCollector != null) {
+            try {
+                errorCollector.close();
+            } catch (IOException ex) {
+                failure.addSuppressed(ex);
+            }
+        }
+    }
+
+    private void verifyRootIndex(HCSVReaderBuilder builder) throws IOException {
+        if(!HCSVParallelReader.supportsRanges(builder)) {
+            throw HCSVRootIndex.notSupported(resourceBundle);
+        }
+        if(!builder.rootIndex.isUpToDate(builder.path)) {
+            throw new RootIndexException(MessageFormat.format(
+                    resourceBundle.getString(HCSVErrorMessageUtils.STALE_ROOT_INDEX), builder.path), null);
+        }
+    }
+
+    private void registerMetrics(String name) {
+        try {
+            metricsMBeanName = new ObjectName(METRICS_MBEAN_DOMAIN + ",name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, metricsMBeanName);
+        } catch (JMException ex) {
+            metricsMBeanName = null;
+            throw new MetricsRegistrationException(MessageFormat.format(
+                    resourceBundle.getString(HCSVErrorMessageUtils.UNABLE_TO_REGISTER_METRICS),
+                    name, ex.getLocalizedMessage()), ex);
+        }
+    }
+
+    private void unregisterMetrics() {
+        if(metricsMBeanName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(metricsMBeanName);
+            } catch (JMException ex) {
+                // Already unregistered
+            }
+            metricsMBeanName = null;
+        }
+    }
+
+    /**
+     * Opens a memory-mapped source for a file input when enabled and supported, or an
+     * OpenCSV reader otherwise. Both start at the checkpoint of the builder, if any
+     *
+     * @param builder The configured builder
+     * @return The source of the tokenized lines
+     * @throws IOException In case of problem while opening the file
+     */
+    private CsvLineSource openLineSource(HCSVReaderBuilder builder) throws IOException {
+        if(reader == null && builder.memoryMapping && builder.gzipThreads == 0) {
+            CsvLineSource mappedLineSource = MappedCsvLineSource.open(builder, beanTypeFactory.getCodeIndex());
+            if(mappedLineSource != null) {
+                return mappedLineSource;
+            }
+        }
+        CsvCheckpoint start = builder.resumeCheckpoint;
+        PositionTrackingReader positionReader = null;
+        Reader input = reader;
+        if(input == null && builder.gzipThreads > 0) {
+            InputStream gzipInput = builder.gzipThreads > 1?
+                    new ParallelGzipInputStream(builder.path, builder.gzipThreads):
+                    new GZIPInputStream(openFileInput(builder, 0), GZIP_BUFFER_SIZE);
+            input = new BufferedReader(new InputStreamReader(gzipInput, builder.charset.newDecoder()));
+        } else if(input == null && start == null && !checkpoints && builder.readAheadBuffers == 0) {
+            input = Files.newBufferedReader(builder.path, builder.charset);
+        } else if(input == null) {
+            long startOffset = start != null? start.getByteOffset(): 0;
+            Reader channelReader = new InputStreamReader(openFileInput(builder, startOffset), builder.charset.newDecoder());
+            if(checkpoints) {
+                positionReader = new PositionTrackingReader(channelReader, builder.charset, startOffset);
+                input = positionReader;
+            } else {
+                input = new BufferedReader(channelReader);
+            }
+        }
+        CSVReaderBuilder csvReaderBuilder = new CSVReaderBuilder(input)
+                .withSkipLines(start != null? 0: builder.skipLines)
                 .withCSVParser(builder.icsvParser)
                 .withKeepCarriageReturn(builder.keepCR)
                 .withVerifyReader(builder.verifyReader)
                 .withFieldAsNull(builder.nullFieldIndicator)
                 .withErrorLocale(builder.errorLocale)
                 .withRowProcessor(builder.rowProcessor);
-        resourceBundle = ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME, builder.errorLocale);
         builder.lineValidators.forEach(csvReaderBuilder::withLineValidator);
         builder.rowValidators.forEach(csvReaderBuilder::withRowValidator);
-        csvReader = csvReaderBuilder.build();
-        exceptionHandler = builder.exceptionHandler;
-        if(exceptionHandler == null) {
-            exceptionHandler = new ExceptionHandlerThrow();
+        return new OpenCsvLineSource(csvReaderBuilder.build(), positionReader, start != null? start.getLinesRead(): 0);
+    }
+
+    /**
+     * @param builder The configured builder
+     * @param position The offset of the first byte read
+     * @return The bytes of the file from {@code position}, read ahead on a prefetch thread if enabled
+     * @throws IOException In case of problem while opening the file
+     */
+    private static InputStream openFileInput(HCSVReaderBuilder builder, long position) throws IOException {
+        if(builder.readAheadBuffers > 0) {
+            return new ReadAheadInputStream(builder.path, position, builder.readAheadBuffers, builder.readAheadBufferSize);
         }
-        lineProcessListener = builder.lineProcessListener;
-        beanTypes = builder.beanTypes.toArray(new CsvBeanType[0]);
-        ignoreUnknownBeanType = builder.ignoreUnknownBeanType;
-        beanTypeFactory = new CsvBeanPropertiesFactory(beanTypes, resourceBundle);
-        lineToBeanProcessor = new CsvLineToBeanProcessor(beanTypeFactory, exceptionHandler, ignoreUnknownBeanType, resourceBundle);
-        csvTreeConstructor = new CsvTreeConstructor(beanTypeFactory, exceptionHandler, resourceBundle);
-        csvReaderBuilder = null; // Destroy reader
-        hasNext = csvReader.peek() != null;
-        return this;
+        FileChannel channel = FileChannel.open(builder.path, StandardOpenOption.READ);
+        try {
+            channel.position(position);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        return Channels.newInputStream(channel);
     }
 
     /**
@@ -166,7 +462,7 @@ public class HCSVReader implements AutoCloseable {
      * @throws IOException In case of problem while reading the file
      */
     private void updateHasNext() throws IOException {
-        hasNext = (csvReader.peek() != null);
+        hasNext = (lineSource.peek() != null);
     }
 
     /**
@@ -174,40 +470,220 @@ public class HCSVReader implements AutoCloseable {
      * to the {@code beanTypes} attribute using {@link HCSVReaderBuilder}{@code .withBeanType}
      * method or similar methods). For each line read of the CSV file, it is transformed
      * into a bean with {@link io.github.hierarchicalcsv.core.annotation.HCSVBean} annotation
-     * and uses {@link CsvTreeConstructor} to detect parent/child relations.
+     * and uses {@link CsvTreeConstructor} to detect parent/child relations. The file is read
+     * with several threads when set with {@link HCSVReaderBuilder#withParallelism(int)}.
      *
      * @return List of {@link io.github.hierarchicalcsv.core.annotation.HCSVBean} annotated objects
      * @throws IOException In case of problem while reading the file
      * @throws CsvException In case of problem while Bean transformation
      */
     public List<Object> readFile() throws IOException, CsvException {
+        startReading();
+        if(parallelReader != null) {
+            parallelReader.readFile(csvTreeConstructor);
+            csvTreeConstructor.finish();
+            csvTreeConstructor.commitEvents();
+            return csvTreeConstructor.getBeans();
+        }
         while (this.hasNext()) {
             this.readNext();
         }
+        csvTreeConstructor.finish();
+        commitEvents();
         return csvTreeConstructor.getBeans();
     }
 
+    /**
+     * Reads the subtrees of the root beans with a key, seeking to them with the root index set
+     * with {@link HCSVReaderBuilder#withRootIndex(HCSVRootIndex)}. Only the lines of these
+     * subtrees are read, so a line linked to a bean of another subtree causes a
+     * {@link io.github.hierarchicalcsv.core.exception.csv.ParentBeanNotFoundException}.
+     * Can be called any number of times, before or instead of reading the whole file.
+     *
+     * @param key The key of the root beans
+     * @return The root beans with this key, with their descendants, in file order
+     * @throws IOException In case of problem while reading the file
+     * @throws CsvException In case of problem while Bean transformation
+     */
+    public List<Object> readSubtree(String key) throws IOException, CsvException {
+        return readSubtrees(requireRootIndex().find(key));
+    }
+
+    /**
+     * Reads the subtrees of the root beans whose key is in a range, as {@link #readSubtree(String)}
+     *
+     * @param fromKey The lowest key, inclusive
+     * @param toKey The highest key, inclusive, compared as strings
+     * @return The root beans of the range, with their descendants, in file order
+     * @throws IOException In case of problem while reading the file
+     * @throws CsvException In case of problem while Bean transformation
+     */
+    public List<Object> readSubtrees(String fromKey, String toKey) throws IOException, CsvException {
+        return readSubtrees(requireRootIndex().findRange(fromKey, toKey));
+    }
+
+    private HCSVRootIndex requireRootIndex() {
+        if(rootIndex == null) {
+            throw new RootIndexException(resourceBundle.getString(HCSVErrorMessageUtils.NO_ROOT_INDEX_DEFINED), null);
+        }
+        return rootIndex;
+    }
+
+    private List<Object> readSubtrees(List<HCSVRootIndex.Entry> entries) throws IOException, CsvException {
+        List<CsvChunkSplitter.Chunk> chunks = new ArrayList<>(entries.size());
+        for(HCSVRootIndex.Entry entry : entries) {
+            chunks.add(entry.toChunk());
+        }
+        CsvTreeConstructor subtreeConstructor = new CsvTreeConstructor(beanTypeFactory, exceptionHandler, resourceBundle, keyIndexFactory);
+        if(!errorStackTraces) {
+            subtreeConstructor.disableErrorStackTraces();
+        }
+        subtreeReader.readRanges(chunks, subtreeConstructor);
+        subtreeConstructor.finish();
+        subtreeConstructor.commitEvents();
+        return subtreeConstructor.getBeans();
+    }
+
+    /**
+     * Returns an iterator over the root beans of the file (beans without
+     * {@link io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart}). Each root bean is
+     * returned with all its descendants as soon as its subtree is complete, which happens
+     * when the next root bean is read, when the {@link CsvRootCompletionRule} set with
+     * {@link HCSVReaderBuilder#withRootCompletionRule(CsvRootCompletionRule)} says so, or at
+     * the end of the file. The keys of a completed subtree are released, so the memory used
+     * is bounded by the largest subtree instead of the whole file. As a consequence, a child
+     * line appearing after its root has completed causes a
+     * {@link io.github.hierarchicalcsv.core.exception.csv.ParentBeanNotFoundException}.
+     * <p>
+     * A reader is consumed either with {@link #readFile()} or with this iterator, not both.
+     * {@link IOException} and {@link CsvException} are wrapped in an {@link UnableToReadFileException}.
+     *
+     * @return Iterator over the completed root beans
+     */
+    @Override
+    public Iterator<Object> iterator() {
+        startReading();
+        csvTreeConstructor.enableStreaming(rootCompletionRule);
+        if(checkpoints) {
+            rootCheckpoints = new ArrayDeque<>();
+        }
+        return new RootIterator();
+    }
+
+    /**
+     * Same as {@link #iterator()} as a sequential {@link Stream}
+     *
+     * @return Stream of the completed root beans
+     */
+    public Stream<Object> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private void startReading() {
+        if(readStarted) {
+            throw new IllegalStateException(resourceBundle.getString(HCSVErrorMessageUtils.READER_ALREADY_CONSUMED));
+        }
+        readStarted = true;
+        if(pipelineThreads > 0 && parallelReader == null && !checkpoints) {
+            linePipeline = new CsvLinePipeline(lineSource, lineProcessListener, beanTypeFactory, exceptionHandler,
+                    ignoreUnknownBeanType, resourceBundle, errorStackTraces, metrics, pipelineThreads, batchSize).start();
+        }
+    }
+
     private void readNext() throws CsvException, IOException {
         assertHasNext();
-        long lineNumber = csvReader.getLinesRead();
-        String[] line = csvReader.readNext();
+        if(linePipeline != null) {
+            readNextFromPipeline();
+            return;
+        }
+        CsvCheckpoint linePosition = rootCheckpoints != null? lineSource.getCheckpoint(): null;
+        long lineNumber = lineSource.getLinesRead();
+        String[] line = lineSource.readNext();
+        boolean timed = batchEvents.startLine(lineNumber) || metrics != null;
         handleBeforeLineProcess(lineNumber, line);
-        Object bean = null;
-        BlockingQueue<OrderedObject<CsvException>> thrownExceptionsQueue = null;
+        lineResult.reset(lineNumber, line, lineSource.getLineCompleter());
+        long bindingStart = timed? System.nanoTime(): 0L;
         if(line.length > 0) {
-            var result = lineToBeanProcessor.processLine(lineNumber, line);
-            bean = result.getBean();
-            thrownExceptionsQueue = result.getThrownExceptionsQueue();
+            lineToBeanProcessor.processLine(lineNumber, line, lineResult);
         } else {
-            thrownExceptionsQueue = new LinkedBlockingQueue<>();
-            bean = EmptyBean.getNewInstance();
+            lineResult.setBean(EmptyBean.getInstance());
         }
-        boolean filteredBean = bean == null && thrownExceptionsQueue.isEmpty();
-        if(!(bean instanceof EmptyBean || bean instanceof UnknownBean || filteredBean)) {
-            csvTreeConstructor.handle(lineNumber, line, bean, thrownExceptionsQueue);
+        long linkingStart = timed? System.nanoTime(): 0L;
+        if(lineResult.hasCsvBean()) {
+            csvTreeConstructor.handle(lineResult);
+            if(linePosition != null) {
+                recordRootCheckpoint(line, linePosition);
+            }
         }
-        handleAfterLineProcess(lineNumber, bean, thrownExceptionsQueue, filteredBean);
-        updateHasNext();
+        long linkingEnd = timed? System.nanoTime(): 0L;
+        handleAfterLineProcess(lineNumber, lineResult);
+        if(!timed) {
+            updateHasNext();
+        } else {
+            long tokenizingStart = System.nanoTime();
+            updateHasNext();
+            recordStages(System.nanoTime() - tokenizingStart, linkingStart - bindingStart, linkingEnd - linkingStart);
+        }
+        batchEvents.endLine(lineNumber);
+    }
+
+    private void recordRootCheckpoint(String[] line, CsvCheckpoint linePosition) {
+        CsvCodeProperties codeProperties = beanTypeFactory.getCodeIndex().find(line);
+        if(codeProperties != null && !codeProperties.hasParent()) {
+            rootCheckpoints.add(linePosition);
+        }
+    }
+
+    /**
+     * Records the time spent in each stage for a line of the sequential read. The binding
+     * time is measured per bean type by the line processor for the metrics
+     */
+    private void recordStages(long tokenizing, long binding, long linking) {
+        if(metrics != null) {
+            metrics.recordTokenizing(tokenizing);
+            metrics.recordLinking(linking);
+        }
+        if(batchEvents.isRecording()) {
+            batchEvents.addStages(tokenizing, binding, linking);
+        }
+    }
+
+    private void readNextFromPipeline() throws CsvException, IOException {
+        CsvLineResult result = linePipeline.next();
+        if(result.hasCsvBean()) {
+            if(metrics == null && !linePipeline.isRecordingEvent()) {
+                csvTreeConstructor.handle(result);
+            } else {
+                long start = System.nanoTime();
+                csvTreeConstructor.handle(result);
+                recordLinking(System.nanoTime() - start);
+            }
+        }
+        handleAfterLineProcess(result.getLineNumber(), result);
+        hasNext = linePipeline.hasNext();
+        if(!hasNext) {
+            commitEvents();
+        }
+    }
+
+    private void recordLinking(long nanos) {
+        if(metrics != null) {
+            metrics.recordLinking(nanos);
+        }
+        linePipeline.addLinking(nanos);
+    }
+
+    /**
+     * Commits the pending Flight Recorder events, once the end of the file is reached or
+     * the reader is closed
+     */
+    private void commitEvents() {
+        batchEvents.commit();
+        if(linePipeline != null) {
+            linePipeline.commitEvent();
+        }
+        csvTreeConstructor.commitEvents();
     }
 
     private void handleBeforeLineProcess(long lineNumber, String[] line) {
@@ -216,14 +692,110 @@ public class HCSVReader implements AutoCloseable {
         }
     }
 
-    private void handleAfterLineProcess(long lineNumber, Object csvBean, BlockingQueue<OrderedObject<CsvException>> thrownExceptionsQueue, boolean filteredBean) {
+    private void handleAfterLineProcess(long lineNumber, CsvLineResult result) {
         if(lineProcessListener != null) {
-            lineProcessListener.afterLineProcess(lineNumber, csvBean, thrownExceptionsQueue, filteredBean);
+            lineProcessListener.afterLineProcess(lineNumber, result);
         }
     }
 
     @Override
     public void close() throws IOException {
-        csvReader.close();
+        try {
+            if(linePipeline != null) {
+                linePipeline.close();
+            }
+            lineSource.close();
+            csvTreeConstructor.close();
+        } finally {
+            commitEvents();
+            unregisterMetrics();
+            if(errorCollector != null) {
+                errorCollector.close();
+            }
+        }
+    }
+
+    /**
+     * Tells where to resume reading with {@link HCSVReaderBuilder#withResumeFrom(CsvCheckpoint)}
+     * to get the root beans not returned yet by {@link #iterator()}: the position of the root
+     * line of the next root bean, or the position of the next line. Once a root bean returned by
+     * the iterator is processed, this checkpoint can be saved: a reader resumed from it returns
+     * the same next root beans. Beans linked to a root bean already returned are not, as when
+     * streaming.
+     *
+     * @return The checkpoint, or {@literal null} if not enabled with
+     *      {@link HCSVReaderBuilder#withCheckpoints(boolean)}
+     */
+    public CsvCheckpoint getCheckpoint() {
+        if(!checkpoints) {
+            return null;
+        }
+        CsvCheckpoint nextRoot = rootCheckpoints != null? rootCheckpoints.peek(): null;
+        return nextRoot != null? nextRoot: lineSource.getCheckpoint();
+    }
+
+    /**
+     * @return The metrics of the reader, or {@literal null} if not enabled with
+     *      {@link HCSVReaderBuilder#withMetrics(boolean)}
+     */
+    public CsvReaderMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return The errors collected according to the error policy of the builder, or
+     *      {@literal null} without policy
+     */
+    public CsvErrorCollector getErrorCollector() {
+        return errorCollector;
+    }
+
+    /**
+     * Reads lines until a root bean is complete
+     */
+    private class RootIterator implements Iterator<Object> {
+
+        private Object nextRoot;
+
+        @Override
+        public boolean hasNext() {
+            if(nextRoot == null) {
+                nextRoot = fetchNextRoot();
+            }
+            return nextRoot != null;
+        }
+
+        @Override
+        public Object next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object root = nextRoot;
+            nextRoot = null;
+            if(rootCheckpoints != null) {
+                rootCheckpoints.poll();
+            }
+            return root;
+        }
+
+        private Object fetchNextRoot() {
+            try {
+                Object root = csvTreeConstructor.pollCompletedRoot();
+                while(root == null && HCSVReader.this.hasNext()) {
+                    readNext();
+                    root = csvTreeConstructor.pollCompletedRoot();
+                }
+                if(root == null) {
+                    csvTreeConstructor.finish();
+                    commitEvents();
+                    root = csvTreeConstructor.pollCompletedRoot();
+                }
+                return root;
+            } catch (IOException | CsvException ex) {
+                throw new UnableToReadFileException(MessageFormat.format(
+                        resourceBundle.getString(HCSVErrorMessageUtils.UNABLE_TO_READ_FILE_WITH_EXCEPTION),
+                        ex.getLocalizedMessage()), ex);
+            }
+        }
     }
 }
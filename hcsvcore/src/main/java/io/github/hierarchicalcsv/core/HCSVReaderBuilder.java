@@ -8,13 +8,23 @@ import com.opencsv.validators.LineValidator;
 import com.opencsv.validators.RowValidator;
 import io.github.hierarchicalcsv.core.exception.UnableToReadFileException;
 import io.github.hierarchicalcsv.core.model.CsvBeanType;
+import io.github.hierarchicalcsv.core.model.CsvCheckpoint;
+import io.github.hierarchicalcsv.core.model.CsvErrorPolicy;
+import io.github.hierarchicalcsv.core.model.CsvKeyIndexFactory;
 import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.core.model.CsvOrphanPolicy;
+import io.github.hierarchicalcsv.core.model.CsvRootCompletionRule;
 import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
 import io.github.hierarchicalcsv.core.util.HCSVUtils;
 import org.apache.commons.lang3.ObjectUtils;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.*;
 
@@ -25,14 +35,62 @@ public class HCSVReaderBuilder {
      */
     protected CsvExceptionHandler exceptionHandler;
 
+    protected CsvErrorPolicy errorPolicy;
+
     protected CsvLineProcessListener lineProcessListener;
 
     protected final Set<CsvBeanType<?>> beanTypes;
 
+    protected HCSVSchema schema;
+
     protected boolean ignoreUnknownBeanType;
 
+    protected CsvRootCompletionRule rootCompletionRule;
+
+    protected boolean orderedHierarchy;
+
+    protected CsvKeyIndexFactory keyIndexFactory;
+
+    protected CsvOrphanPolicy orphanPolicy;
+
+    protected HCSVRootIndex rootIndex;
+
+    protected boolean checkpoints;
+
+    protected CsvCheckpoint resumeCheckpoint;
+
+    protected boolean errorStackTraces;
+
+    protected boolean metrics;
+
+    protected String metricsMBeanName;
+
     protected Reader reader;
 
+    protected InputStream inputStream;
+
+    protected ByteBuffer byteBuffer;
+
+    protected Path path;
+
+    protected Charset charset;
+
+    protected int parallelism;
+
+    protected long chunkSize;
+
+    protected boolean memoryMapping;
+
+    protected int gzipThreads;
+
+    protected int readAheadBuffers;
+
+    protected int readAheadBufferSize;
+
+    protected int pipelineThreads;
+
+    protected int batchSize;
+
     protected int skipLines;
 
     /**
@@ -69,6 +127,160 @@ public class HCSVReaderBuilder {
         this.reader = reader;
         this.beanTypes = new HashSet<>();
         this.errorLocale = Locale.getDefault();
+        this.charset = StandardCharsets.UTF_8;
+        this.parallelism = 1;
+        this.batchSize = 256;
+        this.errorStackTraces = true;
+    }
+
+    /**
+     * Reads a file. Unlike a {@link Reader}, a file can be read with several threads,
+     * see {@link #withParallelism(int)}
+     *
+     * @param path The CSV file
+     */
+    public HCSVReaderBuilder(Path path) {
+        this((Reader) null);
+        this.path = path;
+    }
+
+    /**
+     * Reads bytes decoded with the charset set by {@link #withCharset(Charset)}. With UTF-8 or
+     * a single-byte charset encoding ASCII as itself (ISO-8859-1, windows-1252...), runs of
+     * ASCII bytes are copied as characters without calling the charset decoder, which only
+     * decodes the runs of non-ASCII bytes.
+     *
+     * @param inputStream The CSV bytes, closed with the reader
+     */
+    public HCSVReaderBuilder(InputStream inputStream) {
+        this((Reader) null);
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * Reads bytes in memory, without copy, decoded as with {@link #HCSVReaderBuilder(InputStream)}
+     *
+     * @param bytes The CSV bytes
+     */
+    public HCSVReaderBuilder(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Reads the bytes of a buffer from its position to its limit, decoded as with
+     * {@link #HCSVReaderBuilder(InputStream)}. The position of the buffer is not changed, and
+     * its content must not change while it is read. The array of a heap buffer is read
+     * without copy.
+     *
+     * @param byteBuffer The CSV bytes, a heap, direct or memory-mapped buffer
+     */
+    public HCSVReaderBuilder(ByteBuffer byteBuffer) {
+        this((Reader) null);
+        this.byteBuffer = byteBuffer;
+    }
+
+    /**
+     * @param charset The charset of the file or of the bytes, {@code UTF-8} by default. Not
+     *      used with a {@link Reader} input
+     * @return The builder
+     */
+    public HCSVReaderBuilder withCharset(Charset charset) {
+        this.charset = ObjectUtils.defaultIfNull(charset, StandardCharsets.UTF_8);
+        return this;
+    }
+
+    /**
+     * Reads a gzip-compressed file. With one thread, the file is inflated on the reading thread
+     * as with a {@link java.util.zip.GZIPInputStream}. With more threads, the members of a
+     * multi-member file (concatenated gzip files, BGZF blocks...) are inflated ahead on these
+     * threads, two members per thread at most, and handed to the tokenizer in order. Members
+     * larger than 8 MiB once inflated, and single-member files, are inflated on the reading thread.
+     * <p>
+     * Only used with a file input, which is then read sequentially: memory mapping, parallel
+     * reading, root indexes and checkpoints need an uncompressed file.
+     *
+     * @param inflateThreads The number of threads inflating the file, 0 (not compressed) by default
+     * @return The builder
+     */
+    public HCSVReaderBuilder withGzip(int inflateThreads) {
+        this.gzipThreads = Math.max(inflateThreads, 0);
+        return this;
+    }
+
+    /**
+     * Reads the file on a prefetch thread, which keeps {@code buffers} buffers of
+     * {@code bufferSize} bytes filled ahead of the tokenizer, so that the latency of the file
+     * system overlaps with tokenizing, binding and linking instead of stalling them. Useful on
+     * network file systems, or when the file is not in the page cache.
+     * <p>
+     * Only used with a file input read sequentially, including a gzip file inflated on the
+     * reading thread and a file read with checkpoints. Memory-mapped files, ranges read in
+     * parallel and gzip files inflated on several threads are read without prefetch thread.
+     *
+     * @param buffers The number of buffers filled ahead, 0 (no prefetch thread) by default
+     * @param bufferSize The size of a buffer in bytes, at least 4KB
+     * @return The builder
+     */
+    public HCSVReaderBuilder withReadAhead(int buffers, int bufferSize) {
+        this.readAheadBuffers = Math.max(buffers, 0);
+        this.readAheadBufferSize = Math.max(bufferSize, 1 << 12);
+        return this;
+    }
+
+    /**
+     * Reads the file through memory-mapped windows instead of a {@link Reader}. Lines are
+     * tokenized directly on the bytes of the file (RFC 4180 quoting, and the escape character
+     * of a {@link com.opencsv.CSVParser} inside quoted fields), and only the code columns and
+     * the columns bound by the bean type are decoded into {@link String}s, the other columns
+     * being {@literal null} (all columns are decoded when a listener is set).
+     * <p>
+     * Only used with a file input, an ASCII compatible charset, no line validator, row
+     * validator nor row processor, and the default, {@link com.opencsv.CSVParser} or
+     * {@link com.opencsv.RFC4180Parser} parser. The file is read with OpenCSV otherwise.
+     *
+     * @param memoryMapping Whether to memory-map the file, {@literal false} by default
+     * @return The builder
+     */
+    public HCSVReaderBuilder withMemoryMapping(boolean memoryMapping) {
+        this.memoryMapping = memoryMapping;
+        return this;
+    }
+
+    /**
+     * Reads the file with {@code parallelism} threads in {@link HCSVReader#readFile()}. The
+     * file is split into ranges starting on root lines (beans without
+     * {@link io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart}), each range is read
+     * and linked by a worker, and the trees are merged in file order, giving the same result
+     * as a sequential read. Exceptions caught by the default exception handler are handed to it
+     * on the calling thread, in line order.
+     * <p>
+     * Only used with a file input, not gzipped nor resumed from a checkpoint, and the default,
+     * {@link com.opencsv.CSVParser} or {@link com.opencsv.RFC4180Parser} parser: otherwise the
+     * parallelism is ignored and the input is read sequentially, without notice. A charset
+     * that is not ASCII compatible cannot be split, and the file is then read as a single
+     * range. The listener,
+     * the validators and the row processor, as well as the filters, the verifiers and the
+     * exception handlers of the {@link CsvBeanType}s, are called concurrently by the workers
+     * and must be thread-safe. Only the default exception handler of the builder is called on
+     * the calling thread. Root lines are detected on the raw code values,
+     * before the listener is called.
+     *
+     * @param parallelism The number of threads, 1 (sequential read) by default
+     * @return The builder
+     */
+    public HCSVReaderBuilder withParallelism(int parallelism) {
+        this.parallelism = Math.max(parallelism, 1);
+        return this;
+    }
+
+    /**
+     * @param chunkSize The size in bytes of the ranges read by each thread when reading in
+     *      parallel. By default, the file is split in 4 ranges per thread of at least 1MB
+     * @return The builder
+     */
+    public HCSVReaderBuilder withChunkSize(long chunkSize) {
+        this.chunkSize = Math.max(chunkSize, 0);
+        return this;
     }
 
     public HCSVReaderBuilder withSkipLines(
@@ -124,6 +336,20 @@ public class HCSVReaderBuilder {
         return this;
     }
 
+    /**
+     * Collects the errors of the lines according to an error budget, instead of handing them
+     * to an exception handler. The collected errors are available with
+     * {@link HCSVReader#getErrorCollector()}, and the reader must be closed to complete the
+     * reject file. Takes precedence over {@link #withExceptionHandler(CsvExceptionHandler)}.
+     *
+     * @param errorPolicy The error budget
+     * @return The builder
+     */
+    public HCSVReaderBuilder withErrorPolicy(CsvErrorPolicy errorPolicy) {
+        this.errorPolicy = errorPolicy;
+        return this;
+    }
+
     public HCSVReaderBuilder withListener(CsvLineProcessListener csvLineProcessListener) {
         this.lineProcessListener = csvLineProcessListener;
         return this;
@@ -149,14 +375,200 @@ public class HCSVReaderBuilder {
         return this;
     }
 
+    /**
+     * Reads the beans of a schema compiled beforehand, instead of the bean types set on
+     * this builder. The schema is shared, so building the reader does not introspect
+     * the beans again.
+     *
+     * @param schema The schema
+     * @return The builder
+     */
+    public HCSVReaderBuilder withSchema(HCSVSchema schema) {
+        this.schema = schema;
+        return this;
+    }
+
     public HCSVReaderBuilder withIgnoreUnknownBeanType(boolean ignoreUnknownBeanType) {
         this.ignoreUnknownBeanType = ignoreUnknownBeanType;
         return this;
     }
 
+    /**
+     * Whether the exceptions raised by the reader for a line, such as
+     * {@link io.github.hierarchicalcsv.core.exception.csv.ParentBeanNotFoundException}, capture
+     * their stack trace. Their message is anyway only formatted when requested. Disabling stack
+     * traces saves most of the cost of an error when an exception handler collects or discards
+     * the errors of a dirty file, as the line and its number identify the error.
+     *
+     * @param errorStackTraces Whether line exceptions capture their stack trace, {@literal true} by default
+     * @return The builder
+     */
+    public HCSVReaderBuilder withErrorStackTraces(boolean errorStackTraces) {
+        this.errorStackTraces = errorStackTraces;
+        return this;
+    }
+
+    /**
+     * Collects the metrics of the reader, available with {@link HCSVReader#getMetrics()}:
+     * lines read, beans bound, filtered and failed per bean type with their binding latency,
+     * time spent in each stage and number of indexed keys. Disabled by default, as measuring
+     * each line has a small cost.
+     *
+     * @param metrics Whether to collect the metrics
+     * @return The builder
+     */
+    public HCSVReaderBuilder withMetrics(boolean metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Collects the metrics of the reader, see {@link #withMetrics(boolean)}, and publishes them
+     * on the platform MBean server while the reader is open, under
+     * {@value HCSVReader#METRICS_MBEAN_DOMAIN}{@code ,name=<name>}.
+     *
+     * @param metricsMBeanName The name of the MBean, unique among the open readers
+     * @return The builder
+     */
+    public HCSVReaderBuilder withMetricsMBeanName(String metricsMBeanName) {
+        this.metrics = true;
+        this.metricsMBeanName = metricsMBeanName;
+        return this;
+    }
+
+    /**
+     * Sets a rule that closes the subtree of the current root bean before the next
+     * root bean is reached. Only used when streaming with {@link HCSVReader#iterator()}
+     * or {@link HCSVReader#stream()}.
+     *
+     * @param rootCompletionRule The rule
+     * @return The builder
+     */
+    public HCSVReaderBuilder withRootCompletionRule(CsvRootCompletionRule rootCompletionRule) {
+        this.rootCompletionRule = rootCompletionRule;
+        return this;
+    }
+
+    /**
+     * Declares that the file is written depth-first: a child line always belongs to the
+     * most recently read bean of its parent type. Parents are then resolved from the beans
+     * currently open on each level, and a bean closes the scope of its previous siblings,
+     * so only the keys of the current path are retained.
+     *
+     * @param orderedHierarchy Whether the file is written depth-first
+     * @return The builder
+     */
+    public HCSVReaderBuilder withOrderedHierarchy(boolean orderedHierarchy) {
+        this.orderedHierarchy = orderedHierarchy;
+        return this;
+    }
+
+    /**
+     * Sets the index of the beans looked up as a parent. The default one is a
+     * {@link io.github.hierarchicalcsv.core.bean.HashCsvKeyIndex}. For files with a large
+     * number of keyed beans, {@code FingerprintCsvKeyIndex::new} keeps a fingerprint of the
+     * keys off-heap instead of the keys themselves. Not used with an ordered hierarchy.
+     *
+     * @param keyIndexFactory Creates the index of a tree
+     * @return The builder
+     */
+    public HCSVReaderBuilder withKeyIndex(CsvKeyIndexFactory keyIndexFactory) {
+        this.keyIndexFactory = keyIndexFactory;
+        return this;
+    }
+
+    /**
+     * Accepts child lines written before their parent: such a child is kept aside and linked
+     * when its parent is read, and only reported as a
+     * {@link io.github.hierarchicalcsv.core.exception.csv.ParentBeanNotFoundException} if its
+     * parent is still not found at the end of the file. See {@link CsvOrphanPolicy} for the
+     * memory limit of the pending children. Not used with an ordered hierarchy.
+     *
+     * @param orphanPolicy The policy of the pending children
+     * @return The builder
+     */
+    public HCSVReaderBuilder withOutOfOrderChildren(CsvOrphanPolicy orphanPolicy) {
+        this.orphanPolicy = orphanPolicy;
+        return this;
+    }
+
+    /**
+     * Sets the index of the root lines of the file, built with
+     * {@link HCSVRootIndex#build(HCSVReaderBuilder, Path)}, so that the subtrees of some keys
+     * can be read alone with {@link HCSVReader#readSubtree(String)}. Only used with a file
+     * input, which must not have changed since the index was built.
+     *
+     * @param rootIndex The index of the root lines of the file
+     * @return The builder
+     */
+    public HCSVReaderBuilder withRootIndex(HCSVRootIndex rootIndex) {
+        this.rootIndex = rootIndex;
+        return this;
+    }
+
+    /**
+     * Reads the lines in a pipeline: a thread tokenizes batches of lines with OpenCSV,
+     * {@code bindingThreads} threads bind them to beans, and the reader thread links them
+     * in line order. Results and exceptions handed to the default exception handler are
+     * the same as a sequential read, for any input, in {@link HCSVReader#readFile()} as well
+     * as in {@link HCSVReader#iterator()}.
+     * <p>
+     * {@link CsvLineProcessListener#beforeLineProcess(long, String[])} is called by the
+     * tokenizer thread, and the exception handlers of the bean types by the binding threads.
+     * The reader must be closed to release the threads if it is not read until the end.
+     *
+     * @param bindingThreads The number of threads binding beans, 0 (no pipeline) by default
+     * @return The builder
+     */
+    public HCSVReaderBuilder withPipeline(int bindingThreads) {
+        this.pipelineThreads = Math.max(bindingThreads, 0);
+        return this;
+    }
+
+    /**
+     * Tracks the byte offset of the lines, so that {@link HCSVReader#getCheckpoint()} tells
+     * where to resume reading after the root beans returned so far by
+     * {@link HCSVReader#iterator()}. The lines are then read without pipeline. Only used with
+     * a file input in UTF-8 or in a single-byte charset, and without
+     * {@link #withOutOfOrderChildren(CsvOrphanPolicy) out-of-order children}.
+     *
+     * @param checkpoints Whether to track checkpoints, {@literal false} by default
+     * @return The builder
+     */
+    public HCSVReaderBuilder withCheckpoints(boolean checkpoints) {
+        this.checkpoints = checkpoints;
+        return this;
+    }
+
+    /**
+     * Starts reading the file at a checkpoint returned by {@link HCSVReader#getCheckpoint()}
+     * instead of its beginning, to read the root beans not returned by a previous reader of the
+     * same file. Line numbers go on from the checkpoint, and the skipped lines are not skipped
+     * again. The file is always read sequentially. Only used with a file input in UTF-8 or in a
+     * single-byte charset, and without {@link #withOutOfOrderChildren(CsvOrphanPolicy) out-of-order children}.
+     *
+     * @param checkpoint The checkpoint, or {@literal null} to read from the beginning
+     * @return The builder
+     */
+    public HCSVReaderBuilder withResumeFrom(CsvCheckpoint checkpoint) {
+        // A checkpoint at the beginning of the file may precede the skipped lines
+        this.resumeCheckpoint = checkpoint != null && checkpoint.getByteOffset() > 0? checkpoint: null;
+        return this;
+    }
+
+    /**
+     * @param batchSize The number of lines handed at once to a binding thread of the
+     *      pipeline, 256 by default
+     * @return The builder
+     */
+    public HCSVReaderBuilder withBatchSize(int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+        return this;
+    }
+
     public HCSVReader build() {
         try {
-            return new HCSVReader(reader).initialize(this);
+            return new HCSVReader(openReader()).initialize(this);
         } catch (IOException ex) {
             throw new UnableToReadFileException(
                     MessageFormat.format(
@@ -167,4 +579,17 @@ public class HCSVReaderBuilder {
         }
     }
 
+    /**
+     * @return The reader given, a reader decoding the bytes given, or {@literal null} for a file input
+     */
+    private Reader openReader() {
+        if(inputStream != null) {
+            return new ByteInputReader(inputStream, charset);
+        }
+        if(byteBuffer != null) {
+            return new ByteInputReader(byteBuffer, charset);
+        }
+        return reader;
+    }
+
 }
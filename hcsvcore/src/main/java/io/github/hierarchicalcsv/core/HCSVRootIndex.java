@@ -0,0 +1,332 @@
+package io.github.hierarchicalcsv.core;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.exception.RootIndexException;
+import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
+import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
+import io.github.hierarchicalcsv.core.util.HCSVUtils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * Sidecar index of the root lines of a CSV file (beans without
+ * {@link io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart}): the key, the byte
+ * offset and the line number of each root, and the length of its subtree. A subtree spans
+ * from its root line to the next root line of any bean type.
+ * <p>
+ * The index is built once with {@link #build(HCSVReaderBuilder, Path)}, which scans the raw
+ * bytes of the file and only binds the root lines, and is loaded again with {@link #load(Path)}.
+ * A reader built with {@link HCSVReaderBuilder#withRootIndex(HCSVRootIndex)} then reads the
+ * subtrees of some keys only, with {@link HCSVReader#readSubtree(String)} and
+ * {@link HCSVReader#readSubtrees(String, String)}, seeking directly to their offsets.
+ * <p>
+ * Keys are the {@link io.github.hierarchicalcsv.core.annotation.CsvKey} values of the roots
+ * as strings, ordered as strings in key ranges. Roots without a key, or whose line cannot be
+ * bound, are not indexed. The size and the modification time of the file are recorded, so
+ * that an index is not used with another version of the file.
+ */
+public final class HCSVRootIndex {
+
+    /**
+     * {@code HCRI} in ASCII
+     */
+    private static final int MAGIC = 0x48435249;
+
+    private static final int VERSION = 1;
+
+    private static final Comparator<Entry> KEY_ORDER =
+            Comparator.comparing(Entry::getKey).thenComparingLong(Entry::getOffset);
+
+    private final long fileSize;
+
+    private final long fileLastModified;
+
+    /**
+     * Entries sorted by key, then by offset
+     */
+    private final List<Entry> entries;
+
+    private HCSVRootIndex(long fileSize, long fileLastModified, List<Entry> entries) {
+        this.fileSize = fileSize;
+        this.fileLastModified = fileLastModified;
+        this.entries = entries;
+    }
+
+    /**
+     * Indexes the root lines of the file of a builder and writes the index to {@code indexFile}.
+     * The file is read with the bean types, the schema, the charset, the parser and the
+     * number of skipped lines of the builder.
+     *
+     * @param builder A builder of a file input, using a {@link com.opencsv.CSVParser} or a
+     *      {@link com.opencsv.RFC4180Parser}
+     * @param indexFile The sidecar file written
+     * @return The index
+     * @throws IOException In case of problem while reading the file or writing the index
+     * @throws RootIndexException If the input of the builder cannot be indexed
+     */
+    public static HCSVRootIndex build(HCSVReaderBuilder builder, Path indexFile) throws IOException {
+        HCSVSchema schema = builder.schema != null? builder.schema: new HCSVSchema(builder.beanTypes, builder.errorLocale);
+        ResourceBundle resourceBundle = schema.getResourceBundle(builder.errorLocale);
+        if (!HCSVParallelReader.supportsRanges(builder)) {
+            throw notSupported(resourceBundle);
+        }
+        RootCollector collector = new RootCollector();
+        long fileSize;
+        long fileLastModified = Files.getLastModifiedTime(builder.path).toMillis();
+        try (FileChannel channel = FileChannel.open(builder.path, StandardOpenOption.READ)) {
+            CsvChunkSplitter splitter = CsvChunkSplitter.forParser(channel, builder.charset,
+                    schema.getBeanPropertiesFactory().getCodeIndex(), builder.icsvParser, builder.skipLines);
+            if (splitter == null) {
+                throw notSupported(resourceBundle);
+            }
+            fileSize = channel.size();
+            splitter.scanRoots(collector);
+        }
+        List<Entry> entries = collector.finish(fileSize);
+        entries.sort(KEY_ORDER);
+        HCSVRootIndex rootIndex = new HCSVRootIndex(fileSize, fileLastModified, entries);
+        rootIndex.write(indexFile);
+        return rootIndex;
+    }
+
+    /**
+     * @param indexFile A file written by {@link #build(HCSVReaderBuilder, Path)}
+     * @return The index
+     * @throws IOException In case of problem while reading the index
+     * @throws RootIndexException If the file is not a root index
+     */
+    public static HCSVRootIndex load(Path indexFile) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw invalid(indexFile, null);
+            }
+            long fileSize = input.readLong();
+            long fileLastModified = input.readLong();
+            int size = input.readInt();
+            List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new Entry(input.readUTF(), input.readUTF(), input.readLong(), input.readLong(), input.readLong()));
+            }
+            return new HCSVRootIndex(fileSize, fileLastModified, entries);
+        } catch (EOFException ex) {
+            throw invalid(indexFile, ex);
+        }
+    }
+
+    private void write(Path indexFile) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(fileSize);
+            output.writeLong(fileLastModified);
+            output.writeInt(entries.size());
+            for (Entry entry : entries) {
+                output.writeUTF(entry.code);
+                output.writeUTF(entry.key);
+                output.writeLong(entry.offset);
+                output.writeLong(entry.length);
+                output.writeLong(entry.linesBefore);
+            }
+        }
+    }
+
+    /**
+     * @param file A CSV file
+     * @return Whether the file has the size and the modification time of the file indexed
+     * @throws IOException In case of problem while reading the attributes of the file
+     */
+    public boolean isUpToDate(Path file) throws IOException {
+        return Files.size(file) == fileSize && Files.getLastModifiedTime(file).toMillis() == fileLastModified;
+    }
+
+    /**
+     * @param key The key of a root
+     * @return The roots with this key, of any bean type, in file order
+     */
+    public List<Entry> find(String key) {
+        return findRange(key, key);
+    }
+
+    /**
+     * @param fromKey The lowest key, inclusive
+     * @param toKey The highest key, inclusive
+     * @return The roots whose key is in the range, in file order
+     */
+    public List<Entry> findRange(String fromKey, String toKey) {
+        List<Entry> found = new ArrayList<>();
+        for (int i = lowerBound(fromKey); i < entries.size() && entries.get(i).key.compareTo(toKey) <= 0; i++) {
+            found.add(entries.get(i));
+        }
+        found.sort(Comparator.comparingLong(Entry::getOffset));
+        return found;
+    }
+
+    /**
+     * @return All the entries, sorted by key
+     */
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return The number of roots indexed
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The index of the first entry whose key is not lower than {@code key}
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries.get(middle).key.compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    static RootIndexException notSupported(ResourceBundle resourceBundle) {
+        return new RootIndexException(resourceBundle.getString(HCSVErrorMessageUtils.ROOT_INDEX_NOT_SUPPORTED), null);
+    }
+
+    private static RootIndexException invalid(Path indexFile, Throwable cause) {
+        return new RootIndexException(MessageFormat.format(
+                ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME)
+                        .getString(HCSVErrorMessageUtils.INVALID_ROOT_INDEX), indexFile), cause);
+    }
+
+    /**
+     * Binds each root line to get its key. The length of a subtree is known when the next
+     * root line is found
+     */
+    private static final class RootCollector implements CsvChunkSplitter.RootListener {
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        private String pendingCode;
+
+        private String pendingKey;
+
+        private long pendingOffset = -1;
+
+        private long pendingLinesBefore;
+
+        @Override
+        public void root(long position, long lineNumber, CsvCodeProperties codeProperties, String[] fields) {
+            closePending(position);
+            if (!codeProperties.hasKeyField()) {
+                return;
+            }
+            Object key;
+            try {
+                key = codeProperties.getKeyGetter().apply(codeProperties.getLineBinder().bind(fields));
+            } catch (CsvException ex) {
+                // Not indexed: the line would be rejected when read
+                return;
+            }
+            if (key != null) {
+                pendingCode = codeProperties.getCodeValue();
+                pendingKey = key.toString();
+                pendingOffset = position;
+                pendingLinesBefore = lineNumber;
+            }
+        }
+
+        private void closePending(long end) {
+            if (pendingOffset >= 0) {
+                entries.add(new Entry(pendingCode, pendingKey, pendingOffset, end - pendingOffset, pendingLinesBefore));
+                pendingOffset = -1;
+            }
+        }
+
+        private List<Entry> finish(long fileSize) {
+            closePending(fileSize);
+            return entries;
+        }
+    }
+
+    /**
+     * A root line and the byte range of its subtree
+     */
+    public static final class Entry {
+
+        private final String code;
+
+        private final String key;
+
+        private final long offset;
+
+        private final long length;
+
+        private final long linesBefore;
+
+        private Entry(String code, String key, long offset, long length, long linesBefore) {
+            this.code = code;
+            this.key = key;
+            this.offset = offset;
+            this.length = length;
+            this.linesBefore = linesBefore;
+        }
+
+        /**
+         * @return The code of the bean type of the root
+         */
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * @return The key of the root, as a string
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return The offset of the first byte of the root line
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return The number of bytes of the subtree
+         */
+        public long getLength() {
+            return length;
+        }
+
+        /**
+         * @return The line number of the root line
+         */
+        public long getLineNumber() {
+            return linesBefore + 1;
+        }
+
+        CsvChunkSplitter.Chunk toChunk() {
+            return new CsvChunkSplitter.Chunk(offset, offset + length, linesBefore, 0);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.hierarchicalcsv.core;
+
+import io.github.hierarchicalcsv.core.bean.CsvBeanPropertiesFactory;
+import io.github.hierarchicalcsv.core.model.CsvBeanType;
+import io.github.hierarchicalcsv.core.util.HCSVUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * The compiled description of a set of bean types: the annotations are introspected,
+ * the hierarchy is validated and the binders and accessors are built once, when the
+ * schema is built with {@link HCSVSchemaBuilder}.
+ * <p>
+ * A schema is immutable and thread-safe. It can be shared by any number of readers,
+ * built on any thread with {@link HCSVReaderBuilder#withSchema(HCSVSchema)}, which then
+ * only allocate their own reading state.
+ */
+public final class HCSVSchema {
+
+    private final CsvBeanType<?>[] beanTypes;
+
+    private final Locale errorLocale;
+
+    /**
+     * Resource bundle of {@code errorLocale}, used by the compiled properties
+     */
+    private final ResourceBundle resourceBundle;
+
+    private final CsvBeanPropertiesFactory beanPropertiesFactory;
+
+    /**
+     * @param beanTypes The bean types
+     * @param errorLocale Locale used in the exceptions thrown while compiling the schema
+     */
+    HCSVSchema(Collection<CsvBeanType<?>> beanTypes, Locale errorLocale) {
+        this.beanTypes = beanTypes.toArray(new CsvBeanType<?>[0]);
+        this.errorLocale = errorLocale;
+        this.resourceBundle = ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME, errorLocale);
+        this.beanPropertiesFactory = new CsvBeanPropertiesFactory(this.beanTypes, resourceBundle);
+    }
+
+    /**
+     * @return The bean types of the schema
+     */
+    public List<CsvBeanType<?>> getBeanTypes() {
+        return List.of(beanTypes);
+    }
+
+    /**
+     * @return The locale used in the exceptions thrown while compiling the schema
+     */
+    public Locale getErrorLocale() {
+        return errorLocale;
+    }
+
+    CsvBeanType<?>[] getBeanTypeArray() {
+        return beanTypes;
+    }
+
+    CsvBeanPropertiesFactory getBeanPropertiesFactory() {
+        return beanPropertiesFactory;
+    }
+
+    /**
+     * @param locale The locale of a reader
+     * @return The resource bundle of the locale, shared when it is the locale of the schema
+     */
+    ResourceBundle getResourceBundle(Locale locale) {
+        return errorLocale.equals(locale)? resourceBundle:
+                ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME, locale);
+    }
+
+}
@@ -0,0 +1,58 @@
+package io.github.hierarchicalcsv.core;
+
+import io.github.hierarchicalcsv.core.model.CsvBeanType;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds an {@link HCSVSchema} from bean types
+ */
+public class HCSVSchemaBuilder {
+
+    protected final Set<CsvBeanType<?>> beanTypes;
+
+    protected Locale errorLocale;
+
+    public HCSVSchemaBuilder() {
+        this.beanTypes = new HashSet<>();
+        this.errorLocale = Locale.getDefault();
+    }
+
+    public HCSVSchemaBuilder withErrorLocale(Locale errorLocale) {
+        this.errorLocale = errorLocale;
+        return this;
+    }
+
+    public HCSVSchemaBuilder withBeanClass(Class<?> beanClass) {
+        withBeanType(new CsvBeanType<>(beanClass));
+        return this;
+    }
+
+    public HCSVSchemaBuilder withBeanClasses(List<Class<?>> beanClasses) {
+        beanClasses.forEach(beanClass -> withBeanType(new CsvBeanType<>(beanClass)));
+        return this;
+    }
+
+    public HCSVSchemaBuilder withBeanType(CsvBeanType<?> beanType) {
+        this.beanTypes.add(beanType);
+        return this;
+    }
+
+    public HCSVSchemaBuilder withBeanTypes(List<CsvBeanType<?>> beanTypes) {
+        this.beanTypes.addAll(beanTypes);
+        return this;
+    }
+
+    /**
+     * Introspects and validates the bean types
+     *
+     * @return The schema
+     */
+    public HCSVSchema build() {
+        return new HCSVSchema(beanTypes, errorLocale);
+    }
+
+}
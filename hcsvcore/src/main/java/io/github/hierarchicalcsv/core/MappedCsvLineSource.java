@@ -0,0 +1,698 @@
+package io.github.hierarchicalcsv.core;
+
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.ICSVParser;
+import com.opencsv.RFC4180Parser;
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.exceptions.CsvMalformedLineException;
+import io.github.hierarchicalcsv.core.bean.CsvCodeIndex;
+import io.github.hierarchicalcsv.core.model.CsvCheckpoint;
+import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
+import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
+import io.github.hierarchicalcsv.core.util.HCSVUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * {@link CsvLineSource} reading a file through memory-mapped windows. Regular records are
+ * tokenized in place into field slices (offset and length in the window): unquoted fields
+ * without quote, and quoted fields closed right before a separator or the end of the line,
+ * with doubled quotes and line breaks inside. The other records (escape characters, text
+ * around quoted fields, carriage returns alone, unterminated quotes...) are decoded line by
+ * line and parsed by the OpenCSV parser, as a {@link com.opencsv.CSVReader} does, so that
+ * both sources return the same lines. A window is remapped when a record crosses its end,
+ * so files larger than 2GB are supported, and grows when a single record is larger than
+ * the window.
+ * <p>
+ * Fields are decoded into {@link String}s lazily: the code columns first, then only the
+ * columns bound by the {@link io.github.hierarchicalcsv.core.model.CsvLineBinder} of the
+ * bean type. The other columns are left {@literal null}, and decoded in place by the
+ * completer of the line when the reader keeps it in an exception or an orphan. All columns
+ * are decoded for unknown bean types, bean types with a filter, or when
+ * {@code decodeAllColumns} is set (a listener may read any column).
+ * <p>
+ * The charset must be ASCII compatible (UTF-8, ISO-8859-x, ...).
+ */
+final class MappedCsvLineSource implements CsvLineSource {
+
+    private static final long DEFAULT_WINDOW_SIZE = 1L << 28;
+
+    private static final int QUOTED = 1;
+
+    /**
+     * Quoted field containing doubled quotes or carriage returns to drop: the raw slice is
+     * parsed again when decoded
+     */
+    private static final int COMPLEX = 2;
+
+    /**
+     * Returned by the tokenizer when the window must be remapped
+     */
+    private static final int REMAP = -1;
+
+    /**
+     * Returned by the tokenizer when the record must be parsed by the OpenCSV parser
+     */
+    private static final int IRREGULAR = -2;
+
+    /**
+     * Length of the pending text in the message of an unterminated quoted field, as OpenCSV
+     */
+    private static final int PENDING_TEXT_LENGTH = 100;
+
+    private final FileChannel channel;
+
+    private final long fileSize;
+
+    private final Charset charset;
+
+    /**
+     * Parser of the irregular records
+     */
+    private final ICSVParser parser;
+
+    private final Locale errorLocale;
+
+    private final int separator;
+
+    private final int quote;
+
+    private final int escape;
+
+    private final CSVReaderNullFieldIndicator nullFieldIndicator;
+
+    private final CsvCodeIndex codeIndex;
+
+    private final int[] codePositions;
+
+    private final boolean decodeAllColumns;
+
+    private long windowSize;
+
+    /**
+     * Current window, its offset in the file, and the decoder of its fields
+     */
+    private MappedByteBuffer window;
+
+    private long windowOffset;
+
+    private FieldDecoder decoder;
+
+    /**
+     * Offset in the window of the next record
+     */
+    private int position;
+
+    private long linesRead;
+
+    private int skipLines;
+
+    /**
+     * Field slices of the last tokenized record, relative to the window
+     */
+    private int[] fieldStarts;
+
+    private int[] fieldEnds;
+
+    private int[] fieldKinds;
+
+    private int fieldCount;
+
+    private String[] peekedLine;
+
+    /**
+     * Completers of the columns left {@literal null} in the peeked line and in the last line
+     * read, {@literal null} if the line is complete
+     */
+    private Runnable peekedLineCompleter;
+
+    private Runnable lineCompleter;
+
+    /**
+     * Position of the peeked line
+     */
+    private long peekedOffset;
+
+    private long peekedLinesRead;
+
+    private MappedCsvLineSource(Path path, Charset charset, ICSVParser parser, Locale errorLocale,
+                                int skipLines, CsvCodeIndex codeIndex, boolean decodeAllColumns,
+                                CsvCheckpoint start) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.charset = charset;
+        this.parser = parser;
+        this.errorLocale = errorLocale;
+        this.separator = parser.getSeparator();
+        this.quote = parser.getQuotechar();
+        int escapeCharacter = parser instanceof CSVParser? ((CSVParser) parser).getEscape(): ICSVParser.NULL_CHARACTER;
+        this.escape = escapeCharacter == ICSVParser.NULL_CHARACTER || escapeCharacter == quote? -1: escapeCharacter;
+        CSVReaderNullFieldIndicator indicator = parser.nullFieldIndicator();
+        this.nullFieldIndicator = indicator == null? CSVReaderNullFieldIndicator.NEITHER: indicator;
+        this.skipLines = skipLines;
+        this.codeIndex = codeIndex;
+        this.codePositions = codeIndex.getPositions();
+        this.decodeAllColumns = decodeAllColumns;
+        this.windowSize = DEFAULT_WINDOW_SIZE;
+        this.fieldStarts = new int[16];
+        this.fieldEnds = new int[16];
+        this.fieldKinds = new int[16];
+        this.linesRead = start != null? start.getLinesRead(): 0;
+        map(start != null? start.getByteOffset(): 0);
+    }
+
+    /**
+     * Opens the file of the builder if it can be read by this source: no line validator,
+     * row validator nor row processor (they need the whole raw line), carriage returns
+     * dropped, an ASCII compatible charset, and the default, {@link CSVParser} (without
+     * ignored or strict quotes) or {@link RFC4180Parser} parser. Starts at the checkpoint of
+     * the builder, if any.
+     *
+     * @param builder The configured builder
+     * @param codeIndex The index used to find the bean type of a line
+     * @return The source, or {@literal null} if the file must be read with OpenCSV
+     * @throws IOException In case of problem while opening the file
+     */
+    static MappedCsvLineSource open(HCSVReaderBuilder builder, CsvCodeIndex codeIndex) throws IOException {
+        ICSVParser parser = builder.icsvParser;
+        boolean supportedParser = parser == null || parser instanceof RFC4180Parser
+                || (parser instanceof CSVParser && !((CSVParser) parser).isIgnoreQuotations()
+                    && !((CSVParser) parser).isStrictQuotes());
+        if (!supportedParser || !builder.lineValidators.isEmpty() || !builder.rowValidators.isEmpty()
+                || builder.rowProcessor != null || builder.keepCR || !isAsciiCompatible(builder.charset, parser)) {
+            return null;
+        }
+        if (parser == null) {
+            // The parser created by the CSVReaderBuilder
+            parser = new CSVParserBuilder()
+                    .withFieldAsNull(builder.nullFieldIndicator)
+                    .withErrorLocale(builder.errorLocale)
+                    .build();
+        }
+        CsvCheckpoint start = builder.resumeCheckpoint;
+        return new MappedCsvLineSource(builder.path, builder.charset, parser, builder.errorLocale,
+                start != null? 0: builder.skipLines, codeIndex, builder.lineProcessListener != null, start);
+    }
+
+    /**
+     * @return Whether the delimiters are encoded as the same single bytes in the charset
+     */
+    private static boolean isAsciiCompatible(Charset charset, ICSVParser parser) {
+        String delimiters = "\n\r" + (parser == null? "\",\\": "" + parser.getSeparator() + parser.getQuotechar()
+                + (parser instanceof CSVParser? String.valueOf(((CSVParser) parser).getEscape()): ""));
+        byte[] bytes = delimiters.getBytes(charset);
+        if (bytes.length != delimiters.length()) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            char c = delimiters.charAt(i);
+            if (c != ICSVParser.NULL_CHARACTER && (c > 0x7F || bytes[i] != c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String[] peek() throws IOException {
+        if (peekedLine == null) {
+            peekedLine = tokenizeNext();
+        }
+        return peekedLine;
+    }
+
+    @Override
+    public CsvCheckpoint getCheckpoint() {
+        return peekedLine != null? new CsvCheckpoint(peekedOffset, peekedLinesRead):
+                new CsvCheckpoint(windowOffset + position, linesRead);
+    }
+
+    @Override
+    public String[] readNext() throws IOException {
+        String[] line = peek();
+        peekedLine = null;
+        lineCompleter = peekedLineCompleter;
+        peekedLineCompleter = null;
+        return line;
+    }
+
+    @Override
+    public Runnable getLineCompleter() {
+        return lineCompleter;
+    }
+
+    @Override
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        decoder = null;
+        channel.close();
+    }
+
+    /**
+     * Maps the window starting at the given offset of the file
+     */
+    private void map(long offset) throws IOException {
+        windowOffset = offset;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, fileSize - offset));
+        decoder = new FieldDecoder(window);
+        position = 0;
+    }
+
+    /**
+     * @return Whether the window ends before the end of the file
+     */
+    private boolean isTruncated(int limit) {
+        return windowOffset + limit < fileSize;
+    }
+
+    /**
+     * Remaps the window so that it starts on the current record, doubling its size when the
+     * record already starts at the beginning of the window
+     */
+    private void remapFromCurrentRecord() throws IOException {
+        if (position == 0) {
+            if (windowSize >= Integer.MAX_VALUE) {
+                throw new IOException(MessageFormat.format(
+                        ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME, errorLocale)
+                                .getString(HCSVErrorMessageUtils.RECORD_TOO_LARGE), Integer.MAX_VALUE));
+            }
+            windowSize = Math.min(windowSize * 2, Integer.MAX_VALUE);
+        }
+        map(windowOffset + position);
+    }
+
+    private String[] tokenizeNext() throws IOException {
+        peekedLineCompleter = null;
+        while (skipLines > 0) {
+            if (!skipLine()) {
+                return null;
+            }
+            skipLines--;
+            linesRead++;
+        }
+        while (true) {
+            int limit = window.limit();
+            if (position >= limit) {
+                if (!isTruncated(limit)) {
+                    return null;
+                }
+                map(windowOffset + position);
+                continue;
+            }
+            long recordOffset = windowOffset + position;
+            long recordLinesRead = linesRead;
+            int lines = tokenizeRecord(limit);
+            String[] line = null;
+            if (lines == IRREGULAR) {
+                line = parseRecord(limit);
+            } else if (lines != REMAP) {
+                linesRead += lines;
+                line = materialize();
+            }
+            if (line == null) {
+                remapFromCurrentRecord();
+                continue;
+            }
+            peekedOffset = recordOffset;
+            peekedLinesRead = recordLinesRead;
+            return line;
+        }
+    }
+
+    /**
+     * Skips a physical line, ended as by {@link java.io.BufferedReader#readLine()}
+     *
+     * @return Whether a line was skipped
+     */
+    private boolean skipLine() throws IOException {
+        while (true) {
+            int limit = window.limit();
+            if (position >= limit) {
+                if (!isTruncated(limit)) {
+                    return false;
+                }
+                map(windowOffset + position);
+                continue;
+            }
+            int next = nextLine(position, limit);
+            if (next < 0) {
+                remapFromCurrentRecord();
+                continue;
+            }
+            position = next;
+            return true;
+        }
+    }
+
+    /**
+     * @param from The start of a physical line
+     * @param limit The end of the window
+     * @return The start of the next physical line, after a line feed, a carriage return, or
+     *      both, or -1 if the line crosses the end of the window
+     */
+    private int nextLine(int from, int limit) {
+        int i = lineEnd(from, limit);
+        if (i == limit) {
+            return isTruncated(limit)? REMAP: limit;
+        } else if (at(i) == '\n') {
+            return i + 1;
+        } else if (i + 1 < limit) {
+            return at(i + 1) == '\n'? i + 2: i + 1;
+        }
+        return isTruncated(limit)? REMAP: limit;
+    }
+
+    /**
+     * @return The offset of the first line feed or carriage return from {@code from}, or {@code limit}
+     */
+    private int lineEnd(int from, int limit) {
+        int i = from;
+        while (i < limit && at(i) != '\n' && at(i) != '\r') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Slices the fields of the record starting at {@code position}, if it is regular
+     *
+     * @param limit The end of the window
+     * @return The number of physical lines of the record, {@link #REMAP} if the record
+     *      crosses the end of the window, or {@link #IRREGULAR} if it must be parsed by the
+     *      OpenCSV parser
+     */
+    private int tokenizeRecord(int limit) {
+        boolean truncated = isTruncated(limit);
+        int i = position;
+        int lines = 0;
+        fieldCount = 0;
+        while (true) {
+            int start = i;
+            int kind = 0;
+            if (i < limit && at(i) == quote) {
+                kind = QUOTED;
+                i++;
+                while (true) {
+                    // A quote may be doubled, a carriage return must be followed by a line feed
+                    if (i + 1 >= limit && truncated) {
+                        return REMAP;
+                    } else if (i >= limit || at(i) == escape) {
+                        return IRREGULAR;
+                    }
+                    int b = at(i);
+                    if (b == quote) {
+                        if (i + 1 < limit && at(i + 1) == quote) {
+                            kind = COMPLEX;
+                            i += 2;
+                        } else {
+                            i++;
+                            break;
+                        }
+                    } else if (b == '\r') {
+                        if (i + 1 >= limit || at(i + 1) != '\n') {
+                            return IRREGULAR;
+                        }
+                        kind = COMPLEX;
+                        i++;
+                    } else {
+                        if (b == '\n') {
+                            lines++;
+                        }
+                        i++;
+                    }
+                }
+            }
+            while (i < limit) {
+                int b = at(i);
+                if (b == separator || b == '\n') {
+                    break;
+                }
+                if (b == '\r') {
+                    if (i + 1 >= limit && truncated) {
+                        return REMAP;
+                    } else if (i + 1 >= limit || at(i + 1) != '\n') {
+                        return IRREGULAR;
+                    }
+                } else if (kind != 0 || b == quote || b == escape) {
+                    // Text after the closing quote, quote or escape character in an unquoted field
+                    return IRREGULAR;
+                }
+                i++;
+            }
+            if (i >= limit && truncated) {
+                return REMAP;
+            }
+            int end = i;
+            boolean recordEnd = i >= limit || at(i) == '\n';
+            if (recordEnd && end > start && at(end - 1) == '\r') {
+                end--;
+            }
+            addField(start, end, kind);
+            if (recordEnd) {
+                position = Math.min(i + 1, limit);
+                return lines + 1;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Parses the record starting at {@code position} as a {@link com.opencsv.CSVReader}:
+     * decodes its physical lines one by one and gives them to the OpenCSV parser until no
+     * quoted field is pending
+     *
+     * @param limit The end of the window
+     * @return The fields of the record, or {@literal null} if the record crosses the end of
+     *      the window and the window must be remapped
+     * @throws IOException If the file ends inside a quoted field
+     */
+    private String[] parseRecord(int limit) throws IOException {
+        int i = position;
+        int lines = 0;
+        String[] line = new String[0];
+        do {
+            int next = i < limit? nextLine(i, limit): isTruncated(limit)? REMAP: limit;
+            if (next < 0) {
+                // Clears the pending text of the parser
+                parser.parseLine("");
+                return null;
+            } else if (i == limit) {
+                String pendingText = parser.getPendingText();
+                throw new CsvMalformedLineException(String.format(
+                        ResourceBundle.getBundle("opencsv", errorLocale).getString("unterminated.quote"),
+                        abbreviate(pendingText)), linesRead + 1, pendingText);
+            }
+            String[] fields = parser.parseLineMulti(decoder.copyAndDecode(i, lineEnd(i, limit) - i));
+            line = concat(line, fields);
+            lines++;
+            i = next;
+        } while (parser.isPending());
+        position = i;
+        linesRead += lines;
+        return line;
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= PENDING_TEXT_LENGTH? text: text.substring(0, PENDING_TEXT_LENGTH - 3) + "...";
+    }
+
+    private static String[] concat(String[] first, String[] second) {
+        if (first.length == 0) {
+            return second;
+        }
+        String[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * @return The unsigned byte at the given offset of the window
+     */
+    private int at(int index) {
+        return window.get(index) & 0xFF;
+    }
+
+    private void addField(int start, int end, int kind) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+            fieldKinds = Arrays.copyOf(fieldKinds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldKinds[fieldCount] = kind;
+        fieldCount++;
+    }
+
+    /**
+     * Decodes the code columns, finds the bean type, then decodes the columns it binds. The
+     * other columns are decoded by the completer of the line, if needed
+     */
+    private String[] materialize() {
+        String[] line = new String[fieldCount];
+        if (decodeAllColumns) {
+            decodeAll(line);
+            return line;
+        }
+        for (int codePosition : codePositions) {
+            if (codePosition < fieldCount) {
+                line[codePosition] = decode(codePosition);
+            }
+        }
+        CsvCodeProperties codeProperties = codeIndex.find(line);
+        int[] boundColumns = codeProperties == null || codeProperties.getBeanType().getFilter() != null?
+                null: codeProperties.getBoundColumns();
+        if (boundColumns == null) {
+            decodeAll(line);
+        } else {
+            for (int column : boundColumns) {
+                if (column < fieldCount && line[column] == null) {
+                    line[column] = decode(column);
+                }
+            }
+            for (String column : line) {
+                if (column == null) {
+                    peekedLineCompleter = new LineCompleter(line);
+                    break;
+                }
+            }
+        }
+        return line;
+    }
+
+    private void decodeAll(String[] line) {
+        for (int i = 0; i < fieldCount; i++) {
+            if (line[i] == null) {
+                line[i] = decode(i);
+            }
+        }
+    }
+
+    private String decode(int index) {
+        return decoder.decode(fieldStarts[index], fieldEnds[index], fieldKinds[index]);
+    }
+
+    /**
+     * Decodes the field slices of a window through its own view, so that the lines can be
+     * completed on another thread than the one tokenizing the next records
+     */
+    private final class FieldDecoder {
+
+        private final ByteBuffer view;
+
+        private byte[] scratch;
+
+        private FieldDecoder(ByteBuffer window) {
+            this.view = window.duplicate();
+            this.scratch = new byte[256];
+        }
+
+        private String decode(int start, int end, int kind) {
+            if (kind == 0) {
+                if (end == start && (nullFieldIndicator == CSVReaderNullFieldIndicator.EMPTY_SEPARATORS
+                        || nullFieldIndicator == CSVReaderNullFieldIndicator.BOTH)) {
+                    return null;
+                }
+                return copyAndDecode(start, end - start);
+            }
+            if (kind == QUOTED) {
+                if (end - start == 2 && (nullFieldIndicator == CSVReaderNullFieldIndicator.EMPTY_QUOTES
+                        || nullFieldIndicator == CSVReaderNullFieldIndicator.BOTH)) {
+                    return null;
+                }
+                return copyAndDecode(start + 1, end - start - 2);
+            }
+            return unescapeAndDecode(start, end);
+        }
+
+        private String copyAndDecode(int offset, int length) {
+            ensureScratch(length);
+            view.position(offset);
+            view.get(scratch, 0, length);
+            return new String(scratch, 0, length, charset);
+        }
+
+        /**
+         * Parses a complex quoted slice again: removes the quotes, undoubles the doubled
+         * quotes and drops the carriage returns of the line breaks
+         */
+        private String unescapeAndDecode(int start, int end) {
+            ensureScratch(end - start);
+            int length = 0;
+            boolean inQuotes = false;
+            for (int i = start; i < end; i++) {
+                byte b = view.get(i);
+                if (b == quote) {
+                    if (inQuotes && i + 1 < end && view.get(i + 1) == quote) {
+                        scratch[length++] = view.get(++i);
+                    } else {
+                        inQuotes = !inQuotes;
+                    }
+                } else if (!(b == '\r' && i + 1 < end && view.get(i + 1) == '\n')) {
+                    scratch[length++] = b;
+                }
+            }
+            return new String(scratch, 0, length, charset);
+        }
+
+        private void ensureScratch(int length) {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+        }
+    }
+
+    /**
+     * Fills the columns of a line left {@literal null} by {@link #materialize()}, from the
+     * slices of its record. Called by the reader before the line is kept in an exception or
+     * an orphan, possibly on a binding thread of the pipeline
+     */
+    private final class LineCompleter implements Runnable {
+
+        private final String[] line;
+
+        private final ByteBuffer recordWindow;
+
+        /**
+         * Start, end and kind of each field
+         */
+        private final int[] slices;
+
+        private LineCompleter(String[] line) {
+            this.line = line;
+            this.recordWindow = window;
+            this.slices = new int[fieldCount * 3];
+            for (int i = 0; i < fieldCount; i++) {
+                slices[i * 3] = fieldStarts[i];
+                slices[i * 3 + 1] = fieldEnds[i];
+                slices[i * 3 + 2] = fieldKinds[i];
+            }
+        }
+
+        @Override
+        public void run() {
+            FieldDecoder lineDecoder = new FieldDecoder(recordWindow);
+            for (int i = 0; i < line.length; i++) {
+                if (line[i] == null) {
+                    line[i] = lineDecoder.decode(slices[i * 3], slices[i * 3 + 1], slices[i * 3 + 2]);
+                }
+            }
+        }
+    }
+}
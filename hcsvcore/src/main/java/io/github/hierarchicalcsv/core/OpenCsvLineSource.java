@@ -0,0 +1,80 @@
+package io.github.hierarchicalcsv.core;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import io.github.hierarchicalcsv.core.model.CsvCheckpoint;
+
+import java.io.IOException;
+
+/**
+ * {@link CsvLineSource} reading a {@link java.io.Reader} with an OpenCSV {@link CSVReader}
+ */
+final class OpenCsvLineSource implements CsvLineSource {
+
+    private final CSVReader csvReader;
+
+    /**
+     * Reader under {@code csvReader} counting the bytes read, {@literal null} if positions are not tracked
+     */
+    private final PositionTrackingReader positionReader;
+
+    /**
+     * Number of lines before the first line read, when reading from a checkpoint
+     */
+    private final long firstLine;
+
+    /**
+     * Position of the peeked line, {@literal null} if no line is peeked
+     */
+    private CsvCheckpoint peekedPosition;
+
+    OpenCsvLineSource(CSVReader csvReader) {
+        this(csvReader, null, 0);
+    }
+
+    /**
+     * @param csvReader The reader of the lines
+     * @param positionReader The reader given to {@code csvReader}, or {@literal null} if positions are not tracked
+     * @param firstLine The number of lines before the first line read
+     */
+    OpenCsvLineSource(CSVReader csvReader, PositionTrackingReader positionReader, long firstLine) {
+        this.csvReader = csvReader;
+        this.positionReader = positionReader;
+        this.firstLine = firstLine;
+    }
+
+    @Override
+    public String[] peek() throws IOException {
+        if (positionReader == null) {
+            return csvReader.peek();
+        }
+        CsvCheckpoint position = peekedPosition != null? peekedPosition: getCheckpoint();
+        String[] line = csvReader.peek();
+        peekedPosition = line != null? position: null;
+        return line;
+    }
+
+    @Override
+    public String[] readNext() throws IOException, CsvValidationException {
+        peekedPosition = null;
+        return csvReader.readNext();
+    }
+
+    @Override
+    public long getLinesRead() {
+        return firstLine + csvReader.getLinesRead();
+    }
+
+    @Override
+    public CsvCheckpoint getCheckpoint() {
+        if (positionReader == null) {
+            return null;
+        }
+        return peekedPosition != null? peekedPosition: new CsvCheckpoint(positionReader.getPosition(), getLinesRead());
+    }
+
+    @Override
+    public void close() throws IOException {
+        csvReader.close();
+    }
+}
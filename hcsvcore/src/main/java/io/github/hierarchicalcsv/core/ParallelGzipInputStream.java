@@ -0,0 +1,282 @@
+package io.github.hierarchicalcsv.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates a gzip file whose members are inflated ahead on several threads. A gzip file may be
+ * made of several members (concatenated gzip files, BGZF blocks...), but the end of a member is
+ * only known once it is inflated. The bytes following the member being read are therefore
+ * scanned for gzip headers, and the members starting at these candidates are inflated
+ * speculatively. A member is used once the previous one ends exactly where it starts, so a
+ * candidate found inside compressed data is only wasted work.
+ * <p>
+ * The member being read is inflated on the reading thread when it was not inflated ahead, or
+ * when it is larger than {@link #MAX_SPECULATIVE_MEMBER_SIZE}: a single-member file is streamed
+ * as with a {@link java.util.zip.GZIPInputStream}. Bytes following the last member that do not
+ * start a member are ignored, as {@link java.util.zip.GZIPInputStream} does.
+ */
+final class ParallelGzipInputStream extends InputStream {
+
+    /**
+     * Inflated size above which a member is inflated on the reading thread instead
+     */
+    private static final int MAX_SPECULATIVE_MEMBER_SIZE = 1 << 23;
+
+    /**
+     * Number of compressed bytes scanned for headers after the start of the member being read
+     */
+    private static final long SCAN_WINDOW = 1L << 24;
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    private static final int HEADER_SIZE = 10;
+
+    private static final AtomicInteger STREAM_COUNT = new AtomicInteger();
+
+    private final FileChannel channel;
+
+    private final long fileSize;
+
+    private final ExecutorService inflaters;
+
+    /**
+     * Maximum number of members inflated ahead
+     */
+    private final int readAhead;
+
+    /**
+     * Members inflated ahead, by candidate offset
+     */
+    private final TreeMap<Long, Future<InflatedMember>> speculativeMembers;
+
+    private final byte[] scanBuffer;
+
+    /**
+     * Offset of the member being read, or of the next member once it is read
+     */
+    private long memberStart;
+
+    /**
+     * Offset following the bytes already scanned for headers
+     */
+    private long scanPosition;
+
+    /**
+     * Member being read, inflated ahead, or {@literal null}
+     */
+    private InflatedMember inflatedMember;
+
+    private int inflatedPosition;
+
+    /**
+     * Member being inflated on the reading thread, or {@literal null}
+     */
+    private GzipMember streamingMember;
+
+    /**
+     * @param path The gzip file
+     * @param threads The number of threads inflating members ahead
+     * @throws IOException In case of problem while opening the file
+     */
+    ParallelGzipInputStream(Path path, int threads) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        int streamId = STREAM_COUNT.incrementAndGet();
+        AtomicInteger inflaterCount = new AtomicInteger();
+        this.inflaters = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "hcsv-inflater-" + streamId + "-" + inflaterCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.readAhead = threads * 2;
+        this.speculativeMembers = new TreeMap<>();
+        this.scanBuffer = new byte[SCAN_BUFFER_SIZE];
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        return read(single, 0, 1) < 0? -1: single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        while (true) {
+            if (inflatedMember != null) {
+                int available = inflatedMember.length - inflatedPosition;
+                if (available > 0) {
+                    int read = Math.min(available, length);
+                    System.arraycopy(inflatedMember.bytes, inflatedPosition, bytes, offset, read);
+                    inflatedPosition += read;
+                    return read;
+                }
+                inflatedMember = null;
+            }
+            if (streamingMember != null) {
+                int read = streamingMember.read(bytes, offset, length);
+                if (read >= 0) {
+                    return read;
+                }
+                memberStart = streamingMember.getEnd();
+                streamingMember = null;
+            }
+            if (!openNextMember()) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Takes the member starting at {@code memberStart} from the members inflated ahead, or
+     * starts inflating it on the reading thread
+     *
+     * @return Whether there is a next member
+     */
+    private boolean openNextMember() throws IOException {
+        if (memberStart >= fileSize) {
+            return false;
+        }
+        Map<Long, Future<InflatedMember>> passedCandidates = speculativeMembers.headMap(memberStart);
+        // Not interrupted: an interrupted positional read would close the shared channel
+        passedCandidates.values().forEach(future -> future.cancel(false));
+        passedCandidates.clear();
+        Future<InflatedMember> future = speculativeMembers.remove(memberStart);
+        scheduleSpeculativeMembers();
+        InflatedMember member = future != null? join(future): null;
+        if (member != null) {
+            inflatedMember = member;
+            inflatedPosition = 0;
+            memberStart = member.end;
+            return true;
+        }
+        try {
+            streamingMember = new GzipMember(channel, memberStart);
+        } catch (ZipException | EOFException ex) {
+            if (memberStart == 0) {
+                throw ex;
+            }
+            // Trailing bytes after the last member
+            memberStart = fileSize;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Scans the bytes following the current member for headers, and inflates the members
+     * starting at the candidates found, up to {@code readAhead} members
+     */
+    private void scheduleSpeculativeMembers() throws IOException {
+        long scanLimit = Math.min(fileSize, memberStart + SCAN_WINDOW);
+        scanPosition = Math.max(scanPosition, memberStart + 1);
+        while (speculativeMembers.size() < readAhead && scanPosition < scanLimit) {
+            int read = channel.read(ByteBuffer.wrap(scanBuffer, 0,
+                    (int) Math.min(SCAN_BUFFER_SIZE, fileSize - scanPosition)), scanPosition);
+            if (read < HEADER_SIZE) {
+                scanPosition = scanLimit;
+                break;
+            }
+            int i = 0;
+            int lastCandidate = Math.min(read - HEADER_SIZE, (int) (scanLimit - scanPosition - 1));
+            while (i <= lastCandidate && speculativeMembers.size() < readAhead) {
+                if (GzipMember.isHeaderCandidate(scanBuffer, i, read - i)) {
+                    long candidate = scanPosition + i;
+                    speculativeMembers.put(candidate, inflaters.submit(() -> inflate(candidate)));
+                }
+                i++;
+            }
+            scanPosition += i;
+        }
+    }
+
+    /**
+     * Inflates a member ahead. Runs on an inflater thread
+     *
+     * @return The member, or {@literal null} if it is too large to be kept in memory
+     */
+    private InflatedMember inflate(long start) throws IOException {
+        GzipMember member = new GzipMember(channel, start);
+        try {
+            byte[] bytes = new byte[SCAN_BUFFER_SIZE];
+            int length = 0;
+            while (true) {
+                if (length == bytes.length) {
+                    if (length >= MAX_SPECULATIVE_MEMBER_SIZE) {
+                        return null;
+                    }
+                    bytes = Arrays.copyOf(bytes, Math.min(length * 2, MAX_SPECULATIVE_MEMBER_SIZE));
+                }
+                int read = member.read(bytes, length, bytes.length - length);
+                if (read < 0) {
+                    return new InflatedMember(bytes, length, member.getEnd());
+                }
+                length += read;
+            }
+        } finally {
+            member.close();
+        }
+    }
+
+    /**
+     * @return The member inflated ahead, or {@literal null} if it must be inflated on the
+     *      reading thread, which then reports its errors
+     */
+    private static InflatedMember join(Future<InflatedMember> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (ExecutionException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        speculativeMembers.values().forEach(future -> future.cancel(false));
+        speculativeMembers.clear();
+        inflaters.shutdown();
+        if (streamingMember != null) {
+            streamingMember.close();
+            streamingMember = null;
+        }
+        channel.close();
+    }
+
+    /**
+     * Inflated bytes of a member, and the offset following it in the file
+     */
+    private static final class InflatedMember {
+
+        private final byte[] bytes;
+
+        private final int length;
+
+        private final long end;
+
+        private InflatedMember(byte[] bytes, int length, long end) {
+            this.bytes = bytes;
+            this.length = length;
+            this.end = end;
+        }
+    }
+}
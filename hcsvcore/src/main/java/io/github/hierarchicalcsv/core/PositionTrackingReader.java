@@ -0,0 +1,222 @@
+package io.github.hierarchicalcsv.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link BufferedReader} counting the bytes of the characters handed to OpenCSV, so that the
+ * byte offset of the next record is known. OpenCSV only reads lines with {@link #readLine()}
+ * or single characters with {@link #read()} when carriage returns are kept. Works with UTF-8
+ * and single-byte charsets.
+ * <p>
+ * The characters are buffered here rather than by the {@link BufferedReader}, so that a line
+ * is cut out of the buffer and its bytes counted in one pass. A single-byte charset only adds
+ * the length of the chunks handed out.
+ */
+final class PositionTrackingReader extends BufferedReader {
+
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private final Reader source;
+
+    private final boolean utf8;
+
+    private final char[] buffer;
+
+    /**
+     * Index of the next character to hand out, and end of the characters read in {@code buffer}
+     */
+    private int next;
+
+    private int end;
+
+    private long position;
+
+    /**
+     * Index of the marked character, -1 if none, with the position and the read-ahead limit of the mark
+     */
+    private int markIndex;
+
+    private long markPosition;
+
+    private int markLimit;
+
+    /**
+     * @param reader The reader of the file, positioned at {@code position}
+     * @param charset The charset of the file
+     * @param position The offset of the first byte read
+     */
+    PositionTrackingReader(Reader reader, Charset charset, long position) {
+        super(reader, 1);
+        this.source = reader;
+        this.utf8 = StandardCharsets.UTF_8.equals(charset);
+        this.buffer = new char[BUFFER_SIZE];
+        this.position = position;
+        this.markIndex = -1;
+    }
+
+    /**
+     * @param charset A charset
+     * @return Whether the bytes of the characters of this charset can be counted
+     */
+    static boolean supports(Charset charset) {
+        return StandardCharsets.UTF_8.equals(charset)
+                || (charset.canEncode() && charset.newEncoder().maxBytesPerChar() == 1.0f);
+    }
+
+    /**
+     * @return The offset of the next byte to read
+     */
+    long getPosition() {
+        return position;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (next >= end && fill() <= 0) {
+            return -1;
+        }
+        char c = buffer[next++];
+        position += byteCount(c);
+        return c;
+    }
+
+    @Override
+    public int read(char[] chars, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (next >= end) {
+            if (length >= buffer.length && markIndex < 0) {
+                // Nothing to keep for a mark: no need to go through the buffer
+                int read = source.read(chars, offset, length);
+                count(chars, offset, offset + Math.max(read, 0));
+                return read;
+            }
+            if (fill() <= 0) {
+                return -1;
+            }
+        }
+        int read = Math.min(length, end - next);
+        System.arraycopy(buffer, next, chars, offset, read);
+        count(buffer, next, next + read);
+        next += read;
+        return read;
+    }
+
+    /**
+     * Same line terminators as {@link BufferedReader#readLine()}, counted in the position
+     */
+    @Override
+    public String readLine() throws IOException {
+        StringBuilder line = null;
+        while (next < end || fill() > 0) {
+            int start = next;
+            while (next < end && buffer[next] != '\n' && buffer[next] != '\r') {
+                next++;
+            }
+            count(buffer, start, next);
+            if (next == end) {
+                // The line goes on in the next fill, which overwrites the buffer
+                line = line == null? new StringBuilder(next - start + 80): line;
+                line.append(buffer, start, next - start);
+                continue;
+            }
+            String text = line == null? new String(buffer, start, next - start):
+                    line.append(buffer, start, next - start).toString();
+            char terminator = buffer[next++];
+            position++;
+            if (terminator == '\r' && (next < end || fill() > 0) && buffer[next] == '\n') {
+                next++;
+                position++;
+            }
+            return text;
+        }
+        return line == null? null: line.toString();
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count && (next < end || fill() > 0)) {
+            int chunk = (int) Math.min(count - skipped, end - next);
+            count(buffer, next, next + chunk);
+            next += chunk;
+            skipped += chunk;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return next < end || source.ready();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) {
+        markIndex = next;
+        markPosition = position;
+        markLimit = readAheadLimit;
+    }
+
+    /**
+     * Goes back to the mark, and to its position
+     */
+    @Override
+    public void reset() throws IOException {
+        if (markIndex < 0) {
+            throw new IOException("Stream not marked");
+        }
+        next = markIndex;
+        position = markPosition;
+    }
+
+    /**
+     * Reads the next characters of the source, keeping the marked ones if any
+     *
+     * @return The number of characters read, -1 at the end of the source
+     */
+    private int fill() throws IOException {
+        if (markIndex >= 0 && (next - markIndex >= markLimit || (markIndex == 0 && end == buffer.length))) {
+            markIndex = -1;
+        }
+        int kept = markIndex >= 0? markIndex: end;
+        if (kept > 0) {
+            System.arraycopy(buffer, kept, buffer, 0, end - kept);
+            next -= kept;
+            end -= kept;
+            markIndex = markIndex >= 0? 0: -1;
+        }
+        int read = source.read(buffer, end, buffer.length - end);
+        if (read > 0) {
+            end += read;
+        }
+        return read;
+    }
+
+    private void count(char[] chars, int from, int to) {
+        if (!utf8) {
+            position += to - from;
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            position += byteCount(chars[i]);
+        }
+    }
+
+    private int byteCount(int c) {
+        if (!utf8 || c < 0x80) {
+            return 1;
+        }
+        // A surrogate pair takes 4 bytes, 2 for each half
+        return c < 0x800 || Character.isSurrogate((char) c)? 2: 3;
+    }
+}
@@ -0,0 +1,190 @@
+package io.github.hierarchicalcsv.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads a file on a prefetch thread, which keeps a fixed number of buffers filled ahead of the
+ * reading thread. The reading thread only copies bytes already read, so the latency of the
+ * file system (network file systems, cold disks...) overlaps with tokenizing and binding, and
+ * the reading thread only waits when all the buffers are consumed.
+ * <p>
+ * The buffers are direct, so that the file is read into them without intermediate copy, and
+ * are handed back and forth between the two threads: no buffer is allocated once the stream
+ * is open.
+ */
+final class ReadAheadInputStream extends InputStream {
+
+    /**
+     * Marks the end of the file, or the failure of the prefetch thread
+     */
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private static final AtomicInteger STREAM_COUNT = new AtomicInteger();
+
+    private final FileChannel channel;
+
+    /**
+     * Buffers consumed by the reading thread, to be filled again
+     */
+    private final BlockingQueue<ByteBuffer> freeBuffers;
+
+    /**
+     * Buffers filled by the prefetch thread, in file order, then {@link #END}
+     */
+    private final BlockingQueue<ByteBuffer> filledBuffers;
+
+    private final Thread prefetcher;
+
+    /**
+     * Exception of the prefetch thread, reported to the reading thread after the bytes read before
+     */
+    private volatile IOException failure;
+
+    private volatile boolean closed;
+
+    /**
+     * Buffer being consumed, or {@literal null}
+     */
+    private ByteBuffer current;
+
+    private boolean endReached;
+
+    /**
+     * @param path The file
+     * @param position The offset of the first byte read
+     * @param buffers The number of buffers filled ahead
+     * @param bufferSize The size of a buffer in bytes
+     * @throws IOException In case of problem while opening the file
+     */
+    ReadAheadInputStream(Path path, long position, int buffers, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            channel.position(position);
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        this.freeBuffers = new ArrayBlockingQueue<>(buffers);
+        // One more place for END: the prefetch thread never waits to hand a buffer
+        this.filledBuffers = new ArrayBlockingQueue<>(buffers + 1);
+        for (int i = 0; i < buffers; i++) {
+            freeBuffers.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+        this.prefetcher = new Thread(this::prefetch, "hcsv-read-ahead-" + STREAM_COUNT.incrementAndGet());
+        prefetcher.setDaemon(true);
+        prefetcher.start();
+    }
+
+    /**
+     * Fills the free buffers until the end of the file. Runs on the prefetch thread
+     */
+    private void prefetch() {
+        try {
+            boolean endOfFile = false;
+            while (!endOfFile && !closed) {
+                ByteBuffer buffer = freeBuffers.take();
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        endOfFile = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+                if (buffer.hasRemaining()) {
+                    filledBuffers.add(buffer);
+                }
+            }
+        } catch (InterruptedException | ClosedChannelException ex) {
+            // Closed by the reading thread
+            return;
+        } catch (IOException ex) {
+            failure = ex;
+        }
+        filledBuffers.add(END);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextBuffer()? current.get() & 0xFF: -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!nextBuffer()) {
+            return -1;
+        }
+        int read = Math.min(length, current.remaining());
+        current.get(bytes, offset, read);
+        return read;
+    }
+
+    @Override
+    public int available() {
+        return current != null? current.remaining(): 0;
+    }
+
+    /**
+     * Hands the consumed buffer back to the prefetch thread and waits for the next one, if needed
+     *
+     * @return Whether there are bytes to read
+     * @throws IOException If the prefetch thread failed
+     */
+    private boolean nextBuffer() throws IOException {
+        if (current != null && current.hasRemaining()) {
+            return true;
+        }
+        if (current != null) {
+            freeBuffers.add(current);
+            current = null;
+        }
+        if (endReached) {
+            return endOfStream();
+        }
+        ByteBuffer next;
+        try {
+            next = filledBuffers.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (next == END) {
+            endReached = true;
+            return endOfStream();
+        }
+        current = next;
+        return true;
+    }
+
+    private boolean endOfStream() throws IOException {
+        if (failure != null) {
+            throw new IOException(failure.getMessage(), failure);
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // An interrupted read closes the channel, which is closed anyway
+        prefetcher.interrupt();
+        current = null;
+        channel.close();
+    }
+}
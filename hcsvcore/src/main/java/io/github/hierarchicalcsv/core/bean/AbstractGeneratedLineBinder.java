@@ -0,0 +1,233 @@
+package io.github.hierarchicalcsv.core.bean;
+
+import com.opencsv.ICSVParser;
+import com.opencsv.exceptions.CsvChainedException;
+import com.opencsv.exceptions.CsvDataTypeMismatchException;
+import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvFieldAssignmentException;
+import com.opencsv.exceptions.CsvRequiredFieldEmptyException;
+import io.github.hierarchicalcsv.core.model.CsvLineBinder;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * Base class of the {@link CsvLineBinder} generated at compile time by the
+ * {@code hcsv-processor} annotation processor, for beans only mapped with plain
+ * {@link com.opencsv.bean.CsvBindByPosition} annotations on simple types.
+ * <p>
+ * It reproduces the behavior of {@link ColumnPositionLineBinder}: a value is converted
+ * only when it is not blank (or not {@literal null} for a {@link String}), a blank required
+ * value raises a {@link CsvRequiredFieldEmptyException}, a value that cannot be converted
+ * raises a {@link CsvDataTypeMismatchException}, and the failures of a line are chained.
+ * As with OpenCSV without a header, missing trailing columns are not checked.
+ * The generated subclass creates the bean and assigns each bound column with plain code.
+ *
+ * @param <T> Any bean with {@link io.github.hierarchicalcsv.core.annotation.HCSVBean} annotation
+ */
+public abstract class AbstractGeneratedLineBinder<T> implements CsvLineBinder<T> {
+
+    private static final String[] TRUE_STRINGS = {"true", "yes", "y", "on", "1"};
+
+    private static final String[] FALSE_STRINGS = {"false", "no", "n", "off", "0"};
+
+    private final Class<T> type;
+
+    /**
+     * Sorted positions of the bound columns
+     */
+    private final int[] boundColumns;
+
+    /**
+     * Names of the fields bound to each column of {@code boundColumns}
+     */
+    private final String[] fieldNames;
+
+    /**
+     * Whether the field bound to each column of {@code boundColumns} is required
+     */
+    private final boolean[] required;
+
+    /**
+     * @param type The bean type
+     * @param boundColumns The sorted positions of the bound columns
+     * @param fieldNames The names of the fields bound to these columns
+     * @param required Whether the fields bound to these columns are required
+     */
+    protected AbstractGeneratedLineBinder(Class<T> type, int[] boundColumns, String[] fieldNames, boolean[] required) {
+        this.type = type;
+        this.boundColumns = boundColumns;
+        this.fieldNames = fieldNames;
+        this.required = required;
+    }
+
+    @Override
+    public final T bind(String[] line) throws CsvException {
+        T bean = newBean();
+        CsvChainedException chainedException = null;
+        for (int i = 0; i < boundColumns.length && boundColumns[i] < line.length; i++) {
+            String value = line[boundColumns[i]];
+            try {
+                if (required[i] && StringUtils.isBlank(value)) {
+                    throw new CsvRequiredFieldEmptyException(type, findField(fieldNames[i]),
+                            String.format(getOpenCsvMessage("required.field.empty"), fieldNames[i]));
+                }
+                assign(bean, boundColumns[i], value);
+            } catch (CsvFieldAssignmentException ex) {
+                if (chainedException == null) {
+                    chainedException = new CsvChainedException(ex);
+                } else {
+                    chainedException.add(ex);
+                }
+            }
+        }
+        if (chainedException != null) {
+            if (chainedException.hasOnlyOneException()) {
+                throw chainedException.getFirstException();
+            }
+            throw chainedException;
+        }
+        return bean;
+    }
+
+    @Override
+    public final int[] getBoundColumns() {
+        return boundColumns.clone();
+    }
+
+    /**
+     * @return A new bean
+     */
+    protected abstract T newBean();
+
+    /**
+     * Converts the value of a bound column and assigns it to the bean
+     *
+     * @param bean The bean being populated
+     * @param column The position of the column
+     * @param value The value of the column
+     * @throws CsvDataTypeMismatchException If the value cannot be converted
+     */
+    protected abstract void assign(T bean, int column, String value) throws CsvDataTypeMismatchException;
+
+    private Field findField(String fieldName) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException ex) {
+                // Declared by a superclass
+            }
+        }
+        return null;
+    }
+
+    private static String getOpenCsvMessage(String key) {
+        return ResourceBundle.getBundle(ICSVParser.DEFAULT_BUNDLE_NAME, Locale.getDefault(),
+                ICSVParser.class.getModule()).getString(key);
+    }
+
+    protected static boolean isNotBlank(String value) {
+        return StringUtils.isNotBlank(value);
+    }
+
+    protected static byte toByte(String value, Class<?> fieldType) throws CsvDataTypeMismatchException {
+        try {
+            return Byte.parseByte(value.trim());
+        } catch (NumberFormatException ex) {
+            throw conversionImpossible(value, fieldType, ex);
+        }
+    }
+
+    protected static short toShort(String value, Class<?> fieldType) throws CsvDataTypeMismatchException {
+        try {
+            return Short.parseShort(value.trim());
+        } catch (NumberFormatException ex) {
+            throw conversionImpossible(value, fieldType, ex);
+        }
+    }
+
+    protected static int toInt(String value, Class<?> fieldType) throws CsvDataTypeMismatchException {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw conversionImpossible(value, fieldType, ex);
+        }
+    }
+
+    protected static long toLong(String value, Class<?> fieldType) throws CsvDataTypeMismatchException {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            throw conversionImpossible(value, fieldType, ex);
+        }
+    }
+
+    protected static float toFloat(String value, Class<?> fieldType) throws CsvDataTypeMismatchException {
+        try {
+            return Float.parseFloat(value.trim());
+        } catch (NumberFormatException ex) {
+            throw conversionImpossible(value, fieldType, ex);
+        }
+    }
+
+    protected static double toDouble(String value, Class<?> fieldType) throws CsvDataTypeMismatchException {
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException ex) {
+            throw conversionImpossible(value, fieldType, ex);
+        }
+    }
+
+    protected static BigDecimal toBigDecimal(String value, Class<?> fieldType) throws CsvDataTypeMismatchException {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException ex) {
+            throw conversionImpossible(value, fieldType, ex);
+        }
+    }
+
+    protected static BigInteger toBigInteger(String value, Class<?> fieldType) throws CsvDataTypeMismatchException {
+        try {
+            return new BigInteger(value.trim());
+        } catch (NumberFormatException ex) {
+            throw conversionImpossible(value, fieldType, ex);
+        }
+    }
+
+    /**
+     * Accepts the same values as the OpenCSV conversion: {@code true}, {@code yes},
+     * {@code y}, {@code on}, {@code 1} and their opposites, ignoring the case
+     */
+    protected static boolean toBoolean(String value, Class<?> fieldType) throws CsvDataTypeMismatchException {
+        String lowerCaseValue = value.toLowerCase();
+        for (String trueString : TRUE_STRINGS) {
+            if (trueString.equals(lowerCaseValue)) {
+                return true;
+            }
+        }
+        for (String falseString : FALSE_STRINGS) {
+            if (falseString.equals(lowerCaseValue)) {
+                return false;
+            }
+        }
+        throw conversionImpossible(value, fieldType, null);
+    }
+
+    protected static char toChar(String value) {
+        return value.charAt(0);
+    }
+
+    private static CsvDataTypeMismatchException conversionImpossible(String value, Class<?> fieldType, Throwable cause) {
+        CsvDataTypeMismatchException exception = new CsvDataTypeMismatchException(value, fieldType, String.format(
+                getOpenCsvMessage("conversion.impossible"), value, fieldType.getCanonicalName()));
+        if (cause != null) {
+            exception.initCause(cause);
+        }
+        return exception;
+    }
+
+}
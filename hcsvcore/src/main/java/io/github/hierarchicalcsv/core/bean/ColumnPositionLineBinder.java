@@ -0,0 +1,82 @@
+package io.github.hierarchicalcsv.core.bean;
+
+import com.opencsv.bean.ColumnPositionMappingStrategy;
+import com.opencsv.bean.CsvBindAndJoinByPosition;
+import com.opencsv.bean.CsvBindAndJoinByPositions;
+import com.opencsv.bean.CsvBindAndSplitByPosition;
+import com.opencsv.bean.CsvBindByPosition;
+import com.opencsv.bean.CsvCustomBindByPosition;
+import com.opencsv.bean.CsvRecurse;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.model.CsvLineBinder;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@link CsvLineBinder} backed by an OpenCSV {@link ColumnPositionMappingStrategy}.
+ * The strategy introspects the {@link com.opencsv.bean.CsvBindByPosition} annotations
+ * and converters only once, when the binder is created.
+ *
+ * @param <T> Any bean with {@link io.github.hierarchicalcsv.core.annotation.HCSVBean} annotation
+ */
+public class ColumnPositionLineBinder<T> implements CsvLineBinder<T> {
+
+    /**
+     * The compiled mapping strategy. {@code populateNewBean} does not modify the
+     * strategy, which makes it safe to share between threads.
+     */
+    private final ColumnPositionMappingStrategy<T> mappingStrategy;
+
+    /**
+     * Positions read from the by-position annotations, {@literal null} when a
+     * mapping may cover an open range of columns
+     */
+    private final int[] boundColumns;
+
+    public ColumnPositionLineBinder(Class<? extends T> type) {
+        this.mappingStrategy = new ColumnPositionMappingStrategy<>();
+        this.mappingStrategy.setType(type);
+        this.boundColumns = findBoundColumns(type);
+    }
+
+    @Override
+    public T bind(String[] line) throws CsvException {
+        return mappingStrategy.populateNewBean(line);
+    }
+
+    @Override
+    public int[] getBoundColumns() {
+        return boundColumns == null? null: boundColumns.clone();
+    }
+
+    /**
+     * Collects the positions of the by-position annotations of the type and its superclasses.
+     * Joined or recursive mappings may read any column, in which case all columns are bound.
+     *
+     * @param type The bean type
+     * @return The sorted bound positions, or {@literal null} if all columns may be read
+     */
+    private static int[] findBoundColumns(Class<?> type) {
+        Set<Integer> positions = new TreeSet<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(CsvBindAndJoinByPosition.class)
+                        || field.isAnnotationPresent(CsvBindAndJoinByPositions.class)
+                        || field.isAnnotationPresent(CsvRecurse.class)) {
+                    return null;
+                }
+                Arrays.stream(field.getAnnotationsByType(CsvBindByPosition.class))
+                        .forEach(annotation -> positions.add(annotation.position()));
+                Arrays.stream(field.getAnnotationsByType(CsvCustomBindByPosition.class))
+                        .forEach(annotation -> positions.add(annotation.position()));
+                Arrays.stream(field.getAnnotationsByType(CsvBindAndSplitByPosition.class))
+                        .forEach(annotation -> positions.add(annotation.position()));
+            }
+        }
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+}
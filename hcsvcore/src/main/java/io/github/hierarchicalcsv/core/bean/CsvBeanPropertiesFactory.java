@@ -4,6 +4,8 @@ import io.github.hierarchicalcsv.core.annotation.*;
 import io.github.hierarchicalcsv.core.exception.*;
 import io.github.hierarchicalcsv.core.model.CsvBeanType;
 import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
+import io.github.hierarchicalcsv.core.model.CsvLineBinder;
+import io.github.hierarchicalcsv.core.util.HCSVAccessorUtils;
 import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
 import io.github.hierarchicalcsv.core.util.HCSVUtils;
 
@@ -12,6 +14,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +40,16 @@ public class CsvBeanPropertiesFactory {
      */
     private final Map<Integer, List<CsvCodeProperties>> positionToCodeMap;
 
+    /**
+     * Dispatch index built from {@code positionToCodeMap} once all beans are known
+     */
+    private CsvCodeIndex codeIndex;
+
+    /**
+     * The deepest level of the hierarchy ({@literal 0} when all beans are roots)
+     */
+    private int maxDepth;
+
     private final ResourceBundle resourceBundle;
 
     public CsvBeanPropertiesFactory(CsvBeanType<?>[] beanTypes, ResourceBundle resourceBundle) {
@@ -56,9 +69,12 @@ public class CsvBeanPropertiesFactory {
             throw new NoHCSVBeanTypeDefinedException(resourceBundle.getString(HCSVErrorMessageUtils.NO_HCSV_BEAN_TYPE_DEFINED));
         }
         initializeBeanTypes(beanTypes);
+        codeIndex = new CsvCodeIndex(positionToCodeMap);
+        initializeLineBinders();
         initializeKeyField();
         initializeSiblingsFields();
         initializeChildrenWithIndirectParentFields();
+        initializeParentKeyParts();
     }
 
     protected void initializeBeanTypes(CsvBeanType<?>[] beanTypes) {
@@ -75,11 +91,27 @@ public class CsvBeanPropertiesFactory {
                         code
                 ));
             }
+            csvCodeProperties.setTypeId(codeMap.size());
             codeMap.put(code, csvCodeProperties);
             classMap.put(newBeanTypeClass, csvCodeProperties);
         }
     }
 
+    /**
+     * Compiles a reusable {@link io.github.hierarchicalcsv.core.model.CsvLineBinder}
+     * for each bean type, so that the column mapping is introspected once instead of
+     * once per line. The binder generated at compile time by the {@code hcsv-processor}
+     * annotation processor is used when present
+     */
+    protected void initializeLineBinders() {
+        for (var csvCodeProperties : codeMap.values()) {
+            Class<?> type = csvCodeProperties.getBeanType().getType();
+            CsvLineBinder<?> lineBinder = HCSVUtils.newGeneratedInstance(type, HCSVUtils.GENERATED_BINDER_SUFFIX, CsvLineBinder.class, resourceBundle);
+            csvCodeProperties.setLineBinder(lineBinder != null? lineBinder: new ColumnPositionLineBinder<>(type));
+            csvCodeProperties.setBoundColumns(csvCodeProperties.getLineBinder().getBoundColumns());
+        }
+    }
+
     protected void initializeKeyField() {
         for (var csvCodeProperties : codeMap.values()) {
             Field keyField = Arrays.stream(csvCodeProperties.getBeanType().getType().getDeclaredFields())
@@ -172,6 +204,7 @@ public class CsvBeanPropertiesFactory {
                     childCsvCodeProperties.getBeanType().getType().getName()
             ));
         }
+        assertParentKeyTypeMatches(childCsvCodeProperties, parentField, parentCodeProperties);
         childCsvCodeProperties.getOrderedPotentialParents().put(parentKeyOrder, parentCodeProperties);
         var parentCode = parentCodeProperties.getCodeValue();
         childCsvCodeProperties.getPotentialParentsFields().put(parentCode, parentField);
@@ -212,6 +245,85 @@ public class CsvBeanPropertiesFactory {
         }
     }
 
+    /**
+     * Flattens the ordered parents of each bean and compiles the functional accessors
+     * used to build the {@link io.github.hierarchicalcsv.core.model.CsvBeanKey} of a bean
+     * and of its parent, and to link the bean to its direct parent
+     */
+    protected void initializeParentKeyParts() {
+        for (var csvCodeProperties : codeMap.values()) {
+            if (csvCodeProperties.hasKeyField()) {
+                csvCodeProperties.setKeyGetter(HCSVAccessorUtils.createGetter(
+                        csvCodeProperties.getKeyField(), csvCodeProperties.getKeyMethod(), resourceBundle));
+            }
+            var orderedParents = csvCodeProperties.getOrderedPotentialParents().values();
+            Function<Object, Object>[] getters = newGetters(orderedParents.size());
+            CsvCodeProperties directParent = null;
+            int index = 0;
+            for (CsvCodeProperties parentCodeProperties : orderedParents) {
+                String parentCode = parentCodeProperties.getCodeValue();
+                getters[index] = HCSVAccessorUtils.createGetter(
+                        csvCodeProperties.getPotentialParentsFields().get(parentCode),
+                        csvCodeProperties.getPotentialParentsGetters().get(parentCode), resourceBundle);
+                directParent = parentCodeProperties;
+                parentCodeProperties.setReferencedAsParent(true);
+                index++;
+            }
+            csvCodeProperties.setParentKeyPartGetters(getters);
+            csvCodeProperties.setDirectParent(directParent);
+            csvCodeProperties.setDepth(getters.length);
+            maxDepth = Math.max(maxDepth, getters.length);
+            if (directParent != null) {
+                initializeParentLinker(csvCodeProperties, directParent);
+            }
+        }
+    }
+
+    /**
+     * Keys compare their parts as objects, so a parent key part must have the type of the
+     * parent key to ever match it
+     * @param childCodeProperties The child bean properties
+     * @param parentKeyPartField The field of the child holding the key of the parent
+     * @param parentCodeProperties The parent properties
+     */
+    protected void assertParentKeyTypeMatches(CsvCodeProperties childCodeProperties, Field parentKeyPartField,
+                                              CsvCodeProperties parentCodeProperties) {
+        Field parentKeyField = parentCodeProperties.getKeyField();
+        if (parentKeyField != null && !parentKeyField.getGenericType().equals(parentKeyPartField.getGenericType())) {
+            throw new ParentKeyTypeMismatchException(MessageFormat.format(
+                    resourceBundle.getString(HCSVErrorMessageUtils.PARENT_KEY_TYPE_MISMATCH),
+                    parentKeyPartField.getName(),
+                    childCodeProperties.getBeanType().getType().getName(),
+                    parentCodeProperties.getBeanType().getType().getName()
+            ));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object>[] newGetters(int size) {
+        return (Function<Object, Object>[]) new Function<?, ?>[size];
+    }
+
+    /**
+     * Compiles the accessor used to attach a bean to the field of its direct parent
+     * @param childCodeProperties The child bean properties
+     * @param parentCodeProperties The direct parent properties
+     */
+    protected void initializeParentLinker(CsvCodeProperties childCodeProperties, CsvCodeProperties parentCodeProperties) {
+        String childCode = childCodeProperties.getCodeValue();
+        Field childField = parentCodeProperties.getPotentialChildrenFields().get(childCode);
+        if (childField == null) {
+            return;
+        }
+        if (childField.getAnnotation(CsvChildList.class) != null) {
+            childCodeProperties.setParentCollectionGetter(HCSVAccessorUtils.createGetter(childField,
+                    parentCodeProperties.getPotentialChildrenGetters().get(childCode), resourceBundle));
+        } else {
+            childCodeProperties.setParentChildSetter(HCSVAccessorUtils.createSetter(childField,
+                    parentCodeProperties.getPotentialChildrenSetters().get(childCode), resourceBundle));
+        }
+    }
+
     protected Class<?> getChildFieldTypeFromField(Class<?> beanType, Field field) {
         Class<?> fieldType = field.getType();
         if (field.getAnnotation(CsvChildList.class) != null) {
@@ -321,4 +433,19 @@ public class CsvBeanPropertiesFactory {
     public final Map<Integer, List<CsvCodeProperties>> getPositionToCodeMap() {
         return positionToCodeMap;
     }
+
+    /**
+     * Returns the precompiled index used to find the bean type of a line
+     * @return The code dispatch index
+     */
+    public final CsvCodeIndex getCodeIndex() {
+        return codeIndex;
+    }
+
+    /**
+     * @return The deepest level of the hierarchy ({@literal 0} when all beans are roots)
+     */
+    public final int getMaxDepth() {
+        return maxDepth;
+    }
 }
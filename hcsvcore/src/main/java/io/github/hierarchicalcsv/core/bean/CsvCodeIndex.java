@@ -0,0 +1,85 @@
+package io.github.hierarchicalcsv.core.bean;
+
+import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precompiled dispatch index used to find the bean type of a CSV line. Code
+ * positions are sorted once, and each position has its own hash lookup on the
+ * code value, so that finding a bean type costs O(positions) instead of O(types).
+ */
+public final class CsvCodeIndex {
+
+    /**
+     * Code positions sorted in ascending order
+     */
+    private final int[] positions;
+
+    /**
+     * Code value lookup for each position, with the same index as {@code positions}
+     */
+    private final Map<String, CsvCodeProperties>[] codesByPosition;
+
+    /**
+     * Code value lookup when all beans share the same code position (fast path),
+     * {@literal null} otherwise
+     */
+    private final Map<String, CsvCodeProperties> singlePositionCodes;
+
+    private final int singlePosition;
+
+    public CsvCodeIndex(Map<Integer, List<CsvCodeProperties>> positionToCodeMap) {
+        this.positions = positionToCodeMap.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        this.codesByPosition = newCodeMaps(positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            List<CsvCodeProperties> codePropertiesList = positionToCodeMap.get(positions[i]);
+            Map<String, CsvCodeProperties> codes = new HashMap<>(Math.max(16, codePropertiesList.size() * 2));
+            for (CsvCodeProperties codeProperties : codePropertiesList) {
+                codes.put(codeProperties.getCodeValue(), codeProperties);
+            }
+            codesByPosition[i] = codes;
+        }
+        this.singlePosition = positions.length == 1 ? positions[0] : -1;
+        this.singlePositionCodes = positions.length == 1 ? codesByPosition[0] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, CsvCodeProperties>[] newCodeMaps(int size) {
+        return (Map<String, CsvCodeProperties>[]) new Map<?, ?>[size];
+    }
+
+    /**
+     * Takes an array representing a Csv Line as input and returns the
+     * corresponding bean properties. When codes match at several positions,
+     * the lowest position wins.
+     *
+     * @param line line's array
+     * @return Bean properties, or {@literal null} if not known
+     */
+    public CsvCodeProperties find(String[] line) {
+        if (singlePositionCodes != null) {
+            return singlePosition < line.length ? singlePositionCodes.get(line[singlePosition]) : null;
+        }
+        for (int i = 0; i < positions.length; i++) {
+            int position = positions[i];
+            if (position >= line.length) {
+                return null;
+            }
+            CsvCodeProperties codeProperties = codesByPosition[i].get(line[position]);
+            if (codeProperties != null) {
+                return codeProperties;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The sorted code positions
+     */
+    public int[] getPositions() {
+        return positions.clone();
+    }
+}
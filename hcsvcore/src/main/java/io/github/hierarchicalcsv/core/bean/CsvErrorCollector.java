@@ -0,0 +1,127 @@
+package io.github.hierarchicalcsv.core.bean;
+
+import com.opencsv.CSVWriterBuilder;
+import com.opencsv.ICSVWriter;
+import com.opencsv.bean.exceptionhandler.CsvExceptionHandler;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.exception.csv.ErrorBudgetExceededException;
+import io.github.hierarchicalcsv.core.model.CsvErrorPolicy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * The exception handler applying a {@link CsvErrorPolicy}: it counts the errors, keeps the
+ * first ones, writes the next ones to the reject file and raises an
+ * {@link ErrorBudgetExceededException} once the budget is exceeded. Any other error is
+ * swallowed, so the reader continues with the next line.
+ * <p>
+ * Only used by the thread reading the file, as the exception handler of the reader.
+ */
+public class CsvErrorCollector implements CsvExceptionHandler, Closeable {
+
+    private final CsvErrorPolicy errorPolicy;
+
+    private final ResourceBundle resourceBundle;
+
+    private final List<CsvException> retainedErrors;
+
+    /**
+     * Writer of the reject file, {@literal null} without one
+     */
+    private final ICSVWriter rejectWriter;
+
+    private long errorCount;
+
+    private long rejectedErrorCount;
+
+    /**
+     * @param errorPolicy The policy
+     * @param resourceBundle The bundle of the reader
+     * @throws IOException If the reject file cannot be created
+     */
+    public CsvErrorCollector(CsvErrorPolicy errorPolicy, ResourceBundle resourceBundle) throws IOException {
+        this.errorPolicy = errorPolicy;
+        this.resourceBundle = resourceBundle;
+        this.retainedErrors = new ArrayList<>();
+        this.rejectWriter = errorPolicy.getRejectFile() == null? null:
+                new CSVWriterBuilder(Files.newBufferedWriter(errorPolicy.getRejectFile(), StandardCharsets.UTF_8)).build();
+    }
+
+    @Override
+    public CsvException handleException(CsvException e) throws CsvException {
+        errorCount++;
+        if (retainedErrors.size() < errorPolicy.getRetainedErrors()) {
+            retainedErrors.add(e);
+        } else {
+            reject(e);
+        }
+        if (isBudgetExceeded(e.getLineNumber())) {
+            throw new ErrorBudgetExceededException(resourceBundle, errorCount, e);
+        }
+        return null;
+    }
+
+    private boolean isBudgetExceeded(long linesRead) {
+        double maxErrorRatio = errorPolicy.getMaxErrorRatio();
+        return errorCount > errorPolicy.getMaxErrors()
+                || !Double.isNaN(maxErrorRatio) && linesRead >= errorPolicy.getMinLinesForRatio()
+                    && errorCount > maxErrorRatio * linesRead;
+    }
+
+    private void reject(CsvException e) {
+        rejectedErrorCount++;
+        if (rejectWriter != null) {
+            String[] line = e.getLine() != null? e.getLine(): new String[0];
+            String[] record = new String[line.length + 3];
+            record[0] = Long.toString(e.getLineNumber());
+            record[1] = e.getClass().getSimpleName();
+            record[2] = e.getMessage();
+            System.arraycopy(line, 0, record, 3, line.length);
+            rejectWriter.writeNext(record, false);
+        }
+    }
+
+    /**
+     * @return The number of errors reported so far
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return The first errors, kept in memory with their line
+     */
+    public List<CsvException> getRetainedErrors() {
+        return Collections.unmodifiableList(retainedErrors);
+    }
+
+    /**
+     * @return The number of errors not kept in memory, written to the reject file if any
+     */
+    public long getRejectedErrorCount() {
+        return rejectedErrorCount;
+    }
+
+    /**
+     * Flushes and closes the reject file
+     *
+     * @throws IOException If the reject file could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (rejectWriter != null) {
+            boolean failed = rejectWriter.checkError();
+            rejectWriter.close();
+            if (failed) {
+                throw new IOException(rejectWriter.getException());
+            }
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package io.github.hierarchicalcsv.core.bean;
 
+import com.opencsv.bean.BeanVerifier;
+import com.opencsv.bean.CsvToBeanFilter;
 import com.opencsv.bean.exceptionhandler.CsvExceptionHandler;
-import com.opencsv.bean.util.OrderedObject;
+import com.opencsv.exceptions.CsvChainedException;
+import com.opencsv.exceptions.CsvConstraintViolationException;
 import com.opencsv.exceptions.CsvException;
 import io.github.hierarchicalcsv.core.exception.csv.UnknownBeanTypeException;
+import io.github.hierarchicalcsv.core.metrics.CsvReaderMetrics;
 import io.github.hierarchicalcsv.core.model.CsvBeanType;
-import io.github.hierarchicalcsv.core.model.ProcessCsvLineDecorator;
-import io.github.hierarchicalcsv.core.model.ProcessCsvLineResult;
+import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
+import io.github.hierarchicalcsv.core.model.CsvLineBinder;
+import io.github.hierarchicalcsv.core.model.CsvLineResult;
 import io.github.hierarchicalcsv.core.model.UnknownBean;
-import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
 
-import java.text.MessageFormat;
+import java.util.List;
 import java.util.ResourceBundle;
 
 /**
@@ -37,94 +41,182 @@ public class CsvLineToBeanProcessor {
 
     private final ResourceBundle resourceBundle;
 
+    /**
+     * Whether the exceptions raised by the processor capture their stack trace
+     */
+    private boolean errorStackTraces;
+
+    /**
+     * Metrics of the reader, {@literal null} when disabled
+     */
+    private CsvReaderMetrics metrics;
+
     public CsvLineToBeanProcessor(CsvBeanPropertiesFactory beanPropertiesFactory, CsvExceptionHandler exceptionHandler, boolean ignoreUnknownBeanType, ResourceBundle resourceBundle) {
         this.beanPropertiesFactory = beanPropertiesFactory;
         this.exceptionHandler = exceptionHandler;
         this.ignoreUnknownBeanType = ignoreUnknownBeanType;
         this.resourceBundle = resourceBundle;
+        this.errorStackTraces = true;
+    }
+
+    /**
+     * Raises the exceptions of unknown lines without capturing their stack trace
+     */
+    public void disableErrorStackTraces() {
+        this.errorStackTraces = false;
+    }
+
+    /**
+     * Counts the lines and measures the binding of each bean type
+     *
+     * @param metrics The metrics of the reader
+     */
+    public void enableMetrics(CsvReaderMetrics metrics) {
+        this.metrics = metrics;
     }
 
     /**
-     * Processes a line and returns an encapsulated result.
+     * Processes a line and stores the outcome in the reusable {@code result}.
      *
      * @param lineNumber line's number
      * @param line array representing the line
-     * @return The result of the processing
-     * @throws CsvException If the {@link ProcessCsvLineDecorator} throws an exception
-     *      if a CSV exception in original OpenCSV {@link com.opencsv.bean.concurrent.ProcessCsvLine}
-     *      is thrown by the {@code exceptionHandler}. Or {@link UnknownBeanTypeException} if
+     * @param result The holder to fill, already reset for this line
+     * @throws CsvException If a CSV exception raised while binding the line is
+     *      rethrown by the {@code exceptionHandler}. Or {@link UnknownBeanTypeException} if
      *      {@code ignoreUnknownBeanType} is {@literal false} and {@code exceptionHandler} rethrows
      *      the exception
      */
-    public ProcessCsvLineResult<?> processLine(long lineNumber, String[] line) throws CsvException {
-        CsvBeanType<?> beanType = getBeanType(line);
-        if(beanType == null) {
-            return handleUnknownBean(lineNumber, line);
+    public void processLine(long lineNumber, String[] line, CsvLineResult result) throws CsvException {
+        CsvCodeProperties codeProperties = getCodeProperties(line);
+        if(metrics != null) {
+            processMeasuredLine(lineNumber, codeProperties, line, result);
+        } else if(codeProperties == null) {
+            handleUnknownBean(lineNumber, line, result);
         } else {
-            return handleBean(lineNumber, beanType, line);
+            handleBean(lineNumber, codeProperties, line, result);
+        }
+    }
+
+    private void processMeasuredLine(long lineNumber, CsvCodeProperties codeProperties, String[] line, CsvLineResult result) throws CsvException {
+        metrics.recordLine();
+        if(codeProperties == null) {
+            metrics.recordUnknownLine();
+            handleUnknownBean(lineNumber, line, result);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            failed = !handleBean(lineNumber, codeProperties, line, result);
+        } finally {
+            metrics.getBeanTypeMetrics(codeProperties).recordBinding(System.nanoTime() - start, result.getBean(), failed);
         }
     }
 
     /**
      * Takes an array representing a Csv Line as input and returns the
-     * corresponding bean type. Or null if the bean type is unknown.
+     * corresponding bean properties. Or null if the bean type is unknown.
      *
      * @param line line's array
-     * @return Bean type, or null if not known
+     * @return Bean properties, or null if not known
      */
-    private CsvBeanType<?> getBeanType(String[] line) {
-        for(var entry: beanPropertiesFactory.getPositionToCodeMap().entrySet()) {
-            if(entry.getKey() >= line.length) {
-                break;
-            }
-            for(var propList: entry.getValue()) {
-                if(propList.getCodeValue().equals(line[propList.getCodePosition()])) {
-                    return propList.getBeanType();
-                }
-            }
-        }
-        return null;
+    private CsvCodeProperties getCodeProperties(String[] line) {
+        return beanPropertiesFactory.getCodeIndex().find(line);
     }
 
     /**
-     * Handles the Unknown bean type. Returns the encapsulated {@link UnknownBean}
+     * Handles the Unknown bean type. Sets the {@link UnknownBean} as result
      * and possibly throws {@link UnknownBeanTypeException}.
      *
      * @param lineNumber The line number
      * @param line The array representing CSV line
-     * @return Encapsulated {@link UnknownBean}
+     * @param result The holder to fill
      * @throws CsvException Potentially a {@link UnknownBeanTypeException}
      */
-    private ProcessCsvLineResult<UnknownBean> handleUnknownBean(long lineNumber, String[] line) throws CsvException {
-        var processCsvLineResult = new ProcessCsvLineResult<>(UnknownBean.getNewInstance());
+    private void handleUnknownBean(long lineNumber, String[] line, CsvLineResult result) throws CsvException {
+        result.setBean(UnknownBean.getInstance());
         if(!ignoreUnknownBeanType) {
-            CsvException csvException = new UnknownBeanTypeException(lineNumber, line, MessageFormat.format(
-                    resourceBundle.getString(HCSVErrorMessageUtils.UNKNOWN_BEAN_TYPE),
-                    lineNumber
-            ));
-            processCsvLineResult.getThrownExceptionsQueue().add(new OrderedObject<>(0, csvException));
+            result.completeLine();
+            CsvException csvException = new UnknownBeanTypeException(lineNumber, line, resourceBundle, errorStackTraces);
+            result.addThrownException(csvException);
             exceptionHandler.handleException(csvException);
         }
-        return processCsvLineResult;
     }
 
     /**
-     * Convert the array line to the corresponding bean and returns the encapsulated result.
+     * Converts the array line to the corresponding bean using the compiled binder. Applies
+     * the same sequence as OpenCSV {@link com.opencsv.bean.concurrent.ProcessCsvLine}:
+     * filter, bind, verify, then hand exceptions to the exception handler.
      *
      * @param lineNumber The line number
-     * @param beanType The target bean type
+     * @param codeProperties The target bean properties, holding its compiled binder
      * @param line The array representing CSV line
-     * @return The encapsulated result
+     * @param result The holder to fill
      * @param <T> Any bean with {@link io.github.hierarchicalcsv.core.annotation.HCSVBean} annotation
+     * @return Whether the line was bound or filtered without exception
+     * @throws CsvException If the exception handler rethrows a binding exception
      */
-    private <T> ProcessCsvLineResult<T> handleBean(long lineNumber, CsvBeanType<T> beanType, String[] line) {
-        var builder = new ProcessCsvLineDecorator.Builder<T>(beanType.getType())
-                .setLineNumber(lineNumber)
-                .setFilter(beanType.getFilter())
-                .setVerifiers(beanType.getVerifiers())
-                .setExceptionHandler(beanType.getExceptionHandler() != null?
-                        beanType.getExceptionHandler(): exceptionHandler);
-        return builder.buildAndRun(line);
+    @SuppressWarnings("unchecked")
+    private <T> boolean handleBean(long lineNumber, CsvCodeProperties codeProperties, String[] line, CsvLineResult result) throws CsvException {
+        CsvBeanType<T> beanType = (CsvBeanType<T>) codeProperties.getBeanType();
+        try {
+            CsvToBeanFilter filter = beanType.getFilter();
+            if (filter == null || filter.allowLine(line)) {
+                T bean = ((CsvLineBinder<T>) codeProperties.getLineBinder()).bind(line);
+                if (verifyBean(beanType.getVerifiers(), bean)) {
+                    result.setBean(bean);
+                }
+            }
+            return true;
+        } catch (CsvException e) {
+            e.setLine(result.completeLine());
+            e.setLineNumber(lineNumber);
+            handleBindingException(e, beanType.getExceptionHandler() != null?
+                    beanType.getExceptionHandler(): exceptionHandler, result);
+            return false;
+        }
+    }
+
+    private <T> boolean verifyBean(List<BeanVerifier<T>> verifiers, T bean) throws CsvConstraintViolationException {
+        if (verifiers != null) {
+            for (BeanVerifier<T> verifier : verifiers) {
+                if (!verifier.verifyBean(bean)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hands each exception (unchained when needed) to the exception handler and keeps
+     * the ones it returns
+     *
+     * @param exception The exception thrown while binding
+     * @param handler The exception handler of the bean type
+     * @param result The holder to fill
+     * @throws CsvException If the exception handler rethrows the exception
+     */
+    private void handleBindingException(CsvException exception, CsvExceptionHandler handler, CsvLineResult result) throws CsvException {
+        if (exception instanceof CsvChainedException) {
+            for (CsvException chainedException : ((CsvChainedException) exception).getExceptionChain()) {
+                handleSingleException(chainedException, handler, result);
+            }
+        } else {
+            handleSingleException(exception, handler, result);
+        }
+    }
+
+    private void handleSingleException(CsvException exception, CsvExceptionHandler handler, CsvLineResult result) throws CsvException {
+        try {
+            CsvException capturedException = handler.handleException(exception);
+            if (capturedException != null) {
+                result.addThrownException(capturedException);
+            }
+        } catch (CsvException ex) {
+            result.addThrownException(ex);
+            throw ex;
+        }
     }
 
 }
@@ -0,0 +1,300 @@
+package io.github.hierarchicalcsv.core.bean;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.model.CsvBeanKey;
+import io.github.hierarchicalcsv.core.model.CsvOrphanPolicy;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The pending orphans of a {@link CsvTreeConstructor} in out-of-order children mode, by key
+ * of their parent. Beyond the limit of the {@link CsvOrphanPolicy}, the lines of the orphans
+ * are appended to a spill file, one record per line: the number of fields, then the UTF-8
+ * bytes of each field preceded by their length, -1 for a {@literal null} field. The records
+ * are indexed in memory by key of their parent, so that only the lines waiting for a parent
+ * are read back.
+ */
+final class CsvOrphanBuffer implements Closeable {
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private static final int NULL_FIELD = -1;
+
+    private final CsvOrphanPolicy orphanPolicy;
+
+    private final Map<CsvBeanKey, List<CsvTreeConstructor.Orphan>> pendingOrphans;
+
+    private int pendingCount;
+
+    /**
+     * Whether orphans beyond the limit are spilled. Disabled while the spill file is read back
+     * at the end of the file
+     */
+    private boolean spilling;
+
+    private Path spillFile;
+
+    private FileChannel spillChannel;
+
+    /**
+     * Records not written to the spill file yet, and the number of bytes written before them
+     */
+    private ByteBuffer writeBuffer;
+
+    private long spillSize;
+
+    /**
+     * Buffer reused to read back the records
+     */
+    private ByteBuffer readBuffer;
+
+    /**
+     * Records of the spill file not read back yet, by key of the parent of their line
+     */
+    private final Map<CsvBeanKey, List<SpilledLine>> spilledLines;
+
+    CsvOrphanBuffer(CsvOrphanPolicy orphanPolicy) {
+        this.orphanPolicy = orphanPolicy;
+        this.pendingOrphans = new HashMap<>();
+        this.spilledLines = new HashMap<>();
+        this.spilling = true;
+    }
+
+    /**
+     * @param parentKey The key of the parent not found
+     * @param orphan The orphan
+     * @throws IOException If the orphan cannot be spilled
+     */
+    void add(CsvBeanKey parentKey, CsvTreeConstructor.Orphan orphan) throws IOException {
+        if (spilling && pendingCount >= orphanPolicy.getMaxPendingOrphans()) {
+            spill(parentKey, orphan);
+            return;
+        }
+        pendingOrphans.computeIfAbsent(parentKey, key -> new ArrayList<>(1)).add(orphan);
+        pendingCount++;
+    }
+
+    boolean hasPendingOrphans() {
+        return pendingCount > 0;
+    }
+
+    boolean isPending(CsvBeanKey parentKey) {
+        return pendingOrphans.containsKey(parentKey);
+    }
+
+    /**
+     * @param parentKeys Keys of parents
+     * @return Whether an orphan waiting for one of these parents is in the spill file
+     */
+    boolean isAnySpilled(Collection<CsvBeanKey> parentKeys) {
+        if (spilledLines.isEmpty()) {
+            return false;
+        }
+        for (CsvBeanKey parentKey : parentKeys) {
+            if (spilledLines.containsKey(parentKey)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param parentKey The key of a parent
+     * @return The orphans waiting for this parent, in line order, or {@literal null} if none
+     */
+    List<CsvTreeConstructor.Orphan> take(CsvBeanKey parentKey) {
+        List<CsvTreeConstructor.Orphan> orphans = pendingOrphans.remove(parentKey);
+        if (orphans != null) {
+            pendingCount -= orphans.size();
+        }
+        return orphans;
+    }
+
+    /**
+     * Removes all the pending orphans
+     *
+     * @return The pending orphans, in line order
+     */
+    List<CsvTreeConstructor.Orphan> takeAll() {
+        List<CsvTreeConstructor.Orphan> orphans = new ArrayList<>(pendingCount);
+        pendingOrphans.values().forEach(orphans::addAll);
+        orphans.sort(Comparator.comparingLong(CsvTreeConstructor.Orphan::getLineNumber));
+        pendingOrphans.clear();
+        pendingCount = 0;
+        return orphans;
+    }
+
+    private void spill(CsvBeanKey parentKey, CsvTreeConstructor.Orphan orphan) throws IOException {
+        if (spillChannel == null) {
+            Path directory = orphanPolicy.getSpillDirectory() != null? orphanPolicy.getSpillDirectory():
+                    Paths.get(System.getProperty("java.io.tmpdir"));
+            spillFile = Files.createTempFile(directory, "hcsv-orphans", ".bin");
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        }
+        String[] line = orphan.getLine();
+        byte[][] fields = new byte[line.length][];
+        int length = Integer.BYTES;
+        for (int i = 0; i < line.length; i++) {
+            fields[i] = line[i] != null? line[i].getBytes(StandardCharsets.UTF_8): null;
+            length += Integer.BYTES + (fields[i] != null? fields[i].length: 0);
+        }
+        if (length > writeBuffer.remaining()) {
+            flush();
+            if (length > writeBuffer.capacity()) {
+                writeBuffer = ByteBuffer.allocate(length);
+            }
+        }
+        long offset = spillSize + writeBuffer.position();
+        writeBuffer.putInt(fields.length);
+        for (byte[] field : fields) {
+            if (field == null) {
+                writeBuffer.putInt(NULL_FIELD);
+            } else {
+                writeBuffer.putInt(field.length).put(field);
+            }
+        }
+        spilledLines.computeIfAbsent(parentKey, key -> new ArrayList<>(1))
+                .add(new SpilledLine(orphan.getLineNumber(), offset, length));
+    }
+
+    /**
+     * Reads back all the spilled lines, in line order. The next orphans are then kept in memory
+     *
+     * @param consumer Called with each line number and line
+     * @throws IOException If the spill file cannot be read
+     * @throws CsvException If the consumer rethrows an exception
+     */
+    void replaySpilled(SpilledLineConsumer consumer) throws IOException, CsvException {
+        spilling = false;
+        List<SpilledLine> lines = new ArrayList<>();
+        spilledLines.values().forEach(lines::addAll);
+        spilledLines.clear();
+        readSpilled(lines, consumer);
+        close();
+    }
+
+    /**
+     * Reads back the spilled lines waiting for some parents, in line order, before these
+     * parents are released. The other records are not read
+     *
+     * @param parentKeys The keys of the parents
+     * @param consumer Called with each line number and line
+     * @throws IOException If the spill file cannot be read
+     * @throws CsvException If the consumer rethrows an exception
+     */
+    void replaySpilled(Collection<CsvBeanKey> parentKeys, SpilledLineConsumer consumer) throws IOException, CsvException {
+        List<SpilledLine> lines = new ArrayList<>();
+        for (CsvBeanKey parentKey : parentKeys) {
+            List<SpilledLine> parentLines = spilledLines.remove(parentKey);
+            if (parentLines != null) {
+                lines.addAll(parentLines);
+            }
+        }
+        readSpilled(lines, consumer);
+    }
+
+    private void readSpilled(List<SpilledLine> lines, SpilledLineConsumer consumer) throws IOException, CsvException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        flush();
+        lines.sort(Comparator.comparingLong(SpilledLine::getLineNumber));
+        for (SpilledLine spilledLine : lines) {
+            consumer.accept(spilledLine.lineNumber, readLine(spilledLine));
+        }
+    }
+
+    private String[] readLine(SpilledLine spilledLine) throws IOException {
+        if (readBuffer == null || readBuffer.capacity() < spilledLine.length) {
+            readBuffer = ByteBuffer.allocate(Math.max(spilledLine.length, 1 << 12));
+        }
+        readBuffer.clear().limit(spilledLine.length);
+        while (readBuffer.hasRemaining()) {
+            if (spillChannel.read(readBuffer, spilledLine.offset + readBuffer.position()) < 0) {
+                throw new EOFException(spillFile.toString());
+            }
+        }
+        readBuffer.flip();
+        String[] line = new String[readBuffer.getInt()];
+        for (int i = 0; i < line.length; i++) {
+            int length = readBuffer.getInt();
+            if (length != NULL_FIELD) {
+                line[i] = new String(readBuffer.array(), readBuffer.position(), length, StandardCharsets.UTF_8);
+                readBuffer.position(readBuffer.position() + length);
+            }
+        }
+        return line;
+    }
+
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            spillSize += spillChannel.write(writeBuffer, spillSize);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Deletes the spill file
+     *
+     * @throws IOException If the spill file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        if (spillChannel != null) {
+            spillChannel.close();
+            spillChannel = null;
+        }
+        if (spillFile != null) {
+            Files.deleteIfExists(spillFile);
+            spillFile = null;
+        }
+    }
+
+    /**
+     * Place of a line in the spill file
+     */
+    private static final class SpilledLine {
+
+        private final long lineNumber;
+
+        private final long offset;
+
+        private final int length;
+
+        private SpilledLine(long lineNumber, long offset, int length) {
+            this.lineNumber = lineNumber;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private long getLineNumber() {
+            return lineNumber;
+        }
+    }
+
+    /**
+     * Receives a spilled line
+     */
+    @FunctionalInterface
+    interface SpilledLineConsumer {
+
+        void accept(long lineNumber, String[] line) throws CsvException;
+    }
+}
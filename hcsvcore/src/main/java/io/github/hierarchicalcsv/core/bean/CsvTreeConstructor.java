@@ -1,27 +1,36 @@
 package io.github.hierarchicalcsv.core.bean;
 
 import com.opencsv.bean.exceptionhandler.CsvExceptionHandler;
-import com.opencsv.bean.util.OrderedObject;
 import com.opencsv.exceptions.CsvException;
-import io.github.hierarchicalcsv.core.annotation.CsvChildList;
+import io.github.hierarchicalcsv.core.event.ParentNotFoundEvent;
+import io.github.hierarchicalcsv.core.event.SubtreeCompletedEvent;
 import io.github.hierarchicalcsv.core.exception.HCSVException;
+import io.github.hierarchicalcsv.core.exception.OrphanSpillException;
 import io.github.hierarchicalcsv.core.exception.csv.CausedCsvException;
 import io.github.hierarchicalcsv.core.exception.csv.ChildWrapperNotInitializedException;
 import io.github.hierarchicalcsv.core.exception.csv.ParentBeanNotFoundException;
+import io.github.hierarchicalcsv.core.model.CsvBeanKey;
 import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
+import io.github.hierarchicalcsv.core.model.CsvKeyIndex;
+import io.github.hierarchicalcsv.core.model.CsvKeyIndexFactory;
+import io.github.hierarchicalcsv.core.model.CsvLineResult;
+import io.github.hierarchicalcsv.core.model.CsvOrphanPolicy;
+import io.github.hierarchicalcsv.core.model.CsvRootCompletionRule;
 import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
 import io.github.hierarchicalcsv.core.util.HCSVUtils;
 
-import java.lang.reflect.Field;
+import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
 
 public class CsvTreeConstructor {
 
     private final CsvBeanPropertiesFactory beanPropertiesFactory;
 
-    private final Map<String, Object> keyMap;
+    /**
+     * Beans that can be looked up as a parent, by key
+     */
+    private final CsvKeyIndex keyIndex;
 
     private final List<Object> beans;
 
@@ -29,90 +38,660 @@ public class CsvTreeConstructor {
 
     private final ResourceBundle resourceBundle;
 
+    /**
+     * Whether root beans are emitted (and their keys released) as soon as their
+     * subtree is complete, instead of being kept in {@code beans}
+     */
+    private boolean streaming;
+
+    /**
+     * Optional rule closing the current root before the next root is reached
+     */
+    private CsvRootCompletionRule rootCompletionRule;
+
+    /**
+     * Whether parents are resolved from the currently open beans instead of {@code keyIndex}
+     */
+    private boolean orderedHierarchy;
+
+    /**
+     * Bean currently open on each level of the hierarchy (ordered hierarchy only)
+     */
+    private Object[] openBeans;
+
+    /**
+     * Key of the bean currently open on each level of the hierarchy (ordered hierarchy only)
+     */
+    private CsvBeanKey[] openKeys;
+
+    /**
+     * Root bean whose subtree is being read (streaming only)
+     */
+    private Object currentRoot;
+
+    /**
+     * Keys indexed since {@code currentRoot} was read, released when it completes (streaming only)
+     */
+    private final List<CsvBeanKey> currentRootKeys;
+
+    /**
+     * Completed root beans not yet consumed (streaming only)
+     */
+    private final Deque<Object> completedRoots;
+
+    /**
+     * Whether beans whose parent is not found are kept aside instead of failing, so that
+     * they can be linked later by {@link #adoptOrphan(Orphan)} (parallel chunk reading)
+     */
+    private boolean recordingOrphans;
+
+    /**
+     * Beans whose parent was not found, in line order (orphan recording only)
+     */
+    private final List<Orphan> orphans;
+
+    /**
+     * Beans read before their parent, waiting for it (out-of-order children mode only)
+     */
+    private CsvOrphanBuffer orphanBuffer;
+
+    /**
+     * Whether the spill file is being read back before the current root completes
+     */
+    private boolean replayingSpill;
+
+    /**
+     * Binds the spilled lines again, as the first binding, {@literal null} until a line is read back
+     */
+    private CsvLineToBeanProcessor spilledLineProcessor;
+
+    /**
+     * Whether the exceptions raised by the constructor capture their stack trace
+     */
+    private boolean errorStackTraces;
+
+    /**
+     * Result of the line being linked, whose line is completed before it is kept by an
+     * exception or an orphan, {@literal null} for orphans and spilled lines (already complete)
+     */
+    private CsvLineResult linkedResult;
+
+    /**
+     * Burst of beans whose parent is not found, {@literal null} if none or if the event is disabled
+     */
+    private ParentNotFoundEvent parentNotFoundEvent;
+
+    /**
+     * Subtree of {@code currentRoot}, {@literal null} if the event is disabled (streaming only)
+     */
+    private SubtreeCompletedEvent subtreeEvent;
+
     public CsvTreeConstructor(CsvBeanPropertiesFactory beanPropertiesFactory, CsvExceptionHandler exceptionHandler, ResourceBundle resourceBundle) {
+        this(beanPropertiesFactory, exceptionHandler, resourceBundle, null);
+    }
+
+    /**
+     * @param keyIndexFactory Creates the index of the parent beans, {@literal null} for a {@link HashCsvKeyIndex}
+     */
+    public CsvTreeConstructor(CsvBeanPropertiesFactory beanPropertiesFactory, CsvExceptionHandler exceptionHandler,
+                              ResourceBundle resourceBundle, CsvKeyIndexFactory keyIndexFactory) {
         this.beanPropertiesFactory = beanPropertiesFactory;
         this.resourceBundle = resourceBundle;
-        this.keyMap = new HashMap<>();
+        this.keyIndex = keyIndexFactory != null? keyIndexFactory.create(this::calculateBeanKey): new HashCsvKeyIndex();
         this.beans = new ArrayList<>();
         this.exceptionHandler = exceptionHandler;
+        this.currentRootKeys = new ArrayList<>();
+        this.completedRoots = new ArrayDeque<>();
+        this.orphans = new ArrayList<>();
+        this.errorStackTraces = true;
     }
 
-    public void handle(long lineNumber, String[] line, Object bean, BlockingQueue<OrderedObject<CsvException>> thrownExceptionsQueue) throws CsvException {
+    public void handle(CsvLineResult result) throws CsvException {
+        if (result.getBean() != null && !result.hasThrownExceptions()) {
+            handle(result.getLineNumber(), result.getLine(), result.getBean(), result);
+        }
+    }
+
+    /**
+     * Links a bean recorded as orphan by the constructor of another chunk, using the
+     * beans merged so far. Must be called in line order, between the {@link #merge}
+     * of the previous chunk and the one of the orphan's chunk.
+     * <p>
+     * The bean of the chunk shadowed by the orphan is indexed first, as it was read before
+     * the orphan: it stays the bean of their key if the orphan is not linked.
+     *
+     * @param orphan The orphan bean
+     * @throws CsvException If the parent is still not found and the exception handler rethrows
+     */
+    public void adoptOrphan(Orphan orphan) throws CsvException {
+        if(orphan.shadowedBean != null) {
+            keyIndex.put(calculateBeanKey(orphan.shadowedBean), orphan.shadowedBean);
+        }
+        handle(orphan.getLineNumber(), orphan.getLine(), orphan.getBean(), null);
+    }
+
+    private void handle(long lineNumber, String[] line, Object bean, CsvLineResult result) throws CsvException {
+        // Nested when the spilled orphans are linked before the root completes
+        CsvLineResult enclosingResult = linkedResult;
+        linkedResult = result;
         try {
-            if (bean != null && thrownExceptionsQueue.isEmpty()) {
-                doHandle(lineNumber, line,  bean);
-            }
+            doHandle(lineNumber, line, bean);
         } catch (CsvException ex) {
-            thrownExceptionsQueue.add(new OrderedObject<>(thrownExceptionsQueue.size(), ex));
+            addThrownException(result, ex);
             exceptionHandler.handleException(ex);
         } catch (HCSVException ex) {
-            CsvException csvException = new CausedCsvException(lineNumber, line, MessageFormat.format(
-                    resourceBundle.getString(HCSVErrorMessageUtils.CAUSED_CSV),
-                    ex.getMessage()
-            ), ex);
-            thrownExceptionsQueue.add(new OrderedObject<>(thrownExceptionsQueue.size(), csvException));
+            CsvException csvException = new CausedCsvException(lineNumber, completeLine(line), resourceBundle, errorStackTraces, ex);
+            addThrownException(result, csvException);
             exceptionHandler.handleException(csvException);
+        } finally {
+            linkedResult = enclosingResult;
+        }
+    }
+
+    /**
+     * Decodes the columns not decoded by the line source, if the line is the one being
+     * linked, before an exception or an orphan copies it
+     *
+     * @param line A line
+     * @return The line, complete
+     */
+    private String[] completeLine(String[] line) {
+        if (linkedResult != null && linkedResult.getLine() == line) {
+            linkedResult.completeLine();
+        }
+        return line;
+    }
+
+    private static void addThrownException(CsvLineResult result, CsvException exception) {
+        if (result != null) {
+            result.addThrownException(exception);
         }
     }
 
     protected void doHandle(long lineNumber, String[] line, Object bean) throws CsvException {
         String beanClassName = bean.getClass().getName();
         CsvCodeProperties csvCodeProperties = beanPropertiesFactory.getClassProperties(beanClassName);
-        String beanKey = HCSVUtils.calculateBeanKey(bean, csvCodeProperties, resourceBundle);
-        if(!csvCodeProperties.getOrderedPotentialParents().isEmpty()) {
-            String parentKey = getParentKey(bean, csvCodeProperties);
-            Object parent = keyMap.get(parentKey);
+        if(csvCodeProperties.hasParent()) {
+            CsvBeanKey parentKey = HCSVUtils.calculateParentBeanKey(bean, csvCodeProperties);
+            Object parent = findParent(parentKey, csvCodeProperties);
+            if(parent == null && recordingOrphans) {
+                orphans.add(new Orphan(lineNumber, completeLine(line), bean, unindexShadowedBean(bean, csvCodeProperties)));
+                return;
+            }
+            if(parent == null && orphanBuffer != null) {
+                addPendingOrphan(parentKey, new Orphan(lineNumber, completeLine(line), bean));
+                return;
+            }
             if(parent == null) {
-                throw new ParentBeanNotFoundException(lineNumber, line, MessageFormat.format(
-                        resourceBundle.getString(HCSVErrorMessageUtils.PARENT_BEAN_NOT_FOUND),
-                        beanClassName,
-                        beanKey
-                ));
-            } else {
-                CsvCodeProperties parentCsvCodeProperties = beanPropertiesFactory.getClassProperties(parent.getClass().getName());
-                Field childField = parentCsvCodeProperties.getPotentialChildrenFields().get(csvCodeProperties.getCodeValue());
-                if(childField.getAnnotation(CsvChildList.class) != null) {
-                    Collection<Object> collection = (Collection<Object>) HCSVUtils.invokeGetterMethod(parent, childField,
-                            parentCsvCodeProperties.getPotentialChildrenGetters().get(csvCodeProperties.getCodeValue()), resourceBundle);
-                    if(collection == null) {
-                        throw new ChildWrapperNotInitializedException(lineNumber, line, MessageFormat.format(
-                                resourceBundle.getString(HCSVErrorMessageUtils.CHILD_WRAPPER_NOT_INITIALIZED),
-                                childField.getName(),
-                                parentCsvCodeProperties.getBeanType().getType().getName()
-                        ));
-                    }
-                    collection.add(bean);
-                } else {
-                    HCSVUtils.invokeSetterMethod(parent, childField,
-                            parentCsvCodeProperties.getPotentialChildrenSetters().get(csvCodeProperties.getCodeValue()),
-                            bean, resourceBundle);
-                }
-                beanKey = parentKey + "." + beanKey;
+                throw newParentBeanNotFoundException(lineNumber, completeLine(line), bean, csvCodeProperties, parentKey);
+            }
+            attachToParent(lineNumber, line, bean, csvCodeProperties, parent);
+            if(subtreeEvent != null) {
+                subtreeEvent.addBean(lineNumber);
             }
+        } else if(streaming) {
+            completeCurrentRoot();
+            currentRoot = bean;
+            beginSubtreeEvent(lineNumber, csvCodeProperties.getCodeValue());
         } else {
             beans.add(bean);
         }
-        keyMap.put(beanKey, bean);
+        if(parentNotFoundEvent != null) {
+            commitParentNotFoundEvent();
+        }
+        register(bean, csvCodeProperties);
+        if(orphanBuffer != null && orphanBuffer.hasPendingOrphans() && csvCodeProperties.isReferencedAsParent()) {
+            adoptPendingOrphans(HCSVUtils.calculateBeanKey(bean, csvCodeProperties), bean);
+        }
+        if(streaming && currentRoot != null && rootCompletionRule != null
+                && rootCompletionRule.isComplete(currentRoot, bean)) {
+            completeCurrentRoot();
+        }
+    }
+
+    /**
+     * Removes from the index the bean of the chunk sharing its key with an orphan, if any,
+     * since the orphan replaces it once linked. The next lines of the chunk referencing this
+     * key become orphans too, and are linked to the right bean in line order (orphan recording only)
+     *
+     * @param orphan The orphan bean
+     * @param csvCodeProperties The orphan properties
+     * @return The bean removed from the index, or {@literal null} if none
+     */
+    private Object unindexShadowedBean(Object orphan, CsvCodeProperties csvCodeProperties) {
+        if(!csvCodeProperties.isReferencedAsParent()) {
+            return null;
+        }
+        CsvBeanKey beanKey = HCSVUtils.calculateBeanKey(orphan, csvCodeProperties);
+        Object shadowedBean = keyIndex.get(beanKey);
+        if(shadowedBean != null) {
+            keyIndex.remove(beanKey);
+        }
+        return shadowedBean;
     }
 
-    protected String getParentKey(Object bean, CsvCodeProperties csvCodeProperties) {
-        StringBuilder code = new StringBuilder();
-        for(var potentialParentPropertiesEntry: csvCodeProperties.getOrderedPotentialParents().entrySet()) {
-            CsvCodeProperties parentCsvCodeProperties = potentialParentPropertiesEntry.getValue();
-            var parentCode = parentCsvCodeProperties.getCodeValue();
-            var parentKey = HCSVUtils.calculateParentBeanKey(bean, parentCsvCodeProperties.getBeanType().getType(),
-                    csvCodeProperties.getPotentialParentsFields().get(parentCode),
-                    csvCodeProperties.getPotentialParentsGetters().get(parentCode), resourceBundle);
-            if(code.length() == 0) {
-                code.append(parentKey);
-            } else {
-                code.append(".").append(parentKey);
+    private ParentBeanNotFoundException newParentBeanNotFoundException(long lineNumber, String[] line, Object bean,
+                                                                      CsvCodeProperties csvCodeProperties, CsvBeanKey parentKey) {
+        recordParentNotFound(lineNumber, csvCodeProperties.getCodeValue());
+        return new ParentBeanNotFoundException(lineNumber, line, resourceBundle, errorStackTraces, bean.getClass().getName(),
+                csvCodeProperties.hasKeyField()? HCSVUtils.calculateBeanKey(bean, csvCodeProperties): parentKey);
+    }
+
+    private void addPendingOrphan(CsvBeanKey parentKey, Orphan orphan) {
+        try {
+            orphanBuffer.add(parentKey, orphan);
+        } catch (IOException ex) {
+            throw newOrphanSpillException(ex);
+        }
+    }
+
+    private OrphanSpillException newOrphanSpillException(IOException ex) {
+        return new OrphanSpillException(MessageFormat.format(
+                resourceBundle.getString(HCSVErrorMessageUtils.UNABLE_TO_SPILL_ORPHANS), ex.getLocalizedMessage()), ex);
+    }
+
+    /**
+     * Links the pending orphans waiting for a parent that has just been indexed, then the
+     * orphans waiting for them
+     *
+     * @param parentKey The key of the parent
+     * @param parent The parent
+     * @throws CsvException If linking an orphan fails and the exception handler rethrows
+     */
+    private void adoptPendingOrphans(CsvBeanKey parentKey, Object parent) throws CsvException {
+        List<Orphan> pendingOrphans = orphanBuffer.take(parentKey);
+        if(pendingOrphans == null) {
+            return;
+        }
+        for(Orphan orphan: pendingOrphans) {
+            Object bean = orphan.getBean();
+            CsvCodeProperties csvCodeProperties = beanPropertiesFactory.getClassProperties(bean.getClass().getName());
+            try {
+                attachToParent(orphan.getLineNumber(), orphan.getLine(), bean, csvCodeProperties, parent);
+            } catch (CsvException ex) {
+                exceptionHandler.handleException(ex);
+                continue;
+            }
+            if(subtreeEvent != null) {
+                subtreeEvent.addBean(orphan.getLineNumber());
+            }
+            register(bean, csvCodeProperties);
+            if(csvCodeProperties.isReferencedAsParent()) {
+                adoptPendingOrphans(HCSVUtils.calculateBeanKey(bean, csvCodeProperties), bean);
+            }
+        }
+    }
+
+    /**
+     * Links the spilled orphans, then reports the orphans whose parent is still not found
+     *
+     * @throws CsvException If the exception handler rethrows
+     */
+    private void resolveRemainingOrphans() throws CsvException {
+        try {
+            orphanBuffer.replaySpilled(this::handleSpilledLine);
+        } catch (IOException ex) {
+            throw newOrphanSpillException(ex);
+        }
+        for(Orphan orphan: orphanBuffer.takeAll()) {
+            Object bean = orphan.getBean();
+            CsvCodeProperties csvCodeProperties = beanPropertiesFactory.getClassProperties(bean.getClass().getName());
+            exceptionHandler.handleException(newParentBeanNotFoundException(orphan.getLineNumber(), orphan.getLine(), bean,
+                    csvCodeProperties, HCSVUtils.calculateParentBeanKey(bean, csvCodeProperties)));
+        }
+    }
+
+    /**
+     * Binds a spilled line again, as its bean was not kept, and links it. The line goes
+     * through the filter, the verifiers and the exception handler of its bean type again, as
+     * they may change the bean. It is only counted once in the metrics, when first read
+     */
+    private void handleSpilledLine(long lineNumber, String[] line) throws CsvException {
+        if(spilledLineProcessor == null) {
+            spilledLineProcessor = new CsvLineToBeanProcessor(beanPropertiesFactory, exceptionHandler, true, resourceBundle);
+            if(!errorStackTraces) {
+                spilledLineProcessor.disableErrorStackTraces();
+            }
+        }
+        CsvLineResult result = new CsvLineResult();
+        result.reset(lineNumber, line);
+        spilledLineProcessor.processLine(lineNumber, line, result);
+        handle(result);
+    }
+
+    /**
+     * Adds the line to the current burst of {@link ParentNotFoundEvent} when the event is
+     * enabled, or starts a new burst for another bean type
+     *
+     * @param lineNumber The line number
+     * @param beanCode The code of the bean whose parent is not found
+     */
+    private void recordParentNotFound(long lineNumber, String beanCode) {
+        if(parentNotFoundEvent != null && !parentNotFoundEvent.getBeanCode().equals(beanCode)) {
+            commitParentNotFoundEvent();
+        }
+        if(parentNotFoundEvent == null) {
+            ParentNotFoundEvent event = new ParentNotFoundEvent();
+            if(!event.isEnabled()) {
+                return;
+            }
+            event.begin();
+            event.setBeanCode(beanCode);
+            event.setFirstLineNumber(lineNumber);
+            parentNotFoundEvent = event;
+        }
+        parentNotFoundEvent.addLine(lineNumber);
+    }
+
+    private void commitParentNotFoundEvent() {
+        parentNotFoundEvent.commit();
+        parentNotFoundEvent = null;
+    }
+
+    private void beginSubtreeEvent(long lineNumber, String rootCode) {
+        SubtreeCompletedEvent event = new SubtreeCompletedEvent();
+        if(event.isEnabled()) {
+            event.begin();
+            event.setRootCode(rootCode);
+            event.setFirstLineNumber(lineNumber);
+            event.addBean(lineNumber);
+            subtreeEvent = event;
+        }
+    }
+
+    /**
+     * Commits the pending Flight Recorder events. Should be called once the reading is over
+     */
+    public void commitEvents() {
+        if(parentNotFoundEvent != null) {
+            commitParentNotFoundEvent();
+        }
+    }
+
+    /**
+     * Finds the parent of a bean. In ordered hierarchy mode, the parent can only be the
+     * bean currently open at the level of the direct parent
+     *
+     * @param parentKey The key of the parent
+     * @param csvCodeProperties The child bean properties
+     * @return The parent, or {@literal null} if not found
+     */
+    protected Object findParent(CsvBeanKey parentKey, CsvCodeProperties csvCodeProperties) {
+        if(orderedHierarchy) {
+            int parentDepth = csvCodeProperties.getDirectParent().getDepth();
+            return parentKey.equals(openKeys[parentDepth])? openBeans[parentDepth]: null;
+        }
+        return keyIndex.get(parentKey);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void attachToParent(long lineNumber, String[] line, Object bean, CsvCodeProperties csvCodeProperties, Object parent) throws CsvException {
+        var collectionGetter = csvCodeProperties.getParentCollectionGetter();
+        if(collectionGetter != null) {
+            Collection<Object> collection = (Collection<Object>) collectionGetter.apply(parent);
+            if(collection == null) {
+                CsvCodeProperties parentCsvCodeProperties = csvCodeProperties.getDirectParent();
+                throw new ChildWrapperNotInitializedException(lineNumber, completeLine(line), resourceBundle, errorStackTraces,
+                        parentCsvCodeProperties.getPotentialChildrenFields().get(csvCodeProperties.getCodeValue()).getName(),
+                        parentCsvCodeProperties.getBeanType().getType().getName());
+            }
+            collection.add(bean);
+        } else {
+            csvCodeProperties.getParentChildSetter().accept(parent, bean);
+        }
+    }
+
+    /**
+     * Makes the bean available as a parent for the next lines. Only beans that can be
+     * looked up as a parent are indexed: leaves cost no hashing nor retained entry.
+     * In ordered hierarchy mode, the bean closes the scope of its previous siblings
+     * and their descendants.
+     *
+     * @param bean The bean
+     * @param csvCodeProperties The bean properties
+     */
+    protected void register(Object bean, CsvCodeProperties csvCodeProperties) {
+        if(orderedHierarchy) {
+            int depth = csvCodeProperties.getDepth();
+            closeScopes(depth);
+            if(csvCodeProperties.isReferencedAsParent()) {
+                openKeys[depth] = HCSVUtils.calculateBeanKey(bean, csvCodeProperties);
+                openBeans[depth] = bean;
+            }
+        } else if(csvCodeProperties.isReferencedAsParent()) {
+            CsvBeanKey beanKey = HCSVUtils.calculateBeanKey(bean, csvCodeProperties);
+            keyIndex.put(beanKey, bean);
+            if(streaming) {
+                currentRootKeys.add(beanKey);
+            }
+        }
+    }
+
+    /**
+     * Closes the open beans from the given level down to the deepest one
+     *
+     * @param depth The first level to close
+     */
+    private void closeScopes(int depth) {
+        for(int i = depth; i < openBeans.length; i++) {
+            openBeans[i] = null;
+            openKeys[i] = null;
+        }
+    }
+
+    /**
+     * Moves the current root to the completed roots and releases the keys of its subtree,
+     * once the spilled orphans waiting for a bean of the subtree are linked
+     *
+     * @throws CsvException If linking a spilled orphan fails and the exception handler rethrows
+     */
+    protected void completeCurrentRoot() throws CsvException {
+        if(currentRoot != null && orphanBuffer != null) {
+            adoptSpilledOrphans();
+        }
+        if(currentRoot != null) {
+            completedRoots.add(currentRoot);
+            currentRoot = null;
+            if(subtreeEvent != null) {
+                subtreeEvent.commit();
+                subtreeEvent = null;
+            }
+            if(orderedHierarchy) {
+                closeScopes(0);
+            }
+            for(CsvBeanKey key: currentRootKeys) {
+                keyIndex.remove(key);
+            }
+            currentRootKeys.clear();
+        }
+    }
+
+    /**
+     * Reads back the spilled orphans waiting for a bean of the current root, as its keys are
+     * about to be released, until the orphans linked meanwhile have no spilled orphan waiting
+     * for them either (streaming only)
+     *
+     * @throws CsvException If linking a spilled orphan fails and the exception handler rethrows
+     */
+    private void adoptSpilledOrphans() throws CsvException {
+        while(!replayingSpill && orphanBuffer.isAnySpilled(currentRootKeys)) {
+            replayingSpill = true;
+            try {
+                orphanBuffer.replaySpilled(currentRootKeys, this::handleSpilledLine);
+            } catch (IOException ex) {
+                throw newOrphanSpillException(ex);
+            } finally {
+                replayingSpill = false;
+            }
+        }
+    }
+
+    /**
+     * Switches the constructor to ordered hierarchy mode. The file is expected to be
+     * written depth-first, so the parent of a bean is always the most recently read
+     * bean of the parent type. Parents are then resolved from the beans currently
+     * open on each level instead of a global key lookup, and only the keys of the
+     * current path are retained.
+     */
+    public void enableOrderedHierarchy() {
+        this.orderedHierarchy = true;
+        this.openBeans = new Object[beanPropertiesFactory.getMaxDepth() + 1];
+        this.openKeys = new CsvBeanKey[beanPropertiesFactory.getMaxDepth() + 1];
+    }
+
+    /**
+     * Resolves the remaining orphans in out-of-order children mode and completes the
+     * current root. Should be called once the end of the file is reached
+     *
+     * @throws CsvException If an orphan is not linked and the exception handler rethrows
+     */
+    public void finish() throws CsvException {
+        if(orphanBuffer != null) {
+            resolveRemainingOrphans();
+        }
+        if(streaming) {
+            completeCurrentRoot();
+        }
+    }
+
+    /**
+     * Switches the constructor to out-of-order children mode: a bean whose parent is not
+     * found is kept aside until its parent is read, instead of raising a
+     * {@link ParentBeanNotFoundException}. The orphans whose parent is still not found are
+     * reported by {@link #finish()}
+     *
+     * @param orphanPolicy The limit of the pending orphans kept in memory
+     */
+    public void enableOutOfOrderChildren(CsvOrphanPolicy orphanPolicy) {
+        this.orphanBuffer = new CsvOrphanBuffer(orphanPolicy);
+    }
+
+    /**
+     * Deletes the spill file of the pending orphans, if any
+     *
+     * @throws IOException If the spill file cannot be deleted
+     */
+    public void close() throws IOException {
+        if(orphanBuffer != null) {
+            orphanBuffer.close();
+        }
+    }
+
+    /**
+     * Switches the constructor to streaming mode, in which root beans are emitted
+     * through {@link #pollCompletedRoot()} as soon as their subtree is complete
+     *
+     * @param rootCompletionRule Optional rule closing a root before the next root
+     */
+    public void enableStreaming(CsvRootCompletionRule rootCompletionRule) {
+        this.streaming = true;
+        this.rootCompletionRule = rootCompletionRule;
+    }
+
+    /**
+     * @return The next completed root bean, or {@literal null} if none is complete yet
+     */
+    public Object pollCompletedRoot() {
+        return completedRoots.poll();
+    }
+
+    /**
+     * Switches the constructor to orphan recording: a bean whose parent is not found is
+     * kept in {@link #getOrphans()} instead of raising a
+     * {@link ParentBeanNotFoundException}, as its parent may belong to a previous chunk
+     */
+    public void enableOrphanRecording() {
+        this.recordingOrphans = true;
+    }
+
+    /**
+     * Raises the exceptions of the constructor without capturing their stack trace
+     */
+    public void disableErrorStackTraces() {
+        this.errorStackTraces = false;
+    }
+
+    /**
+     * @return The beans whose parent was not found, in line order
+     */
+    public List<Orphan> getOrphans() {
+        return orphans;
+    }
+
+    /**
+     * Appends the root beans and the indexed keys of the constructor of the next chunk.
+     * Keys of the chunk replace the ones of the previous chunks, as they were read after.
+     *
+     * @param chunkConstructor The constructor of the next chunk, in file order
+     */
+    public void merge(CsvTreeConstructor chunkConstructor) throws CsvException {
+        beans.addAll(chunkConstructor.beans);
+        chunkConstructor.keyIndex.forEach(keyIndex::put);
+        if(orphanBuffer != null && orphanBuffer.hasPendingOrphans()) {
+            Map<CsvBeanKey, Object> awaitedParents = new LinkedHashMap<>();
+            chunkConstructor.keyIndex.forEach((key, bean) -> {
+                if(orphanBuffer.isPending(key)) {
+                    awaitedParents.put(key, bean);
+                }
+            });
+            for(Map.Entry<CsvBeanKey, Object> awaitedParent: awaitedParents.entrySet()) {
+                adoptPendingOrphans(awaitedParent.getKey(), awaitedParent.getValue());
             }
         }
-        return code.toString();
     }
 
     public List<Object> getBeans() {
         return beans;
     }
+
+    /**
+     * @return The number of keys indexed to find the parents of the next lines
+     */
+    public int getIndexedKeyCount() {
+        return keyIndex.size();
+    }
+
+    private CsvBeanKey calculateBeanKey(Object bean) {
+        return HCSVUtils.calculateBeanKey(bean, beanPropertiesFactory.getClassProperties(bean.getClass().getName()));
+    }
+
+    /**
+     * A bean whose parent was not found when it was read
+     */
+    public static final class Orphan {
+
+        private final long lineNumber;
+
+        private final String[] line;
+
+        private final Object bean;
+
+        /**
+         * Bean of the chunk with the same key, read before the orphan, {@literal null} if none
+         */
+        private final Object shadowedBean;
+
+        private Orphan(long lineNumber, String[] line, Object bean) {
+            this(lineNumber, line, bean, null);
+        }
+
+        private Orphan(long lineNumber, String[] line, Object bean, Object shadowedBean) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.bean = bean;
+            this.shadowedBean = shadowedBean;
+        }
+
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String[] getLine() {
+            return line;
+        }
+
+        public Object getBean() {
+            return bean;
+        }
+    }
 }
@@ -0,0 +1,279 @@
+package io.github.hierarchicalcsv.core.bean;
+
+import io.github.hierarchicalcsv.core.exception.KeyIndexFullException;
+import io.github.hierarchicalcsv.core.model.CsvBeanKey;
+import io.github.hierarchicalcsv.core.model.CsvKeyIndex;
+import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
+import io.github.hierarchicalcsv.core.util.HCSVUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.ResourceBundle;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * {@link CsvKeyIndex} keeping a 64-bit fingerprint of each key off-heap, in an open-addressing
+ * table of direct buffers, instead of the key itself. A bean found with the fingerprint of a key
+ * is only returned if its own key, computed again, is equal: a fingerprint collision costs one
+ * more comparison but never links a wrong parent.
+ * <p>
+ * An entry takes 12 bytes off-heap and a reference to its bean on heap, instead of a map entry,
+ * a key and its parts. The beans themselves stay on heap, as they are linked to their children.
+ * The off-heap memory is bounded by {@code -XX:MaxDirectMemorySize} and released with the index.
+ * A table which cannot grow beyond {@code 2^30} entries throws a {@link KeyIndexFullException}.
+ */
+public class FingerprintCsvKeyIndex implements CsvKeyIndex {
+
+    private static final int ENTRY_BYTES = 12;
+
+    private static final int SEGMENT_SHIFT = 20;
+
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private static final int MIN_CAPACITY = 1 << 10;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final Function<Object, CsvBeanKey> beanKeyFunction;
+
+    /**
+     * Table entries: the fingerprint of the key ({@literal 0} for an empty entry) and the
+     * slot of the bean in {@code beans}, split in segments of {@code 2^SEGMENT_SHIFT} entries
+     */
+    private ByteBuffer[] segments;
+
+    private int capacity;
+
+    private int mask;
+
+    private int size;
+
+    /**
+     * Indexed beans, by slot
+     */
+    private Object[] beans;
+
+    /**
+     * Number of slots used so far in {@code beans}
+     */
+    private int usedSlots;
+
+    /**
+     * Slots of the removed beans, reused first
+     */
+    private int[] freeSlots;
+
+    private int freeSlotCount;
+
+    /**
+     * @param beanKeyFunction Computes the key of an indexed bean
+     */
+    public FingerprintCsvKeyIndex(Function<Object, CsvBeanKey> beanKeyFunction) {
+        this(beanKeyFunction, 0);
+    }
+
+    /**
+     * @param beanKeyFunction Computes the key of an indexed bean
+     * @param expectedKeys The number of keys expected, to size the table once
+     */
+    public FingerprintCsvKeyIndex(Function<Object, CsvBeanKey> beanKeyFunction, int expectedKeys) {
+        this.beanKeyFunction = beanKeyFunction;
+        int initialCapacity = MIN_CAPACITY;
+        while (initialCapacity < MAX_CAPACITY && initialCapacity / 4L * 3 < expectedKeys) {
+            initialCapacity <<= 1;
+        }
+        this.segments = allocate(initialCapacity);
+        this.capacity = initialCapacity;
+        this.mask = initialCapacity - 1;
+        this.beans = new Object[Math.max(16, expectedKeys)];
+        this.freeSlots = new int[16];
+    }
+
+    @Override
+    public Object get(CsvBeanKey key) {
+        int position = find(key, fingerprint(key));
+        return position >= 0? beans[slotAt(segments, position)]: null;
+    }
+
+    @Override
+    public void put(CsvBeanKey key, Object bean) {
+        long fingerprint = fingerprint(key);
+        int position = find(key, fingerprint);
+        if (position >= 0) {
+            beans[slotAt(segments, position)] = bean;
+            return;
+        }
+        if (size >= capacity / 4 * 3) {
+            grow();
+            position = -(emptyPosition(segments, mask, fingerprint) + 1);
+        }
+        write(segments, -(position + 1), fingerprint, allocateSlot(bean));
+        size++;
+    }
+
+    @Override
+    public void remove(CsvBeanKey key) {
+        int position = find(key, fingerprint(key));
+        if (position < 0) {
+            return;
+        }
+        releaseSlot(slotAt(segments, position));
+        size--;
+        // Backward shift: moves up the next entries of the probe sequence that can take the freed entry
+        int free = position;
+        int next = position;
+        while (true) {
+            next = (next + 1) & mask;
+            long fingerprint = fingerprintAt(segments, next);
+            if (fingerprint == 0) {
+                break;
+            }
+            int home = home(fingerprint, mask);
+            boolean movable = next > free? home <= free || home > next: home <= free && home > next;
+            if (movable) {
+                write(segments, free, fingerprint, slotAt(segments, next));
+                free = next;
+            }
+        }
+        write(segments, free, 0, 0);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void forEach(BiConsumer<CsvBeanKey, Object> action) {
+        for (int position = 0; position < capacity; position++) {
+            if (fingerprintAt(segments, position) != 0) {
+                Object bean = beans[slotAt(segments, position)];
+                action.accept(beanKeyFunction.apply(bean), bean);
+            }
+        }
+    }
+
+    /**
+     * @return The position of the key, or {@code -(empty position + 1)} if not indexed
+     */
+    private int find(CsvBeanKey key, long fingerprint) {
+        int position = home(fingerprint, mask);
+        while (true) {
+            long entryFingerprint = fingerprintAt(segments, position);
+            if (entryFingerprint == 0) {
+                return -(position + 1);
+            }
+            if (entryFingerprint == fingerprint
+                    && key.equals(beanKeyFunction.apply(beans[slotAt(segments, position)]))) {
+                return position;
+            }
+            position = (position + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        if (capacity == MAX_CAPACITY) {
+            throw new KeyIndexFullException(MessageFormat.format(
+                    ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME)
+                            .getString(HCSVErrorMessageUtils.KEY_INDEX_FULL), size));
+        }
+        ByteBuffer[] oldSegments = segments;
+        int oldCapacity = capacity;
+        capacity = oldCapacity << 1;
+        mask = capacity - 1;
+        segments = allocate(capacity);
+        for (int position = 0; position < oldCapacity; position++) {
+            long fingerprint = fingerprintAt(oldSegments, position);
+            if (fingerprint != 0) {
+                write(segments, emptyPosition(segments, mask, fingerprint), fingerprint, slotAt(oldSegments, position));
+            }
+        }
+    }
+
+    private int allocateSlot(Object bean) {
+        int slot;
+        if (freeSlotCount > 0) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            if (usedSlots == beans.length) {
+                beans = Arrays.copyOf(beans, (int) Math.min(Integer.MAX_VALUE - 8, beans.length * 2L));
+            }
+            slot = usedSlots++;
+        }
+        beans[slot] = bean;
+        return slot;
+    }
+
+    private void releaseSlot(int slot) {
+        beans[slot] = null;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    private static ByteBuffer[] allocate(int capacity) {
+        int segmentEntries = Math.min(capacity, SEGMENT_MASK + 1);
+        ByteBuffer[] segments = new ByteBuffer[capacity / segmentEntries];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentEntries * ENTRY_BYTES).order(ByteOrder.nativeOrder());
+        }
+        return segments;
+    }
+
+    private static int emptyPosition(ByteBuffer[] segments, int mask, long fingerprint) {
+        int position = home(fingerprint, mask);
+        while (fingerprintAt(segments, position) != 0) {
+            position = (position + 1) & mask;
+        }
+        return position;
+    }
+
+    private static long fingerprintAt(ByteBuffer[] segments, int position) {
+        return segments[position >>> SEGMENT_SHIFT].getLong((position & SEGMENT_MASK) * ENTRY_BYTES);
+    }
+
+    private static int slotAt(ByteBuffer[] segments, int position) {
+        return segments[position >>> SEGMENT_SHIFT].getInt((position & SEGMENT_MASK) * ENTRY_BYTES + Long.BYTES);
+    }
+
+    private static void write(ByteBuffer[] segments, int position, long fingerprint, int slot) {
+        ByteBuffer segment = segments[position >>> SEGMENT_SHIFT];
+        int offset = (position & SEGMENT_MASK) * ENTRY_BYTES;
+        segment.putLong(offset, fingerprint);
+        segment.putInt(offset + Long.BYTES, slot);
+    }
+
+    private static int home(long fingerprint, int mask) {
+        return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+
+    /**
+     * @return A 64-bit hash of the key, never {@literal 0}
+     */
+    static long fingerprint(CsvBeanKey key) {
+        long hash = key.getTypeId() * MULTIPLIER;
+        for (int i = 0; i < key.size(); i++) {
+            hash = (Long.rotateLeft(hash, 27) ^ partHash(key.getPart(i))) * MULTIPLIER;
+        }
+        hash ^= hash >>> 31;
+        return hash != 0? hash: 1;
+    }
+
+    private static long partHash(Object part) {
+        if (part instanceof String) {
+            String value = (String) part;
+            long hash = 0xCBF29CE484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+            }
+            return hash;
+        }
+        return part != null? part.hashCode(): 0;
+    }
+}
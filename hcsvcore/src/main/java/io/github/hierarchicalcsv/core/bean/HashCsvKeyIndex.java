@@ -0,0 +1,45 @@
+package io.github.hierarchicalcsv.core.bean;
+
+import io.github.hierarchicalcsv.core.model.CsvBeanKey;
+import io.github.hierarchicalcsv.core.model.CsvKeyIndex;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Default {@link CsvKeyIndex}, backed by a {@link HashMap}
+ */
+public class HashCsvKeyIndex implements CsvKeyIndex {
+
+    private final Map<CsvBeanKey, Object> keyMap;
+
+    public HashCsvKeyIndex() {
+        this.keyMap = new HashMap<>();
+    }
+
+    @Override
+    public Object get(CsvBeanKey key) {
+        return keyMap.get(key);
+    }
+
+    @Override
+    public void put(CsvBeanKey key, Object bean) {
+        keyMap.put(key, bean);
+    }
+
+    @Override
+    public void remove(CsvBeanKey key) {
+        keyMap.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return keyMap.size();
+    }
+
+    @Override
+    public void forEach(BiConsumer<CsvBeanKey, Object> action) {
+        keyMap.forEach(action);
+    }
+}
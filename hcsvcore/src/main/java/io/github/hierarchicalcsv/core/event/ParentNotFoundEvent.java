@@ -0,0 +1,63 @@
+package io.github.hierarchicalcsv.core.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of a burst of
+ * {@link io.github.hierarchicalcsv.core.exception.csv.ParentBeanNotFoundException}: consecutive
+ * beans of the same type whose parent is not found, until a bean is linked or a bean of another
+ * type is not found
+ */
+@Name("io.github.hierarchicalcsv.ParentNotFound")
+@Label("HCSV Parent Not Found")
+@Description("Consecutive beans of a type whose parent is not found")
+@Category("Hierarchical CSV")
+@Enabled(false)
+@StackTrace(false)
+public class ParentNotFoundEvent extends jdk.jfr.Event {
+
+    @Label("Bean Code")
+    private String beanCode;
+
+    @Label("First Line Number")
+    private long firstLineNumber;
+
+    @Label("Last Line Number")
+    private long lastLineNumber;
+
+    @Label("Lines")
+    private int lines;
+
+    /**
+     * Creates an event for a burst of beans whose parent is not found, filled by the tree constructor
+     */
+    public ParentNotFoundEvent() {
+    }
+
+    public String getBeanCode() {
+        return beanCode;
+    }
+
+    public void setBeanCode(String beanCode) {
+        this.beanCode = beanCode;
+    }
+
+    public void setFirstLineNumber(long firstLineNumber) {
+        this.firstLineNumber = firstLineNumber;
+    }
+
+    /**
+     * Adds a line to the burst
+     *
+     * @param lineNumber The line number
+     */
+    public void addLine(long lineNumber) {
+        this.lastLineNumber = lineNumber;
+        this.lines++;
+    }
+}
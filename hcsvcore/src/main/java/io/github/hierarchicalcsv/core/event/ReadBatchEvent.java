@@ -0,0 +1,91 @@
+package io.github.hierarchicalcsv.core.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of a batch of lines: every batch of the pipeline read, a batch of
+ * {@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withBatchSize(int)} lines for the
+ * sequential read, and every chunk of the parallel read.
+ * <p>
+ * The time spent in each stage is summed over the lines of the batch. A chunk of the parallel
+ * read is tokenized, bound and linked by the same worker, so only the whole chunk is timed, and
+ * the linking duration is the one of its merge.
+ */
+@Name("io.github.hierarchicalcsv.ReadBatch")
+@Label("HCSV Read Batch")
+@Description("Lines tokenized, bound to beans and linked to their parents")
+@Category("Hierarchical CSV")
+@Enabled(false)
+@StackTrace(false)
+public class ReadBatchEvent extends jdk.jfr.Event {
+
+    public static final String SEQUENTIAL = "sequential";
+
+    public static final String PIPELINE = "pipeline";
+
+    public static final String PARALLEL = "parallel";
+
+    @Label("Mode")
+    private String mode;
+
+    @Label("First Line Number")
+    private long firstLineNumber;
+
+    @Label("Last Line Number")
+    private long lastLineNumber;
+
+    @Label("Lines")
+    private int lines;
+
+    @Label("Tokenizing")
+    @Timespan(Timespan.NANOSECONDS)
+    private long tokenizing;
+
+    @Label("Binding")
+    @Timespan(Timespan.NANOSECONDS)
+    private long binding;
+
+    @Label("Linking")
+    @Timespan(Timespan.NANOSECONDS)
+    private long linking;
+
+    /**
+     * Creates an event for a batch of lines, whose mode and stages are set by the reader
+     */
+    public ReadBatchEvent() {
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public void setFirstLineNumber(long firstLineNumber) {
+        this.firstLineNumber = firstLineNumber;
+    }
+
+    public void setLastLineNumber(long lastLineNumber) {
+        this.lastLineNumber = lastLineNumber;
+    }
+
+    public void setLines(int lines) {
+        this.lines = lines;
+    }
+
+    public void addTokenizing(long nanos) {
+        this.tokenizing += nanos;
+    }
+
+    public void addBinding(long nanos) {
+        this.binding += nanos;
+    }
+
+    public void addLinking(long nanos) {
+        this.linking += nanos;
+    }
+}
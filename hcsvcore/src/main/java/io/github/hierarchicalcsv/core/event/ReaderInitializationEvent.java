@@ -0,0 +1,51 @@
+package io.github.hierarchicalcsv.core.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of the initialization of an {@link io.github.hierarchicalcsv.core.HCSVReader},
+ * from the build of the reader to the opening of its input
+ */
+@Name("io.github.hierarchicalcsv.ReaderInitialization")
+@Label("HCSV Reader Initialization")
+@Description("Initialization of a reader, including the compilation of its schema")
+@Category("Hierarchical CSV")
+@Enabled(false)
+@StackTrace(false)
+public class ReaderInitializationEvent extends jdk.jfr.Event {
+
+    @Label("Bean Types")
+    private int beanTypes;
+
+    @Label("Shared Schema")
+    @Description("Whether the reader uses a schema compiled beforehand")
+    private boolean sharedSchema;
+
+    @Label("Schema Compilation")
+    @Timespan(Timespan.NANOSECONDS)
+    private long schemaCompilation;
+
+    /**
+     * Creates the event timing the initialization of a reader
+     */
+    public ReaderInitializationEvent() {
+    }
+
+    public void setBeanTypes(int beanTypes) {
+        this.beanTypes = beanTypes;
+    }
+
+    public void setSharedSchema(boolean sharedSchema) {
+        this.sharedSchema = sharedSchema;
+    }
+
+    public void setSchemaCompilation(long schemaCompilation) {
+        this.schemaCompilation = schemaCompilation;
+    }
+}
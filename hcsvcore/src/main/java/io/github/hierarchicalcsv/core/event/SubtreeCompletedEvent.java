@@ -0,0 +1,57 @@
+package io.github.hierarchicalcsv.core.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the subtree of a root bean, from the reading of the root to its
+ * completion, when streaming with {@link io.github.hierarchicalcsv.core.HCSVReader#iterator()}
+ */
+@Name("io.github.hierarchicalcsv.SubtreeCompleted")
+@Label("HCSV Subtree Completed")
+@Description("Root bean read with all its descendants")
+@Category("Hierarchical CSV")
+@Enabled(false)
+@StackTrace(false)
+public class SubtreeCompletedEvent extends jdk.jfr.Event {
+
+    @Label("Root Code")
+    private String rootCode;
+
+    @Label("First Line Number")
+    private long firstLineNumber;
+
+    @Label("Last Line Number")
+    private long lastLineNumber;
+
+    @Label("Beans")
+    private int beans;
+
+    /**
+     * Creates an event for the subtree of a root bean, filled while the subtree is read
+     */
+    public SubtreeCompletedEvent() {
+    }
+
+    public void setRootCode(String rootCode) {
+        this.rootCode = rootCode;
+    }
+
+    public void setFirstLineNumber(long firstLineNumber) {
+        this.firstLineNumber = firstLineNumber;
+    }
+
+    /**
+     * Adds a bean to the subtree
+     *
+     * @param lineNumber The line number of the bean
+     */
+    public void addBean(long lineNumber) {
+        this.lastLineNumber = lineNumber;
+        this.beans++;
+    }
+}
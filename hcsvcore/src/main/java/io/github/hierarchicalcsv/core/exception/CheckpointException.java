@@ -0,0 +1,8 @@
+package io.github.hierarchicalcsv.core.exception;
+
+public class CheckpointException extends HCSVException {
+
+    public CheckpointException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.hierarchicalcsv.core.exception;
+
+public class GeneratedClassNotUsableException extends HCSVException {
+
+    public GeneratedClassNotUsableException(String message) {
+        super(message);
+    }
+
+    public GeneratedClassNotUsableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
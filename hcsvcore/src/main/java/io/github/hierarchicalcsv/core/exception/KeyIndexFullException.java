@@ -0,0 +1,8 @@
+package io.github.hierarchicalcsv.core.exception;
+
+public class KeyIndexFullException extends HCSVException {
+
+    public KeyIndexFullException(String message) {
+        super(message);
+    }
+}
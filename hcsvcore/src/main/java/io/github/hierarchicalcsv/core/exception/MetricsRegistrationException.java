@@ -0,0 +1,8 @@
+package io.github.hierarchicalcsv.core.exception;
+
+public class MetricsRegistrationException extends HCSVException {
+
+    public MetricsRegistrationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.hierarchicalcsv.core.exception;
+
+public class OrphanSpillException extends HCSVException {
+
+    public OrphanSpillException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
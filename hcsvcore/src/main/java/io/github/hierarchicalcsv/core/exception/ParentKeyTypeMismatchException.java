@@ -0,0 +1,8 @@
+package io.github.hierarchicalcsv.core.exception;
+
+public class ParentKeyTypeMismatchException extends HCSVException {
+
+    public ParentKeyTypeMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package io.github.hierarchicalcsv.core.exception;
+
+public class RootIndexException extends HCSVException {
+
+    public RootIndexException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
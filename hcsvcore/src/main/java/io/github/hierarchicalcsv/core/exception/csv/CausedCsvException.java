@@ -1,19 +1,23 @@
 package io.github.hierarchicalcsv.core.exception.csv;
 
-import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
 
-public class CausedCsvException extends CsvException {
+import java.util.ResourceBundle;
+
+public class CausedCsvException extends LocalizedCsvException {
 
     public CausedCsvException(long lineNumber, String[] line, Throwable cause) {
+        super(lineNumber, line, null);
         super.initCause(cause);
-        super.setLineNumber(lineNumber);
-        super.setLine(line);
     }
 
     public CausedCsvException(long lineNumber, String[] line, String message, Throwable cause) {
-        super(message);
-        super.setLineNumber(lineNumber);
-        super.setLine(line);
+        super(lineNumber, line, message);
+        super.initCause(cause);
+    }
+
+    public CausedCsvException(long lineNumber, String[] line, ResourceBundle resourceBundle, boolean stackTrace, Throwable cause) {
+        super(lineNumber, line, resourceBundle, HCSVErrorMessageUtils.CAUSED_CSV, stackTrace, cause.getMessage());
         super.initCause(cause);
     }
 }
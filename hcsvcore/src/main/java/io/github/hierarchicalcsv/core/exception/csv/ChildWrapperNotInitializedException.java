@@ -1,12 +1,18 @@
 package io.github.hierarchicalcsv.core.exception.csv;
 
-import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
 
-public class ChildWrapperNotInitializedException extends CsvException {
+import java.util.ResourceBundle;
+
+public class ChildWrapperNotInitializedException extends LocalizedCsvException {
 
     public ChildWrapperNotInitializedException(long lineNumber, String[] line, String message) {
-        super(message);
-        super.setLine(line);
-        super.setLineNumber(lineNumber);
+        super(lineNumber, line, message);
+    }
+
+    public ChildWrapperNotInitializedException(long lineNumber, String[] line, ResourceBundle resourceBundle, boolean stackTrace,
+                                               String fieldName, String parentClassName) {
+        super(lineNumber, line, resourceBundle, HCSVErrorMessageUtils.CHILD_WRAPPER_NOT_INITIALIZED, stackTrace,
+                fieldName, parentClassName);
     }
 }
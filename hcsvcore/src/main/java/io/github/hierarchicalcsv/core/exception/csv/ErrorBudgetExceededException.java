@@ -0,0 +1,15 @@
+package io.github.hierarchicalcsv.core.exception.csv;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
+
+import java.util.ResourceBundle;
+
+public class ErrorBudgetExceededException extends LocalizedCsvException {
+
+    public ErrorBudgetExceededException(ResourceBundle resourceBundle, long errorCount, CsvException lastError) {
+        super(lastError.getLineNumber(), lastError.getLine(), resourceBundle, HCSVErrorMessageUtils.ERROR_BUDGET_EXCEEDED,
+                true, errorCount, lastError.getLineNumber());
+        super.initCause(lastError);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.hierarchicalcsv.core.exception.csv;
+
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.text.MessageFormat;
+import java.util.ResourceBundle;
+
+/**
+ * A {@link CsvException} raised by a line, whose localized message is only formatted
+ * when {@link #getMessage()} is first called. An exception handler that counts or
+ * discards the exceptions of a dirty file then costs no message formatting.
+ * <p>
+ * The stack trace can also be left empty, as it only shows the reader internals:
+ * the line and its number identify the error.
+ */
+public abstract class LocalizedCsvException extends CsvException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ResourceBundle resourceBundle;
+
+    private final String messageKey;
+
+    private final transient Object[] messageArguments;
+
+    /**
+     * Whether {@link #fillInStackTrace()} captures the stack. Only set once the
+     * constructor of {@link Throwable} has run, so that the stack is captured at most once
+     */
+    private boolean stackTraceCaptured;
+
+    /**
+     * The formatted message, {@literal null} until first requested
+     */
+    private String message;
+
+    protected LocalizedCsvException(long lineNumber, String[] line, String message) {
+        super(message);
+        this.resourceBundle = null;
+        this.messageKey = null;
+        this.messageArguments = null;
+        this.message = message;
+        this.stackTraceCaptured = true;
+        fillInStackTrace();
+        setLine(line);
+        setLineNumber(lineNumber);
+    }
+
+    /**
+     * @param lineNumber The line number
+     * @param line The line
+     * @param resourceBundle The bundle of the message
+     * @param messageKey The key of the message in the bundle
+     * @param stackTrace Whether to capture the stack trace
+     * @param messageArguments The arguments of the message
+     */
+    protected LocalizedCsvException(long lineNumber, String[] line, ResourceBundle resourceBundle, String messageKey,
+                                    boolean stackTrace, Object... messageArguments) {
+        this.resourceBundle = resourceBundle;
+        this.messageKey = messageKey;
+        this.messageArguments = messageArguments;
+        if (stackTrace) {
+            this.stackTraceCaptured = true;
+            fillInStackTrace();
+        }
+        setLine(line);
+        setLineNumber(lineNumber);
+    }
+
+    /**
+     * @return The key of the message in the error bundle, {@literal null} if the message was given
+     */
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null && resourceBundle != null) {
+            message = MessageFormat.format(resourceBundle.getString(messageKey), messageArguments);
+        }
+        return message;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return stackTraceCaptured? super.fillInStackTrace(): this;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
+    }
+}
@@ -1,13 +1,18 @@
 package io.github.hierarchicalcsv.core.exception.csv;
 
-import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
 
-public class ParentBeanNotFoundException extends CsvException {
+import java.util.ResourceBundle;
+
+public class ParentBeanNotFoundException extends LocalizedCsvException {
 
     public ParentBeanNotFoundException(long lineNumber, String[] line, String message) {
-        super(message);
-        super.setLine(line);
-        super.setLineNumber(lineNumber);
+        super(lineNumber, line, message);
+    }
+
+    public ParentBeanNotFoundException(long lineNumber, String[] line, ResourceBundle resourceBundle, boolean stackTrace,
+                                       String beanClassName, Object beanKey) {
+        super(lineNumber, line, resourceBundle, HCSVErrorMessageUtils.PARENT_BEAN_NOT_FOUND, stackTrace, beanClassName, beanKey);
     }
 
 }
@@ -1,12 +1,16 @@
 package io.github.hierarchicalcsv.core.exception.csv;
 
-import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
 
-public class UnknownBeanTypeException extends CsvException {
+import java.util.ResourceBundle;
+
+public class UnknownBeanTypeException extends LocalizedCsvException {
 
     public UnknownBeanTypeException(long lineNumber, String[] line, String message) {
-        super(message);
-        super.setLine(line);
-        super.setLineNumber(lineNumber);
+        super(lineNumber, line, message);
+    }
+
+    public UnknownBeanTypeException(long lineNumber, String[] line, ResourceBundle resourceBundle, boolean stackTrace) {
+        super(lineNumber, line, resourceBundle, HCSVErrorMessageUtils.UNKNOWN_BEAN_TYPE, stackTrace, lineNumber);
     }
 }
@@ -0,0 +1,92 @@
+package io.github.hierarchicalcsv.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of the lines of one bean type, identified by its code
+ */
+public class CsvBeanTypeMetrics {
+
+    private final String code;
+
+    private final String beanClassName;
+
+    private final LongAdder boundBeans;
+
+    private final LongAdder filteredBeans;
+
+    private final LongAdder failedLines;
+
+    private final LongAdder bindingNanos;
+
+    private final CsvLatencyHistogram bindingLatency;
+
+    CsvBeanTypeMetrics(String code, String beanClassName) {
+        this.code = code;
+        this.beanClassName = beanClassName;
+        this.boundBeans = new LongAdder();
+        this.filteredBeans = new LongAdder();
+        this.failedLines = new LongAdder();
+        this.bindingNanos = new LongAdder();
+        this.bindingLatency = new CsvLatencyHistogram();
+    }
+
+    /**
+     * Records the binding of a line of the type
+     *
+     * @param nanos The time spent binding the line
+     * @param bean The bean of the line, {@literal null} if filtered or failed
+     * @param failed Whether the binding raised an exception
+     */
+    public void recordBinding(long nanos, Object bean, boolean failed) {
+        if (failed) {
+            failedLines.increment();
+        } else if (bean == null) {
+            filteredBeans.increment();
+        } else {
+            boundBeans.increment();
+        }
+        bindingNanos.add(nanos);
+        bindingLatency.record(nanos);
+    }
+
+    /**
+     * @return The code of the bean type, as set in {@link io.github.hierarchicalcsv.core.annotation.HCSVBean}
+     */
+    public String getCode() {
+        return code;
+    }
+
+    public String getBeanClassName() {
+        return beanClassName;
+    }
+
+    /**
+     * @return The number of lines bound to a bean
+     */
+    public long getBoundBeans() {
+        return boundBeans.sum();
+    }
+
+    /**
+     * @return The number of lines dropped by a filter or a verifier
+     */
+    public long getFilteredBeans() {
+        return filteredBeans.sum();
+    }
+
+    /**
+     * @return The number of lines whose binding raised an exception
+     */
+    public long getFailedLines() {
+        return failedLines.sum();
+    }
+
+    public long getBindingNanos() {
+        return bindingNanos.sum();
+    }
+
+    public CsvLatencyHistogram getBindingLatency() {
+        return bindingLatency;
+    }
+}
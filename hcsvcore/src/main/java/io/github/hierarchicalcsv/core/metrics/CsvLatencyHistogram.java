@@ -0,0 +1,80 @@
+package io.github.hierarchicalcsv.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations in nanoseconds, with one bucket per power of two: a duration is
+ * recorded with a few atomic increments and percentiles are precise within a factor of two.
+ * Safe to record from several threads.
+ */
+public class CsvLatencyHistogram {
+
+    private static final int BUCKETS = 64;
+
+    /**
+     * Bucket {@code i} counts the durations in {@code [2^i, 2^(i+1))}, the first one also 0
+     */
+    private final AtomicLongArray buckets;
+
+    private final AtomicLong count;
+
+    private final AtomicLong max;
+
+    public CsvLatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * @param nanos The duration
+     */
+    public void record(long nanos) {
+        buckets.incrementAndGet(63 - Long.numberOfLeadingZeros(Math.max(nanos, 1)));
+        count.incrementAndGet();
+        if (nanos > max.get()) {
+            max.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @param percentile The percentile, between 0 and 100
+     * @return The upper bound of the bucket holding the percentile, at most the maximum,
+     *      {@literal 0} if nothing is recorded
+     */
+    public long getPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long cumulated = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            cumulated += buckets.get(i);
+            if (cumulated >= rank) {
+                return Math.min((1L << (i + 1)) - 1, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * @return The counts of the buckets, bucket {@code i} counting durations in {@code [2^i, 2^(i+1))}
+     */
+    public long[] getBuckets() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+        }
+        return snapshot;
+    }
+}
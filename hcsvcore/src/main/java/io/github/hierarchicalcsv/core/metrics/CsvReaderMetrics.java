@@ -0,0 +1,192 @@
+package io.github.hierarchicalcsv.core.metrics;
+
+import io.github.hierarchicalcsv.core.bean.CsvBeanPropertiesFactory;
+import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Metrics of an {@link io.github.hierarchicalcsv.core.HCSVReader}, enabled with
+ * {@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withMetrics(boolean)} and read
+ * with {@link io.github.hierarchicalcsv.core.HCSVReader#getMetrics()} or through JMX.
+ * <p>
+ * Lines and bean types are counted in every reading mode. The time spent tokenizing lines is
+ * measured by the sequential read, and the time spent linking beans by the sequential and the
+ * pipeline reads. Values can be read from any thread while the file is read.
+ */
+public class CsvReaderMetrics implements CsvReaderMetricsMXBean {
+
+    private final LongAdder linesRead;
+
+    private final LongAdder unknownLines;
+
+    private final LongAdder tokenizingNanos;
+
+    private final LongAdder linkingNanos;
+
+    /**
+     * Metrics of each bean type, indexed by {@link CsvCodeProperties#getTypeId()}
+     */
+    private final CsvBeanTypeMetrics[] beanTypeMetrics;
+
+    private volatile IntSupplier indexedKeyCount;
+
+    /**
+     * @param beanPropertiesFactory The bean types of the reader
+     */
+    public CsvReaderMetrics(CsvBeanPropertiesFactory beanPropertiesFactory) {
+        this.linesRead = new LongAdder();
+        this.unknownLines = new LongAdder();
+        this.tokenizingNanos = new LongAdder();
+        this.linkingNanos = new LongAdder();
+        this.beanTypeMetrics = beanPropertiesFactory.getPositionToCodeMap().values().stream()
+                .flatMap(List::stream)
+                .sorted((first, second) -> Integer.compare(first.getTypeId(), second.getTypeId()))
+                .map(properties -> new CsvBeanTypeMetrics(properties.getCodeValue(),
+                        properties.getBeanType().getType().getName()))
+                .toArray(CsvBeanTypeMetrics[]::new);
+        this.indexedKeyCount = () -> 0;
+    }
+
+    /**
+     * @param indexedKeyCount Gives the number of keys indexed by the reader
+     */
+    public void setIndexedKeyCount(IntSupplier indexedKeyCount) {
+        this.indexedKeyCount = indexedKeyCount;
+    }
+
+    /**
+     * Records a non-empty line handed to the binding
+     */
+    public void recordLine() {
+        linesRead.increment();
+    }
+
+    public void recordUnknownLine() {
+        unknownLines.increment();
+    }
+
+    public void recordTokenizing(long nanos) {
+        tokenizingNanos.add(nanos);
+    }
+
+    public void recordLinking(long nanos) {
+        linkingNanos.add(nanos);
+    }
+
+    /**
+     * @param codeProperties The bean type
+     * @return The metrics of the bean type
+     */
+    public CsvBeanTypeMetrics getBeanTypeMetrics(CsvCodeProperties codeProperties) {
+        return beanTypeMetrics[codeProperties.getTypeId()];
+    }
+
+    /**
+     * @param code The code of a bean type
+     * @return The metrics of the bean type, or {@literal null} if the code is unknown
+     */
+    public CsvBeanTypeMetrics getBeanTypeMetrics(String code) {
+        for (CsvBeanTypeMetrics metrics : beanTypeMetrics) {
+            if (metrics.getCode().equals(code)) {
+                return metrics;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The metrics of all the bean types
+     */
+    public List<CsvBeanTypeMetrics> getBeanTypeMetrics() {
+        return Collections.unmodifiableList(Arrays.asList(beanTypeMetrics));
+    }
+
+    /**
+     * @return The number of non-empty lines handed to the binding
+     */
+    @Override
+    public long getLinesRead() {
+        return linesRead.sum();
+    }
+
+    @Override
+    public long getUnknownLines() {
+        return unknownLines.sum();
+    }
+
+    @Override
+    public long getTokenizingNanos() {
+        return tokenizingNanos.sum();
+    }
+
+    /**
+     * @return The time spent binding the lines of known bean types, on all threads
+     */
+    @Override
+    public long getBindingNanos() {
+        long bindingNanos = 0;
+        for (CsvBeanTypeMetrics metrics : beanTypeMetrics) {
+            bindingNanos += metrics.getBindingNanos();
+        }
+        return bindingNanos;
+    }
+
+    @Override
+    public long getLinkingNanos() {
+        return linkingNanos.sum();
+    }
+
+    /**
+     * @return The number of keys currently indexed to find the parents of the next lines
+     */
+    @Override
+    public long getIndexedKeys() {
+        return indexedKeyCount.getAsInt();
+    }
+
+    @Override
+    public Map<String, Long> getBoundBeans() {
+        return byCode(CsvBeanTypeMetrics::getBoundBeans);
+    }
+
+    @Override
+    public Map<String, Long> getFilteredBeans() {
+        return byCode(CsvBeanTypeMetrics::getFilteredBeans);
+    }
+
+    @Override
+    public Map<String, Long> getFailedLines() {
+        return byCode(CsvBeanTypeMetrics::getFailedLines);
+    }
+
+    @Override
+    public Map<String, Long> getBindingLatencyP50Nanos() {
+        return byCode(metrics -> metrics.getBindingLatency().getPercentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getBindingLatencyP99Nanos() {
+        return byCode(metrics -> metrics.getBindingLatency().getPercentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getBindingLatencyMaxNanos() {
+        return byCode(metrics -> metrics.getBindingLatency().getMax());
+    }
+
+    private Map<String, Long> byCode(ToLongFunction<CsvBeanTypeMetrics> value) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (CsvBeanTypeMetrics metrics : beanTypeMetrics) {
+            values.put(metrics.getCode(), value.applyAsLong(metrics));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.hierarchicalcsv.core.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link CsvReaderMetrics}. The maps are keyed by bean type code.
+ */
+public interface CsvReaderMetricsMXBean {
+
+    long getLinesRead();
+
+    long getUnknownLines();
+
+    long getTokenizingNanos();
+
+    long getBindingNanos();
+
+    long getLinkingNanos();
+
+    long getIndexedKeys();
+
+    Map<String, Long> getBoundBeans();
+
+    Map<String, Long> getFilteredBeans();
+
+    Map<String, Long> getFailedLines();
+
+    Map<String, Long> getBindingLatencyP50Nanos();
+
+    Map<String, Long> getBindingLatencyP99Nanos();
+
+    Map<String, Long> getBindingLatencyMaxNanos();
+}
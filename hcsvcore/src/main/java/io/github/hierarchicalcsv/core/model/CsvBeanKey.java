@@ -0,0 +1,74 @@
+package io.github.hierarchicalcsv.core.model;
+
+import java.util.Arrays;
+
+/**
+ * Key of a bean inside the tree. It is composed of the type id of the bean
+ * ({@link CsvCodeProperties#getTypeId()}) and the raw key parts: the parent
+ * key parts ordered by {@link io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart#order()}
+ * followed by the value of the {@link io.github.hierarchicalcsv.core.annotation.CsvKey}
+ * field. The hash is computed once, and equality compares the parts without
+ * building any intermediate {@link String}.
+ */
+public final class CsvBeanKey {
+
+    private final int typeId;
+
+    private final Object[] parts;
+
+    private final int hash;
+
+    public CsvBeanKey(int typeId, Object[] parts) {
+        this.typeId = typeId;
+        this.parts = parts;
+        this.hash = 31 * typeId + Arrays.hashCode(parts);
+    }
+
+    public int getTypeId() {
+        return typeId;
+    }
+
+    /**
+     * @return The number of key parts
+     */
+    public int size() {
+        return parts.length;
+    }
+
+    /**
+     * @param index The part index
+     * @return The raw key part at the given index
+     */
+    public Object getPart(int index) {
+        return parts[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CsvBeanKey)) {
+            return false;
+        }
+        CsvBeanKey other = (CsvBeanKey) o;
+        return hash == other.hash && typeId == other.typeId && Arrays.equals(parts, other.parts);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Object part : parts) {
+            if (builder.length() > 0) {
+                builder.append('.');
+            }
+            builder.append(part);
+        }
+        return builder.toString();
+    }
+}
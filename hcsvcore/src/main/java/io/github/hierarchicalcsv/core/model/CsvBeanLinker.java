@@ -0,0 +1,26 @@
+package io.github.hierarchicalcsv.core.model;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Accessors of the fields used to link a bean in the tree (its key, its parent key
+ * parts and its children), generated at compile time by the {@code hcsv-processor}
+ * annotation processor. They are used instead of the accessors built by
+ * {@link io.github.hierarchicalcsv.core.util.HCSVAccessorUtils}.
+ */
+public interface CsvBeanLinker {
+
+    /**
+     * @param fieldName The name of a field declared by the bean
+     * @return The getter of the field, or {@literal null} if none is generated
+     */
+    Function<Object, Object> getter(String fieldName);
+
+    /**
+     * @param fieldName The name of a field declared by the bean
+     * @return The setter of the field, or {@literal null} if none is generated
+     */
+    BiConsumer<Object, Object> setter(String fieldName);
+
+}
@@ -6,6 +6,18 @@ import com.opencsv.bean.exceptionhandler.CsvExceptionHandler;
 
 import java.util.List;
 
+/**
+ * A bean class read from the file, with the optional filter, verifiers and exception handler
+ * applied to its lines.
+ * <p>
+ * When the file is read in parallel
+ * ({@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withParallelism(int)}) or with a
+ * pipeline ({@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withPipeline(int)}), the
+ * filter, the verifiers and the exception handler are called concurrently by the worker or
+ * binding threads, and must be thread-safe.
+ *
+ * @param <T> The type of the bean
+ */
 public class CsvBeanType<T> {
 
     protected Class<? extends T> type;
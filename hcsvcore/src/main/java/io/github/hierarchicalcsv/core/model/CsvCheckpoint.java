@@ -0,0 +1,59 @@
+package io.github.hierarchicalcsv.core.model;
+
+import java.io.Serializable;
+
+/**
+ * Position of a root line in a CSV file, returned by
+ * {@link io.github.hierarchicalcsv.core.HCSVReader#getCheckpoint()} while the root beans are
+ * iterated. Reading again from a checkpoint with
+ * {@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withResumeFrom(CsvCheckpoint)} returns
+ * the root beans not returned yet. No scope is open at a root line when streaming, so the byte
+ * offset and the number of lines before it are the whole state to restore.
+ */
+public final class CsvCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long byteOffset;
+
+    private final long linesRead;
+
+    /**
+     * @param byteOffset The offset of the first byte of the line
+     * @param linesRead The number of physical lines before the line, skipped lines included
+     */
+    public CsvCheckpoint(long byteOffset, long linesRead) {
+        this.byteOffset = byteOffset;
+        this.linesRead = linesRead;
+    }
+
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CsvCheckpoint)) {
+            return false;
+        }
+        CsvCheckpoint that = (CsvCheckpoint) o;
+        return byteOffset == that.byteOffset && linesRead == that.linesRead;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(byteOffset) * 31 + Long.hashCode(linesRead);
+    }
+
+    @Override
+    public String toString() {
+        return "CsvCheckpoint{byteOffset=" + byteOffset + ", linesRead=" + linesRead + '}';
+    }
+}
@@ -4,11 +4,16 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 public class CsvCodeProperties {
 
     private final CsvBeanType<?> beanType;
 
+    private int typeId;
+
     private int codePosition;
 
     private String codeValue;
@@ -17,6 +22,10 @@ public class CsvCodeProperties {
 
     private Method keyMethod;
 
+    private CsvLineBinder<?> lineBinder;
+
+    private int[] boundColumns;
+
     private Map<String, CsvCodeProperties> potentialChildren;
 
     private Map<String, Field> potentialChildrenFields;
@@ -33,13 +42,27 @@ public class CsvCodeProperties {
 
     private Map<String, Method> potentialParentsGetters;
 
+    private CsvCodeProperties directParent;
+
+    private boolean referencedAsParent;
+
+    private int depth;
+
+    private Function<Object, Object> keyGetter;
+
+    private Function<Object, Object>[] parentKeyPartGetters;
+
+    private Function<Object, Object> parentCollectionGetter;
+
+    private BiConsumer<Object, Object> parentChildSetter;
+
     public CsvCodeProperties(CsvBeanType<?> beanType) {
         this.beanType = beanType;
         potentialChildren = new HashMap<>();
         potentialChildrenFields = new HashMap<>();
         potentialChildrenGetters = new HashMap<>();
         potentialChildrenSetters = new HashMap<>();
-        orderedPotentialParents = new HashMap<>();
+        orderedPotentialParents = new TreeMap<>();
         potentialParentsFields = new HashMap<>();
         potentialParentsGetters = new HashMap<>();
         potentialParentsSetters = new HashMap<>();
@@ -49,6 +72,17 @@ public class CsvCodeProperties {
         return beanType;
     }
 
+    /**
+     * @return A unique id of the bean type inside its {@link io.github.hierarchicalcsv.core.bean.CsvBeanPropertiesFactory}
+     */
+    public int getTypeId() {
+        return typeId;
+    }
+
+    public void setTypeId(int typeId) {
+        this.typeId = typeId;
+    }
+
     public int getCodePosition() {
         return codePosition;
     }
@@ -81,6 +115,26 @@ public class CsvCodeProperties {
         this.keyMethod = keyMethod;
     }
 
+    public CsvLineBinder<?> getLineBinder() {
+        return lineBinder;
+    }
+
+    public void setLineBinder(CsvLineBinder<?> lineBinder) {
+        this.lineBinder = lineBinder;
+    }
+
+    /**
+     * @return The columns read by the line binder, or {@literal null} if all columns may be read
+     * @see CsvLineBinder#getBoundColumns()
+     */
+    public int[] getBoundColumns() {
+        return boundColumns;
+    }
+
+    public void setBoundColumns(int[] boundColumns) {
+        this.boundColumns = boundColumns;
+    }
+
     public Map<String, CsvCodeProperties> getPotentialChildren() {
         return potentialChildren;
     }
@@ -145,6 +199,95 @@ public class CsvCodeProperties {
         this.potentialParentsGetters = potentialParentsGetters;
     }
 
+    /**
+     * @return The parent with the highest {@link io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart#order()},
+     *      which is the bean the current bean is attached to. {@literal null} for root beans
+     */
+    public CsvCodeProperties getDirectParent() {
+        return directParent;
+    }
+
+    public void setDirectParent(CsvCodeProperties directParent) {
+        this.directParent = directParent;
+    }
+
+    /**
+     * @return The precompiled accessor reading the {@link io.github.hierarchicalcsv.core.annotation.CsvKey}
+     *      value, {@literal null} if the bean has no key
+     */
+    public Function<Object, Object> getKeyGetter() {
+        return keyGetter;
+    }
+
+    public void setKeyGetter(Function<Object, Object> keyGetter) {
+        this.keyGetter = keyGetter;
+    }
+
+    /**
+     * @return The precompiled accessors reading the parent key parts, in the order of
+     *      {@code orderedPotentialParents}
+     */
+    public Function<Object, Object>[] getParentKeyPartGetters() {
+        return parentKeyPartGetters;
+    }
+
+    public void setParentKeyPartGetters(Function<Object, Object>[] parentKeyPartGetters) {
+        this.parentKeyPartGetters = parentKeyPartGetters;
+    }
+
+    /**
+     * @return The precompiled accessor reading, on the direct parent, the collection this
+     *      bean is added to. {@literal null} if the parent field is not a
+     *      {@link io.github.hierarchicalcsv.core.annotation.CsvChildList}
+     */
+    public Function<Object, Object> getParentCollectionGetter() {
+        return parentCollectionGetter;
+    }
+
+    public void setParentCollectionGetter(Function<Object, Object> parentCollectionGetter) {
+        this.parentCollectionGetter = parentCollectionGetter;
+    }
+
+    /**
+     * @return The precompiled accessor setting this bean on the
+     *      {@link io.github.hierarchicalcsv.core.annotation.CsvChild} field of its direct parent
+     */
+    public BiConsumer<Object, Object> getParentChildSetter() {
+        return parentChildSetter;
+    }
+
+    public void setParentChildSetter(BiConsumer<Object, Object> parentChildSetter) {
+        this.parentChildSetter = parentChildSetter;
+    }
+
+    /**
+     * @return Whether at least one bean type uses this bean type as parent, meaning
+     *      that beans of this type have to be indexed by their key
+     */
+    public boolean isReferencedAsParent() {
+        return referencedAsParent;
+    }
+
+    public void setReferencedAsParent(boolean referencedAsParent) {
+        this.referencedAsParent = referencedAsParent;
+    }
+
+    /**
+     * @return The level of the bean in the hierarchy, which is its number of parent
+     *      key parts ({@literal 0} for root beans)
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public boolean hasParent() {
+        return directParent != null;
+    }
+
     public boolean hasKeyField() {
         return keyField != null;
     }
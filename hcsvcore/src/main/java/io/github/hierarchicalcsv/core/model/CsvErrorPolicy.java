@@ -0,0 +1,103 @@
+package io.github.hierarchicalcsv.core.model;
+
+import java.nio.file.Path;
+
+/**
+ * Error budget of a {@link io.github.hierarchicalcsv.core.HCSVReader}, set with
+ * {@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withErrorPolicy(CsvErrorPolicy)}.
+ * <p>
+ * The errors of the lines are counted instead of being rethrown. The first ones are kept in
+ * memory with their line, the next ones are written as compact records to a reject file, or
+ * only counted without one. Reading stops with an
+ * {@link io.github.hierarchicalcsv.core.exception.csv.ErrorBudgetExceededException} as soon
+ * as the number of errors, or their ratio to the lines read, exceeds the budget.
+ */
+public class CsvErrorPolicy {
+
+    protected long maxErrors;
+
+    protected double maxErrorRatio;
+
+    protected long minLinesForRatio;
+
+    protected int retainedErrors;
+
+    protected Path rejectFile;
+
+    /**
+     * Creates a policy without limit, keeping the first 100 errors in memory
+     */
+    public CsvErrorPolicy() {
+        this.maxErrors = Long.MAX_VALUE;
+        this.maxErrorRatio = Double.NaN;
+        this.retainedErrors = 100;
+    }
+
+    /**
+     * @param maxErrors The number of errors tolerated. Reading stops at the next one
+     * @return The policy
+     */
+    public CsvErrorPolicy withMaxErrors(long maxErrors) {
+        this.maxErrors = Math.max(maxErrors, 0);
+        return this;
+    }
+
+    /**
+     * Stops reading when the ratio of errors to the lines read exceeds {@code maxErrorRatio}.
+     * The ratio is checked on each error once {@code minLines} lines are read, so that a few
+     * errors at the beginning of a file do not stop it.
+     *
+     * @param maxErrorRatio The ratio of errors tolerated, between 0 and 1
+     * @param minLines The number of lines read before the ratio is checked
+     * @return The policy
+     */
+    public CsvErrorPolicy withMaxErrorRatio(double maxErrorRatio, long minLines) {
+        this.maxErrorRatio = maxErrorRatio;
+        this.minLinesForRatio = minLines;
+        return this;
+    }
+
+    /**
+     * @param retainedErrors The number of errors kept in memory with their line, 100 by default
+     * @return The policy
+     */
+    public CsvErrorPolicy withRetainedErrors(int retainedErrors) {
+        this.retainedErrors = Math.max(retainedErrors, 0);
+        return this;
+    }
+
+    /**
+     * Writes the errors that are not kept in memory to a CSV file, one record per error:
+     * the line number, the exception type, the message, then the fields of the line
+     *
+     * @param rejectFile The file, created or truncated when the reader is built
+     * @return The policy
+     */
+    public CsvErrorPolicy withRejectFile(Path rejectFile) {
+        this.rejectFile = rejectFile;
+        return this;
+    }
+
+    public long getMaxErrors() {
+        return maxErrors;
+    }
+
+    /**
+     * @return The ratio of errors tolerated, {@link Double#NaN} if the ratio is not checked
+     */
+    public double getMaxErrorRatio() {
+        return maxErrorRatio;
+    }
+
+    public long getMinLinesForRatio() {
+        return minLinesForRatio;
+    }
+
+    public int getRetainedErrors() {
+        return retainedErrors;
+    }
+
+    public Path getRejectFile() {
+        return rejectFile;
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.hierarchicalcsv.core.model;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Index of the beans that can be looked up as a parent, used by the
+ * {@link io.github.hierarchicalcsv.core.bean.CsvTreeConstructor} to link a child line to
+ * its parent. A key is indexed once at most: putting a key already indexed replaces its bean.
+ *
+ * @see CsvKeyIndexFactory
+ */
+public interface CsvKeyIndex {
+
+    /**
+     * @param key The key of a bean
+     * @return The bean indexed with this key, or {@literal null} if none
+     */
+    Object get(CsvBeanKey key);
+
+    /**
+     * @param key The key of the bean
+     * @param bean The bean
+     */
+    void put(CsvBeanKey key, Object bean);
+
+    /**
+     * @param key The key of a bean no longer referenced by the next lines
+     */
+    void remove(CsvBeanKey key);
+
+    /**
+     * @return The number of indexed keys
+     */
+    int size();
+
+    /**
+     * @param action Called with each indexed key and its bean
+     */
+    void forEach(BiConsumer<CsvBeanKey, Object> action);
+}
@@ -0,0 +1,20 @@
+package io.github.hierarchicalcsv.core.model;
+
+import java.util.function.Function;
+
+/**
+ * Creates the {@link CsvKeyIndex} of a tree, set with
+ * {@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withKeyIndex(CsvKeyIndexFactory)}.
+ * A parallel read creates an index for each range of the file.
+ */
+@FunctionalInterface
+public interface CsvKeyIndexFactory {
+
+    /**
+     * @param beanKeyFunction Computes the key of an indexed bean, so that an index can keep
+     *      the beans without their keys
+     * @return A new empty index
+     */
+    CsvKeyIndex create(Function<Object, CsvBeanKey> beanKeyFunction);
+
+}
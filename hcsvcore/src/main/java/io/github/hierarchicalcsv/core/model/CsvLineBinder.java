@@ -0,0 +1,34 @@
+package io.github.hierarchicalcsv.core.model;
+
+import com.opencsv.exceptions.CsvException;
+
+/**
+ * A compiled binder that transforms a CSV line into a bean of type {@code T}.
+ * A binder is created once per {@link CsvBeanType} and reused for every line
+ * of that type, so implementations <b>must</b> be thread-safe.
+ *
+ * @param <T> Any bean with {@link io.github.hierarchicalcsv.core.annotation.HCSVBean} annotation
+ */
+@FunctionalInterface
+public interface CsvLineBinder<T> {
+
+    /**
+     * Creates a new bean and populates it with the values of the line.
+     *
+     * @param line array representing the line
+     * @return The populated bean
+     * @throws CsvException If a value cannot be converted or assigned to the bean
+     */
+    T bind(String[] line) throws CsvException;
+
+    /**
+     * Tells which columns are read by {@link #bind(String[])}. Readers able to skip the
+     * decoding of a column may leave the other columns {@literal null}.
+     *
+     * @return The positions of the bound columns, or {@literal null} if all columns may be read
+     */
+    default int[] getBoundColumns() {
+        return null;
+    }
+
+}
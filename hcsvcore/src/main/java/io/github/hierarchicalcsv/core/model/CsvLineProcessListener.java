@@ -1,14 +1,31 @@
 package io.github.hierarchicalcsv.core.model;
 
-import com.opencsv.bean.util.OrderedObject;
-import com.opencsv.exceptions.CsvException;
-
-import java.util.concurrent.BlockingQueue;
-
+/**
+ * Called before and after each line is processed.
+ * <p>
+ * When the file is read in parallel
+ * ({@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withParallelism(int)}), both methods
+ * are called concurrently by the workers, each for the lines of its range, and must be
+ * thread-safe. With a pipeline
+ * ({@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withPipeline(int)}),
+ * {@link #beforeLineProcess(long, String[])} is called by the tokenizer thread.
+ */
 public interface CsvLineProcessListener {
 
+    /**
+     * Called before the line is bound.
+     *
+     * @param lineNumber line's number
+     * @param line The fields of the line
+     */
     default void beforeLineProcess(long lineNumber, String[] line) {}
 
-    default void afterLineProcess(long lineNumber, Object csvBean, BlockingQueue<OrderedObject<CsvException>> thrownExceptionsQueue, boolean filteredBean) {}
+    /**
+     * Called once the line is processed and its bean attached to the tree.
+     *
+     * @param lineNumber line's number
+     * @param result The line's result. Reused for the next line, so it must not be retained
+     */
+    default void afterLineProcess(long lineNumber, CsvLineResult result) {}
 
 }
@@ -0,0 +1,125 @@
+package io.github.hierarchicalcsv.core.model;
+
+import com.opencsv.exceptions.CsvException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds the result of processing one CSV line: the bean (if any) and the
+ * exceptions returned by the exception handlers.
+ * <p>
+ * A single instance is owned by each {@link io.github.hierarchicalcsv.core.HCSVReader}
+ * and is {@link #reset(long, String[]) reset} for every line, so that no garbage
+ * is produced for a successfully parsed line. It is <b>not</b> thread-safe and
+ * must not be retained after the line has been processed (for example inside
+ * {@link CsvLineProcessListener#afterLineProcess(long, CsvLineResult)}).
+ */
+public final class CsvLineResult {
+
+    private long lineNumber;
+
+    private String[] line;
+
+    /**
+     * Decodes the columns left {@literal null} in {@code line} by the line source, or {@literal null}
+     */
+    private Runnable lineCompleter;
+
+    private Object bean;
+
+    private final List<CsvException> thrownExceptions;
+
+    public CsvLineResult() {
+        this.thrownExceptions = new ArrayList<>(4);
+    }
+
+    /**
+     * Clears the previous result and prepares the holder for a new line
+     *
+     * @param lineNumber line's number
+     * @param line array representing the line
+     */
+    public void reset(long lineNumber, String[] line) {
+        reset(lineNumber, line, null);
+    }
+
+    /**
+     * Clears the previous result and prepares the holder for a new line whose columns not
+     * bound may not be decoded yet
+     *
+     * @param lineNumber line's number
+     * @param line array representing the line
+     * @param lineCompleter Decodes in place the columns left {@literal null} in the line,
+     *      or {@literal null} if the line is complete
+     */
+    public void reset(long lineNumber, String[] line, Runnable lineCompleter) {
+        this.lineNumber = lineNumber;
+        this.line = line;
+        this.lineCompleter = lineCompleter;
+        this.bean = null;
+        this.thrownExceptions.clear();
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String[] getLine() {
+        return line;
+    }
+
+    /**
+     * Decodes in place the columns of the line not decoded by the line source, so that the
+     * whole record is kept by the exceptions (which copy the line), the reject file and the
+     * spilled orphans
+     *
+     * @return The complete line
+     */
+    public String[] completeLine() {
+        if (lineCompleter != null) {
+            lineCompleter.run();
+            lineCompleter = null;
+        }
+        return line;
+    }
+
+    public Object getBean() {
+        return bean;
+    }
+
+    public void setBean(Object bean) {
+        this.bean = bean;
+    }
+
+    /**
+     * @return The exceptions returned by the exception handlers for the current line.
+     *      The list is reused for the next line
+     */
+    public List<CsvException> getThrownExceptions() {
+        return thrownExceptions;
+    }
+
+    public void addThrownException(CsvException exception) {
+        thrownExceptions.add(exception);
+    }
+
+    public boolean hasThrownExceptions() {
+        return !thrownExceptions.isEmpty();
+    }
+
+    /**
+     * @return Whether the line was dropped by a {@link com.opencsv.bean.CsvToBeanFilter}
+     *      or a {@link com.opencsv.bean.BeanVerifier} without any exception
+     */
+    public boolean isFilteredBean() {
+        return bean == null && thrownExceptions.isEmpty();
+    }
+
+    /**
+     * @return Whether the line holds a bean that should be attached to the tree
+     */
+    public boolean hasCsvBean() {
+        return !(bean == null || bean instanceof EmptyBean || bean instanceof UnknownBean);
+    }
+}
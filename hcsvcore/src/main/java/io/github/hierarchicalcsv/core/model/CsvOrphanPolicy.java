@@ -0,0 +1,58 @@
+package io.github.hierarchicalcsv.core.model;
+
+import java.nio.file.Path;
+
+/**
+ * Out-of-order children mode of a {@link io.github.hierarchicalcsv.core.HCSVReader}, set with
+ * {@link io.github.hierarchicalcsv.core.HCSVReaderBuilder#withOutOfOrderChildren(CsvOrphanPolicy)}.
+ * <p>
+ * A child line read before its parent is kept aside as a pending orphan, by the key of its
+ * parent, and linked as soon as the parent is read. Beyond {@code maxPendingOrphans}, the lines
+ * of the next orphans are written to a spill file instead, and bound and linked again once the
+ * end of the file is reached, or when streaming, before the root bean they belong to is
+ * returned. The spill file is indexed by the key of the parent, so that only the lines of the
+ * orphans of a root are read back when streaming: the line number and position of each spilled
+ * orphan are still kept in memory. The orphans whose parent is still not found are then reported as
+ * {@link io.github.hierarchicalcsv.core.exception.csv.ParentBeanNotFoundException}, in line order.
+ */
+public class CsvOrphanPolicy {
+
+    protected int maxPendingOrphans;
+
+    protected Path spillDirectory;
+
+    /**
+     * Creates a policy keeping up to 100 000 pending orphans in memory, and spilling the next
+     * ones to the temporary directory
+     */
+    public CsvOrphanPolicy() {
+        this.maxPendingOrphans = 100_000;
+    }
+
+    /**
+     * @param maxPendingOrphans The number of pending orphans kept in memory
+     * @return The policy
+     */
+    public CsvOrphanPolicy withMaxPendingOrphans(int maxPendingOrphans) {
+        this.maxPendingOrphans = Math.max(maxPendingOrphans, 0);
+        return this;
+    }
+
+    /**
+     * @param spillDirectory The directory of the spill file, deleted when the reader is closed.
+     *      Defaults to {@code java.io.tmpdir}
+     * @return The policy
+     */
+    public CsvOrphanPolicy withSpillDirectory(Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+        return this;
+    }
+
+    public int getMaxPendingOrphans() {
+        return maxPendingOrphans;
+    }
+
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+}
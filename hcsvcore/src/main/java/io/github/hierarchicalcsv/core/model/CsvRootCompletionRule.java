@@ -0,0 +1,23 @@
+package io.github.hierarchicalcsv.core.model;
+
+/**
+ * Rule telling the {@link io.github.hierarchicalcsv.core.HCSVReader} that the subtree
+ * of the current root bean is complete, so that it can be emitted (when streaming
+ * with {@link io.github.hierarchicalcsv.core.HCSVReader#iterator()}) before the next
+ * root bean is read. Without a rule, a root bean is complete when the next root bean
+ * (or the end of the file) is reached.
+ */
+@FunctionalInterface
+public interface CsvRootCompletionRule {
+
+    /**
+     * Called each time a bean is attached to the subtree of the current root
+     * (including the root itself).
+     *
+     * @param root The current root bean
+     * @param bean The bean that has just been attached
+     * @return Whether the subtree of {@code root} is complete
+     */
+    boolean isComplete(Object root, Object bean);
+
+}
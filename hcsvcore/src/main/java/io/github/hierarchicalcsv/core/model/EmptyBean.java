@@ -2,10 +2,12 @@ package io.github.hierarchicalcsv.core.model;
 
 public final class EmptyBean {
 
+    private static final EmptyBean INSTANCE = new EmptyBean();
+
     private EmptyBean() {
     }
 
-    public static EmptyBean getNewInstance() {
-        return new EmptyBean();
+    public static EmptyBean getInstance() {
+        return INSTANCE;
     }
 }
@@ -2,10 +2,12 @@ package io.github.hierarchicalcsv.core.model;
 
 public final class UnknownBean {
 
+    private static final UnknownBean INSTANCE = new UnknownBean();
+
     private UnknownBean() {
     }
 
-    public static UnknownBean getNewInstance() {
-        return new UnknownBean();
+    public static UnknownBean getInstance() {
+        return INSTANCE;
     }
 }
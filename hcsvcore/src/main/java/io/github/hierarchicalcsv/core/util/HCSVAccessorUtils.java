@@ -0,0 +1,207 @@
+package io.github.hierarchicalcsv.core.util;
+
+import io.github.hierarchicalcsv.core.exception.MethodNotAccessibleException;
+import io.github.hierarchicalcsv.core.model.CsvBeanLinker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ResourceBundle;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Builds the functional accessors used on the hot path to read keys and link
+ * children. Getter and setter methods are turned into {@link Function} and
+ * {@link BiConsumer} classes through {@link LambdaMetafactory}, so that the JIT
+ * can inline them like plain method calls. Public fields without accessor methods
+ * go through {@link MethodHandle}s. If an accessor cannot be generated (restricted
+ * environment), it falls back to reflection with {@link HCSVUtils#invokeGetterMethod}
+ * and {@link HCSVUtils#invokeSetterMethod}. As with reflection, a runtime exception thrown
+ * by an accessor is wrapped in a {@link MethodNotAccessibleException}, so that it is handed
+ * to the exception handler with the line.
+ * <p>
+ * When the {@code hcsv-processor} annotation processor generated a {@link CsvBeanLinker}
+ * for the bean, its plain accessors are used instead, with their exceptions wrapped the same way.
+ */
+public final class HCSVAccessorUtils {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER_FACTORY_TYPE = MethodType.methodType(Function.class);
+    private static final MethodType GETTER_ERASED_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_FACTORY_TYPE = MethodType.methodType(BiConsumer.class);
+    private static final MethodType SETTER_ERASED_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final CsvBeanLinker NO_LINKER = new CsvBeanLinker() {
+        @Override
+        public Function<Object, Object> getter(String fieldName) {
+            return null;
+        }
+
+        @Override
+        public BiConsumer<Object, Object> setter(String fieldName) {
+            return null;
+        }
+    };
+
+    /**
+     * Generated linker of each bean type, {@link #NO_LINKER} when there is none. Shared by all
+     * the readers, so a linker which cannot be used is reported in the default locale
+     */
+    private static final ClassValue<CsvBeanLinker> LINKERS = new ClassValue<>() {
+        @Override
+        protected CsvBeanLinker computeValue(Class<?> type) {
+            CsvBeanLinker linker = HCSVUtils.newGeneratedInstance(type, HCSVUtils.GENERATED_LINKER_SUFFIX, CsvBeanLinker.class,
+                    ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME));
+            return linker != null? linker: NO_LINKER;
+        }
+    };
+
+    private HCSVAccessorUtils() {
+    }
+
+    /**
+     * Creates a getter accessor, using the getter method if any, or the field otherwise.
+     * Must be called once the accessibility is checked
+     *
+     * @param field The field to read
+     * @param method The getter method, or {@literal null}
+     * @param resourceBundle Resource bundle used by the reflective fallback
+     * @return The functional getter
+     */
+    public static Function<Object, Object> createGetter(Field field, Method method, ResourceBundle resourceBundle) {
+        Function<Object, Object> generated = LINKERS.get(field.getDeclaringClass()).getter(field.getName());
+        if(generated != null) {
+            return wrapGetter(generated, field, method, resourceBundle);
+        }
+        try {
+            if(method != null) {
+                return wrapGetter(createGetter(method), field, method, resourceBundle);
+            }
+            MethodHandle handle = lookupFor(field.getDeclaringClass()).unreflectGetter(field)
+                    .asType(GETTER_ERASED_TYPE);
+            return wrapGetter(bean -> invokeGetterHandle(handle, bean), field, null, resourceBundle);
+        } catch (Throwable e) { // NOSONAR - any failure falls back to reflection
+            return bean -> HCSVUtils.invokeGetterMethod(bean, field, method, resourceBundle);
+        }
+    }
+
+    /**
+     * Creates a setter accessor, using the setter method if any, or the field otherwise.
+     * Must be called once the accessibility is checked
+     *
+     * @param field The field to write
+     * @param method The setter method, or {@literal null}
+     * @param resourceBundle Resource bundle used by the reflective fallback
+     * @return The functional setter
+     */
+    public static BiConsumer<Object, Object> createSetter(Field field, Method method, ResourceBundle resourceBundle) {
+        BiConsumer<Object, Object> generated = LINKERS.get(field.getDeclaringClass()).setter(field.getName());
+        if(generated != null) {
+            return wrapSetter(generated, field, method, resourceBundle);
+        }
+        try {
+            if(method != null) {
+                return wrapSetter(createSetter(method), field, method, resourceBundle);
+            }
+            MethodHandle handle = lookupFor(field.getDeclaringClass()).unreflectSetter(field)
+                    .asType(SETTER_ERASED_TYPE);
+            return wrapSetter((bean, value) -> invokeSetterHandle(handle, bean, value), field, null, resourceBundle);
+        } catch (Throwable e) { // NOSONAR - any failure falls back to reflection
+            return (bean, value) -> HCSVUtils.invokeSetterMethod(bean, field, method, value, resourceBundle);
+        }
+    }
+
+    /**
+     * Wraps the runtime exceptions thrown by a getter, as {@link HCSVUtils#invokeGetterMethod} does
+     */
+    private static Function<Object, Object> wrapGetter(Function<Object, Object> getter, Field field, Method method,
+                                                       ResourceBundle resourceBundle) {
+        return bean -> {
+            try {
+                return getter.apply(bean);
+            } catch (RuntimeException e) {
+                throw HCSVUtils.getGetterException(field, method, e, resourceBundle);
+            }
+        };
+    }
+
+    /**
+     * Wraps the runtime exceptions thrown by a setter, as {@link HCSVUtils#invokeSetterMethod} does
+     */
+    private static BiConsumer<Object, Object> wrapSetter(BiConsumer<Object, Object> setter, Field field, Method method,
+                                                         ResourceBundle resourceBundle) {
+        return (bean, value) -> {
+            try {
+                setter.accept(bean, value);
+            } catch (RuntimeException e) {
+                throw HCSVUtils.getSetterException(field, method, e, resourceBundle);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> createGetter(Method method) throws Throwable {
+        MethodHandles.Lookup lookup = lookupFor(method.getDeclaringClass());
+        MethodHandle handle = lookup.unreflect(method);
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", GETTER_FACTORY_TYPE,
+                GETTER_ERASED_TYPE, handle,
+                MethodType.methodType(wrap(method.getReturnType()), method.getDeclaringClass()));
+        return (Function<Object, Object>) callSite.getTarget().invoke();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> createSetter(Method method) throws Throwable {
+        MethodHandles.Lookup lookup = lookupFor(method.getDeclaringClass());
+        MethodHandle handle = lookup.unreflect(method);
+        CallSite callSite = LambdaMetafactory.metafactory(lookup, "accept", SETTER_FACTORY_TYPE,
+                SETTER_ERASED_TYPE, handle,
+                MethodType.methodType(void.class, method.getDeclaringClass(), wrap(method.getParameterTypes()[0])));
+        return (BiConsumer<Object, Object>) callSite.getTarget().invoke();
+    }
+
+    /**
+     * Makes the module of this library read the module of the bean, which is required
+     * for method handles on classes of other named (or unnamed) modules
+     *
+     * @param type The bean class
+     * @return The lookup to use
+     */
+    private static MethodHandles.Lookup lookupFor(Class<?> type) {
+        Module module = HCSVAccessorUtils.class.getModule();
+        if(!module.canRead(type.getModule())) {
+            module.addReads(type.getModule());
+        }
+        return LOOKUP;
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive()? MethodType.methodType(type).wrap().returnType(): type;
+    }
+
+    private static Object invokeGetterHandle(MethodHandle handle, Object bean) {
+        try {
+            return handle.invokeExact(bean);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void invokeSetterHandle(MethodHandle handle, Object bean, Object value) {
+        try {
+            handle.invokeExact(bean, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -18,12 +18,26 @@ public final class HCSVErrorMessageUtils {
     public static final String CHILD_WRAPPER_NOT_COLLECTION = "hcsv-error.child-wrapper-not-collection";
     public static final String BEAN_CODE_NOT_DEFINED = "hcsv-error.bean-code-not-defined";
     public static final String BEAN_CODE_DEFINED_MULTIPLE_TIMES = "hcsv-error.bean-code-defined-multiple-times";
+    public static final String READER_ALREADY_CONSUMED = "hcsv-error.reader-already-consumed";
+    public static final String PARENT_KEY_TYPE_MISMATCH = "hcsv-error.parent-key-type-mismatch";
+    public static final String UNABLE_TO_REGISTER_METRICS = "hcsv-error.unable-to-register-metrics";
+    public static final String UNABLE_TO_SPILL_ORPHANS = "hcsv-error.unable-to-spill-orphans";
+    public static final String ROOT_INDEX_NOT_SUPPORTED = "hcsv-error.root-index-not-supported";
+    public static final String INVALID_ROOT_INDEX = "hcsv-error.invalid-root-index";
+    public static final String STALE_ROOT_INDEX = "hcsv-error.stale-root-index";
+    public static final String NO_ROOT_INDEX_DEFINED = "hcsv-error.no-root-index-defined";
+    public static final String CHECKPOINT_NOT_SUPPORTED = "hcsv-error.checkpoint-not-supported";
+    public static final String CHECKPOINT_WITH_OUT_OF_ORDER_CHILDREN = "hcsv-error.checkpoint-with-out-of-order-children";
+    public static final String RECORD_TOO_LARGE = "hcsv-error.record-too-large";
+    public static final String KEY_INDEX_FULL = "hcsv-error.key-index-full";
+    public static final String GENERATED_CLASS_NOT_USABLE = "hcsv-error.generated-class-not-usable";
 
     // Open CSV Inherited
     public static final String UNKNOWN_BEAN_TYPE = "hcsv-error.open-csv.unknown-bean-type";
     public static final String PARENT_BEAN_NOT_FOUND = "hcsv-error.open-csv.parent-bean-not-found";
     public static final String CHILD_WRAPPER_NOT_INITIALIZED = "hcsv-error.open-csv.child-wrapper-not-initialized";
     public static final String CAUSED_CSV = "hcsv-error.open-csv.caused-csv";
+    public static final String ERROR_BUDGET_EXCEEDED = "hcsv-error.open-csv.error-budget-exceeded";
 
     private HCSVErrorMessageUtils() {
     }
@@ -1,8 +1,10 @@
 package io.github.hierarchicalcsv.core.util;
 
+import io.github.hierarchicalcsv.core.exception.GeneratedClassNotUsableException;
 import io.github.hierarchicalcsv.core.exception.GetterMethodNotAccessibleException;
 import io.github.hierarchicalcsv.core.exception.MethodNotAccessibleException;
 import io.github.hierarchicalcsv.core.exception.SetterMethodNotAccessibleException;
+import io.github.hierarchicalcsv.core.model.CsvBeanKey;
 import io.github.hierarchicalcsv.core.model.CsvCodeProperties;
 import org.apache.commons.lang3.StringUtils;
 
@@ -12,7 +14,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.text.MessageFormat;
 import java.util.ResourceBundle;
-import java.util.UUID;
+import java.util.function.Function;
 
 public final class HCSVUtils {
 
@@ -31,6 +33,13 @@ public final class HCSVUtils {
 
     public static final String ERROR_RESOURCE_BUNDLE_NAME = "hcsv-error";
 
+    /**
+     * Suffixes appended to the name of a bean to name the classes generated for it
+     * by the {@code hcsv-processor} annotation processor
+     */
+    public static final String GENERATED_BINDER_SUFFIX = "_HCSVBinder";
+    public static final String GENERATED_LINKER_SUFFIX = "_HCSVLinker";
+
     public static String getGetterMethodName(String fieldName) {
         return "get" + capitalizeFirstLetter(fieldName);
     }
@@ -43,6 +52,46 @@ public final class HCSVUtils {
         return StringUtils.capitalize(fieldName);
     }
 
+    /**
+     * Instantiates the class generated at compile time for a bean by the
+     * {@code hcsv-processor} annotation processor, if it is present
+     *
+     * @param beanType The bean type
+     * @param suffix The suffix of the generated class name
+     * @param expectedType The type implemented by the generated class
+     * @param resourceBundle Resource bundle of the error message
+     * @return The generated instance, or {@literal null} if there is no generated class
+     * @param <T> The type implemented by the generated class
+     * @throws GeneratedClassNotUsableException If the generated class is present but cannot be
+     *      instantiated, e.g. when its package is not opened to this module
+     */
+    public static <T> T newGeneratedInstance(Class<?> beanType, String suffix, Class<T> expectedType, ResourceBundle resourceBundle) {
+        String generatedName = beanType.getName() + suffix;
+        Class<?> generatedType;
+        try {
+            generatedType = Class.forName(generatedName, true, beanType.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (LinkageError e) {
+            throw getGeneratedClassNotUsableException(generatedName, e, resourceBundle);
+        }
+        if (!expectedType.isAssignableFrom(generatedType)) {
+            throw getGeneratedClassNotUsableException(generatedName,
+                    new ClassCastException(generatedName + " is not a " + expectedType.getName()), resourceBundle);
+        }
+        try {
+            return expectedType.cast(generatedType.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw getGeneratedClassNotUsableException(generatedName, e, resourceBundle);
+        }
+    }
+
+    private static GeneratedClassNotUsableException getGeneratedClassNotUsableException(String generatedName, Throwable cause, ResourceBundle resourceBundle) {
+        Throwable error = cause instanceof InvocationTargetException && cause.getCause() != null? cause.getCause(): cause;
+        return new GeneratedClassNotUsableException(MessageFormat.format(
+                resourceBundle.getString(HCSVErrorMessageUtils.GENERATED_CLASS_NOT_USABLE), generatedName, error), error);
+    }
+
     public static Method getGetterAndCheckAccessibility(Class<?> classType, String methodName, boolean isAccessRequired, ResourceBundle resourceBundle) {
         return getMethodAndCheckAccessibility(classType, methodName, GETTER_METHOD_CONST, null, isAccessRequired, resourceBundle);
     }
@@ -116,9 +165,7 @@ public final class HCSVUtils {
             }
             return null;
         } catch (IllegalAccessException | InvocationTargetException e) {
-            String methodName = method!= null? method.getName(): "";
-            methodName = methodName.isEmpty()? getGetterMethodName(field.getName()): methodName;
-            throw getMethodNotAccessibleException(methodName, GETTER_METHOD_CONST, e, resourceBundle);
+            throw getGetterException(field, method, e, resourceBundle);
         }
     }
 
@@ -130,25 +177,65 @@ public final class HCSVUtils {
                 field.set(object, param); // NOSONAR - public access modifier is already checked elsewhere
             }
         } catch (IllegalAccessException | InvocationTargetException e) {
-            String methodName = method!= null? method.getName(): "";
-            methodName = methodName.isEmpty()? getSetterMethodName(field.getName()): methodName;
-            throw getMethodNotAccessibleException(methodName, SETTER_METHOD_CONST, e, resourceBundle);
+            throw getSetterException(field, method, e, resourceBundle);
         }
     }
 
-    public static String calculateBeanKey(Object bean, CsvCodeProperties csvCodeProperties, ResourceBundle resourceBundle) {
-        Object keyObject = csvCodeProperties.hasKeyField()? HCSVUtils.invokeGetterMethod(
-                bean, csvCodeProperties.getKeyField(), csvCodeProperties.getKeyMethod(), resourceBundle): null;
-        return bean.getClass().getName() + "(" + (csvCodeProperties.hasKeyField()? keyObject: UUID.randomUUID()) + ")";
+    /**
+     * @param field The field read
+     * @param method The getter method, or {@literal null}
+     * @param throwable The exception thrown while reading the field
+     * @param resourceBundle Resource bundle used for the message
+     * @return The exception reporting that the getter failed
+     */
+    public static MethodNotAccessibleException getGetterException(Field field, Method method, Throwable throwable, ResourceBundle resourceBundle) {
+        String methodName = method!= null? method.getName(): getGetterMethodName(field.getName());
+        return getMethodNotAccessibleException(methodName, GETTER_METHOD_CONST, throwable, resourceBundle);
     }
 
-    public static String calculateBeanKey(Object bean, Field field, Method method, ResourceBundle resourceBundle) {
-        Object keyObject = HCSVUtils.invokeGetterMethod(bean, field, method, resourceBundle);
-        return bean.getClass().getName() + "(" + keyObject + ")";
+    /**
+     * @param field The field written
+     * @param method The setter method, or {@literal null}
+     * @param throwable The exception thrown while writing the field
+     * @param resourceBundle Resource bundle used for the message
+     * @return The exception reporting that the setter failed
+     */
+    public static MethodNotAccessibleException getSetterException(Field field, Method method, Throwable throwable, ResourceBundle resourceBundle) {
+        String methodName = method!= null? method.getName(): getSetterMethodName(field.getName());
+        return getMethodNotAccessibleException(methodName, SETTER_METHOD_CONST, throwable, resourceBundle);
     }
 
-    public static String calculateParentBeanKey(Object bean, Class<?> type, Field field, Method method, ResourceBundle resourceBundle) {
-        Object keyObject = HCSVUtils.invokeGetterMethod(bean, field, method, resourceBundle);
-        return type.getName() + "(" + keyObject + ")";
+    /**
+     * Calculates the key of a bean: its parent key parts followed by its own key.
+     * Must only be called for beans having a {@link io.github.hierarchicalcsv.core.annotation.CsvKey}
+     *
+     * @param bean The bean
+     * @param csvCodeProperties The bean properties
+     * @return The typed key of the bean
+     */
+    public static CsvBeanKey calculateBeanKey(Object bean, CsvCodeProperties csvCodeProperties) {
+        Function<Object, Object>[] parentGetters = csvCodeProperties.getParentKeyPartGetters();
+        Object[] parts = new Object[parentGetters.length + 1];
+        for (int i = 0; i < parentGetters.length; i++) {
+            parts[i] = parentGetters[i].apply(bean);
+        }
+        parts[parentGetters.length] = csvCodeProperties.getKeyGetter().apply(bean);
+        return new CsvBeanKey(csvCodeProperties.getTypeId(), parts);
+    }
+
+    /**
+     * Calculates the key of the direct parent of a bean, from its parent key parts
+     *
+     * @param bean The child bean
+     * @param csvCodeProperties The child bean properties
+     * @return The typed key of the parent
+     */
+    public static CsvBeanKey calculateParentBeanKey(Object bean, CsvCodeProperties csvCodeProperties) {
+        Function<Object, Object>[] parentGetters = csvCodeProperties.getParentKeyPartGetters();
+        Object[] parts = new Object[parentGetters.length];
+        for (int i = 0; i < parentGetters.length; i++) {
+            parts[i] = parentGetters[i].apply(bean);
+        }
+        return new CsvBeanKey(csvCodeProperties.getDirectParent().getTypeId(), parts);
     }
 }
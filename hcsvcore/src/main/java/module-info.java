@@ -1,9 +1,13 @@
 module io.github.hierarchicalcsv.core {
     requires com.opencsv;
     requires org.apache.commons.lang3;
+    requires java.management;
+    requires jdk.jfr;
     exports io.github.hierarchicalcsv.core;
     exports io.github.hierarchicalcsv.core.annotation;
     exports io.github.hierarchicalcsv.core.util;
     exports io.github.hierarchicalcsv.core.model;
     exports io.github.hierarchicalcsv.core.bean;
+    exports io.github.hierarchicalcsv.core.metrics;
+    exports io.github.hierarchicalcsv.core.event;
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ByteInputTest {
+
+    @Test
+    public void givenByteInputs_whenRead_charactersDecodedAcrossBuffers() throws IOException, CsvException {
+        // Given: more bytes than a decoding buffer, non-ASCII characters cut at any offset
+        String csv = newCsv("España 🇪🇸");
+        List<Object> expected = CsvFixture.readFile(CsvFixture.newBuilder(csv));
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length + 3);
+        directBuffer.put(new byte[]{'x', 'y', 'z'}).put(bytes).position(3);
+        // when
+        List<Object> list = read(new HCSVReaderBuilder(new ByteArrayInputStream(bytes)));
+        // then
+        Assertions.assertEquals(2000, list.size());
+        for (Object user : list) {
+            Assertions.assertEquals("España 🇪🇸", ((UserLine) user).getAddressLines().get(0).getRegionLine().getRegion());
+        }
+        Assertions.assertEquals(expected.toString(), list.toString());
+        Assertions.assertEquals(expected.toString(), read(new HCSVReaderBuilder(bytes)).toString());
+        Assertions.assertEquals(expected.toString(), read(new HCSVReaderBuilder(ByteBuffer.wrap(bytes).asReadOnlyBuffer())).toString());
+        Assertions.assertEquals(expected.toString(), read(new HCSVReaderBuilder(directBuffer)).toString());
+        Assertions.assertEquals(3, directBuffer.position());
+    }
+
+    @Test
+    public void givenDeclaredCharset_whenRead_bytesDecodedWithCharset() throws IOException, CsvException {
+        // Given
+        String csv = newCsv("Niño");
+        List<Object> expected = CsvFixture.readFile(CsvFixture.newBuilder(csv));
+        for (Charset charset : List.of(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16LE)) {
+            byte[] bytes = csv.getBytes(charset);
+            // when
+            List<Object> list = read(new HCSVReaderBuilder(bytes).withCharset(charset));
+            // then
+            Assertions.assertEquals("Niño", ((UserLine) list.get(0)).getAddressLines().get(0).getRegionLine().getRegion());
+            Assertions.assertEquals(expected.toString(), list.toString());
+        }
+    }
+
+    @Test
+    public void givenMalformedBytes_whenRead_failsAsAFileInput() throws IOException {
+        // Given: a Latin-1 character read as UTF-8, after more bytes than a decoding buffer
+        byte[] bytes = newCsv("Spain").replace("0003;1500;Spain;Spain", "0003;1500;Spain;Espa\u00F1a")
+                .getBytes(StandardCharsets.ISO_8859_1);
+        Path file = CsvFixture.writeTempFile(".csv", "");
+        Files.write(file, bytes);
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+        Exception expected = Assertions.assertThrows(Exception.class, () -> read(new HCSVReaderBuilder(file)));
+        for (HCSVReaderBuilder builder : List.of(new HCSVReaderBuilder(new ByteArrayInputStream(bytes)),
+                new HCSVReaderBuilder(bytes), new HCSVReaderBuilder(directBuffer))) {
+            // when
+            Exception exception = Assertions.assertThrows(Exception.class, () -> read(builder));
+            // then
+            Assertions.assertEquals(expected.getClass(), exception.getClass());
+            Assertions.assertEquals(expected.getMessage(), exception.getMessage());
+            Assertions.assertEquals(MalformedInputException.class, rootCause(exception).getClass());
+        }
+    }
+
+    private static Throwable rootCause(Throwable exception) {
+        Throwable cause = exception;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String newCsv(String region) {
+        return CsvFixture.newUsersCsv(2000, "\"user\n%d\"", "0002;%s;Spain;99", "0003;%s;Spain;" + region);
+    }
+
+    private static List<Object> read(HCSVReaderBuilder builder) throws IOException, CsvException {
+        return CsvFixture.readFile(CsvFixture.configure(builder));
+    }
+}
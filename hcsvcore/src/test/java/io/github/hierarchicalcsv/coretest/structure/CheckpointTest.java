@@ -0,0 +1,119 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.model.CsvCheckpoint;
+import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.core.model.CsvOrphanPolicy;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CheckpointTest {
+
+    @Test
+    public void givenCheckpoint_whenResumed_sameRemainingRootsReturned() throws IOException, CsvException {
+        // Given: a header line, multi-byte characters and quoted multi-line names
+        Path file = CsvFixture.writeTempFile(".csv", "code;user;name\r\n"
+                + CsvFixture.newUsersCsv(50, "\"usér\n😀%d\"\r", "0002;%s;España;99\r", "0003;%s;España;Barcelona\r"));
+        for (boolean memoryMapping : new boolean[]{false, true}) {
+            List<Object> expected;
+            try(HCSVReader hcsvReader = newBuilder(file, memoryMapping).build()) {
+                expected = hcsvReader.stream().collect(Collectors.toList());
+            }
+            CsvCheckpoint checkpoint;
+            try(HCSVReader hcsvReader = newBuilder(file, memoryMapping).withCheckpoints(true).build()) {
+                Iterator<Object> iterator = hcsvReader.iterator();
+                for (int i = 0; i < 20; i++) {
+                    iterator.next();
+                }
+                checkpoint = hcsvReader.getCheckpoint();
+            }
+            // when
+            List<Long> lineNumbers = new ArrayList<>();
+            List<Object> resumed;
+            try(HCSVReader hcsvReader = newBuilder(file, memoryMapping)
+                    .withResumeFrom(checkpoint)
+                    .withListener(new CsvLineProcessListener() {
+                        @Override
+                        public void beforeLineProcess(long lineNumber, String[] line) {
+                            lineNumbers.add(lineNumber);
+                        }
+                    })
+                    .build()) {
+                resumed = hcsvReader.stream().collect(Collectors.toList());
+            }
+            // then
+            Assertions.assertEquals(30, resumed.size());
+            Assertions.assertEquals("usér\n😀20", ((UserLine) resumed.get(0)).getUserName());
+            Assertions.assertEquals(1 + 20 * 4, checkpoint.getLinesRead());
+            Assertions.assertEquals(expected.subList(20, 50).toString(), resumed.toString());
+            Assertions.assertEquals(2 + 20 * 4 + 1, lineNumbers.get(0));
+        }
+    }
+
+    @Test
+    public void givenLinesAcrossBuffersAndVerifiedReader_whenResumed_sameRemainingRootsReturned() throws IOException, CsvException {
+        // Given: lines spread over several buffers, the reader peeked at before each line
+        Path file = CsvFixture.writeTempFile(".csv", CsvFixture.newUsersCsv(300, "usér 😀%d",
+                "0002;%s;España;99", "0003;%s;España;Barcelona"));
+        CsvCheckpoint checkpoint;
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(file).withVerifyReader(true).withCheckpoints(true).build()) {
+            Iterator<Object> iterator = hcsvReader.iterator();
+            for (int i = 0; i < 250; i++) {
+                iterator.next();
+            }
+            checkpoint = hcsvReader.getCheckpoint();
+        }
+        // when
+        List<Object> resumed;
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(file).withResumeFrom(checkpoint).build()) {
+            resumed = hcsvReader.readFile();
+        }
+        // then
+        Assertions.assertEquals(250 * 3, checkpoint.getLinesRead());
+        Assertions.assertEquals(50, resumed.size());
+        Assertions.assertEquals("usér 😀250", ((UserLine) resumed.get(0)).getUserName());
+    }
+
+    @Test
+    public void givenReaderInput_whenCheckpointsEnabled_exceptionThrown() {
+        // when
+        RuntimeException exception = Assertions.assertThrows(RuntimeException.class,
+                () -> CsvFixture.newBuilder("0001;000;user\n")
+                        .withCheckpoints(true)
+                        .build());
+        // then
+        Assertions.assertEquals("CheckpointException", exception.getClass().getSimpleName());
+    }
+
+    @Test
+    public void givenOutOfOrderChildren_whenCheckpointsEnabled_exceptionThrown() throws IOException {
+        // Given
+        Path file = CsvFixture.writeTempFile(".csv", "0002;000;Spain;99\n0001;000;user\n");
+        // when
+        RuntimeException exception = Assertions.assertThrows(RuntimeException.class,
+                () -> CsvFixture.newBuilder(file)
+                        .withOutOfOrderChildren(new CsvOrphanPolicy())
+                        .withCheckpoints(true)
+                        .build());
+        // then
+        Assertions.assertEquals("CheckpointException", exception.getClass().getSimpleName());
+        Assertions.assertEquals("Checkpoints cannot be used with out-of-order children, as the pending children are not saved",
+                exception.getMessage());
+    }
+
+    private static HCSVReaderBuilder newBuilder(Path file, boolean memoryMapping) {
+        return CsvFixture.newBuilder(file)
+                .withSkipLines(1)
+                .withMemoryMapping(memoryMapping);
+    }
+}
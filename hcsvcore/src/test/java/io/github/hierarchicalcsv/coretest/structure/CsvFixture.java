@@ -0,0 +1,94 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Shared fixture of the reader tests: the users, addresses, regions and products of the
+ * correct model, separated by {@code ';'}
+ */
+final class CsvFixture {
+
+    static final List<Class<?>> BEAN_CLASSES = List.of(UserLine.class, AddressLine.class, RegionLine.class, ProductLine.class);
+
+    private CsvFixture() {
+    }
+
+    static HCSVReaderBuilder newBuilder(String csv) {
+        return newBuilder(new StringReader(csv));
+    }
+
+    static HCSVReaderBuilder newBuilder(Reader reader) {
+        return configure(new HCSVReaderBuilder(reader));
+    }
+
+    static HCSVReaderBuilder newBuilder(Path file) {
+        return configure(new HCSVReaderBuilder(file));
+    }
+
+    static HCSVReaderBuilder configure(HCSVReaderBuilder builder) {
+        return builder
+                .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+                .withBeanClasses(BEAN_CLASSES);
+    }
+
+    /**
+     * @param users The number of users
+     * @param name The format of the name of a user, given its number
+     * @param childLines The formats of the lines following a user line, given its user code,
+     *      without line break
+     * @return The lines of the users, the user code on 3 digits below 1000 users, 4 otherwise
+     */
+    static String newUsersCsv(int users, String name, String... childLines) {
+        return newUsersCsv(users, name, user -> {
+            String userCode = userCode(users, user);
+            StringBuilder lines = new StringBuilder();
+            for (String childLine : childLines) {
+                lines.append(String.format(childLine, userCode)).append('\n');
+            }
+            return lines.toString();
+        });
+    }
+
+    /**
+     * @param users The number of users
+     * @param name The format of the name of a user, given its number
+     * @param childLines The lines following a user line, given its number
+     * @return The lines of the users, the user code on 3 digits below 1000 users, 4 otherwise
+     */
+    static String newUsersCsv(int users, String name, IntFunction<String> childLines) {
+        StringBuilder csv = new StringBuilder();
+        for (int user = 0; user < users; user++) {
+            csv.append("0001;").append(userCode(users, user)).append(';').append(String.format(name, user)).append('\n')
+                    .append(childLines.apply(user));
+        }
+        return csv.toString();
+    }
+
+    static String userCode(int users, int user) {
+        return String.format(users > 1000? "%04d": "%03d", user);
+    }
+
+    static Path writeTempFile(String suffix, CharSequence csv) throws IOException {
+        Path file = Files.createTempFile("hcsv-test", suffix);
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, csv);
+    }
+
+    static List<Object> readFile(HCSVReaderBuilder builder) throws IOException, CsvException {
+        try (HCSVReader hcsvReader = builder.build()) {
+            return hcsvReader.readFile();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.bean.CsvErrorCollector;
+import io.github.hierarchicalcsv.core.model.CsvErrorPolicy;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+public class ErrorPolicyTest {
+
+    @Test
+    public void givenErrorsWithinBudget_whenReading_firstErrorsKeptAndOthersRejected() throws IOException, CsvException {
+        // Given
+        Path rejectFile = Files.createTempFile("hcsv-reject", ".csv");
+        StringBuilder csv = new StringBuilder();
+        for (int user = 0; user < 10; user++) {
+            csv.append("0001;").append(user).append(";user").append(user).append('\n');
+            csv.append("0009;").append(user).append(";unknown\n");
+        }
+        HCSVReader hcsvReader = newBuilder(csv.toString())
+                .withErrorPolicy(new CsvErrorPolicy()
+                        .withRetainedErrors(3)
+                        .withRejectFile(rejectFile))
+                .build();
+        // when
+        List<Object> list;
+        try (hcsvReader) {
+            list = hcsvReader.readFile();
+        }
+        // then
+        CsvErrorCollector errorCollector = hcsvReader.getErrorCollector();
+        Assertions.assertEquals(10, list.size());
+        Assertions.assertEquals(10, errorCollector.getErrorCount());
+        Assertions.assertEquals(3, errorCollector.getRetainedErrors().size());
+        Assertions.assertEquals(7, errorCollector.getRejectedErrorCount());
+        List<String> rejected = Files.readAllLines(rejectFile, StandardCharsets.UTF_8);
+        Assertions.assertEquals(7, rejected.size());
+        Assertions.assertEquals("8,UnknownBeanTypeException,Cannot determine bean type for line 8,0009,3,unknown",
+                rejected.get(0));
+        Files.delete(rejectFile);
+    }
+
+    @Test
+    public void givenTooManyErrors_whenReading_readingStopsAtFirstErrorOverBudget() throws IOException {
+        // Given
+        StringBuilder csv = new StringBuilder("0001;001;user1\n");
+        for (int line = 0; line < 1000; line++) {
+            csv.append("0009;001;unknown\n");
+        }
+        try (HCSVReader hcsvReader = newBuilder(csv.toString())
+                .withErrorPolicy(new CsvErrorPolicy().withMaxErrorRatio(0.1, 10))
+                .build()) {
+            // when / then
+            CsvException exception = Assertions.assertThrows(CsvException.class, hcsvReader::readFile);
+            Assertions.assertEquals("ErrorBudgetExceededException", exception.getClass().getSimpleName());
+            Assertions.assertEquals(10, exception.getLineNumber());
+            Assertions.assertEquals(9, hcsvReader.getErrorCollector().getErrorCount());
+        }
+    }
+
+    private static HCSVReaderBuilder newBuilder(String csv) {
+        return CsvFixture.newBuilder(csv)
+                .withErrorLocale(Locale.ROOT);
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.event.ParentNotFoundEvent;
+import io.github.hierarchicalcsv.core.event.ReadBatchEvent;
+import io.github.hierarchicalcsv.core.event.ReaderInitializationEvent;
+import io.github.hierarchicalcsv.core.event.SubtreeCompletedEvent;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FlightRecorderTest {
+
+    @Test
+    public void givenEventsEnabled_whenStreaming_phasesRecorded() throws IOException {
+        // Given
+        String csv = "0001;001;user1\n" +
+                "0002;001;France;Paris\n" +
+                "0002;009;Spain;Madrid\n" +
+                "0002;009;Italy;Rome\n" +
+                "0001;002;user2\n" +
+                "0002;002;Spain;Madrid\n";
+        Path recordingFile = Files.createTempFile("hcsv-events", ".jfr");
+        List<RecordedEvent> events;
+        // when
+        try (Recording recording = new Recording()) {
+            recording.enable(ReaderInitializationEvent.class);
+            recording.enable(ReadBatchEvent.class);
+            recording.enable(ParentNotFoundEvent.class);
+            recording.enable(SubtreeCompletedEvent.class);
+            recording.start();
+            try (HCSVReader hcsvReader = CsvFixture.newBuilder(csv)
+                    .withExceptionHandler(exception -> null)
+                    .withBatchSize(4)
+                    .build()) {
+                Assertions.assertEquals(2, hcsvReader.stream().count());
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+            events = RecordingFile.readAllEvents(recordingFile);
+        }
+        // then
+        List<RecordedEvent> batches = byName(events, "io.github.hierarchicalcsv.ReadBatch");
+        Assertions.assertEquals(1, byName(events, "io.github.hierarchicalcsv.ReaderInitialization").size());
+        Assertions.assertEquals(2, batches.size());
+        Assertions.assertEquals(4, batches.get(0).getInt("lines"));
+        Assertions.assertEquals(2, batches.get(1).getInt("lines"));
+        List<RecordedEvent> parentNotFound = byName(events, "io.github.hierarchicalcsv.ParentNotFound");
+        Assertions.assertEquals(1, parentNotFound.size());
+        Assertions.assertEquals("0002", parentNotFound.get(0).getString("beanCode"));
+        Assertions.assertEquals(2, parentNotFound.get(0).getInt("lines"));
+        List<RecordedEvent> subtrees = byName(events, "io.github.hierarchicalcsv.SubtreeCompleted");
+        Assertions.assertEquals(2, subtrees.size());
+        Assertions.assertEquals(2, subtrees.get(0).getInt("beans"));
+        Files.delete(recordingFile);
+    }
+
+    private static List<RecordedEvent> byName(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((first, second) -> first.getStartTime().compareTo(second.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+public class GzipTest {
+
+    @Test
+    public void givenGzipFiles_whenRead_membersInflatedInOrder() throws IOException, CsvException {
+        // Given
+        String csv = CsvFixture.newUsersCsv(300, "\"user\n%d\"",
+                "0002;%s;Spain;99", "0003;%s;Spain;Barcelona", "0004;%s;B938197310;Iphone 14");
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        Path file = writeTempFile(".csv", bytes);
+        // Members cut anywhere in the lines, as concatenated gzip files
+        ByteArrayOutputStream multiMember = new ByteArrayOutputStream();
+        for (int start = 0; start < bytes.length; start += 331) {
+            multiMember.write(gzip(Arrays.copyOfRange(bytes, start, Math.min(start + 331, bytes.length))));
+        }
+        Path multiMemberFile = writeTempFile(".csv.gz", multiMember.toByteArray());
+        Path singleMemberFile = writeTempFile(".csv.gz", gzip(bytes));
+        List<Object> expected = CsvFixture.readFile(CsvFixture.newBuilder(file));
+        for (Path gzipFile : List.of(multiMemberFile, singleMemberFile)) {
+            for (int inflateThreads : new int[]{1, 4}) {
+                try(HCSVReader hcsvReader = CsvFixture.newBuilder(gzipFile).withGzip(inflateThreads).build()) {
+                    // when
+                    List<Object> list = hcsvReader.readFile();
+                    // then
+                    Assertions.assertEquals(300, list.size());
+                    for (int user = 0; user < 300; user++) {
+                        UserLine userLine = (UserLine) list.get(user);
+                        Assertions.assertEquals("user\n" + user, userLine.getUserName());
+                        Assertions.assertEquals(1, userLine.getPositionsProductLines().size());
+                    }
+                    Assertions.assertEquals(expected.toString(), list.toString());
+                }
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream output = new GZIPOutputStream(compressed)) {
+            output.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private Path writeTempFile(String suffix, byte[] bytes) throws IOException {
+        Path file = Files.createTempFile("hcsv-gzip", suffix);
+        file.toFile().deleteOnExit();
+        return Files.write(file, bytes);
+    }
+}
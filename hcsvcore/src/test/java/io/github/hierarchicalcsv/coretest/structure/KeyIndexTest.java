@@ -0,0 +1,64 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.bean.FingerprintCsvKeyIndex;
+import io.github.hierarchicalcsv.core.model.CsvBeanKey;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class KeyIndexTest {
+
+    @Test
+    public void givenFingerprintKeyIndex_whenPuttingAndRemoving_onlyRemainingKeysFound() {
+        // Given
+        FingerprintCsvKeyIndex keyIndex = new FingerprintCsvKeyIndex(bean -> (CsvBeanKey) bean);
+        // when
+        for (int i = 0; i < 10_000; i++) {
+            CsvBeanKey key = new CsvBeanKey(0, new Object[]{"user" + i});
+            keyIndex.put(key, key);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            keyIndex.remove(new CsvBeanKey(0, new Object[]{"user" + i}));
+        }
+        // then
+        Assertions.assertEquals(5_000, keyIndex.size());
+        for (int i = 0; i < 10_000; i++) {
+            CsvBeanKey key = new CsvBeanKey(0, new Object[]{"user" + i});
+            Assertions.assertEquals(i % 2 == 0? null: key, keyIndex.get(key));
+        }
+        Assertions.assertNull(keyIndex.get(new CsvBeanKey(1, new Object[]{"user1"})));
+    }
+
+    @Test
+    public void givenFingerprintKeyIndex_whenReading_sameTreeAsDefaultIndex() throws IOException, CsvException {
+        // Given
+        String csv = CsvFixture.newUsersCsv(2_000, "user%d", "0002;%s;France;Paris", "0002;%s;Spain;Madrid");
+        // when
+        List<String> expected = read(CsvFixture.newBuilder(csv));
+        List<Object> list = CsvFixture.readFile(CsvFixture.newBuilder(csv).withKeyIndex(FingerprintCsvKeyIndex::new));
+        List<String> actual = list.stream().map(Object::toString).collect(Collectors.toList());
+        List<String> streamed;
+        try (HCSVReader hcsvReader = CsvFixture.newBuilder(csv).withKeyIndex(FingerprintCsvKeyIndex::new).build()) {
+            streamed = hcsvReader.stream().map(Object::toString).collect(Collectors.toList());
+        }
+        // then
+        Assertions.assertEquals(2_000, list.size());
+        for (Object user : list) {
+            Assertions.assertEquals(List.of("France", "Spain"), ((UserLine) user).getAddressLines().stream()
+                    .map(AddressLine::getCountry).collect(Collectors.toList()));
+        }
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(expected, streamed);
+    }
+
+    private static List<String> read(HCSVReaderBuilder builder) throws IOException, CsvException {
+        return CsvFixture.readFile(builder).stream().map(Object::toString).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.bean.CsvBindByPosition;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.annotation.CsvChild;
+import io.github.hierarchicalcsv.core.annotation.CsvKey;
+import io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart;
+import io.github.hierarchicalcsv.core.annotation.HCSVBean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class LineErrorTest {
+
+    private static final String DIRTY_CSV = "0001;001;user1\n" +
+            "0009;001;unknown\n" +
+            "0002;002;Spain;99\n";
+
+    @Test
+    public void givenCollectingHandlerWithoutStackTraces_whenReading_errorsKeepTheirMessage() throws IOException, CsvException {
+        // Given
+        List<CsvException> errors = new ArrayList<>();
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(DIRTY_CSV)
+                .withErrorLocale(Locale.ROOT)
+                .withExceptionHandler(exception -> {
+                    errors.add(exception);
+                    return null;
+                })
+                .withErrorStackTraces(false)
+                .build()) {
+            // when
+            List<Object> list = hcsvReader.readFile();
+            // then
+            Assertions.assertEquals(1, list.size());
+            Assertions.assertEquals(2, errors.size());
+            Assertions.assertEquals("UnknownBeanTypeException", errors.get(0).getClass().getSimpleName());
+            Assertions.assertEquals("Cannot determine bean type for line 2", errors.get(0).getMessage());
+            Assertions.assertEquals("ParentBeanNotFoundException", errors.get(1).getClass().getSimpleName());
+            Assertions.assertEquals(3, errors.get(1).getLineNumber());
+            Assertions.assertTrue(errors.get(1).getMessage().startsWith("Cannot find parent bean for bean of type "));
+            for (CsvException error : errors) {
+                Assertions.assertEquals(0, error.getStackTrace().length);
+            }
+        }
+    }
+
+    @Test
+    public void givenThrowingSetter_whenReading_errorHandedToExceptionHandler() throws IOException, CsvException {
+        // Given
+        List<CsvException> errors = new ArrayList<>();
+        try(HCSVReader hcsvReader = new HCSVReaderBuilder(new StringReader("P;1\nC;1;bad\nP;2\nC;2;good\n"))
+                .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+                .withBeanClasses(List.of(ParentLine.class, ChildLine.class))
+                .withExceptionHandler(exception -> {
+                    errors.add(exception);
+                    return null;
+                })
+                .build()) {
+            // when
+            List<Object> list = hcsvReader.readFile();
+            // then
+            Assertions.assertEquals(2, list.size());
+            Assertions.assertNull(((ParentLine) list.get(0)).getChild());
+            Assertions.assertEquals("good", ((ParentLine) list.get(1)).getChild().getValue());
+            Assertions.assertEquals(1, errors.size());
+            Assertions.assertEquals("CausedCsvException", errors.get(0).getClass().getSimpleName());
+            Assertions.assertEquals(2, errors.get(0).getLineNumber());
+            Assertions.assertEquals("SetterMethodNotAccessibleException", errors.get(0).getCause().getClass().getSimpleName());
+            Assertions.assertEquals("Rejected child", errors.get(0).getCause().getCause().getMessage());
+        }
+    }
+
+    @HCSVBean(codePosition = 0, codeValue = "P")
+    public static class ParentLine {
+
+        @CsvBindByPosition(position = 0)
+        private String code;
+
+        @CsvKey
+        @CsvBindByPosition(position = 1)
+        private String id;
+
+        @CsvChild
+        private ChildLine child;
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public ChildLine getChild() {
+            return child;
+        }
+
+        public void setChild(ChildLine child) {
+            if ("bad".equals(child.getValue())) {
+                throw new IllegalArgumentException("Rejected child");
+            }
+            this.child = child;
+        }
+    }
+
+    @HCSVBean(codePosition = 0, codeValue = "C")
+    public static class ChildLine {
+
+        @CsvBindByPosition(position = 0)
+        private String code;
+
+        @CsvParentKeyPart(ParentLine.class)
+        @CsvBindByPosition(position = 1)
+        private String parentId;
+
+        @CsvBindByPosition(position = 2)
+        private String value;
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public String getParentId() {
+            return parentId;
+        }
+
+        public void setParentId(String parentId) {
+            this.parentId = parentId;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.ICSVParser;
+import com.opencsv.RFC4180ParserBuilder;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.model.CsvErrorPolicy;
+import io.github.hierarchicalcsv.core.model.CsvOrphanPolicy;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+public class MemoryMappingTest {
+
+    @Test
+    public void givenQuotedFieldsAndCRLF_whenMemoryMapped_sameResultAsReader() throws IOException, CsvException {
+        // Given: multi-line and escaped quoted values, CRLF line breaks and an unknown line
+        String csv = "to-ignore;line 1\r\n" +
+                "0001;001;\"user \"\"one\"\"\"\r\n" +
+                "0002;001;\"Spa\r\nin\";99\r\n" +
+                "0003;001;\"Spa\r\nin\";\"Barcelona\"\r\n" +
+                "9999;001;unknown\r\n" +
+                "0001;002;user2;\r\n" +
+                "0004;002;B938197310;\"Iphone; 14\"";
+        Path file = Files.createTempFile("hcsv-mapped", ".csv");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, csv);
+        List<Long> expectedLineNumbers = new ArrayList<>();
+        List<Object> expected;
+        try(HCSVReader hcsvReader = newBuilder(file, expectedLineNumbers).build()) {
+            expected = hcsvReader.readFile();
+        }
+        List<Long> lineNumbers = new ArrayList<>();
+        try(HCSVReader hcsvReader = newBuilder(file, lineNumbers)
+                .withMemoryMapping(true)
+                .build()) {
+            // when
+            List<Object> list = hcsvReader.readFile();
+            // then
+            Assertions.assertEquals(2, list.size());
+            Assertions.assertEquals("user \"one\"", ((UserLine) list.get(0)).getUserName());
+            Assertions.assertEquals(expected.toString(), list.toString());
+            Assertions.assertEquals(List.of(7L), lineNumbers);
+            Assertions.assertEquals(expectedLineNumbers, lineNumbers);
+        }
+    }
+
+    @Test
+    public void givenIrregularRecords_whenMemoryMapped_sameLinesAsReader(@TempDir Path directory) throws IOException {
+        // Given: escape characters, text around quoted fields, carriage returns alone and an
+        // unterminated quoted field, read with the default, a CSVParser and a RFC4180Parser parser
+        String[] csvs = {
+                "0001;001;\"user \\\"one\\\"\"\n0001;002;us\\er\n",
+                "0001;001;\"user\"one;x\n0001;002;user2\n",
+                "0001;001;us\"er;x\"\n0001;002;user2\n",
+                "0001;001; \"user1\"\n0001;002;\"user\r2\"\n",
+                "0001;001;us\rer1\r\n0001;002;user2\r",
+                "0001;001;user1\n0001;002;\"user2\n"
+        };
+        List<Supplier<ICSVParser>> parsers = List.of(
+                () -> null,
+                () -> new CSVParserBuilder().withSeparator(';').build(),
+                () -> new RFC4180ParserBuilder().withSeparator(';').build());
+        for (String csv : csvs) {
+            for (int parser = 0; parser < parsers.size(); parser++) {
+                Path file = directory.resolve("irregular.csv");
+                Files.writeString(file, parser == 0? csv.replace(';', ','): csv);
+                // when
+                String expected = readLines(file, parsers.get(parser).get(), false);
+                String lines = readLines(file, parsers.get(parser).get(), true);
+                // then
+                Assertions.assertEquals(expected, lines, csv);
+            }
+        }
+    }
+
+    @Test
+    public void givenColumnsNotBound_whenMemoryMapped_wholeLinesInErrorsRejectFileAndSpill(@TempDir Path directory)
+            throws IOException, CsvException {
+        // Given: children without parent, with a column not bound
+        String csv = "0002;009;Italy;Rome;not bound 1\n" +
+                "0001;001;user1;not bound 2\n" +
+                "0002;008;Spain;Madrid;not bound 3\n";
+        Path file = directory.resolve("unbound.csv");
+        Files.writeString(file, csv);
+        Path rejectFile = directory.resolve("reject.csv");
+        Path spillDirectory = Files.createDirectory(directory.resolve("spill"));
+        List<String> errorLines = new ArrayList<>();
+        // when: errors handled by the pipeline, and spilled orphans rejected
+        try (HCSVReader hcsvReader = newBuilder(file, new ArrayList<>())
+                .withSkipLines(0)
+                .withMemoryMapping(true)
+                .withPipeline(2)
+                .withExceptionHandler(e -> {
+                    errorLines.add(e.getLineNumber() + " " + Arrays.toString(e.getLine()));
+                    return null;
+                })
+                .build()) {
+            hcsvReader.readFile();
+        }
+        try (HCSVReader hcsvReader = newBuilder(file, new ArrayList<>())
+                .withSkipLines(0)
+                .withMemoryMapping(true)
+                .withOutOfOrderChildren(new CsvOrphanPolicy()
+                        .withMaxPendingOrphans(0)
+                        .withSpillDirectory(spillDirectory))
+                .withErrorPolicy(new CsvErrorPolicy()
+                        .withRetainedErrors(0)
+                        .withRejectFile(rejectFile))
+                .build()) {
+            hcsvReader.readFile();
+        }
+        // then
+        Assertions.assertEquals(List.of("1 [0002, 009, Italy, Rome, not bound 1]", "3 [0002, 008, Spain, Madrid, not bound 3]"),
+                errorLines);
+        List<String> rejected = Files.readAllLines(rejectFile, StandardCharsets.UTF_8);
+        Assertions.assertEquals(2, rejected.size());
+        Assertions.assertTrue(rejected.get(0).endsWith(",0002,009,Italy,Rome,not bound 1"), rejected.get(0));
+        Assertions.assertTrue(rejected.get(1).endsWith(",0002,008,Spain,Madrid,not bound 3"), rejected.get(1));
+    }
+
+    /**
+     * @return The beans read and the errors, or the exception thrown
+     */
+    private static String readLines(Path file, ICSVParser parser, boolean memoryMapping) {
+        List<String> errors = new ArrayList<>();
+        try (HCSVReader hcsvReader = new HCSVReaderBuilder(file)
+                .withCSVParser(parser)
+                .withBeanClasses(CsvFixture.BEAN_CLASSES)
+                .withMemoryMapping(memoryMapping)
+                .withExceptionHandler(e -> {
+                    errors.add(e.getLineNumber() + " " + Arrays.toString(e.getLine()));
+                    return null;
+                })
+                .build()) {
+            List<Object> list = hcsvReader.readFile();
+            return list + " " + errors;
+        } catch (Exception ex) {
+            return ex.getClass().getName() + " " + ex.getMessage();
+        }
+    }
+
+    private static HCSVReaderBuilder newBuilder(Path file, List<Long> lineNumbers) {
+        return CsvFixture.newBuilder(file)
+                .withSkipLines(1)
+                .withExceptionHandler(e -> {
+                    lineNumbers.add(e.getLineNumber());
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.metrics.CsvReaderMetrics;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class MetricsTest {
+
+    private static final String CSV = "0001;001;user1\n" +
+            "0002;001;France;Paris\n" +
+            "0009;001;unknown\n" +
+            "0001;002;user2\n" +
+            "0002;002;Spain;Madrid\n";
+
+    @Test
+    public void givenMetricsEnabled_whenReading_linesAndBeansCountedPerType() throws IOException, CsvException {
+        // Given
+        HCSVReader hcsvReader = newBuilder()
+                .withMetrics(true)
+                .build();
+        // when
+        List<Object> list;
+        try (hcsvReader) {
+            list = hcsvReader.readFile();
+        }
+        // then
+        CsvReaderMetrics metrics = hcsvReader.getMetrics();
+        Assertions.assertEquals(2, list.size());
+        Assertions.assertEquals(5, metrics.getLinesRead());
+        Assertions.assertEquals(1, metrics.getUnknownLines());
+        Assertions.assertEquals(2, metrics.getBeanTypeMetrics("0001").getBoundBeans());
+        Assertions.assertEquals(2, metrics.getBeanTypeMetrics("0002").getBoundBeans());
+        Assertions.assertEquals(0, metrics.getBeanTypeMetrics("0002").getFailedLines());
+        Assertions.assertEquals(2, metrics.getBeanTypeMetrics("0001").getBindingLatency().getCount());
+        Assertions.assertEquals(4, metrics.getIndexedKeys());
+    }
+
+    @Test
+    public void givenMetricsMBeanName_whenReading_metricsPublishedWhileReaderOpen() throws IOException, CsvException, JMException {
+        // Given
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(HCSVReader.METRICS_MBEAN_DOMAIN + ",name=" + ObjectName.quote("metrics-test"));
+        // when
+        try (HCSVReader hcsvReader = newBuilder()
+                .withMetricsMBeanName("metrics-test")
+                .build()) {
+            hcsvReader.readFile();
+            // then
+            Assertions.assertEquals(5L, mBeanServer.getAttribute(name, "LinesRead"));
+            Assertions.assertEquals(1L, mBeanServer.getAttribute(name, "UnknownLines"));
+        }
+        Assertions.assertFalse(mBeanServer.isRegistered(name));
+    }
+
+    @Test
+    public void givenMetricsMBeanNameInUse_whenBuilding_registrationFailsAndInputClosed() throws IOException, CsvException {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        try (HCSVReader hcsvReader = newBuilder()
+                .withMetricsMBeanName("metrics-in-use")
+                .build()) {
+            HCSVReaderBuilder builder = CsvFixture.newBuilder(new StringReader(CSV) {
+                @Override
+                public void close() {
+                    closed.set(true);
+                    super.close();
+                }
+            })
+                    .withIgnoreUnknownBeanType(true)
+                    .withMetricsMBeanName("metrics-in-use");
+            // when
+            RuntimeException exception = Assertions.assertThrows(RuntimeException.class, builder::build);
+            // then
+            Assertions.assertEquals("MetricsRegistrationException", exception.getClass().getSimpleName());
+            Assertions.assertTrue(closed.get());
+            Assertions.assertEquals(2, hcsvReader.readFile().size());
+        }
+    }
+
+    private static HCSVReaderBuilder newBuilder() {
+        return CsvFixture.newBuilder(CSV)
+                .withIgnoreUnknownBeanType(true);
+    }
+}
@@ -1,12 +1,12 @@
 package io.github.hierarchicalcsv.coretest.structure;
 
 import com.opencsv.CSVParserBuilder;
-import com.opencsv.bean.util.OrderedObject;
 import com.opencsv.exceptions.CsvException;
 import io.github.hierarchicalcsv.core.HCSVReader;
 import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
 import io.github.hierarchicalcsv.core.model.CsvBeanType;
 import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.core.model.CsvLineResult;
 import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -16,7 +16,6 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
 
 public class MultiParentTest {
 
@@ -99,9 +98,9 @@ public class MultiParentTest {
         }
 
         @Override
-        public void afterLineProcess(long lineNumber, Object csvBean, BlockingQueue<OrderedObject<CsvException>> thrownExceptionsQueue, boolean filteredBean) {
+        public void afterLineProcess(long lineNumber, CsvLineResult result) {
             afterLineProcessCallCount++;
-            if(filteredBean) {
+            if(result.isFilteredBean()) {
                 filteredBeansCallCount++;
             }
         }
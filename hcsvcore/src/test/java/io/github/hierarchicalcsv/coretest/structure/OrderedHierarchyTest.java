@@ -0,0 +1,57 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+public class OrderedHierarchyTest {
+
+    private static final String DEPTH_FIRST_CSV = "0001;001;user1\n" +
+            "0002;001;Spain;99\n" +
+            "0003;001;Spain;Barcelona\n" +
+            "0004;001;B938197310;Iphone 14\n" +
+            "0001;002;user2\n" +
+            "0002;002;France;93\n" +
+            "0003;002;France;Paris\n";
+
+    @Test
+    public void givenDepthFirstFile_whenOrderedHierarchy_sameResultAsDefaultMode() throws IOException, CsvException {
+        List<Object> expected = CsvFixture.readFile(CsvFixture.newBuilder(DEPTH_FIRST_CSV));
+        // Given
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(DEPTH_FIRST_CSV)
+                .withOrderedHierarchy(true)
+                .withMetrics(true)
+                .build()) {
+            // when
+            List<Object> list = hcsvReader.readFile();
+            // then: parents are found among the open beans, no key is indexed
+            Assertions.assertEquals(0, hcsvReader.getMetrics().getIndexedKeys());
+            Assertions.assertEquals(2, list.size());
+            UserLine secondUser = (UserLine) list.get(1);
+            Assertions.assertEquals("Paris", secondUser.getAddressLines().get(0).getRegionLine().getRegion());
+            Assertions.assertEquals(expected.toString(), list.toString());
+        }
+    }
+
+    @Test
+    public void givenChildAfterItsScopeIsClosed_whenOrderedHierarchy_parentNotFound() throws IOException {
+        // Given: the region of the first address appears after a sibling product closed its scope
+        String csv = "0001;001;user1\n" +
+                "0002;001;Spain;99\n" +
+                "0004;001;B938197310;Iphone 14\n" +
+                "0003;001;Spain;Barcelona\n";
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(csv)
+                .withOrderedHierarchy(true)
+                .build()) {
+            // when / then
+            CsvException exception = Assertions.assertThrows(CsvException.class, hcsvReader::readFile);
+            Assertions.assertEquals("ParentBeanNotFoundException", exception.getClass().getSimpleName());
+            Assertions.assertEquals(4, exception.getLineNumber());
+        }
+    }
+}
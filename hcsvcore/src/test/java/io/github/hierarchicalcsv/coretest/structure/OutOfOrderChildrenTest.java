@@ -0,0 +1,176 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.bean.BeanVerifier;
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.model.CsvBeanType;
+import io.github.hierarchicalcsv.core.model.CsvOrphanPolicy;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class OutOfOrderChildrenTest {
+
+    private static final String CSV = "0002;001;France;Paris\n" +
+            "0002;001;Spain;Madrid\n" +
+            "0002;009;Italy;Rome\n" +
+            "0001;001;user1\n" +
+            "0001;002;user2\n" +
+            "0002;002;Spain;Madrid\n";
+
+    @Test
+    public void givenChildrenBeforeParents_whenReading_childrenLinkedAndMissingParentsReportedAtEnd() throws IOException, CsvException {
+        // Given
+        Path spillDirectory = Files.createTempDirectory("hcsv-spill");
+        List<CsvException> errors = new ArrayList<>();
+        List<Object> list;
+        // when
+        try (HCSVReader hcsvReader = newBuilder()
+                .withExceptionHandler(exception -> {
+                    errors.add(exception);
+                    return null;
+                })
+                .withOutOfOrderChildren(new CsvOrphanPolicy()
+                        .withMaxPendingOrphans(1)
+                        .withSpillDirectory(spillDirectory))
+                .build()) {
+            list = hcsvReader.readFile();
+        }
+        // then
+        Assertions.assertEquals(2, list.size());
+        UserLine user1 = (UserLine) list.get(0);
+        UserLine user2 = (UserLine) list.get(1);
+        Assertions.assertEquals(List.of("France", "Spain"),
+                user1.getAddressLines().stream().map(AddressLine::getCountry).collect(Collectors.toList()));
+        Assertions.assertEquals(1, user2.getAddressLines().size());
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertEquals("ParentBeanNotFoundException", errors.get(0).getClass().getSimpleName());
+        Assertions.assertEquals(3, errors.get(0).getLineNumber());
+        try (var files = Files.list(spillDirectory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+        Files.delete(spillDirectory);
+    }
+
+    @Test
+    public void givenChildrenBeforeParents_whenStreaming_childrenLinkedToTheirRoot() {
+        // Given
+        List<Object> roots;
+        // when
+        try (HCSVReader hcsvReader = newBuilder()
+                .withIgnoreUnknownBeanType(true)
+                .withExceptionHandler(exception -> null)
+                .withOutOfOrderChildren(new CsvOrphanPolicy())
+                .build()) {
+            roots = hcsvReader.stream().collect(Collectors.toList());
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+        // then
+        Assertions.assertEquals(2, roots.size());
+        Assertions.assertEquals(2, ((UserLine) roots.get(0)).getAddressLines().size());
+    }
+
+    @Test
+    public void givenChildrenSpilledBeforeParents_whenStreaming_childrenLinkedBeforeTheirRootIsEmitted(@TempDir Path spillDirectory) throws IOException {
+        // Given
+        List<CsvException> errors = new ArrayList<>();
+        List<Object> roots;
+        // when
+        try (HCSVReader hcsvReader = newBuilder()
+                .withExceptionHandler(exception -> {
+                    errors.add(exception);
+                    return null;
+                })
+                .withOutOfOrderChildren(new CsvOrphanPolicy()
+                        .withMaxPendingOrphans(0)
+                        .withSpillDirectory(spillDirectory))
+                .build()) {
+            roots = hcsvReader.stream().collect(Collectors.toList());
+        }
+        // then
+        Assertions.assertEquals(2, roots.size());
+        Assertions.assertEquals(List.of("France", "Spain"),
+                ((UserLine) roots.get(0)).getAddressLines().stream().map(AddressLine::getCountry).collect(Collectors.toList()));
+        Assertions.assertEquals(1, ((UserLine) roots.get(1)).getAddressLines().size());
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertEquals("ParentBeanNotFoundException", errors.get(0).getClass().getSimpleName());
+        Assertions.assertEquals(3, errors.get(0).getLineNumber());
+        try (var files = Files.list(spillDirectory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void givenEmptyFieldsAsNull_whenOrphansSpilled_nullFieldsKept(@TempDir Path spillDirectory) throws IOException, CsvException {
+        // Given
+        String csv = "0002;001;France;\n0002;001;Spain;\"\"\n0001;001;user1\n";
+        // when
+        List<Object> inMemory = CsvFixture.readFile(newBuilderWithFieldAsNull(csv)
+                .withOutOfOrderChildren(new CsvOrphanPolicy()));
+        List<Object> spilled = CsvFixture.readFile(newBuilderWithFieldAsNull(csv)
+                .withOutOfOrderChildren(new CsvOrphanPolicy()
+                        .withMaxPendingOrphans(0)
+                        .withSpillDirectory(spillDirectory)));
+        // then
+        List<AddressLine> addressLines = ((UserLine) spilled.get(0)).getAddressLines();
+        Assertions.assertNull(addressLines.get(0).getPostalCode());
+        Assertions.assertEquals("", addressLines.get(1).getPostalCode());
+        Assertions.assertEquals(inMemory.toString(), spilled.toString());
+    }
+
+    @Test
+    public void givenBeanTypeFilterAndVerifier_whenOrphansSpilled_appliedAsToTheOtherLines(@TempDir Path spillDirectory) throws IOException, CsvException {
+        // Given: the addresses in Italy filtered out, and the postal codes set by a verifier
+        BeanVerifier<AddressLine> verifier = address -> {
+            address.setPostalCode(address.getCountry().substring(0, 2).toUpperCase());
+            return true;
+        };
+        List<CsvException> errors = new ArrayList<>();
+        List<Object> list;
+        // when
+        try (HCSVReader hcsvReader = new HCSVReaderBuilder(new StringReader(CSV))
+                .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+                .withBeanClasses(List.of(UserLine.class, RegionLine.class, ProductLine.class))
+                .withBeanType(new CsvBeanType<>(AddressLine.class, line -> !"Italy".equals(line[2]), List.of(verifier)))
+                .withExceptionHandler(exception -> {
+                    errors.add(exception);
+                    return null;
+                })
+                .withOutOfOrderChildren(new CsvOrphanPolicy()
+                        .withMaxPendingOrphans(0)
+                        .withSpillDirectory(spillDirectory))
+                .build()) {
+            list = hcsvReader.readFile();
+        }
+        // then
+        Assertions.assertEquals(List.of("FR", "SP"), ((UserLine) list.get(0)).getAddressLines().stream()
+                .map(AddressLine::getPostalCode).collect(Collectors.toList()));
+        Assertions.assertEquals("SP", ((UserLine) list.get(1)).getAddressLines().get(0).getPostalCode());
+        Assertions.assertEquals(List.of(), errors);
+    }
+
+    private static HCSVReaderBuilder newBuilderWithFieldAsNull(String csv) {
+        return CsvFixture.newBuilder(csv)
+                .withCSVParser(new CSVParserBuilder()
+                        .withSeparator(';')
+                        .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS)
+                        .build());
+    }
+
+    private static HCSVReaderBuilder newBuilder() {
+        return CsvFixture.newBuilder(CSV);
+    }
+}
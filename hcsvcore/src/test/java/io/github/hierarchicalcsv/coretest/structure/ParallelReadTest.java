@@ -0,0 +1,123 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ParallelReadTest {
+
+    @Test
+    public void givenLargeFile_whenReadInParallel_rangesReadOnSeveralThreadsAndMergedInOrder() throws IOException, CsvException {
+        // Given: quoted multi-line names, and products of the first user at the end of the file
+        String csv = CsvFixture.newUsersCsv(200, "\"user\n%d\"",
+                "0002;%s;Spain;99", "0003;%s;Spain;Barcelona", "0004;%s;B938197310;Iphone 14")
+                + "0004;000;A917497177;Washing Machine Hisence\n";
+        Path file = CsvFixture.writeTempFile(".csv", csv);
+        List<Object> expected = CsvFixture.readFile(newBuilder(file, 1));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        try(HCSVReader hcsvReader = newBuilder(file, 4)
+                .withListener(new CsvLineProcessListener() {
+                    @Override
+                    public void beforeLineProcess(long lineNumber, String[] line) {
+                        threads.add(Thread.currentThread().getName());
+                    }
+                })
+                .build()) {
+            // when
+            List<Object> list = hcsvReader.readFile();
+            // then
+            Assertions.assertTrue(threads.size() > 1, threads.toString());
+            Assertions.assertFalse(threads.contains(Thread.currentThread().getName()));
+            Assertions.assertEquals(200, list.size());
+            for (int user = 0; user < 200; user++) {
+                UserLine userLine = (UserLine) list.get(user);
+                Assertions.assertEquals("user\n" + user, userLine.getUserName());
+                Assertions.assertEquals("Barcelona", userLine.getAddressLines().get(0).getRegionLine().getRegion());
+            }
+            Assertions.assertEquals(List.of("Iphone 14", "Washing Machine Hisence"), List.of(
+                    ((UserLine) list.get(0)).getPositionsProductLines().get(0).getName(),
+                    ((UserLine) list.get(0)).getPositionsProductLines().get(1).getName()));
+            Assertions.assertEquals(expected.toString(), list.toString());
+        }
+    }
+
+    @Test
+    public void givenMissingParents_whenReadInParallel_exceptionsHandledInLineOrder() throws IOException, CsvException {
+        // Given
+        String csv = CsvFixture.newUsersCsv(100, "user%d",
+                user -> "0002;" + (user % 10 == 0? "999": CsvFixture.userCode(100, user)) + ";Spain;99\n");
+        Path file = CsvFixture.writeTempFile(".csv", csv);
+        List<Long> lineNumbers = Collections.synchronizedList(new ArrayList<>());
+        try(HCSVReader hcsvReader = newBuilder(file, 4)
+                .withExceptionHandler(e -> {
+                    lineNumbers.add(e.getLineNumber());
+                    return null;
+                })
+                .build()) {
+            // when
+            hcsvReader.readFile();
+            // then
+            List<Long> expected = new ArrayList<>();
+            for (long line = 2; line <= 200; line += 20) {
+                expected.add(line);
+            }
+            Assertions.assertEquals(expected, lineNumbers);
+        }
+    }
+
+    @Test
+    public void givenChildRedefiningKeyOfPreviousRange_whenReadInParallel_laterLinesLinkedAsInSequentialRead() throws IOException, CsvException {
+        // Given: a second address of the first user at the end of the file, with the key of its first address
+        String csv = CsvFixture.newUsersCsv(100, "user%d", "0002;%s;Spain;99", "0003;%s;Spain;Barcelona")
+                + "0002;000;Spain;11\n0003;000;Spain;Madrid\n";
+        Path file = CsvFixture.writeTempFile(".csv", csv);
+        List<Object> expected = CsvFixture.readFile(newBuilder(file, 1));
+        try(HCSVReader hcsvReader = newBuilder(file, 4).build()) {
+            // when
+            List<Object> list = hcsvReader.readFile();
+            // then: the region following the second address is its own
+            List<AddressLine> addressLines = ((UserLine) list.get(0)).getAddressLines();
+            Assertions.assertEquals(2, addressLines.size());
+            Assertions.assertEquals("Barcelona", addressLines.get(0).getRegionLine().getRegion());
+            Assertions.assertEquals("Madrid", addressLines.get(1).getRegionLine().getRegion());
+            Assertions.assertEquals(expected.toString(), list.toString());
+        }
+    }
+
+    @Test
+    public void givenEscapedQuoteInUnquotedField_whenReadInParallel_rangesSplitAsTheParserReads() throws IOException, CsvException {
+        // Given: an escaped quote outside quotes, then a quoted name whose second line looks like a root line
+        String csv = CsvFixture.newUsersCsv(200, "user%d", "0002;%s;Spain;99", "0003;%s;Spain;Barcelona")
+                .replace("0001;050;user50\n", "0001;050;us\\\"er\n")
+                .replace("0001;060;user60\n", "0001;060;\"user\n0001;999;fake\"\n");
+        Path file = CsvFixture.writeTempFile(".csv", csv);
+        List<Object> expected = CsvFixture.readFile(newBuilder(file, 1));
+        try(HCSVReader hcsvReader = newBuilder(file, 4).build()) {
+            // when
+            List<Object> list = hcsvReader.readFile();
+            // then
+            Assertions.assertEquals(200, list.size());
+            Assertions.assertEquals("us\"er", ((UserLine) list.get(50)).getUserName());
+            Assertions.assertEquals("user\n0001;999;fake", ((UserLine) list.get(60)).getUserName());
+            Assertions.assertEquals(expected.toString(), list.toString());
+        }
+    }
+
+    private static HCSVReaderBuilder newBuilder(Path file, int parallelism) {
+        return CsvFixture.newBuilder(file)
+                .withParallelism(parallelism)
+                .withChunkSize(256);
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.bean.BeanVerifier;
+import com.opencsv.exceptions.CsvConstraintViolationException;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.model.CsvBeanType;
+import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.core.model.CsvLineResult;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class PipelineTest {
+
+    @Test
+    public void givenLargeFile_whenReadInPipeline_linesTokenizedOnTheTokenizerThreadInOrder() throws IOException, CsvException {
+        // Given
+        String csv = generateCsv(false);
+        List<Object> expected = CsvFixture.readFile(CsvFixture.newBuilder(csv));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Long> lineNumbers = new ArrayList<>();
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(csv)
+                .withPipeline(3)
+                .withBatchSize(7)
+                .withListener(new CsvLineProcessListener() {
+                    @Override
+                    public void beforeLineProcess(long lineNumber, String[] line) {
+                        threads.add(Thread.currentThread().getName());
+                        lineNumbers.add(lineNumber);
+                    }
+                })
+                .build()) {
+            // when
+            List<Object> list = hcsvReader.stream().collect(Collectors.toList());
+            // then
+            Assertions.assertEquals(1, threads.size());
+            Assertions.assertTrue(threads.iterator().next().startsWith("hcsv-tokenizer-"), threads.toString());
+            Assertions.assertEquals(900, lineNumbers.size());
+            Assertions.assertEquals(900L, lineNumbers.get(899));
+            Assertions.assertEquals(300, list.size());
+            UserLine lastUser = (UserLine) list.get(299);
+            Assertions.assertEquals("299", lastUser.getUserCode());
+            Assertions.assertEquals("Iphone 14", lastUser.getPositionsProductLines().get(0).getName());
+            Assertions.assertEquals(expected.toString(), list.toString());
+        }
+    }
+
+    @Test
+    public void givenUnknownLines_whenReadInPipeline_exceptionsHandledInLineOrder() throws IOException, CsvException {
+        // Given
+        String csv = generateCsv(true);
+        List<Long> lineNumbers = new ArrayList<>();
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(csv)
+                .withPipeline(4)
+                .withBatchSize(5)
+                .withExceptionHandler(e -> {
+                    lineNumbers.add(e.getLineNumber());
+                    return null;
+                })
+                .build()) {
+            // when
+            List<Object> list = hcsvReader.readFile();
+            // then
+            Assertions.assertEquals(300, list.size());
+            List<Long> expected = new ArrayList<>();
+            for (long line = 3; line <= 900; line += 30) {
+                expected.add(line);
+            }
+            Assertions.assertEquals(expected, lineNumbers);
+        }
+    }
+
+    @Test
+    public void givenHandlerReturningNull_whenReadInPipeline_unknownBeanTypesKeptInResultAsInSequentialRead() throws IOException, CsvException {
+        // Given
+        String csv = generateCsv(true);
+        // when
+        List<String> sequentialExceptions = readThrownExceptions(csv, 0);
+        List<String> pipelineExceptions = readThrownExceptions(csv, 4);
+        // then
+        Assertions.assertEquals(30, sequentialExceptions.size());
+        Assertions.assertEquals("3: [UnknownBeanTypeException]", sequentialExceptions.get(0));
+        Assertions.assertEquals(sequentialExceptions, pipelineExceptions);
+    }
+
+    @Test
+    public void givenBeanTypeHandlerRethrowing_whenIteratingPastTheFailures_sameRootsAsSequentialRead() throws IOException {
+        // Given: products failing their verification every 50 users
+        String csv = CsvFixture.newUsersCsv(300, "user%d", user -> "0004;" + CsvFixture.userCode(300, user)
+                + (user % 50 == 0? ";FAIL;Iphone 14\n": ";B938197310;Iphone 14\n")
+                + "0002;" + CsvFixture.userCode(300, user) + ";Spain;99\n");
+        // when
+        List<String> sequentialRoots = iterateIgnoringFailures(csv, 0);
+        List<String> pipelineRoots = iterateIgnoringFailures(csv, 3);
+        // then: the lines of a batch following a failure are read too
+        Assertions.assertEquals(300 + 6, sequentialRoots.size());
+        Assertions.assertEquals(sequentialRoots, pipelineRoots);
+    }
+
+    private static List<String> readThrownExceptions(String csv, int pipelineThreads) throws IOException, CsvException {
+        List<String> thrownExceptions = new ArrayList<>();
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(csv)
+                .withPipeline(pipelineThreads)
+                .withBatchSize(7)
+                .withExceptionHandler(e -> null)
+                .withListener(new CsvLineProcessListener() {
+                    @Override
+                    public void afterLineProcess(long lineNumber, CsvLineResult result) {
+                        if (!result.getThrownExceptions().isEmpty()) {
+                            thrownExceptions.add(lineNumber + ": " + result.getThrownExceptions().stream()
+                                    .map(e -> e.getClass().getSimpleName()).collect(Collectors.toList()));
+                        }
+                    }
+                })
+                .build()) {
+            hcsvReader.readFile();
+        }
+        return thrownExceptions;
+    }
+
+    /**
+     * @return The roots read, and a mark for each failure
+     */
+    private static List<String> iterateIgnoringFailures(String csv, int pipelineThreads) throws IOException {
+        BeanVerifier<ProductLine> verifier = product -> {
+            if ("FAIL".equals(product.getBarcode())) {
+                throw new CsvConstraintViolationException(product, "invalid barcode");
+            }
+            return true;
+        };
+        List<String> roots = new ArrayList<>();
+        try(HCSVReader hcsvReader = new HCSVReaderBuilder(new StringReader(csv))
+                .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+                .withBeanClasses(List.of(UserLine.class, AddressLine.class, RegionLine.class))
+                .withBeanType(new CsvBeanType<>(ProductLine.class, null, List.of(verifier), e -> {
+                    throw e;
+                }))
+                .withPipeline(pipelineThreads)
+                .withBatchSize(16)
+                .build()) {
+            Iterator<Object> iterator = hcsvReader.iterator();
+            while (true) {
+                try {
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                    roots.add(iterator.next().toString());
+                } catch (RuntimeException ex) {
+                    Assertions.assertEquals("UnableToReadFileException", ex.getClass().getSimpleName());
+                    roots.add("failure");
+                }
+            }
+        }
+        return roots;
+    }
+
+    private static String generateCsv(boolean withUnknownLines) {
+        return CsvFixture.newUsersCsv(300, "user%d", user -> "0002;" + CsvFixture.userCode(300, user) + ";Spain;99\n"
+                + (withUnknownLines && user % 10 == 0? "9999": "0004")
+                + ';' + CsvFixture.userCode(300, user) + ";B938197310;Iphone 14\n");
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+public class ReadAheadTest {
+
+    @Test
+    public void givenReadAhead_whenRead_fileReadOnPrefetchThread() throws IOException, CsvException {
+        // Given: many more bytes than the buffers read ahead
+        String csv = CsvFixture.newUsersCsv(2000, "\"user\n%d\"", "0002;%s;España;99", "0004;%s;B938197310;Iphone 14");
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        Path file = CsvFixture.writeTempFile(".csv", csv);
+        Path gzipFile = Files.createTempFile("hcsv-read-ahead", ".csv.gz");
+        gzipFile.toFile().deleteOnExit();
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+            output.write(bytes);
+        }
+        List<Object> expected = CsvFixture.readFile(CsvFixture.newBuilder(file));
+        Set<String> prefetchThreads = new HashSet<>();
+        // when
+        List<Object> list;
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(file)
+                .withReadAhead(3, 4096)
+                .withListener(new CsvLineProcessListener() {
+                    @Override
+                    public void beforeLineProcess(long lineNumber, String[] line) {
+                        if (lineNumber == 1000) {
+                            prefetchThreads.addAll(Thread.getAllStackTraces().keySet().stream()
+                                    .map(Thread::getName)
+                                    .filter(name -> name.startsWith("hcsv-read-ahead-"))
+                                    .collect(Collectors.toList()));
+                        }
+                    }
+                })
+                .build()) {
+            list = hcsvReader.readFile();
+        }
+        List<Object> gzipList = CsvFixture.readFile(CsvFixture.newBuilder(gzipFile).withGzip(1).withReadAhead(2, 4096));
+        List<Object> iterated = new ArrayList<>();
+        try(HCSVReader hcsvReader = CsvFixture.newBuilder(file).withReadAhead(2, 4096).withCheckpoints(true).build()) {
+            hcsvReader.iterator().forEachRemaining(iterated::add);
+        }
+        // then
+        Assertions.assertEquals(1, prefetchThreads.size());
+        Assertions.assertEquals(2000, list.size());
+        Assertions.assertEquals("user\n1999", ((UserLine) list.get(1999)).getUserName());
+        Assertions.assertEquals("España", ((UserLine) list.get(1999)).getAddressLines().get(0).getCountry());
+        Assertions.assertEquals(expected.toString(), list.toString());
+        Assertions.assertEquals(expected.toString(), gzipList.toString());
+        Assertions.assertEquals(expected.toString(), iterated.toString());
+    }
+
+    @Test
+    public void givenReadAhead_whenClosedBeforeTheEnd_noException() throws IOException {
+        // Given
+        Path file = CsvFixture.writeTempFile(".csv", CsvFixture.newUsersCsv(2000, "user"));
+        // when then
+        Assertions.assertDoesNotThrow(() -> {
+            try(HCSVReader hcsvReader = CsvFixture.newBuilder(file).withReadAhead(2, 4096).build()) {
+                hcsvReader.iterator().next();
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.HCSVRootIndex;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class RootIndexTest {
+
+    @Test
+    public void givenRootIndex_whenReadSubtrees_sameSubtreesAsWholeRead() throws IOException, CsvException {
+        // Given: a header line and quoted multi-line names
+        Path file = CsvFixture.writeTempFile(".csv", "code;user;name\n" + CsvFixture.newUsersCsv(100, "\"user\n%d\"",
+                "0002;%s;Spain;99", "0003;%s;Spain;Barcelona", "0004;%s;B938197310;Iphone 14"));
+        Path indexFile = Files.createTempFile("hcsv-root-index", ".idx");
+        indexFile.toFile().deleteOnExit();
+        HCSVRootIndex builtIndex = HCSVRootIndex.build(newBuilder(file), indexFile);
+        List<Object> expected = CsvFixture.readFile(newBuilder(file));
+        // when
+        HCSVRootIndex rootIndex = HCSVRootIndex.load(indexFile);
+        try(HCSVReader hcsvReader = newBuilder(file).withRootIndex(rootIndex).build()) {
+            List<Object> subtree = hcsvReader.readSubtree("042");
+            List<Object> range = hcsvReader.readSubtrees("010", "019");
+            // then
+            Assertions.assertEquals(100, builtIndex.size());
+            Assertions.assertEquals(100, rootIndex.size());
+            Assertions.assertEquals(2 + 42 * 5, rootIndex.find("042").get(0).getLineNumber());
+            Assertions.assertEquals(1, subtree.size());
+            Assertions.assertEquals("user\n42", ((UserLine) subtree.get(0)).getUserName());
+            Assertions.assertEquals(1, ((UserLine) subtree.get(0)).getPositionsProductLines().size());
+            Assertions.assertEquals(List.of(expected.get(42)).toString(), subtree.toString());
+            Assertions.assertEquals(expected.subList(10, 20).toString(), range.toString());
+            Assertions.assertTrue(hcsvReader.readSubtree("999").isEmpty());
+        }
+    }
+
+    @Test
+    public void givenModifiedFile_whenBuildWithRootIndex_exceptionThrown() throws IOException {
+        // Given
+        Path file = CsvFixture.writeTempFile(".csv", "0001;000;user\n0002;000;Spain;99\n");
+        Path indexFile = Files.createTempFile("hcsv-root-index", ".idx");
+        indexFile.toFile().deleteOnExit();
+        HCSVRootIndex rootIndex = HCSVRootIndex.build(newBuilder(file), indexFile);
+        Files.writeString(file, "0001;001;user\n");
+        // when
+        RuntimeException exception = Assertions.assertThrows(RuntimeException.class,
+                () -> newBuilder(file).withRootIndex(rootIndex).build());
+        // then
+        Assertions.assertEquals("RootIndexException", exception.getClass().getSimpleName());
+    }
+
+    private static HCSVReaderBuilder newBuilder(Path file) {
+        return CsvFixture.newBuilder(file).withSkipLines(1);
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.CSVParserBuilder;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.HCSVSchema;
+import io.github.hierarchicalcsv.core.HCSVSchemaBuilder;
+import io.github.hierarchicalcsv.coretest.structure.model.incorrect.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class SchemaTest {
+
+    @Test
+    public void givenSharedSchema_whenReadingConcurrently_sameResultAsDedicatedReaders() throws Exception {
+        // Given
+        HCSVSchema schema = new HCSVSchemaBuilder().withBeanClasses(CsvFixture.BEAN_CLASSES).build();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int payload = 0; payload < 200; payload++) {
+                String csv = newPayload(payload);
+                // when
+                results.add(executor.submit(() -> {
+                    String expected = CsvFixture.readFile(CsvFixture.newBuilder(csv)).toString();
+                    try (HCSVReader hcsvReader = new HCSVReaderBuilder(new StringReader(csv))
+                            .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+                            .withSchema(schema)
+                            .build()) {
+                        return expected.equals(hcsvReader.readFile().toString());
+                    }
+                }));
+            }
+            // then
+            for (Future<Boolean> result : results) {
+                Assertions.assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(4, schema.getBeanTypes().size());
+    }
+
+    @Test
+    public void givenParentKeyPartOfAnotherTypeThanParentKey_whenBuildingSchema_exceptionThrown() {
+        // when
+        RuntimeException exception = Assertions.assertThrows(RuntimeException.class,
+                () -> new HCSVSchemaBuilder().withBeanClasses(List.of(KeyedParentLine.class, IntegerParentKeyLine.class)).build());
+        // then
+        Assertions.assertEquals("ParentKeyTypeMismatchException", exception.getClass().getSimpleName());
+        Assertions.assertEquals("Field (parentCode) in bean (" + IntegerParentKeyLine.class.getName()
+                + ") does not have the same type as the key of its parent (" + KeyedParentLine.class.getName() + ")",
+                exception.getMessage());
+    }
+
+    @Test
+    public void givenGeneratedBinderNotAccessible_whenBuilt_generatedClassNotUsableExceptionThrown() {
+        // when
+        RuntimeException exception = Assertions.assertThrows(RuntimeException.class,
+                () -> new HCSVSchemaBuilder().withBeanClasses(List.of(HiddenBinderLine.class)).build());
+        // then
+        Assertions.assertEquals("GeneratedClassNotUsableException", exception.getClass().getSimpleName());
+        Assertions.assertTrue(exception.getMessage().startsWith("Unable to use the generated class ("
+                + HiddenBinderLine.class.getName() + "_HCSVBinder): java.lang.IllegalAccessException"), exception.getMessage());
+        Assertions.assertEquals(IllegalAccessException.class, exception.getCause().getClass());
+    }
+
+    private static String newPayload(int payload) {
+        String userCode = String.format("%03d", payload);
+        return "0001;" + userCode + ";user" + payload + "\n"
+                + "0002;" + userCode + ";Spain;" + payload + "\n"
+                + "0003;" + userCode + ";Spain;Barcelona\n"
+                + "0004;" + userCode + ";B" + payload + ";Iphone 14\n";
+    }
+}
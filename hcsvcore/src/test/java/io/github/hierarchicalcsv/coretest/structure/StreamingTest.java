@@ -0,0 +1,89 @@
+package io.github.hierarchicalcsv.coretest.structure;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.model.CsvLineProcessListener;
+import io.github.hierarchicalcsv.core.model.CsvRootCompletionRule;
+import io.github.hierarchicalcsv.coretest.structure.model.correct.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class StreamingTest {
+
+    @Test
+    public void givenCorrectFile_whenStreamingRoots_rootReturnedOnceItsSubtreeIsRead() throws IOException, CsvException, URISyntaxException {
+        List<Object> expected;
+        try(FileReader fileReader = new FileReader(getCsvFile());
+            HCSVReader hcsvReader = newBuilder(fileReader, null, new MultiParentTest.LeadingZerosListener()).build()) {
+            expected = hcsvReader.readFile();
+        }
+        MultiParentTest.LeadingZerosListener listener = new MultiParentTest.LeadingZerosListener();
+        try(FileReader fileReader = new FileReader(getCsvFile());
+            // Given
+            HCSVReader hcsvReader = newBuilder(fileReader, null, listener).build()) {
+            // when
+            Iterator<Object> iterator = hcsvReader.iterator();
+            Object header = iterator.next();
+            int linesReadForHeader = listener.afterLineProcessCallCount;
+            Object firstUser = iterator.next();
+            int linesReadForFirstUser = listener.afterLineProcessCallCount;
+            List<Object> streamed = new ArrayList<>(List.of(header, firstUser));
+            iterator.forEachRemaining(streamed::add);
+            // then: a root is returned when the next root line is read
+            Assertions.assertInstanceOf(HeaderLine.class, header);
+            Assertions.assertEquals(2, linesReadForHeader);
+            Assertions.assertEquals(2, ((UserLine) firstUser).getAddressLines().size());
+            Assertions.assertEquals(7, linesReadForFirstUser);
+            Assertions.assertEquals(17, listener.afterLineProcessCallCount);
+            Assertions.assertEquals(expected.toString(), streamed.toString());
+        }
+    }
+
+    @Test
+    public void givenCompletionRule_whenStreamingRoots_rootReleasedBeforeNextRoot() throws IOException, URISyntaxException {
+        try(FileReader fileReader = new FileReader(getCsvFile());
+            // Given: the first user is closed after its first region
+            HCSVReader hcsvReader = newBuilder(fileReader, (root, bean) ->
+                    bean instanceof RegionLine && "Barcelona".equals(((RegionLine) bean).getRegion()),
+                    new MultiParentTest.LeadingZerosListener())
+                    .withExceptionHandler(e -> null)
+                    .build()) {
+            // when
+            List<Object> streamed = hcsvReader.stream().collect(Collectors.toList());
+            // then: the French address of the first user cannot find its parent anymore
+            Assertions.assertEquals(4, streamed.size());
+            UserLine firstUserLine = (UserLine) streamed.get(1);
+            Assertions.assertEquals(1, firstUserLine.getAddressLines().size());
+            Assertions.assertEquals("Spain", firstUserLine.getAddressLines().get(0).getCountry());
+            UserLine secondUserLine = (UserLine) streamed.get(2);
+            Assertions.assertEquals(2, secondUserLine.getAddressLines().size());
+        }
+    }
+
+    private File getCsvFile() throws URISyntaxException {
+        return new File(this.getClass().getResource("/hierarchical-correct-example.csv").toURI());
+    }
+
+    private static HCSVReaderBuilder newBuilder(FileReader fileReader, CsvRootCompletionRule rule,
+                                                CsvLineProcessListener listener) {
+        return new HCSVReaderBuilder(fileReader)
+                .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+                .withBeanClasses(List.of(HeaderLine.class, UserLine.class, AddressLine.class,
+                        RegionLine.class, ProductLine.class, FooterLine.class))
+                .withIgnoreUnknownBeanType(true)
+                .withSkipLines(2)
+                .withRootCompletionRule(rule)
+                .withListener(listener);
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.hierarchicalcsv.coretest.structure.model.incorrect;
+
+import com.opencsv.bean.CsvBindByPosition;
+import io.github.hierarchicalcsv.core.annotation.HCSVBean;
+
+@HCSVBean(codePosition = 0, codeValue = "0003")
+public class HiddenBinderLine {
+
+    @CsvBindByPosition(position = 0, required = true)
+    private String code;
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+}
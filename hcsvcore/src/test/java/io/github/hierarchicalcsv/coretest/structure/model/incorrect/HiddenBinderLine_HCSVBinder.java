@@ -0,0 +1,16 @@
+package io.github.hierarchicalcsv.coretest.structure.model.incorrect;
+
+import io.github.hierarchicalcsv.core.model.CsvLineBinder;
+
+/**
+ * Binder named as a generated one, but not accessible from the reader
+ */
+class HiddenBinderLine_HCSVBinder implements CsvLineBinder<HiddenBinderLine> {
+
+    @Override
+    public HiddenBinderLine bind(String[] line) {
+        HiddenBinderLine bean = new HiddenBinderLine();
+        bean.setCode(line[0]);
+        return bean;
+    }
+}
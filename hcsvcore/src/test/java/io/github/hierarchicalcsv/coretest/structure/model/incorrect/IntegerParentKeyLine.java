@@ -0,0 +1,35 @@
+package io.github.hierarchicalcsv.coretest.structure.model.incorrect;
+
+import com.opencsv.bean.CsvBindByPosition;
+import io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart;
+import io.github.hierarchicalcsv.core.annotation.HCSVBean;
+
+/**
+ * Child whose parent key part is an {@link Integer}, while the key of its parent is a {@link String}
+ */
+@HCSVBean(codePosition = 0, codeValue = "0002")
+public class IntegerParentKeyLine {
+
+    @CsvBindByPosition(position = 0, required = true)
+    private String code;
+
+    @CsvParentKeyPart(KeyedParentLine.class)
+    @CsvBindByPosition(position = 1)
+    private Integer parentCode;
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public Integer getParentCode() {
+        return parentCode;
+    }
+
+    public void setParentCode(Integer parentCode) {
+        this.parentCode = parentCode;
+    }
+}
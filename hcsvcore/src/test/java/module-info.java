@@ -2,7 +2,10 @@ module io.github.hierarchicalcsv.coretest {
     requires com.opencsv;
     requires org.apache.commons.lang3;
     requires io.github.hierarchicalcsv.core;
+    requires java.management;
+    requires jdk.jfr;
     requires org.junit.jupiter.api;
     exports io.github.hierarchicalcsv.coretest.structure;
     exports io.github.hierarchicalcsv.coretest.structure.model.correct;
+    exports io.github.hierarchicalcsv.coretest.structure.model.incorrect;
 }
\ No newline at end of file
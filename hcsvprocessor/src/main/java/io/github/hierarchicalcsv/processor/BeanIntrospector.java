@@ -0,0 +1,130 @@
+package io.github.hierarchicalcsv.processor;
+
+import io.github.hierarchicalcsv.core.annotation.CsvKey;
+import io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart;
+import io.github.hierarchicalcsv.core.annotation.HCSVBean;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Looks up, on the compile-time model of a bean, the same members as the reader does
+ * with reflection at runtime
+ */
+final class BeanIntrospector {
+
+    private final Elements elements;
+
+    private final Types types;
+
+    BeanIntrospector(Elements elements, Types types) {
+        this.elements = elements;
+        this.types = types;
+    }
+
+    Elements getElements() {
+        return elements;
+    }
+
+    Types getTypes() {
+        return types;
+    }
+
+    /**
+     * @param type Any type
+     * @return The class of the type if it is annotated with {@link HCSVBean}, {@literal null} otherwise
+     */
+    TypeElement asBean(TypeMirror type) {
+        if (type == null || type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        Element element = types.asElement(type);
+        return element.getAnnotation(HCSVBean.class) != null? (TypeElement) element: null;
+    }
+
+    /**
+     * @param bean A bean
+     * @return The first declared field annotated with {@link CsvKey}, or {@literal null}
+     */
+    VariableElement findKeyField(TypeElement bean) {
+        return ElementFilter.fieldsIn(bean.getEnclosedElements()).stream()
+                .filter(field -> field.getAnnotation(CsvKey.class) != null)
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * @param field A field annotated with {@link CsvParentKeyPart}
+     * @return The parent type referenced by the annotation
+     */
+    TypeMirror getParentType(VariableElement field) {
+        try {
+            field.getAnnotation(CsvParentKeyPart.class).value();
+        } catch (MirroredTypeException ex) {
+            return ex.getTypeMirror();
+        }
+        return null;
+    }
+
+    /**
+     * Finds a public method the way {@link Class#getMethod(String, Class[])} does, comparing
+     * the erased parameter type
+     *
+     * @param type The class declaring or inheriting the method
+     * @param name The method name
+     * @param parameterType The type of the single parameter, or {@literal null} for no parameter
+     * @return The method, or {@literal null}
+     */
+    ExecutableElement findPublicMethod(TypeElement type, String name, TypeMirror parameterType) {
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            if (!method.getSimpleName().contentEquals(name) || !method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            if (parameterType == null? method.getParameters().isEmpty():
+                    method.getParameters().size() == 1 && types.isSameType(
+                            types.erasure(method.getParameters().get(0).asType()), types.erasure(parameterType))) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param method A method, possibly {@literal null}
+     * @return Whether it can be called on an instance of the bean
+     */
+    static boolean isInstanceMethod(ExecutableElement method) {
+        return method != null && !method.getModifiers().contains(Modifier.STATIC);
+    }
+
+    /**
+     * @param type A class
+     * @return The name of its package, empty for the unnamed package
+     */
+    String getPackageName(TypeElement type) {
+        return elements.getPackageOf(type).getQualifiedName().toString();
+    }
+
+    /**
+     * Names a generated class after the binary name of the bean, which is the name
+     * the reader derives from {@link Class#getName()} at runtime
+     *
+     * @param bean A bean
+     * @param suffix The suffix of the generated class
+     * @return The simple name of the generated class
+     */
+    String getGeneratedSimpleName(TypeElement bean, String suffix) {
+        String binaryName = elements.getBinaryName(bean).toString();
+        String packageName = getPackageName(bean);
+        return (packageName.isEmpty()? binaryName: binaryName.substring(packageName.length() + 1)) + suffix;
+    }
+
+}
@@ -0,0 +1,123 @@
+package io.github.hierarchicalcsv.processor;
+
+import io.github.hierarchicalcsv.core.annotation.CsvChild;
+import io.github.hierarchicalcsv.core.annotation.CsvChildList;
+import io.github.hierarchicalcsv.core.annotation.CsvKey;
+import io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart;
+import io.github.hierarchicalcsv.core.model.CsvBeanLinker;
+import io.github.hierarchicalcsv.core.util.HCSVUtils;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes the {@code <Bean>_HCSVLinker} of a bean: the getters of its key, parent key
+ * parts and child lists, and the setters of its single children. Each accessor goes
+ * through the public accessor method when there is one, and through the public field
+ * otherwise, as the reader does at runtime.
+ */
+final class BeanLinkerWriter {
+
+    private final BeanIntrospector introspector;
+
+    private final TypeElement bean;
+
+    /**
+     * Accessor expressions by field name
+     */
+    private final Map<String, String> getters = new LinkedHashMap<>();
+
+    private final Map<String, String> setters = new LinkedHashMap<>();
+
+    BeanLinkerWriter(BeanIntrospector introspector, TypeElement bean) {
+        this.introspector = introspector;
+        this.bean = bean;
+        for (VariableElement field : ElementFilter.fieldsIn(bean.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            if (field.getAnnotation(CsvKey.class) != null || field.getAnnotation(CsvParentKeyPart.class) != null
+                    || field.getAnnotation(CsvChildList.class) != null) {
+                addGetter(field);
+            }
+            if (field.getAnnotation(CsvChild.class) != null) {
+                addSetter(field);
+            }
+        }
+    }
+
+    boolean hasAccessors() {
+        return !getters.isEmpty() || !setters.isEmpty();
+    }
+
+    String write() {
+        String packageName = introspector.getPackageName(bean);
+        String simpleName = introspector.getGeneratedSimpleName(bean, HCSVUtils.GENERATED_LINKER_SUFFIX);
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Tree linker of {@link ").append(bean.getQualifiedName()).append("}, generated by the hcsv-processor annotation processor\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName).append(" implements ").append(CsvBeanLinker.class.getName()).append(" {\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.function.Function<java.lang.Object, java.lang.Object> getter(java.lang.String fieldName) {\n");
+        appendSwitch(source, getters);
+        source.append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.function.BiConsumer<java.lang.Object, java.lang.Object> setter(java.lang.String fieldName) {\n");
+        appendSwitch(source, setters);
+        source.append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private void appendSwitch(StringBuilder source, Map<String, String> accessors) {
+        if (accessors.isEmpty()) {
+            source.append("        return null;\n");
+            return;
+        }
+        source.append("        switch (fieldName) {\n");
+        for (Map.Entry<String, String> accessor : accessors.entrySet()) {
+            source.append("            case \"").append(accessor.getKey()).append("\":\n")
+                    .append("                return ").append(accessor.getValue()).append(";\n");
+        }
+        source.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n");
+    }
+
+    private void addGetter(VariableElement field) {
+        String fieldName = field.getSimpleName().toString();
+        String target = "((" + bean.getQualifiedName() + ") bean)";
+        ExecutableElement getter = introspector.findPublicMethod(bean, HCSVUtils.getGetterMethodName(fieldName), null);
+        if (getter != null) {
+            if (BeanIntrospector.isInstanceMethod(getter)) {
+                getters.put(fieldName, "bean -> " + target + "." + getter.getSimpleName() + "()");
+            }
+        } else if (field.getModifiers().contains(Modifier.PUBLIC)) {
+            getters.put(fieldName, "bean -> " + target + "." + fieldName);
+        }
+    }
+
+    private void addSetter(VariableElement field) {
+        String fieldName = field.getSimpleName().toString();
+        String target = "((" + bean.getQualifiedName() + ") bean)";
+        String value = "(" + introspector.getTypes().erasure(field.asType()) + ") value";
+        ExecutableElement setter = introspector.findPublicMethod(bean, HCSVUtils.getSetterMethodName(fieldName), field.asType());
+        if (setter != null) {
+            if (BeanIntrospector.isInstanceMethod(setter)) {
+                setters.put(fieldName, "(bean, value) -> " + target + "." + setter.getSimpleName() + "(" + value + ")");
+            }
+        } else if (field.getModifiers().contains(Modifier.PUBLIC) && !field.getModifiers().contains(Modifier.FINAL)) {
+            setters.put(fieldName, "(bean, value) -> " + target + "." + fieldName + " = " + value);
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+package io.github.hierarchicalcsv.processor;
+
+import io.github.hierarchicalcsv.core.annotation.CsvChild;
+import io.github.hierarchicalcsv.core.annotation.CsvChildList;
+import io.github.hierarchicalcsv.core.annotation.CsvKey;
+import io.github.hierarchicalcsv.core.annotation.CsvParentKeyPart;
+import io.github.hierarchicalcsv.core.annotation.HCSVBean;
+import io.github.hierarchicalcsv.core.util.HCSVErrorMessageUtils;
+import io.github.hierarchicalcsv.core.util.HCSVUtils;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.MessageFormat;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+/**
+ * Annotation processor generating, for each {@link HCSVBean} class of the compilation:
+ * <ul>
+ *     <li>a {@code <Bean>_HCSVBinder}, extending
+ *     {@link io.github.hierarchicalcsv.core.bean.AbstractGeneratedLineBinder}, when the bean is
+ *     only mapped with plain {@link com.opencsv.bean.CsvBindByPosition} annotations on simple
+ *     types. Other beans keep the OpenCSV binding,</li>
+ *     <li>a {@code <Bean>_HCSVLinker}, implementing
+ *     {@link io.github.hierarchicalcsv.core.model.CsvBeanLinker}, with the accessors of its
+ *     key, parent key parts and children.</li>
+ * </ul>
+ * The reader uses these classes automatically when they are present.
+ * <p>
+ * The hierarchy is checked as the reader would check it, so that an invalid schema
+ * (a parent without key, a child list that is not a collection, a missing or duplicated
+ * parent key part, an inaccessible field, ...) fails the build instead of the first read.
+ */
+@SupportedAnnotationTypes("io.github.hierarchicalcsv.core.annotation.HCSVBean")
+public class HCSVBeanProcessor extends AbstractProcessor {
+
+    private ResourceBundle resourceBundle;
+
+    private BeanIntrospector introspector;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.resourceBundle = ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME);
+        this.introspector = new BeanIntrospector(processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(HCSVBean.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+            TypeElement bean = (TypeElement) element;
+            if (validate(bean)) {
+                LineBinderWriter binderWriter = new LineBinderWriter(introspector, bean);
+                if (binderWriter.isSupported()) {
+                    writeSource(bean, HCSVUtils.GENERATED_BINDER_SUFFIX, binderWriter.write());
+                }
+                BeanLinkerWriter linkerWriter = new BeanLinkerWriter(introspector, bean);
+                if (linkerWriter.hasAccessors()) {
+                    writeSource(bean, HCSVUtils.GENERATED_LINKER_SUFFIX, linkerWriter.write());
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the declared fields of the bean, as done by
+     * {@link io.github.hierarchicalcsv.core.bean.CsvBeanPropertiesFactory}
+     *
+     * @param bean The bean
+     * @return Whether the bean is valid
+     */
+    protected boolean validate(TypeElement bean) {
+        boolean valid = true;
+        VariableElement keyField = introspector.findKeyField(bean);
+        Map<Integer, TypeElement> parentOrders = new HashMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(bean.getEnclosedElements())) {
+            if (field.getAnnotation(CsvChild.class) != null || field.getAnnotation(CsvChildList.class) != null) {
+                valid &= validateChild(bean, keyField, field);
+            }
+            if (field.getAnnotation(CsvParentKeyPart.class) != null) {
+                valid &= validateParentKeyPart(bean, field, parentOrders);
+            }
+            if (field.equals(keyField)) {
+                valid &= validateAccessors(bean, field, false);
+            }
+        }
+        return valid;
+    }
+
+    protected boolean validateChild(TypeElement bean, VariableElement keyField, VariableElement field) {
+        Types types = introspector.getTypes();
+        if (keyField == null) {
+            return error(bean, HCSVErrorMessageUtils.PARENT_BEAN_HAS_NO_KEY,
+                    bean.getQualifiedName(), CsvKey.class.getName());
+        }
+        TypeMirror childType = field.asType();
+        if (field.getAnnotation(CsvChildList.class) != null) {
+            TypeMirror collectionType = introspector.getElements().getTypeElement(Collection.class.getName()).asType();
+            if (childType.getKind() != TypeKind.DECLARED
+                    || !types.isAssignable(types.erasure(childType), types.erasure(collectionType))) {
+                return error(field, HCSVErrorMessageUtils.CHILD_WRAPPER_NOT_COLLECTION,
+                        field.getSimpleName(), bean.getQualifiedName(), Collection.class.getName());
+            }
+            List<? extends TypeMirror> typeArguments = ((DeclaredType) childType).getTypeArguments();
+            childType = typeArguments.isEmpty()? null: typeArguments.get(0);
+        }
+        TypeElement childBean = introspector.asBean(childType);
+        if (childBean == null) {
+            return error(field, HCSVErrorMessageUtils.CHILD_CLASS_NOT_CSV_BEAN,
+                    String.valueOf(childType), HCSVBean.class.getName());
+        }
+        long parentKeyParts = ElementFilter.fieldsIn(childBean.getEnclosedElements()).stream()
+                .filter(childField -> childField.getAnnotation(CsvParentKeyPart.class) != null
+                        && types.isSameType(types.erasure(introspector.getParentType(childField)), types.erasure(bean.asType())))
+                .count();
+        if (parentKeyParts == 0) {
+            return error(field, HCSVErrorMessageUtils.PARENT_CLASS_NOT_SET_IN_CHILD,
+                    bean.getQualifiedName(), childBean.getQualifiedName());
+        }
+        if (parentKeyParts > 1) {
+            return error(field, HCSVErrorMessageUtils.PARENT_CLASS_SET_MULTIPLE_TIMES_IN_CHILD,
+                    bean.getQualifiedName(), childBean.getQualifiedName(), CsvParentKeyPart.class.getName());
+        }
+        return validateAccessors(bean, field, true);
+    }
+
+    protected boolean validateParentKeyPart(TypeElement bean, VariableElement field, Map<Integer, TypeElement> parentOrders) {
+        TypeMirror parentType = introspector.getParentType(field);
+        TypeElement parentBean = introspector.asBean(parentType);
+        if (parentBean == null) {
+            return error(field, HCSVErrorMessageUtils.PARENT_CLASS_NOT_CSV_BEAN,
+                    String.valueOf(parentType), HCSVBean.class.getName());
+        }
+        VariableElement parentKeyField = introspector.findKeyField(parentBean);
+        if (parentKeyField == null) {
+            return error(field, HCSVErrorMessageUtils.PARENT_BEAN_HAS_NO_KEY,
+                    parentBean.getQualifiedName(), CsvKey.class.getName());
+        }
+        if (!introspector.getTypes().isSameType(field.asType(), parentKeyField.asType())) {
+            return error(field, HCSVErrorMessageUtils.PARENT_KEY_TYPE_MISMATCH,
+                    field.getSimpleName(), bean.getQualifiedName(), parentBean.getQualifiedName());
+        }
+        int order = field.getAnnotation(CsvParentKeyPart.class).order();
+        TypeElement sameOrderParent = parentOrders.putIfAbsent(order, parentBean);
+        if (sameOrderParent != null) {
+            return error(field, HCSVErrorMessageUtils.MULTIPLE_PARENT_KEY_WITH_SAME_ORDER,
+                    parentBean.getQualifiedName(), sameOrderParent.getQualifiedName(), order, bean.getQualifiedName());
+        }
+        return validateAccessors(bean, field, true);
+    }
+
+    /**
+     * A field that is not public must have public accessor methods
+     */
+    protected boolean validateAccessors(TypeElement bean, VariableElement field, boolean withSetter) {
+        if (field.getModifiers().contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        String getterName = HCSVUtils.getGetterMethodName(field.getSimpleName().toString());
+        if (introspector.findPublicMethod(bean, getterName, null) == null) {
+            return error(field, HCSVErrorMessageUtils.UNABLE_TO_INVOKE_METHOD,
+                    HCSVUtils.GETTER_METHOD_PREFIX, getterName);
+        }
+        String setterName = HCSVUtils.getSetterMethodName(field.getSimpleName().toString());
+        if (withSetter && introspector.findPublicMethod(bean, setterName, field.asType()) == null) {
+            return error(field, HCSVErrorMessageUtils.UNABLE_TO_INVOKE_METHOD,
+                    HCSVUtils.SETTER_METHOD_PREFIX, setterName);
+        }
+        return true;
+    }
+
+    private boolean error(Element element, String messageKey, Object... arguments) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                MessageFormat.format(resourceBundle.getString(messageKey), arguments), element);
+        return false;
+    }
+
+    private void writeSource(TypeElement bean, String suffix, String source) {
+        String packageName = introspector.getPackageName(bean);
+        String simpleName = introspector.getGeneratedSimpleName(bean, suffix);
+        String name = packageName.isEmpty()? simpleName: packageName + "." + simpleName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(name, bean);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + name + ": " + ex.getMessage(), bean);
+        }
+    }
+
+}
@@ -0,0 +1,303 @@
+package io.github.hierarchicalcsv.processor;
+
+import com.opencsv.bean.CsvBindByPosition;
+import io.github.hierarchicalcsv.core.bean.AbstractGeneratedLineBinder;
+import io.github.hierarchicalcsv.core.util.HCSVUtils;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Writes the {@code <Bean>_HCSVBinder} of a bean. The bean is supported when every field
+ * of its class hierarchy carrying an OpenCSV annotation only has a plain
+ * {@link CsvBindByPosition} (no locale, capture, format or profile) on a {@link String},
+ * a primitive, a primitive wrapper, a {@link java.math.BigDecimal} or a
+ * {@link java.math.BigInteger}, and can be assigned from the package of the bean.
+ */
+final class LineBinderWriter {
+
+    private static final String OPEN_CSV_ANNOTATION_PACKAGE = "com.opencsv.bean";
+
+    /**
+     * Conversion method of {@link AbstractGeneratedLineBinder} for each supported type,
+     * {@literal null} for {@link String}
+     */
+    private static final Map<String, String> CONVERSIONS = new TreeMap<>();
+
+    static {
+        CONVERSIONS.put("java.lang.String", null);
+        CONVERSIONS.put("byte", "toByte");
+        CONVERSIONS.put("java.lang.Byte", "toByte");
+        CONVERSIONS.put("short", "toShort");
+        CONVERSIONS.put("java.lang.Short", "toShort");
+        CONVERSIONS.put("int", "toInt");
+        CONVERSIONS.put("java.lang.Integer", "toInt");
+        CONVERSIONS.put("long", "toLong");
+        CONVERSIONS.put("java.lang.Long", "toLong");
+        CONVERSIONS.put("float", "toFloat");
+        CONVERSIONS.put("java.lang.Float", "toFloat");
+        CONVERSIONS.put("double", "toDouble");
+        CONVERSIONS.put("java.lang.Double", "toDouble");
+        CONVERSIONS.put("boolean", "toBoolean");
+        CONVERSIONS.put("java.lang.Boolean", "toBoolean");
+        CONVERSIONS.put("char", "toChar");
+        CONVERSIONS.put("java.lang.Character", "toChar");
+        CONVERSIONS.put("java.math.BigDecimal", "toBigDecimal");
+        CONVERSIONS.put("java.math.BigInteger", "toBigInteger");
+    }
+
+    private final BeanIntrospector introspector;
+
+    private final TypeElement bean;
+
+    private final String packageName;
+
+    /**
+     * Bound columns sorted by position, {@literal null} if the bean is not supported
+     */
+    private final List<Column> columns;
+
+    LineBinderWriter(BeanIntrospector introspector, TypeElement bean) {
+        this.introspector = introspector;
+        this.bean = bean;
+        this.packageName = introspector.getPackageName(bean);
+        this.columns = isConstructible()? findColumns(): null;
+    }
+
+    boolean isSupported() {
+        return columns != null;
+    }
+
+    String write() {
+        String beanName = bean.getQualifiedName().toString();
+        String simpleName = introspector.getGeneratedSimpleName(bean, HCSVUtils.GENERATED_BINDER_SUFFIX);
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Line binder of {@link ").append(beanName).append("}, generated by the hcsv-processor annotation processor\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName).append("\n")
+                .append("        extends ").append(AbstractGeneratedLineBinder.class.getName()).append('<').append(beanName).append("> {\n\n")
+                .append("    public ").append(simpleName).append("() {\n")
+                .append("        super(").append(beanName).append(".class,\n")
+                .append("                new int[] {").append(join(columns, column -> String.valueOf(column.position))).append("},\n")
+                .append("                new java.lang.String[] {").append(join(columns, column -> '"' + column.field.getSimpleName().toString() + '"')).append("},\n")
+                .append("                new boolean[] {").append(join(columns, column -> String.valueOf(column.required))).append("});\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    protected ").append(beanName).append(" newBean() {\n")
+                .append("        return new ").append(beanName).append("();\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    protected void assign(").append(beanName).append(" bean, int column, java.lang.String value)\n")
+                .append("            throws com.opencsv.exceptions.CsvDataTypeMismatchException {\n")
+                .append("        switch (column) {\n");
+        for (Column column : columns) {
+            source.append("            case ").append(column.position).append(":\n")
+                    .append("                if (").append(column.conversion == null? "value != null": "isNotBlank(value)").append(") {\n")
+                    .append("                    ").append(assignment(column)).append(";\n")
+                    .append("                }\n")
+                    .append("                break;\n");
+        }
+        source.append("            default:\n")
+                .append("                break;\n")
+                .append("        }\n")
+                .append("    }\n")
+                .append("}\n");
+        return source.toString();
+    }
+
+    private String assignment(Column column) {
+        String value;
+        if (column.conversion == null) {
+            value = "value";
+        } else if ("toChar".equals(column.conversion)) {
+            value = "toChar(value)";
+        } else {
+            value = column.conversion + "(value, " + column.typeName + ".class)";
+        }
+        if (column.setter != null) {
+            return "bean." + column.setter.getSimpleName() + "(" + value + ")";
+        }
+        TypeElement declaringType = (TypeElement) column.field.getEnclosingElement();
+        String target = declaringType.equals(bean)? "bean": "((" + declaringType.getQualifiedName() + ") bean)";
+        return target + "." + column.field.getSimpleName() + " = " + value;
+    }
+
+    /**
+     * The bean must be a concrete, non-generic class with a no-argument constructor,
+     * all accessible from its package
+     */
+    private boolean isConstructible() {
+        if (bean.getModifiers().contains(Modifier.ABSTRACT) || !bean.getTypeParameters().isEmpty()) {
+            return false;
+        }
+        for (Element current = bean; current.getKind().isClass() || current.getKind().isInterface(); current = current.getEnclosingElement()) {
+            TypeElement type = (TypeElement) current;
+            if (type.getModifiers().contains(Modifier.PRIVATE)
+                    || type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)
+                    || type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+        }
+        return ElementFilter.constructorsIn(bean.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty()
+                        && !constructor.getModifiers().contains(Modifier.PRIVATE));
+    }
+
+    /**
+     * @return The bound columns sorted by position, or {@literal null} if a mapping is not supported
+     */
+    private List<Column> findColumns() {
+        List<Column> found = new ArrayList<>();
+        for (TypeElement current = bean; current != null; current = superclassOf(current)) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                boolean otherOpenCsvAnnotation = false;
+                boolean bound = false;
+                for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+                    Element annotationType = annotation.getAnnotationType().asElement();
+                    if (((TypeElement) annotationType).getQualifiedName().contentEquals(CsvBindByPosition.class.getName())) {
+                        bound = true;
+                    } else if (introspector.getPackageName((TypeElement) annotationType).startsWith(OPEN_CSV_ANNOTATION_PACKAGE)) {
+                        otherOpenCsvAnnotation = true;
+                    }
+                }
+                if (otherOpenCsvAnnotation) {
+                    return null;
+                }
+                if (bound) {
+                    Column column = toColumn(field);
+                    if (column == null) {
+                        return null;
+                    }
+                    found.add(column);
+                }
+            }
+        }
+        found.sort(Comparator.comparingInt(column -> column.position));
+        for (int i = 1; i < found.size(); i++) {
+            if (found.get(i).position == found.get(i - 1).position) {
+                return null;
+            }
+        }
+        return found;
+    }
+
+    private Column toColumn(VariableElement field) {
+        CsvBindByPosition annotation = field.getAnnotation(CsvBindByPosition.class);
+        if (annotation.position() < 0 || !annotation.locale().isEmpty() || !annotation.capture().isEmpty()
+                || !annotation.format().isEmpty() || !Arrays.equals(annotation.profiles(), new String[] {""})
+                || field.getModifiers().contains(Modifier.STATIC)) {
+            return null;
+        }
+        String typeName = getTypeName(field.asType());
+        if (typeName == null || !CONVERSIONS.containsKey(typeName)) {
+            return null;
+        }
+        TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+        String setterName = HCSVUtils.getSetterMethodName(field.getSimpleName().toString());
+        ExecutableElement setter = introspector.findPublicMethod(declaringType, setterName, field.asType());
+        if (setter == null) {
+            TypeElement optional = introspector.getElements().getTypeElement("java.util.Optional");
+            if (introspector.findPublicMethod(declaringType, setterName, optional.asType()) != null
+                    || !isAssignableField(field)) {
+                return null;
+            }
+        } else if (!BeanIntrospector.isInstanceMethod(setter)) {
+            return null;
+        }
+        return new Column(annotation.position(), annotation.required(), field, setter, typeName, CONVERSIONS.get(typeName));
+    }
+
+    private boolean isAssignableField(VariableElement field) {
+        if (field.getModifiers().contains(Modifier.FINAL) || field.getModifiers().contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+        return field.getModifiers().contains(Modifier.PUBLIC) && declaringType.getModifiers().contains(Modifier.PUBLIC)
+                || introspector.getPackageName(declaringType).equals(packageName);
+    }
+
+    private String getTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return ((TypeElement) introspector.getTypes().asElement(type)).getQualifiedName().toString();
+    }
+
+    private TypeElement superclassOf(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement superType = (TypeElement) introspector.getTypes().asElement(superclass);
+        return superType.getQualifiedName().contentEquals(Object.class.getName())? null: superType;
+    }
+
+    private static String join(List<Column> columns, Function<Column, String> mapper) {
+        StringBuilder joined = new StringBuilder();
+        for (Column column : columns) {
+            if (joined.length() > 0) {
+                joined.append(", ");
+            }
+            joined.append(mapper.apply(column));
+        }
+        return joined.toString();
+    }
+
+    /**
+     * A column bound to a field
+     */
+    private static final class Column {
+
+        private final int position;
+
+        private final boolean required;
+
+        private final VariableElement field;
+
+        /**
+         * The public setter, or {@literal null} to assign the field
+         */
+        private final ExecutableElement setter;
+
+        private final String typeName;
+
+        /**
+         * The conversion method, or {@literal null} for a {@link String}
+         */
+        private final String conversion;
+
+        private Column(int position, boolean required, VariableElement field, ExecutableElement setter,
+                       String typeName, String conversion) {
+            this.position = position;
+            this.required = required;
+            this.field = field;
+            this.setter = setter;
+            this.typeName = typeName;
+            this.conversion = conversion;
+        }
+    }
+
+}
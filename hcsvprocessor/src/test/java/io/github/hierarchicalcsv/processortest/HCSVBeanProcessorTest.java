@@ -0,0 +1,214 @@
+package io.github.hierarchicalcsv.processortest;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.bean.CsvBindByPosition;
+import com.opencsv.exceptions.CsvException;
+import io.github.hierarchicalcsv.core.HCSVReader;
+import io.github.hierarchicalcsv.core.HCSVReaderBuilder;
+import io.github.hierarchicalcsv.core.annotation.HCSVBean;
+import io.github.hierarchicalcsv.core.bean.ColumnPositionLineBinder;
+import io.github.hierarchicalcsv.core.model.CsvBeanLinker;
+import io.github.hierarchicalcsv.core.model.CsvLineBinder;
+import io.github.hierarchicalcsv.core.util.HCSVUtils;
+import io.github.hierarchicalcsv.processor.HCSVBeanProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.stream.Collectors;
+
+public class HCSVBeanProcessorTest {
+
+    private static final ResourceBundle RESOURCE_BUNDLE = ResourceBundle.getBundle(HCSVUtils.ERROR_RESOURCE_BUNDLE_NAME);
+
+    private static final String CUSTOMER = "package sample;\n"
+            + "import com.opencsv.bean.CsvBindByPosition;\n"
+            + "import io.github.hierarchicalcsv.core.annotation.*;\n"
+            + "import java.util.*;\n"
+            + "@HCSVBean(codeValue = \"C\")\n"
+            + "public class Customer {\n"
+            + "    @CsvBindByPosition(position = 0, required = true) private String code;\n"
+            + "    @CsvKey @CsvBindByPosition(position = 1) private String id;\n"
+            + "    @CsvBindByPosition(position = 2, required = true) private int age;\n"
+            + "    @CsvChildList private List<Order> orders = new ArrayList<>();\n"
+            + "    public String getCode() { return code; }\n"
+            + "    public void setCode(String code) { this.code = code; }\n"
+            + "    public String getId() { return id; }\n"
+            + "    public void setId(String id) { this.id = id; }\n"
+            + "    public void setAge(int age) { this.age = age; }\n"
+            + "    public List<Order> getOrders() { return orders; }\n"
+            + "    public void setOrders(List<Order> orders) { this.orders = orders; }\n"
+            + "    public String toString() { return code + '/' + id + '/' + age + orders; }\n"
+            + "}\n";
+
+    private static final String ORDER = "package sample;\n"
+            + "import com.opencsv.bean.CsvBindByPosition;\n"
+            + "import io.github.hierarchicalcsv.core.annotation.*;\n"
+            + "import java.math.BigDecimal;\n"
+            + "@HCSVBean(codeValue = \"O\")\n"
+            + "public class Order {\n"
+            + "    @CsvBindByPosition(position = 0) String code;\n"
+            + "    @CsvParentKeyPart(Customer.class) @CsvBindByPosition(position = 1) public String customerId;\n"
+            + "    @CsvBindByPosition(position = 2) BigDecimal amount;\n"
+            + "    @CsvBindByPosition(position = 3) Boolean paid;\n"
+            + "    @CsvBindByPosition(position = 4) char status;\n"
+            + "    public String toString() { return code + '/' + customerId + '/' + amount + '/' + paid + '/' + status; }\n"
+            + "}\n";
+
+    private static final String ACCOUNT = "package sample;\n"
+            + "import com.opencsv.bean.CsvBindByPosition;\n"
+            + "import io.github.hierarchicalcsv.core.annotation.*;\n"
+            + "@HCSVBean(codeValue = \"A\")\n"
+            + "public class Account {\n"
+            + "    @CsvBindByPosition(position = 0) public String code;\n"
+            + "    @CsvKey @CsvBindByPosition(position = 1) public String id;\n"
+            + "    @CsvChild private Owner owner;\n"
+            + "    public Owner getOwner() { return owner; }\n"
+            + "    public void setOwner(Owner owner) { throw new IllegalArgumentException(\"Rejected owner\"); }\n"
+            + "}\n";
+
+    private static final String OWNER = "package sample;\n"
+            + "import com.opencsv.bean.CsvBindByPosition;\n"
+            + "import io.github.hierarchicalcsv.core.annotation.*;\n"
+            + "@HCSVBean(codeValue = \"W\")\n"
+            + "public class Owner {\n"
+            + "    @CsvBindByPosition(position = 0) public String code;\n"
+            + "    @CsvParentKeyPart(Account.class) @CsvBindByPosition(position = 1) public String accountId;\n"
+            + "}\n";
+
+    @Test
+    public void givenSimpleBeans_whenCompiled_generatedBindersBehaveAsOpenCsv(@TempDir Path output) throws Exception {
+        // Given
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(output, CUSTOMER, ORDER);
+        Assertions.assertEquals(List.of(), errors);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> customer = classLoader.loadClass("sample.Customer");
+            Class<?> order = classLoader.loadClass("sample.Order");
+            Assertions.assertNotNull(HCSVUtils.newGeneratedInstance(customer, HCSVUtils.GENERATED_LINKER_SUFFIX, CsvBeanLinker.class, RESOURCE_BUNDLE));
+            String[][] lines = {
+                    {"C", "1", " 42 "},
+                    {"C", "2", ""},
+                    {"C", "3", "x"},
+                    {"C", "4"},
+                    {"O", "1", "10.50", "Yes", "AB"},
+                    {"O", "1", "ten", "maybe", " "},
+                    {"O", null, null, null, null}
+            };
+            // when
+            for (Class<?> type : List.of(customer, order)) {
+                CsvLineBinder<?> generated = HCSVUtils.newGeneratedInstance(type, HCSVUtils.GENERATED_BINDER_SUFFIX, CsvLineBinder.class, RESOURCE_BUNDLE);
+                CsvLineBinder<?> openCsv = new ColumnPositionLineBinder<>(type);
+                // then
+                Assertions.assertNotNull(generated);
+                Assertions.assertArrayEquals(openCsv.getBoundColumns(), generated.getBoundColumns());
+                for (String[] line : lines) {
+                    Assertions.assertEquals(bind(openCsv, line), bind(generated, line), Arrays.toString(line));
+                }
+            }
+            try (HCSVReader hcsvReader = new HCSVReaderBuilder(new StringReader("C;1;42\nO;1;10;no;A\nO;1;5;yes;B\n"))
+                    .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+                    .withBeanClasses(List.of(customer, order))
+                    .build()) {
+                Assertions.assertEquals("[C/1/42[O/1/10/false/A, O/1/5/true/B]]", hcsvReader.readFile().toString());
+            }
+        }
+    }
+
+    @Test
+    public void givenThrowingSetter_whenLinkingWithGeneratedLinker_errorHandedToExceptionHandler(@TempDir Path output) throws Exception {
+        // Given
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(output, ACCOUNT, OWNER);
+        Assertions.assertEquals(List.of(), errors);
+        List<CsvException> handled = new ArrayList<>();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> account = classLoader.loadClass("sample.Account");
+            Class<?> owner = classLoader.loadClass("sample.Owner");
+            Assertions.assertNotNull(HCSVUtils.newGeneratedInstance(account, HCSVUtils.GENERATED_LINKER_SUFFIX, CsvBeanLinker.class, RESOURCE_BUNDLE));
+            // when
+            try (HCSVReader hcsvReader = new HCSVReaderBuilder(new StringReader("A;1\nW;1\n"))
+                    .withCSVParser(new CSVParserBuilder().withSeparator(';').build())
+                    .withBeanClasses(List.of(account, owner))
+                    .withExceptionHandler(exception -> {
+                        handled.add(exception);
+                        return null;
+                    })
+                    .build()) {
+                Assertions.assertEquals(1, hcsvReader.readFile().size());
+            }
+        }
+        // then
+        Assertions.assertEquals(1, handled.size());
+        Assertions.assertEquals("CausedCsvException", handled.get(0).getClass().getSimpleName());
+        Assertions.assertEquals(2, handled.get(0).getLineNumber());
+        Throwable cause = handled.get(0).getCause();
+        Assertions.assertEquals("SetterMethodNotAccessibleException", cause.getClass().getSimpleName());
+        Assertions.assertEquals("Rejected owner", cause.getCause().getMessage());
+    }
+
+    @Test
+    public void givenParentWithoutKey_whenCompiled_compilationFails(@TempDir Path output) throws IOException, URISyntaxException {
+        // Given
+        String customer = CUSTOMER.replace("@CsvKey ", "");
+        // when
+        List<Diagnostic<? extends JavaFileObject>> errors = compile(output, customer, ORDER);
+        // then
+        Assertions.assertEquals(2, errors.size());
+        Assertions.assertTrue(errors.stream().allMatch(error -> error.getMessage(null).contains("does not have a key")),
+                errors.toString());
+    }
+
+    private static String bind(CsvLineBinder<?> binder, String[] line) {
+        try {
+            return String.valueOf(binder.bind(line));
+        } catch (CsvException ex) {
+            return ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        }
+    }
+
+    private static List<Diagnostic<? extends JavaFileObject>> compile(Path output, String... sources) throws IOException, URISyntaxException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        String classPath = String.join(File.pathSeparator,
+                Paths.get(HCSVBean.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString(),
+                Paths.get(CsvBindByPosition.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+        List<JavaFileObject> units = new ArrayList<>();
+        for (String source : sources) {
+            String name = source.substring(source.indexOf("class ") + 6, source.indexOf(" {"));
+            units.add(new SimpleJavaFileObject(URI.create("string:///sample/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            });
+        }
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-d", output.toString(), "-classpath", classPath), null, units);
+            task.setProcessors(List.of(new HCSVBeanProcessor()));
+            task.call();
+        }
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .collect(Collectors.toList());
+    }
+}